@@ -0,0 +1,63 @@
+#!/bin/bash
+
+# Throughput / latency benchmark for the webhook capture endpoint (/hooks/{projectId}/...)
+#
+# Usage: ./scripts/bench-capture.sh [projectId] [duration] [connections]
+#   projectId    target project (default: a random valid ObjectId)
+#   duration     test duration understood by hey, e.g. 30s (default: 30s)
+#   connections  concurrent connections (default: 256)
+#
+# Environment:
+#   BASE_URL     API base url (default: http://localhost:8080)
+#   PAYLOAD      JSON file sent as request body (default: built-in 1 KB payment event)
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+PROJECT_ID=${1:-$(printf '%024x' "$(date +%s)")}
+DURATION=${2:-30s}
+CONNECTIONS=${3:-256}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+URL="${BASE_URL}/hooks/${PROJECT_ID}/payments/events?source=bench"
+
+# Check that hey is installed (https://github.com/rakyll/hey)
+if ! command -v hey > /dev/null 2>&1; then
+    echo -e "${RED}❌ hey is not installed. Install it with: go install github.com/rakyll/hey@latest${NC}"
+    exit 1
+fi
+
+# Check that the API is up
+if ! curl -s -o /dev/null "${BASE_URL}/hello"; then
+    echo -e "${RED}❌ API not reachable on ${BASE_URL}. Start it with ./mvnw quarkus:dev or the packaged jar.${NC}"
+    exit 1
+fi
+
+if [ -z "${PAYLOAD}" ]; then
+    PAYLOAD=$(mktemp)
+    trap 'rm -f "${PAYLOAD}"' EXIT
+    {
+        printf '{"id":"evt_bench","type":"payment_intent.succeeded","data":{"object":{"amount":2000,"currency":"xof","metadata":"'
+        head -c 800 /dev/zero | tr '\0' 'x'
+        printf '"}}}'
+    } > "${PAYLOAD}"
+fi
+
+echo -e "${BLUE}🚀 Benchmarking webhook capture endpoint...${NC}"
+echo -e "${YELLOW}📋 Configuration:${NC}"
+echo -e "   URL: ${URL}"
+echo -e "   Duration: ${DURATION}"
+echo -e "   Connections: ${CONNECTIONS}"
+echo -e "   Payload: $(wc -c < "${PAYLOAD}") bytes"
+
+# Warm up the JIT and the Mongo connection pool before measuring
+echo -e "${BLUE}🔥 Warming up (10s)...${NC}"
+hey -z 10s -c "${CONNECTIONS}" -m POST -T application/json -D "${PAYLOAD}" "${URL}" > /dev/null
+
+echo -e "${BLUE}📊 Measuring...${NC}"
+hey -z "${DURATION}" -c "${CONNECTIONS}" -m POST -T application/json -D "${PAYLOAD}" "${URL}"
+
+echo -e "${GREEN}✅ Benchmark completed. Report Requests/sec and the 50/99% latency lines above.${NC}"
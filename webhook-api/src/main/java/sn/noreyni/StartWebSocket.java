@@ -1,40 +0,0 @@
-package sn.noreyni;
-
-import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.websocket.EncodeException;
-import jakarta.websocket.OnClose;
-import jakarta.websocket.OnError;
-import jakarta.websocket.OnMessage;
-import jakarta.websocket.OnOpen;
-import jakarta.websocket.Session;
-import jakarta.websocket.server.PathParam;
-import jakarta.websocket.server.ServerEndpoint;
-
-import java.io.IOException;
-
-import static java.util.Objects.requireNonNull;
-
-@ServerEndpoint("/start-websocket/{name}")
-@ApplicationScoped
-public class StartWebSocket {
-
-    @OnOpen
-    public void onOpen(Session session, @PathParam("name") String name) {
-        System.out.println("onOpen> " + name);
-    }
-
-    @OnClose
-    public void onClose(Session session, @PathParam("name") String name) {
-        System.out.println("onClose> " + name);
-    }
-
-    @OnError
-    public void onError(Session session, @PathParam("name") String name, Throwable throwable) {
-        System.out.println("onError> " + name + ": " + throwable);
-    }
-
-    @OnMessage
-    public void onMessage(String message, @PathParam("name") String name) {
-        System.out.println("onMessage> " + name + ": " + message);
-    }
-}
@@ -0,0 +1,79 @@
+package sn.noreyni.auth;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@ConfigMapping(prefix = "webhook.auth")
+public interface AuthConfig {
+
+    /**
+     * {@code iss} claim of the issued tokens, tokens of another issuer are rejected
+     */
+    @WithName("issuer")
+    @WithDefault("https://localhost:8080")
+    String issuer();
+
+    /**
+     * Lifetime of an access token
+     */
+    @WithName("token-duration")
+    @WithDefault("24h")
+    Duration tokenDuration();
+
+    /**
+     * Tolerated clock difference when checking the expiry of a token
+     */
+    @WithName("clock-skew")
+    @WithDefault("30s")
+    Duration clockSkew();
+
+    @WithName("keys")
+    Keys keys();
+
+    @WithName("token-cache")
+    TokenCache tokenCache();
+
+    interface Keys {
+
+        /**
+         * PEM file of the RSA signing key (PKCS#8), an ephemeral key is generated at startup when not set
+         */
+        @WithName("private-key-location")
+        Optional<String> privateKeyLocation();
+
+        /**
+         * PEM files of further public keys still accepted, such as the previous signing key during a rotation
+         */
+        @WithName("public-key-locations")
+        Optional<List<String>> publicKeyLocations();
+
+        /**
+         * Interval between two reads of the key files, a changed file is applied without a restart
+         */
+        @WithName("reload-interval")
+        @WithDefault("30s")
+        Duration reloadInterval();
+    }
+
+    interface TokenCache {
+
+        /**
+         * Whether verified tokens are cached, every request verifies the RSA signature when disabled
+         */
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Maximum number of cached tokens, the least valuable ones are evicted beyond it
+         */
+        @WithName("maximum-size")
+        @WithDefault("10000")
+        long maximumSize();
+    }
+}
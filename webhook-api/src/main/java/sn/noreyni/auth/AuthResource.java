@@ -0,0 +1,115 @@
+package sn.noreyni.auth;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import sn.noreyni.auth.dto.LoginDto;
+import sn.noreyni.auth.dto.TokenDto;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.response.ApiResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * REST Resource for authentication
+ * The returned token is sent as {@code Authorization: Bearer <token>} on every other API call.
+ */
+@Path("/api/auth")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Authentication", description = "Login and access tokens")
+@Slf4j
+public class AuthResource {
+
+    @Inject
+    AuthService authService;
+
+    /**
+     * Logs a user in
+     *
+     * @param loginDto the email and password
+     * @return ApiResponse containing the access token
+     */
+    @POST
+    @Path("/login")
+    @Operation(
+            summary = "Log in",
+            description = "Checks the email and password of an active user and returns a signed access token"
+    )
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Logged in",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = TokenDto.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "401",
+                    description = "Wrong email or password",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "429",
+                    description = "Too many login attempts for the account or from the client address",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public Uni<Response> login(
+            @Parameter(
+                    description = "Credentials",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = LoginDto.class))
+            )
+            @Valid LoginDto loginDto) {
+
+        Instant start = Instant.now();
+
+        return authService.login(loginDto)
+                .map(token -> Response.ok(ApiResponse.success("Connexion réussie", token)).build())
+                .onFailure().recoverWithItem(throwable -> {
+                    Duration duration = Duration.between(start, Instant.now());
+
+                    if (throwable instanceof ApiException apiEx) {
+                        Response.Status status = switch (apiEx.getStatusCode()) {
+                            case 401 -> Response.Status.UNAUTHORIZED;
+                            case 429 -> Response.Status.TOO_MANY_REQUESTS;
+                            default -> Response.Status.BAD_REQUEST;
+                        };
+
+                        return Response.status(status)
+                                .entity(ApiResponse.error(apiEx.getMessage()))
+                                .build();
+                    }
+
+                    log.error("auth.resource.login.error - email={}, duration={}ms, error={}",
+                            loginDto.email(), duration.toMillis(), throwable.getMessage(), throwable);
+
+                    return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                            .entity(ApiResponse.error("Erreur lors de la connexion"))
+                            .build();
+                });
+    }
+}
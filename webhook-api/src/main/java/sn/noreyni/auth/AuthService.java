@@ -0,0 +1,80 @@
+package sn.noreyni.auth;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.auth.dto.LoginDto;
+import sn.noreyni.auth.dto.TokenDto;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.throttle.RequestThrottle;
+import sn.noreyni.common.utils.PasswordUtil;
+import sn.noreyni.user.User;
+import sn.noreyni.user.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Service class for the login of users
+ */
+@ApplicationScoped
+@Slf4j
+public class AuthService {
+
+    static final String INVALID_CREDENTIALS = "Email ou mot de passe incorrect";
+
+    /**
+     * Hash checked when the email is unknown, so that an unknown email takes as long as a wrong password
+     */
+    private static final String UNKNOWN_USER_HASH = "$2a$12$R8vaIy0jWtp3COINpbV9cuRqKKkPS3ttuI4QyunuZXiStou9aVBOG";
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    PasswordUtil passwordUtil;
+
+    @Inject
+    TokenIssuer tokenIssuer;
+
+    @Inject
+    RequestThrottle requestThrottle;
+
+    /**
+     * Checks the credentials of an active user and issues an access token
+     *
+     * @param loginDto the email and password
+     * @return Uni containing the access token
+     * @throws ApiException with 401 status if the credentials are wrong or the user is inactive, 429 if the account
+     *                      has too many recent attempts or the hashing queue is full
+     */
+    public Uni<TokenDto> login(LoginDto loginDto) {
+        Instant start = Instant.now();
+
+        // Attempts over the account limit are rejected before any lookup or hashing
+        return Uni.createFrom().item(loginDto.email())
+                .invoke(requestThrottle::acquireLogin)
+                .chain(userRepository::findByEmail)
+                .chain(user -> {
+                    boolean known = user != null && user.isActive();
+                    return passwordUtil.verifyPasswordAsync(loginDto.password(), known ? user.getPassword() : UNKNOWN_USER_HASH)
+                            .map(matches -> {
+                                if (!known || !matches) {
+                                    log.warn("auth.login.rejected - Invalid credentials after {}ms, email={}",
+                                            Duration.between(start, Instant.now()).toMillis(), loginDto.email());
+                                    throw new ApiException(INVALID_CREDENTIALS, 401);
+                                }
+                                return issue(user, start);
+                            });
+                });
+    }
+
+    private TokenDto issue(User user, Instant start) {
+        requestThrottle.loginSucceeded(user.getEmail());
+        TokenDto token = tokenIssuer.issue(user);
+        log.info("auth.login.success - User logged in after {}ms, id={}, email={}",
+                Duration.between(start, Instant.now()).toMillis(), user.id, user.getEmail());
+        return token;
+    }
+}
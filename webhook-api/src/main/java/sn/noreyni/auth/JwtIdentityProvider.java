@@ -0,0 +1,55 @@
+package sn.noreyni.auth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.security.identity.AuthenticationRequestContext;
+import io.quarkus.security.identity.IdentityProvider;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.security.identity.request.TokenAuthenticationRequest;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Authenticates the bearer tokens extracted by the JWT mechanism with the {@link TokenVerifier}
+ * Takes precedence over the default smallrye-jwt validator, which reads static keys and verifies every token.
+ * Runs on the event loop: a cached token costs a hash and a lookup, a new one a single RSA verification.
+ */
+@ApplicationScoped
+public class JwtIdentityProvider implements IdentityProvider<TokenAuthenticationRequest> {
+
+    @Inject
+    JwtKeyStore jwtKeyStore;
+
+    @Inject
+    AuthConfig authConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private TokenVerifier tokenVerifier;
+
+    @PostConstruct
+    void init() {
+        this.tokenVerifier = new TokenVerifier(jwtKeyStore::current, authConfig.issuer(), authConfig.clockSkew(),
+                authConfig.tokenCache(), meterRegistry);
+    }
+
+    @Override
+    public Class<TokenAuthenticationRequest> getRequestType() {
+        return TokenAuthenticationRequest.class;
+    }
+
+    @Override
+    public Uni<SecurityIdentity> authenticate(TokenAuthenticationRequest request, AuthenticationRequestContext context) {
+        return Uni.createFrom().item(() -> tokenVerifier.verify(request.getToken().getToken()));
+    }
+
+    /**
+     * Above the default priority, shared by the smallrye-jwt validator
+     */
+    @Override
+    public int priority() {
+        return SYSTEM_FIRST + 100;
+    }
+}
@@ -0,0 +1,110 @@
+package sn.noreyni.auth;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.jwt.util.KeyUtils;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the current {@link JwtKeys}, reloaded from the PEM files while the application runs
+ * The files are read again every {@code webhook.auth.keys.reload-interval}; a new snapshot is published only when
+ * the keys changed. A file that cannot be read or parsed, such as one being written, keeps the current keys until
+ * the next read. To rotate the signing key, list the current public key in {@code public-key-locations} and then
+ * replace the private key file: tokens signed with the old key stay valid until they expire.
+ */
+@ApplicationScoped
+@Slf4j
+public class JwtKeyStore {
+
+    @Inject
+    AuthConfig authConfig;
+
+    @Inject
+    Vertx vertx;
+
+    private volatile JwtKeys current;
+    private long timerId = -1;
+
+    @PostConstruct
+    void init() {
+        if (authConfig.keys().privateKeyLocation().isEmpty()) {
+            log.warn("auth.keys.ephemeral - No signing key configured, tokens are signed with a key generated for this process only");
+            current = JwtKeys.generate();
+            return;
+        }
+        try {
+            current = read();
+            log.info("auth.keys.loaded - signingKid={}, acceptedKeys={}", current.signingKid(), current.verificationKeys().size());
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to read the JWT keys: " + e.getMessage(), e);
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (authConfig.keys().privateKeyLocation().isEmpty()) {
+            return;
+        }
+        long interval = Math.max(1000, authConfig.keys().reloadInterval().toMillis());
+        timerId = vertx.setPeriodic(interval, id -> vertx.executeBlocking(() -> {
+            reload();
+            return null;
+        }, false));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    /**
+     * Keys to sign and verify with, the same snapshot until the key files change
+     */
+    public JwtKeys current() {
+        return current;
+    }
+
+    /**
+     * Reads the key files and publishes them if they changed
+     *
+     * @return whether a new snapshot was published
+     */
+    public boolean reload() {
+        try {
+            JwtKeys keys = read();
+            if (keys.sameKeys(current)) {
+                return false;
+            }
+            log.info("auth.keys.rotated - previousKid={}, signingKid={}, acceptedKeys={}",
+                    current.signingKid(), keys.signingKid(), keys.verificationKeys().size());
+            current = keys;
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            log.warn("auth.keys.reload.error - Keeping the current keys, error={}", e.getMessage());
+            return false;
+        }
+    }
+
+    private JwtKeys read() throws IOException, GeneralSecurityException {
+        AuthConfig.Keys config = authConfig.keys();
+        List<PublicKey> acceptedKeys = new ArrayList<>();
+        for (String location : config.publicKeyLocations().orElse(List.of())) {
+            acceptedKeys.add(KeyUtils.decodePublicKey(Files.readString(Path.of(location))));
+        }
+        return JwtKeys.of(KeyUtils.decodePrivateKey(Files.readString(Path.of(config.privateKeyLocation().orElseThrow()))),
+                acceptedKeys);
+    }
+}
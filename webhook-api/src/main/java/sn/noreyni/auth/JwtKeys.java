@@ -0,0 +1,78 @@
+package sn.noreyni.auth;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the signing key and of the accepted verification keys
+ * Keys are identified by a {@code kid}, the base64url SHA-256 of their encoded public key, written in the header of
+ * the issued tokens. The public key of the signing key is always accepted.
+ *
+ * @param signingKid       kid of the signing key
+ * @param signingKey       RSA private key signing the issued tokens
+ * @param verificationKeys accepted public keys by kid
+ */
+public record JwtKeys(String signingKid, PrivateKey signingKey, Map<String, PublicKey> verificationKeys) {
+
+    /**
+     * Snapshot of a signing key, accepting its own public key and the given ones
+     */
+    public static JwtKeys of(PrivateKey signingKey, Collection<PublicKey> acceptedKeys) throws GeneralSecurityException {
+        PublicKey signingPublicKey = publicKeyOf(signingKey);
+        Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+        verificationKeys.put(kid(signingPublicKey), signingPublicKey);
+        for (PublicKey key : acceptedKeys) {
+            verificationKeys.putIfAbsent(kid(key), key);
+        }
+        return new JwtKeys(kid(signingPublicKey), signingKey, Map.copyOf(verificationKeys));
+    }
+
+    /**
+     * Snapshot of a new random 2048-bit RSA key, valid for the lifetime of the process only
+     */
+    public static JwtKeys generate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair pair = generator.generateKeyPair();
+            return new JwtKeys(kid(pair.getPublic()), pair.getPrivate(), Map.of(kid(pair.getPublic()), pair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("RSA key generation unavailable", e);
+        }
+    }
+
+    /**
+     * Whether both snapshots sign and verify with the same keys
+     */
+    public boolean sameKeys(JwtKeys other) {
+        return other != null && signingKid.equals(other.signingKid)
+                && verificationKeys.keySet().equals(other.verificationKeys.keySet());
+    }
+
+    static String kid(PublicKey key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static PublicKey publicKeyOf(PrivateKey key) throws GeneralSecurityException {
+        if (!(key instanceof RSAPrivateCrtKey crt)) {
+            throw new GeneralSecurityException("The signing key must be an RSA private key with its CRT parameters");
+        }
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(crt.getModulus(), crt.getPublicExponent()));
+    }
+}
@@ -0,0 +1,34 @@
+package sn.noreyni.auth;
+
+import io.smallrye.jwt.build.Jwt;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import sn.noreyni.auth.dto.TokenDto;
+import sn.noreyni.user.User;
+
+/**
+ * Signs the access tokens of authenticated users with the current signing key
+ * The subject is the user ID, {@code upn} the email and {@code groups} the role.
+ */
+@ApplicationScoped
+public class TokenIssuer {
+
+    @Inject
+    JwtKeyStore jwtKeyStore;
+
+    @Inject
+    AuthConfig authConfig;
+
+    public TokenDto issue(User user) {
+        JwtKeys keys = jwtKeyStore.current();
+        String token = Jwt.issuer(authConfig.issuer())
+                .subject(user.id.toHexString())
+                .upn(user.getEmail())
+                .groups(user.getRole().name())
+                .expiresIn(authConfig.tokenDuration())
+                .jws()
+                .keyId(keys.signingKid())
+                .sign(keys.signingKey());
+        return new TokenDto(token, "Bearer", authConfig.tokenDuration().toSeconds());
+    }
+}
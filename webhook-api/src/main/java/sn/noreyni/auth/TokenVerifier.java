@@ -0,0 +1,161 @@
+package sn.noreyni.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.security.AuthenticationFailedException;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.security.runtime.QuarkusSecurityIdentity;
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.jose4j.jwa.AlgorithmConstraints;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.jose4j.jwt.consumer.JwtContext;
+import org.jose4j.lang.UnresolvableKeyException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * Verifies bearer tokens and caches the identities of the valid ones
+ * A token is verified once (RS256 signature, issuer, expiry) and its identity is then served from a bounded
+ * Caffeine cache keyed by the SHA-256 of the token, until the token expires. When the keys change, the cached
+ * tokens signed with a key that is no longer accepted are dropped. Invalid tokens are never cached. Exposes
+ * {@code webhook.cache.hits|misses|evictions|size} tagged {@code cache=tokens}.
+ */
+@Slf4j
+public class TokenVerifier {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    });
+
+    private final Supplier<JwtKeys> keys;
+    private final JwtConsumer consumer;
+    private final Cache<String, VerifiedToken> cache;
+    private volatile JwtKeys cachedKeys;
+
+    /**
+     * Identity of a verified token, with what is needed to drop it from the cache
+     */
+    private record VerifiedToken(SecurityIdentity identity, String kid, long expiresAtMillis) {
+    }
+
+    /**
+     * Builds the verifier, a disabled cache verifies every token
+     *
+     * @param keys current keys, read on every verification so that a rotation applies at once
+     */
+    public TokenVerifier(Supplier<JwtKeys> keys, String issuer, Duration clockSkew, AuthConfig.TokenCache config,
+                         MeterRegistry meterRegistry) {
+        this.keys = keys;
+        this.consumer = new JwtConsumerBuilder()
+                .setExpectedIssuer(issuer)
+                .setRequireExpirationTime()
+                .setRequireSubject()
+                .setAllowedClockSkewInSeconds((int) clockSkew.toSeconds())
+                .setJwsAlgorithmConstraints(AlgorithmConstraints.ConstraintType.PERMIT, AlgorithmIdentifiers.RSA_USING_SHA256)
+                .setVerificationKeyResolver((jws, nestingContext) -> resolveKey(jws.getKeyIdHeaderValue()))
+                .build();
+        this.cache = config.enabled()
+                ? Caffeine.newBuilder()
+                .maximumSize(config.maximumSize())
+                .expireAfter(Expiry.<String, VerifiedToken>creating((hash, token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()))))
+                .recordStats()
+                .build()
+                : null;
+        if (cache != null) {
+            registerMetrics(meterRegistry);
+        }
+    }
+
+    /**
+     * Identity carried by a bearer token
+     *
+     * @throws AuthenticationFailedException if the token is malformed, expired, of another issuer or not signed
+     *                                       with an accepted key
+     */
+    public SecurityIdentity verify(String token) {
+        if (cache == null) {
+            return parse(token).identity();
+        }
+        JwtKeys current = keys.get();
+        if (current != cachedKeys) {
+            dropRetired(current);
+        }
+        return cache.get(hash(token), hash -> parse(token)).identity();
+    }
+
+    private VerifiedToken parse(String token) {
+        try {
+            JwtContext context = consumer.process(token);
+            DefaultJWTCallerPrincipal principal = new DefaultJWTCallerPrincipal(token, context.getJwtClaims());
+            SecurityIdentity identity = QuarkusSecurityIdentity.builder()
+                    .setPrincipal(principal)
+                    .addRoles(principal.getGroups())
+                    .build();
+            return new VerifiedToken(identity, context.getJoseObjects().get(0).getKeyIdHeaderValue(),
+                    context.getJwtClaims().getExpirationTime().getValueInMillis());
+        } catch (InvalidJwtException | MalformedClaimException e) {
+            log.debug("auth.token.invalid - error={}", e.getMessage());
+            throw new AuthenticationFailedException("Invalid token", e);
+        }
+    }
+
+    private Key resolveKey(String kid) throws UnresolvableKeyException {
+        Key key = kid == null ? null : keys.get().verificationKeys().get(kid);
+        if (key == null) {
+            throw new UnresolvableKeyException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Drops the cached tokens whose key is no longer accepted, tokens of the remaining keys stay cached
+     */
+    private void dropRetired(JwtKeys current) {
+        cachedKeys = current;
+        cache.asMap().values().removeIf(token -> !current.verificationKeys().containsKey(token.kid()));
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("webhook.cache.hits", cache, c -> c.stats().hitCount())
+                .tag("cache", "tokens")
+                .description("Tokens answered from the verified token cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("webhook.cache.misses", cache, c -> c.stats().missCount())
+                .tag("cache", "tokens")
+                .description("Tokens verified because they were not cached")
+                .register(meterRegistry);
+        FunctionCounter.builder("webhook.cache.evictions", cache, c -> c.stats().evictionCount())
+                .tag("cache", "tokens")
+                .description("Verified tokens evicted for size or expiry")
+                .register(meterRegistry);
+        Gauge.builder("webhook.cache.size", cache, Cache::estimatedSize)
+                .tag("cache", "tokens")
+                .description("Verified tokens held by the cache")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,8 @@
+package sn.noreyni.auth.dto;
+
+/**
+ * Access token returned by a successful login
+ *
+ * @param expiresIn lifetime of the token in seconds
+ */
+public record TokenDto(String accessToken, String tokenType, long expiresIn) {}
@@ -0,0 +1,254 @@
+package sn.noreyni.capture;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.capture.signature.SignatureCheck;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.exception.ApiException;
+
+import java.nio.file.Path;
+
+/**
+ * Reads the body of a captured request from the network without copying it
+ * Received chunks are aggregated as components of a composite buffer; once the body grows past
+ * {@code webhook.capture.body.spill-threshold} it is streamed to a temporary file instead, with
+ * back-pressure on the HTTP request. Runs on the event loop.
+ */
+@ApplicationScoped
+@Slf4j
+public class CaptureBodyReader {
+
+    @Inject
+    CaptureConfig captureConfig;
+
+    @Inject
+    Vertx vertx;
+
+    /**
+     * Reads the request body
+     *
+     * @param rc        the routing context, the body must not have been consumed by another handler
+     * @param signature signature check fed with each received chunk, may be null
+     * @param engine    storage engine of the project, bounds the body size
+     * @return Uni containing the body
+     * @throws ApiException with 413 status if the body exceeds {@link #maxSize(StorageEngine)}
+     */
+    public Uni<CapturedBody> read(RoutingContext rc, SignatureCheck signature, StorageEngine engine) {
+        HttpServerRequest request = rc.request();
+        long maxSize = maxSize(engine);
+
+        if (request.isEnded()) {
+            // Already read by a body handler
+            Buffer buffer = rc.body() != null ? rc.body().buffer() : null;
+            if (buffer != null && buffer.length() > maxSize) {
+                return Uni.createFrom().failure(tooLarge(maxSize));
+            }
+            if (signature != null && buffer != null) {
+                signature.update(NettyBuffers.unwrap(buffer));
+            }
+            return Uni.createFrom().item(CapturedBody.inMemory(buffer));
+        }
+
+        String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null && parseLength(contentLength) > maxSize) {
+            return Uni.createFrom().failure(tooLarge(maxSize));
+        }
+
+        return Uni.createFrom().emitter(emitter -> new Aggregation(request, signature, maxSize, emitter).start());
+    }
+
+    /**
+     * Largest body accepted for a storage engine: {@code webhook.capture.body.max-size}, capped by
+     * {@code mongo-max-size} for the MONGO engine whose documents cannot exceed 16 MB
+     */
+    public long maxSize(StorageEngine engine) {
+        long maxSize = captureConfig.body().maxSize();
+        return engine == StorageEngine.SEGMENT_LOG ? maxSize : Math.min(maxSize, captureConfig.body().mongoMaxSize());
+    }
+
+    /**
+     * Releases a body, deleting its spill file (if any) once no holder is left
+     */
+    public Uni<Void> release(CapturedBody body) {
+        if (body == null || !body.isSpilled() || !body.release()) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(() -> vertx.fileSystem().delete(body.file().toString())
+                        .toCompletionStage())
+                .onFailure().invoke(throwable -> log.warn("capture.body.release.error - file={}, error={}",
+                        body.file(), throwable.getMessage()))
+                .onFailure().recoverWithNull()
+                .replaceWithVoid();
+    }
+
+    /**
+     * 413 failure for a body over the given size
+     */
+    public static ApiException tooLarge(long maxSize) {
+        return new ApiException("Corps de requête trop volumineux (maximum " + maxSize + " octets)", 413);
+    }
+
+    private static long parseLength(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Body aggregation state of one request, only touched from the request event loop
+     */
+    private final class Aggregation {
+
+        private final HttpServerRequest request;
+        private final SignatureCheck signature;
+        private final UniEmitter<? super CapturedBody> emitter;
+        private final long spillThreshold = captureConfig.body().spillThreshold();
+        private final long maxSize;
+
+        private CompositeByteBuf memory = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+        private long size;
+        private boolean spilling;
+        private boolean ended;
+        private boolean done;
+        private String path;
+        private AsyncFile file;
+
+        Aggregation(HttpServerRequest request, SignatureCheck signature, long maxSize,
+                    UniEmitter<? super CapturedBody> emitter) {
+            this.request = request;
+            this.signature = signature;
+            this.maxSize = maxSize;
+            this.emitter = emitter;
+        }
+
+        void start() {
+            request.handler(this::onChunk);
+            request.endHandler(ignored -> onEnd());
+            request.exceptionHandler(this::fail);
+            request.resume();
+        }
+
+        private void onChunk(Buffer chunk) {
+            if (done) {
+                return;
+            }
+
+            size += chunk.length();
+            if (size > maxSize) {
+                fail(tooLarge(maxSize));
+                return;
+            }
+
+            ByteBuf received = NettyBuffers.unwrap(chunk);
+            if (signature != null) {
+                signature.update(received);
+            }
+
+            if (file != null) {
+                file.write(chunk);
+                if (file.writeQueueFull()) {
+                    request.pause();
+                    file.drainHandler(ignored -> request.resume());
+                }
+                return;
+            }
+
+            // Shares the chunk memory, no copy
+            memory.addComponent(true, received);
+            if (!spilling && size > spillThreshold) {
+                spill();
+            }
+        }
+
+        private void spill() {
+            spilling = true;
+            request.pause();
+
+            vertx.fileSystem().createTempFile(captureConfig.body().spillDirectory(), "capture-", ".body", (String) null)
+                    .compose(tempFile -> {
+                        path = tempFile;
+                        return vertx.fileSystem().open(tempFile, new OpenOptions().setWrite(true));
+                    })
+                    .compose(opened -> {
+                        file = opened;
+                        Buffer received = NettyBuffers.wrap(memory);
+                        memory = null;
+                        return opened.write(received);
+                    })
+                    .onSuccess(ignored -> {
+                        if (done) {
+                            // Failed while the file was being opened
+                            file.close().onComplete(closed -> deleteSpillFile());
+                            return;
+                        }
+                        log.debug("capture.body.spilled - Body streamed to file={}, received={}", path, size);
+                        if (ended) {
+                            finish();
+                        } else {
+                            request.resume();
+                        }
+                    })
+                    .onFailure(this::fail);
+        }
+
+        private void onEnd() {
+            if (done) {
+                return;
+            }
+            if (!spilling) {
+                done = true;
+                emitter.complete(CapturedBody.inMemory(NettyBuffers.wrap(memory)));
+                return;
+            }
+            ended = true;
+            if (file != null) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            done = true;
+            file.close()
+                    .onSuccess(ignored -> emitter.complete(CapturedBody.spilled(Path.of(path), size)))
+                    .onFailure(throwable -> {
+                        deleteSpillFile();
+                        emitter.fail(throwable);
+                    });
+        }
+
+        private void fail(Throwable failure) {
+            if (done) {
+                return;
+            }
+            done = true;
+            memory = null;
+            if (file != null) {
+                file.close().onComplete(ignored -> deleteSpillFile());
+            } else {
+                deleteSpillFile();
+            }
+            emitter.fail(failure);
+        }
+
+        private void deleteSpillFile() {
+            if (path != null) {
+                vertx.fileSystem().delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package sn.noreyni.capture;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigMapping(prefix = "webhook.capture")
+public interface CaptureConfig {
+
+    /**
+     * Group-commit writer settings
+     */
+    @WithName("writer")
+    Writer writer();
+
+    /**
+     * Memory-mapped segment log settings (projects using the SEGMENT_LOG storage engine)
+     */
+    @WithName("log")
+    Log log();
+
+    /**
+     * Request body handling settings
+     */
+    @WithName("body")
+    Body body();
+
+    /**
+     * Per-project rate limits and daily quotas
+     */
+    @WithName("limits")
+    Limits limits();
+
+    interface Writer {
+
+        /**
+         * Maximum number of captured requests written by a single insertMany
+         */
+        @WithName("batch-size")
+        @WithDefault("500")
+        int batchSize();
+
+        /**
+         * Maximum time a captured request waits in the queue before a flush is triggered
+         */
+        @WithName("flush-interval")
+        @WithDefault("20ms")
+        Duration flushInterval();
+
+        /**
+         * Capacity of the in-memory queue, requests are rejected with 429 once it is full
+         */
+        @WithName("queue-capacity")
+        @WithDefault("50000")
+        int queueCapacity();
+
+        /**
+         * Value of the Retry-After header sent back when the queue is full
+         */
+        @WithName("retry-after")
+        @WithDefault("1s")
+        Duration retryAfter();
+    }
+
+    interface Log {
+
+        /**
+         * Root directory of the logs, one sub-directory per project
+         */
+        @WithName("directory")
+        @WithDefault("data/capture-log")
+        String directory();
+
+        /**
+         * Size of a mapped segment file in bytes
+         */
+        @WithName("segment-size")
+        @WithDefault("67108864")
+        int segmentSize();
+
+        /**
+         * Force the mapped pages to disk after each appended batch
+         */
+        @WithName("fsync")
+        @WithDefault("true")
+        boolean fsync();
+
+        /**
+         * Segments last written before this delay are deleted, the active one is sealed first
+         */
+        @WithName("retention")
+        @WithDefault("7d")
+        Duration retention();
+
+        /**
+         * Interval between two runs of the retention job
+         */
+        @WithName("retention-interval")
+        @WithDefault("1h")
+        Duration retentionInterval();
+    }
+
+    interface Body {
+
+        /**
+         * Bodies larger than this size (bytes) are streamed to a temporary file instead of memory
+         */
+        @WithName("spill-threshold")
+        @WithDefault("1048576")
+        long spillThreshold();
+
+        /**
+         * Maximum accepted body size (bytes), larger requests are answered with 413
+         */
+        @WithName("max-size")
+        @WithDefault("52428800")
+        long maxSize();
+
+        /**
+         * Maximum body size (bytes) of the MONGO engine, the whole request must fit a 16 MB document
+         */
+        @WithName("mongo-max-size")
+        @WithDefault("15728640")
+        long mongoMaxSize();
+
+        /**
+         * Directory of the spill files
+         */
+        @WithName("spill-directory")
+        @WithDefault("${java.io.tmpdir}")
+        String spillDirectory();
+    }
+
+    interface Limits {
+
+        /**
+         * Limits of project types without a tier
+         */
+        @WithName("defaults")
+        Tier defaults();
+
+        /**
+         * Limits by project type ({@link sn.noreyni.common.enums.ProjectType} name)
+         */
+        @WithName("tiers")
+        Map<String, Tier> tiers();
+    }
+
+    interface Tier {
+
+        /**
+         * Sustained captured requests per second, 0 for no limit
+         */
+        @WithName("rate")
+        @WithDefault("50")
+        int rate();
+
+        /**
+         * Requests accepted in a burst above the sustained rate
+         */
+        @WithName("burst")
+        @WithDefault("100")
+        int burst();
+
+        /**
+         * Captured requests per UTC day, 0 for no quota
+         */
+        @WithName("daily-quota")
+        @WithDefault("100000")
+        long dailyQuota();
+    }
+}
@@ -0,0 +1,263 @@
+package sn.noreyni.capture;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import sn.noreyni.capture.limit.CaptureRateLimiter;
+import sn.noreyni.capture.limit.Rejection;
+import sn.noreyni.capture.signature.SignatureCheck;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.forward.ForwardingEngine;
+import sn.noreyni.live.LiveFeedRegistry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Capture endpoint for incoming webhooks
+ * Accepts any HTTP method on {@code /hooks/{projectId}} and any sub-path, records the request
+ * and answers directly on the Vert.x event loop (no worker thread hop)
+ * The body is read by {@link CaptureBodyReader} without copy (or spilled to a temporary file when large)
+ * Requests over the project rate limit or daily quota are answered with 429 before the body is read
+ * Writes go through the {@link CaptureWriter} group-commit queue, a full queue is answered with 429
+ * Stored requests are then published to the {@link LiveFeedRegistry} and handed to the {@link ForwardingEngine},
+ * the response does not wait for either
+ */
+@ApplicationScoped
+@Slf4j
+public class CaptureRoute {
+
+    static final String HOOKS_PREFIX = "/hooks/";
+    static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+
+    @Inject
+    CaptureWriter captureWriter;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    CaptureBodyReader captureBodyReader;
+
+    @Inject
+    CaptureRateLimiter captureRateLimiter;
+
+    @Inject
+    ForwardingEngine forwardingEngine;
+
+    @Inject
+    LiveFeedRegistry liveFeedRegistry;
+
+    /**
+     * Registers the capture routes directly on the Vert.x router
+     * Annotated reactive routes always get the buffering body handler, which would defeat streaming the body
+     */
+    void registerRoutes(@Observes Router router) {
+        router.route("/hooks/:projectId").handler(this::capture);
+        router.route("/hooks/:projectId/*").handler(this::capture);
+    }
+
+    /**
+     * Captures a webhook request
+     *
+     * @param rc the routing context
+     */
+    void capture(RoutingContext rc) {
+        String projectId = rc.pathParam("projectId");
+
+        if (!ObjectId.isValid(projectId)) {
+            log.debug("capture.invalidProjectId - projectId={}", projectId);
+            reject(rc, 400, error("Format d'ID de projet invalide: " + projectId));
+            return;
+        }
+
+        ProjectRoute route = projectRoutingTable.find(projectId);
+        if (route != null) {
+            capture(rc, route);
+            return;
+        }
+
+        // Not in the table (yet): hold the body until the project is resolved
+        rc.request().pause();
+        projectRoutingTable.resolve(projectId)
+                .subscribe().with(
+                        resolved -> {
+                            if (resolved == null) {
+                                log.debug("capture.unknownProject - projectId={}", projectId);
+                                reject(rc, 404, error("Projet non trouvé avec l'id: " + projectId));
+                                return;
+                            }
+                            capture(rc, resolved);
+                        },
+                        throwable -> {
+                            log.error("capture.route.error - Failed to resolve project, projectId={}, error={}",
+                                    projectId, throwable.getMessage(), throwable);
+                            reject(rc, 500, error("Erreur lors de l'enregistrement de la requête"));
+                        });
+    }
+
+    private void capture(RoutingContext rc, ProjectRoute route) {
+        String projectId = route.projectId();
+
+        if (!route.acceptsCaptures()) {
+            log.debug("capture.projectDisabled - projectId={}, status={}", projectId, route.status());
+            reject(rc, 403, error("Ce projet n'accepte pas de webhooks (statut: " + route.status() + ")"));
+            return;
+        }
+
+        Rejection rejection = captureRateLimiter.tryAcquire(route);
+        if (rejection != null) {
+            log.debug("capture.limited - projectId={}, reason={}, resetSeconds={}",
+                    projectId, rejection.reason(), rejection.resetSeconds());
+            rc.response()
+                    .putHeader(RATE_LIMIT_LIMIT, String.valueOf(rejection.limit()))
+                    .putHeader(RATE_LIMIT_REMAINING, "0")
+                    .putHeader(RATE_LIMIT_RESET, String.valueOf(rejection.resetSeconds()))
+                    .putHeader(HttpHeaders.RETRY_AFTER, String.valueOf(rejection.resetSeconds()));
+            reject(rc, 429, error(rejection.reason() == Rejection.Reason.QUOTA
+                    ? "Quota journalier de requêtes atteint pour ce projet"
+                    : "Limite de débit atteinte pour ce projet, veuillez réessayer plus tard"));
+            return;
+        }
+
+        // Hashed while the body streams in, checked once it is complete
+        SignatureCheck signature = route.signature() != null ? route.signature().start(rc.request().headers()) : null;
+
+        captureBodyReader.read(rc, signature, route.storageEngine())
+                .onFailure().invoke(() -> {
+                    if (signature != null) {
+                        signature.abort();
+                    }
+                })
+                .chain(body -> {
+                    CapturedRequest captured = toCapturedRequest(rc, projectId, body);
+                    captured.setStorageEngine(route.storageEngine());
+                    if (signature != null) {
+                        captured.setSignatureStatus(signature.finish());
+                    }
+                    return captureWriter.submit(captured)
+                            .invoke(() -> {
+                                liveFeedRegistry.publish(captured);
+                                if (!route.destinations().isEmpty()) {
+                                    forwardingEngine.forward(captured, route.destinations());
+                                }
+                            })
+                            .replaceWith(captured)
+                            .eventually(() -> captureBodyReader.release(body));
+                })
+                .subscribe().with(
+                        captured -> respond(rc, 200, accepted(captured.getIdAsString())),
+                        throwable -> {
+                            if (throwable instanceof ApiException apiEx && apiEx.getStatusCode() == 429) {
+                                log.debug("capture.throttled - Ingestion queue full, projectId={}", projectId);
+                                rc.response().putHeader(HttpHeaders.RETRY_AFTER,
+                                        String.valueOf(Math.max(1, captureWriter.retryAfter().toSeconds())));
+                                respond(rc, 429, error(apiEx.getMessage()));
+                                return;
+                            }
+
+                            if (throwable instanceof ApiException apiEx && apiEx.getStatusCode() == 413) {
+                                log.debug("capture.bodyTooLarge - projectId={}", projectId);
+                                reject(rc, 413, error(apiEx.getMessage()));
+                                return;
+                            }
+
+                            log.error("capture.persist.error - Failed to store captured request, projectId={}, error={}",
+                                    projectId, throwable.getMessage(), throwable);
+                            reject(rc, 500, error("Erreur lors de l'enregistrement de la requête"));
+                        });
+    }
+
+    /**
+     * Builds the captured request entity from the incoming HTTP request
+     */
+    CapturedRequest toCapturedRequest(RoutingContext rc, String projectId, CapturedBody body) {
+        HttpServerRequest request = rc.request();
+
+        CapturedRequest captured = new CapturedRequest();
+        captured.id = new ObjectId();
+        captured.setProjectId(projectId);
+        captured.setMethod(request.method().name());
+        captured.setPath(subPath(rc.normalizedPath(), projectId));
+        captured.setQuery(request.query());
+        captured.setHeaders(toHeaderMap(request.headers()));
+        captured.setContentType(request.getHeader(HttpHeaders.CONTENT_TYPE));
+        captured.setRemoteAddress(request.remoteAddress() != null ? request.remoteAddress().hostAddress() : null);
+        captured.setReceivedAt(LocalDateTime.now());
+        captured.prePersist();
+
+        captured.setRawBody(body);
+        captured.setBodySize(body.size());
+
+        return captured;
+    }
+
+    /**
+     * Extracts the part of the path that follows {@code /hooks/{projectId}}
+     */
+    public static String subPath(String normalizedPath, String projectId) {
+        int offset = HOOKS_PREFIX.length() + projectId.length();
+        if (normalizedPath == null || normalizedPath.length() <= offset) {
+            return "/";
+        }
+        return normalizedPath.substring(offset);
+    }
+
+    /**
+     * Copies request headers into a BSON friendly map, keeping repeated headers
+     */
+    public static Map<String, List<String>> toHeaderMap(MultiMap headers) {
+        Map<String, List<String>> result = new LinkedHashMap<>(headers.size() * 2);
+        for (Map.Entry<String, String> header : headers) {
+            result.computeIfAbsent(header.getKey(), k -> new ArrayList<>(1)).add(header.getValue());
+        }
+        return result;
+    }
+
+    static String accepted(String id) {
+        return "{\"success\":true,\"message\":\"Requête capturée\",\"data\":{\"id\":\"" + id + "\"}}";
+    }
+
+    static String error(String message) {
+        return "{\"success\":false,\"message\":\"" + message.replace("\"", "\\\"") + "\"}";
+    }
+
+    /**
+     * Answers before the body has been read: the unread (possibly paused) body would hold up the next
+     * request of a keep-alive connection, so it is discarded and the connection closed after the response
+     */
+    static void reject(RoutingContext rc, int status, String json) {
+        HttpServerRequest request = rc.request();
+        if (!request.isEnded()) {
+            if (request.version() != HttpVersion.HTTP_2) {
+                rc.response().putHeader(HttpHeaders.CONNECTION, "close");
+            }
+            request.handler(null);
+            request.resume();
+        }
+        respond(rc, status, json);
+    }
+
+    static void respond(RoutingContext rc, int status, String json) {
+        if (rc.response().ended()) {
+            return;
+        }
+        rc.response()
+                .setStatusCode(status)
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .end(json);
+    }
+}
@@ -0,0 +1,39 @@
+package sn.noreyni.capture;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import sn.noreyni.capture.log.SegmentLogStore;
+import sn.noreyni.common.enums.StorageEngine;
+
+/**
+ * Resolves the storage engine of a project and the matching {@link CapturedRequestStore}
+ * The engine of a project comes from the {@link ProjectRoutingTable}
+ */
+@ApplicationScoped
+public class CaptureStorage {
+
+    @Inject
+    MongoCapturedRequestStore mongoCapturedRequestStore;
+
+    @Inject
+    SegmentLogStore segmentLogStore;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    /**
+     * Store implementing the given engine
+     */
+    public CapturedRequestStore store(StorageEngine engine) {
+        return engine == StorageEngine.SEGMENT_LOG ? segmentLogStore : mongoCapturedRequestStore;
+    }
+
+    /**
+     * Store of a project, MONGO for unknown projects
+     */
+    public Uni<CapturedRequestStore> storeFor(String projectId) {
+        return projectRoutingTable.resolve(projectId)
+                .map(route -> store(route != null ? route.storageEngine() : StorageEngine.MONGO));
+    }
+}
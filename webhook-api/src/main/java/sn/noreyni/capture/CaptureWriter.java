@@ -0,0 +1,276 @@
+package sn.noreyni.capture;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.exception.ApiException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group-commit writer for captured webhook requests
+ * Captured requests are queued in a bounded in-memory queue and written once the batch size or the
+ * flush interval is reached, with one unordered write per storage engine present in the batch. A request is acknowledged only
+ * once the batch containing it has been written.
+ */
+@ApplicationScoped
+@Slf4j
+public class CaptureWriter {
+
+    @Inject
+    CaptureStorage captureStorage;
+
+    @Inject
+    CaptureConfig captureConfig;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingWrite> queue;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private int batchSize;
+    private long timerId = -1;
+
+    private DistributionSummary flushSize;
+    private Timer flushLatency;
+    private Timer ingestLatency;
+    private Counter rejected;
+    private Counter failed;
+
+    @PostConstruct
+    void init() {
+        CaptureConfig.Writer writer = captureConfig.writer();
+        this.batchSize = writer.batchSize();
+        this.queue = new ArrayBlockingQueue<>(writer.queueCapacity());
+
+        this.flushSize = DistributionSummary.builder("webhook.capture.writer.flush.size")
+                .description("Number of captured requests written per flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("webhook.capture.writer.flush.latency")
+                .description("Duration of a batch write")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.ingestLatency = Timer.builder("webhook.capture.ingest.latency")
+                .description("Time from enqueue to durable write of a captured request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("webhook.capture.writer.rejected")
+                .description("Captured requests rejected because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("webhook.capture.writer.failed")
+                .description("Captured requests whose write failed")
+                .register(meterRegistry);
+        Gauge.builder("webhook.capture.writer.queue.depth", queue, BlockingQueue::size)
+                .description("Captured requests waiting to be written")
+                .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        long interval = Math.max(1, captureConfig.writer().flushInterval().toMillis());
+        timerId = vertx.setPeriodic(interval, id -> flush());
+
+        log.info("capture.writer.started - batchSize={}, flushInterval={}ms, queueCapacity={}",
+                batchSize, interval, captureConfig.writer().queueCapacity());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+        }
+
+        log.info("capture.writer.draining - Flushing {} pending captured requests before shutdown", queue.size());
+
+        while (!queue.isEmpty()) {
+            List<PendingWrite> batch = drainBatch();
+            try {
+                write(batch).await().atMost(Duration.ofSeconds(10));
+            } catch (RuntimeException e) {
+                log.error("capture.writer.drain.error - Lost {} captured requests on shutdown, error={}",
+                        batch.size(), e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Queues a captured request for the next batch
+     *
+     * @param request the captured request
+     * @return Uni completing once the request is durably written
+     * @throws ApiException with 429 status if the queue is full, 413 if the request cannot fit its engine
+     */
+    public Uni<Void> submit(CapturedRequest request) {
+        long mongoMaxSize = captureConfig.body().mongoMaxSize();
+        if (engineOf(request) == StorageEngine.MONGO && request.getBodySize() > mongoMaxSize) {
+            // Refused alone: once in a group, a document over 16 MB fails the whole insertMany
+            return Uni.createFrom().failure(CaptureBodyReader.tooLarge(mongoMaxSize));
+        }
+
+        PendingWrite pending = new PendingWrite(request, System.nanoTime(), new CompletableFuture<>());
+
+        if (!queue.offer(pending)) {
+            rejected.increment();
+            return Uni.createFrom().failure(new ApiException("File d'ingestion saturée, veuillez réessayer plus tard", 429));
+        }
+
+        if (queue.size() >= batchSize) {
+            flush();
+        }
+
+        return Uni.createFrom().completionStage(pending.done());
+    }
+
+    /**
+     * Delay clients should wait before retrying once the queue is full
+     */
+    public Duration retryAfter() {
+        return captureConfig.writer().retryAfter();
+    }
+
+    /**
+     * Current number of queued captured requests
+     */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Starts a flush unless one is already in flight (a single insertMany at a time)
+     */
+    void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+
+        List<PendingWrite> batch = drainBatch();
+        if (batch.isEmpty()) {
+            flushing.set(false);
+            return;
+        }
+
+        write(batch).subscribe().with(
+                ignored -> onFlushCompleted(),
+                throwable -> onFlushCompleted());
+    }
+
+    private void onFlushCompleted() {
+        flushing.set(false);
+        // Keep draining while the queue holds at least a full batch
+        if (queue.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private List<PendingWrite> drainBatch() {
+        List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        queue.drainTo(batch, batchSize);
+        return batch;
+    }
+
+    private Uni<Void> write(List<PendingWrite> batch) {
+        Map<StorageEngine, List<PendingWrite>> groups = new EnumMap<>(StorageEngine.class);
+        for (PendingWrite pending : batch) {
+            groups.computeIfAbsent(engineOf(pending.request()), e -> new ArrayList<>(batch.size())).add(pending);
+        }
+
+        long start = System.nanoTime();
+
+        List<Uni<Void>> writes = new ArrayList<>(groups.size());
+        for (Map.Entry<StorageEngine, List<PendingWrite>> group : groups.entrySet()) {
+            writes.add(write(group.getKey(), group.getValue()));
+        }
+
+        return Uni.join().all(writes).andFailFast()
+                .invoke(ignored -> {
+                    flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    flushSize.record(batch.size());
+                })
+                .replaceWithVoid();
+    }
+
+    /**
+     * Writes the requests of one engine, never fails: failures are reported on each pending request
+     */
+    private Uni<Void> write(StorageEngine engine, List<PendingWrite> group) {
+        List<CapturedRequest> documents = new ArrayList<>(group.size());
+        for (PendingWrite pending : group) {
+            documents.add(pending.request());
+        }
+
+        // Deferred so that a store throwing instead of failing its Uni still completes the group
+        return Uni.createFrom().deferred(() -> captureStorage.store(engine).persist(documents))
+                .invoke(() -> complete(engine, group, null))
+                .onFailure().recoverWithUni(throwable -> {
+                    complete(engine, group, throwable);
+                    return Uni.createFrom().voidItem();
+                });
+    }
+
+    private void complete(StorageEngine engine, List<PendingWrite> group, Throwable failure) {
+        long now = System.nanoTime();
+
+        // With an unordered write only the documents listed in the write errors failed
+        Set<Integer> failedIndexes = null;
+        if (failure instanceof MongoBulkWriteException bulkFailure) {
+            failedIndexes = new HashSet<>();
+            for (BulkWriteError error : bulkFailure.getWriteErrors()) {
+                failedIndexes.add(error.getIndex());
+            }
+        }
+
+        int failures = 0;
+        for (int i = 0; i < group.size(); i++) {
+            PendingWrite pending = group.get(i);
+            boolean ok = failure == null || (failedIndexes != null && !failedIndexes.contains(i));
+            if (ok) {
+                ingestLatency.record(now - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+                pending.done().complete(null);
+            } else {
+                failures++;
+                pending.done().completeExceptionally(failure);
+            }
+        }
+
+        if (failures > 0) {
+            failed.increment(failures);
+            log.error("capture.writer.flush.error - {} of {} captured requests failed to be written, engine={}, error={}",
+                    failures, group.size(), engine, failure.getMessage(), failure);
+        }
+    }
+
+    private static StorageEngine engineOf(CapturedRequest request) {
+        return request.getStorageEngine() != null ? request.getStorageEngine() : StorageEngine.MONGO;
+    }
+
+    private record PendingWrite(CapturedRequest request, long enqueuedAt, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,109 @@
+package sn.noreyni.capture;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Body of a captured request as received from the network
+ * Either the Vert.x {@link Buffer} aggregating the received chunks (no copy) or, above the spill
+ * threshold, a temporary file the body was streamed to. Consumers transfer the bytes straight to
+ * their destination instead of materializing a {@code byte[]}.
+ * A body is shared by the capture path and the forwarding deliveries: each holder {@link #retain()}s it
+ * and the spill file is deleted by the last {@link #release()}.
+ */
+public final class CapturedBody {
+
+    private static final CapturedBody EMPTY = new CapturedBody(Buffer.buffer(0), null, 0);
+
+    private final Buffer buffer;
+    private final Path file;
+    private final long size;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private CapturedBody(Buffer buffer, Path file, long size) {
+        this.buffer = buffer;
+        this.file = file;
+        this.size = size;
+    }
+
+    public static CapturedBody empty() {
+        return EMPTY;
+    }
+
+    public static CapturedBody inMemory(Buffer buffer) {
+        return buffer == null || buffer.length() == 0 ? EMPTY : new CapturedBody(buffer, null, buffer.length());
+    }
+
+    public static CapturedBody spilled(Path file, long size) {
+        return new CapturedBody(null, file, size);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * In-memory body, null when the body was spilled to a file
+     */
+    public Buffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Temporary file holding the body, null when the body is in memory
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Adds a holder of the body
+     */
+    public CapturedBody retain() {
+        references.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Removes a holder of the body
+     *
+     * @return true when the last holder released it, the spill file can then be deleted
+     */
+    public boolean release() {
+        return references.decrementAndGet() == 0;
+    }
+
+    /**
+     * Copies the body into the target range without intermediate array
+     * Blocking when the body was spilled (file read)
+     */
+    public void transferTo(ByteBuffer target) throws IOException {
+        if (file == null) {
+            ByteBuf source = NettyBuffers.unwrap(buffer);
+            source.getBytes(source.readerIndex(), target);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position);
+                if (read < 0) {
+                    throw new IOException("Spilled body truncated: " + file);
+                }
+                position += read;
+            }
+        }
+    }
+}
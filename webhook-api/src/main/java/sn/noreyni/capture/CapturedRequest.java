@@ -0,0 +1,72 @@
+package sn.noreyni.capture;
+
+import io.quarkus.mongodb.panache.common.MongoEntity;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.bson.codecs.pojo.annotations.BsonIgnore;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import sn.noreyni.common.enums.SignatureStatus;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A webhook request received on a project capture URL ({@code /hooks/{projectId}/...})
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@MongoEntity(collection = "captured_requests")
+public class CapturedRequest extends BaseEntity {
+
+    @BsonProperty("project_id")
+    private String projectId;
+
+    @BsonProperty("method")
+    private String method;
+
+    @BsonProperty("path")
+    private String path;
+
+    @BsonProperty("query")
+    private String query;
+
+    @BsonProperty("headers")
+    private Map<String, List<String>> headers;
+
+    @BsonProperty("content_type")
+    private String contentType;
+
+    @BsonProperty("body")
+    private byte[] body;
+
+    @BsonProperty("body_size")
+    private long bodySize;
+
+    @BsonProperty("remote_address")
+    private String remoteAddress;
+
+    @BsonProperty("received_at")
+    private LocalDateTime receivedAt;
+
+    /**
+     * Result of the project signature verification, null when the project does not check signatures
+     */
+    @BsonProperty("signature_status")
+    private SignatureStatus signatureStatus;
+
+    /**
+     * Storage engine of the project, resolved at capture time (not persisted)
+     */
+    @BsonIgnore
+    private StorageEngine storageEngine;
+
+    /**
+     * Body as received from the network (in-memory buffer or spill file), not persisted as such:
+     * each storage engine transfers it to its own format
+     */
+    @BsonIgnore
+    private CapturedBody rawBody;
+}
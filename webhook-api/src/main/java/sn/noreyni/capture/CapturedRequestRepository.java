@@ -0,0 +1,50 @@
+package sn.noreyni.capture;
+
+import com.mongodb.client.model.IndexModel;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepository;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.index.IndexedRepository;
+import sn.noreyni.common.index.QueryShape;
+
+import java.util.List;
+
+@ApplicationScoped
+public class CapturedRequestRepository implements ReactivePanacheMongoRepository<CapturedRequest>, IndexedRepository {
+
+    @Override
+    public List<IndexModel> indexes() {
+        return List.of(
+                new IndexModel(new Document("project_id", 1).append("received_at", -1))
+        );
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        String projectId = new ObjectId().toHexString();
+        return List.of(
+                QueryShape.of("findRecentByProjectId", new Document("project_id", projectId), new Document("received_at", -1)),
+                QueryShape.of("countByProjectId", new Document("project_id", projectId))
+        );
+    }
+
+    /**
+     * Find the most recent captured requests of a project
+     */
+    public Uni<List<CapturedRequest>> findRecentByProjectId(String projectId, int limit) {
+        return find("projectId", Sort.by("receivedAt").descending(), projectId)
+                .page(Page.ofSize(limit))
+                .list();
+    }
+
+    /**
+     * Count captured requests of a project
+     */
+    public Uni<Long> countByProjectId(String projectId) {
+        return find("projectId", projectId).count();
+    }
+}
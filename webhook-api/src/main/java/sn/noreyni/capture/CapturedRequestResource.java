@@ -0,0 +1,96 @@
+package sn.noreyni.capture;
+
+import io.netty.buffer.Unpooled;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import sn.noreyni.capture.dto.CapturedRequestListDto;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.response.ApiResponse;
+
+import java.util.List;
+
+/**
+ * REST Resource for the history of captured webhook requests
+ */
+@Path("/api/projects/{projectId}/requests")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Captured Requests", description = "History of the webhooks received by a project")
+@Slf4j
+public class CapturedRequestResource {
+
+    @Inject
+    CapturedRequestService capturedRequestService;
+
+    @Inject
+    JsonWebToken jwt;
+
+    /**
+     * Lists the most recent captured requests of a project
+     * Reserved to the owner and members of a private project
+     *
+     * @param projectId the project ID
+     * @param limit maximum number of requests (default: 50, max: 500)
+     * @return ApiResponse containing the captured requests, newest first
+     */
+    @GET
+    @Operation(summary = "List captured requests", description = "Retrieves the most recent webhooks received by a project")
+    @APIResponse(responseCode = "403", description = "Private project the user does not take part in")
+    public Uni<ApiResponse<List<CapturedRequestListDto>>> getRecentRequests(
+            @PathParam("projectId") String projectId,
+
+            @Parameter(description = "Maximum number of requests")
+            @QueryParam("limit") @DefaultValue("50")
+            @Min(value = 1, message = "La limite doit être supérieure à 0")
+            @Max(value = 500, message = "La limite ne peut pas dépasser 500") int limit) {
+
+        // A refused access is not recovered: it reaches the exception handler as a 403
+        return capturedRequestService.requireAccess(projectId, jwt.getSubject())
+                .chain(() -> capturedRequestService.findRecent(projectId, limit)
+                        .map(ApiResponse::success)
+                        .onFailure().recoverWithItem(throwable -> {
+                            if (throwable instanceof ApiException apiEx) {
+                                return ApiResponse.error(apiEx.getMessage());
+                            }
+
+                            log.error("capture.resource.findRecent.error - projectId={}, error={}",
+                                    projectId, throwable.getMessage(), throwable);
+                            return ApiResponse.error("Erreur lors de la récupération des requêtes capturées");
+                        }));
+    }
+
+    /**
+     * Streams the raw body of a captured request
+     * The body is written from the stored buffer without an intermediate copy
+     * Reserved to the owner and members of a private project
+     *
+     * @param projectId the project ID
+     * @param requestId the captured request ID
+     * @return the raw body with an application/octet-stream content type
+     */
+    @GET
+    @Path("/{requestId}/body")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    @Operation(summary = "Get captured request body", description = "Returns the raw body of a captured request")
+    @APIResponse(responseCode = "403", description = "Private project the user does not take part in")
+    public Uni<Response> getRequestBody(
+            @PathParam("projectId") String projectId,
+            @PathParam("requestId") String requestId) {
+
+        return capturedRequestService.requireAccess(projectId, jwt.getSubject())
+                .chain(() -> capturedRequestService.findBody(projectId, requestId))
+                .map(body -> Response.ok(NettyBuffers.wrap(Unpooled.wrappedBuffer(body)))
+                        .type(MediaType.APPLICATION_OCTET_STREAM)
+                        .build());
+    }
+}
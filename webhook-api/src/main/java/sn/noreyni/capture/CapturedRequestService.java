@@ -0,0 +1,124 @@
+package sn.noreyni.capture;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.unchecked.Unchecked;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import sn.noreyni.capture.dto.CapturedRequestListDto;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.project.access.ProjectAccessIndex;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read side of the captured webhook requests
+ * Reads go to the storage engine of the project (MongoDB collection or segment log)
+ */
+@ApplicationScoped
+@Slf4j
+public class CapturedRequestService {
+
+    @Inject
+    CaptureStorage captureStorage;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    ProjectAccessIndex projectAccessIndex;
+
+    /**
+     * Rejects a read of the captured requests of a private project by a user who does not take part in it
+     * Checked against the routing table and the access index, without a MongoDB read once they are loaded
+     *
+     * @param projectId the project ID
+     * @param currentUserId the ID of the user reading the requests
+     * @return Uni completing when the user may read the requests of the project
+     * @throws ApiException with 403 status
+     */
+    public Uni<Void> requireAccess(String projectId, String currentUserId) {
+        return projectRoutingTable.resolve(projectId)
+                .invoke(Unchecked.consumer(route -> {
+                    if (route != null && route.visibility() != Visibility.PUBLIC
+                            && !projectAccessIndex.isMember(currentUserId, projectId)) {
+                        log.warn("capture.access.forbidden - projectId={}, currentUser={}", projectId, currentUserId);
+                        throw new ApiException("Vous n'êtes pas autorisé à consulter les requêtes de ce projet", 403);
+                    }
+                }))
+                .replaceWithVoid();
+    }
+
+    /**
+     * Lists the most recent captured requests of a project, newest first
+     *
+     * @param projectId the project ID
+     * @param limit maximum number of requests
+     * @return Uni containing list of CapturedRequestListDto
+     * @throws ApiException with 400 status if the project ID is invalid
+     */
+    public Uni<List<CapturedRequestListDto>> findRecent(String projectId, int limit) {
+        Instant start = Instant.now();
+
+        log.info("capture.findRecent.start - projectId={}, limit={}", projectId, limit);
+
+        return validateObjectId(projectId)
+                .chain(ignored -> captureStorage.storeFor(projectId))
+                .chain(store -> store.findRecentByProjectId(projectId, limit))
+                .map(requests -> {
+                    List<CapturedRequestListDto> result = requests.stream()
+                            .map(CapturedRequestService::toListDto)
+                            .toList();
+
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.info("capture.findRecent.success - Retrieved {} captured requests in {}ms, projectId={}",
+                            result.size(), duration.toMillis(), projectId);
+
+                    return result;
+                });
+    }
+
+    /**
+     * Reads the raw body of a captured request
+     *
+     * @param projectId the project ID
+     * @param requestId the captured request ID
+     * @return Uni containing the body, empty when the request had no body
+     * @throws ApiException with 400 status if an ID is invalid, 404 if the request is not found
+     */
+    public Uni<ByteBuffer> findBody(String projectId, String requestId) {
+        return validateObjectId(projectId)
+                .chain(ignored -> validateObjectId(requestId))
+                .chain(objectId -> captureStorage.storeFor(projectId)
+                        .chain(store -> store.findBody(projectId, objectId)))
+                .onItem().ifNull().failWith(Unchecked.supplier(() -> {
+                    log.warn("capture.findBody.notFound - projectId={}, requestId={}", projectId, requestId);
+                    throw new ApiException("Requête capturée non trouvée avec l'id: " + requestId, 404);
+                }));
+    }
+
+    public static CapturedRequestListDto toListDto(CapturedRequest request) {
+        return new CapturedRequestListDto(
+                request.getIdAsString(),
+                request.getMethod(),
+                request.getPath(),
+                request.getQuery(),
+                request.getContentType(),
+                request.getBodySize(),
+                request.getReceivedAt(),
+                request.getSignatureStatus()
+        );
+    }
+
+    private Uni<ObjectId> validateObjectId(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Uni.createFrom().failure(new ApiException("Format d'ID invalide: " + id, 400));
+        }
+        return Uni.createFrom().item(new ObjectId(id));
+    }
+}
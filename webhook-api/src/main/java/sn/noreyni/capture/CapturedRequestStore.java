@@ -0,0 +1,41 @@
+package sn.noreyni.capture;
+
+import io.smallrye.mutiny.Uni;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Repository-style storage for captured webhook requests
+ * Implemented by the MongoDB collection ({@link MongoCapturedRequestStore}) and by the memory-mapped
+ * segment log ({@link sn.noreyni.capture.log.SegmentLogStore}); the engine is selected per project
+ */
+public interface CapturedRequestStore {
+
+    /**
+     * Persist a batch of captured requests
+     * A {@link com.mongodb.MongoBulkWriteException} failure only concerns the indexes it lists
+     */
+    Uni<Void> persist(List<CapturedRequest> requests);
+
+    /**
+     * Find the most recent captured requests of a project, newest first
+     */
+    Uni<List<CapturedRequest>> findRecentByProjectId(String projectId, int limit);
+
+    /**
+     * Find a captured request of a project by ID
+     */
+    Uni<CapturedRequest> findById(String projectId, ObjectId id);
+
+    /**
+     * Read the raw body of a captured request without copying it, empty when the request had no body
+     */
+    Uni<ByteBuffer> findBody(String projectId, ObjectId id);
+
+    /**
+     * Count captured requests of a project
+     */
+    Uni<Long> countByProjectId(String projectId);
+}
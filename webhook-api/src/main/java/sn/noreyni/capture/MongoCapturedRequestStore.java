@@ -0,0 +1,85 @@
+package sn.noreyni.capture;
+
+import com.mongodb.client.model.InsertManyOptions;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Default storage engine: captured requests (bodies included) are documents of {@code captured_requests}
+ */
+@ApplicationScoped
+public class MongoCapturedRequestStore implements CapturedRequestStore {
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+    @Inject
+    CapturedRequestRepository capturedRequestRepository;
+
+    @Override
+    public Uni<Void> persist(List<CapturedRequest> requests) {
+        Uni<List<CapturedRequest>> documents = Uni.createFrom().item(() -> materializeBodies(requests));
+        if (requests.stream().anyMatch(request -> request.getRawBody() != null && request.getRawBody().isSpilled())) {
+            // Spilled bodies are read back from disk
+            documents = documents.runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        }
+
+        return documents
+                .chain(docs -> capturedRequestRepository.mongoCollection()
+                        .insertMany(docs, new InsertManyOptions().ordered(false)))
+                .replaceWithVoid();
+    }
+
+    @Override
+    public Uni<List<CapturedRequest>> findRecentByProjectId(String projectId, int limit) {
+        return capturedRequestRepository.findRecentByProjectId(projectId, limit);
+    }
+
+    @Override
+    public Uni<CapturedRequest> findById(String projectId, ObjectId id) {
+        return capturedRequestRepository.find("id = ?1 and projectId = ?2", id, projectId).firstResult();
+    }
+
+    @Override
+    public Uni<ByteBuffer> findBody(String projectId, ObjectId id) {
+        return findById(projectId, id)
+                .map(request -> {
+                    if (request == null) {
+                        return null;
+                    }
+                    return request.getBody() != null ? ByteBuffer.wrap(request.getBody()).asReadOnlyBuffer() : EMPTY;
+                });
+    }
+
+    /**
+     * Copies raw bodies into the BSON binary field, the single copy the document encoding requires
+     */
+    private static List<CapturedRequest> materializeBodies(List<CapturedRequest> requests) {
+        for (CapturedRequest request : requests) {
+            CapturedBody rawBody = request.getRawBody();
+            if (rawBody == null || rawBody.size() == 0 || request.getBody() != null) {
+                continue;
+            }
+            byte[] body = new byte[Math.toIntExact(rawBody.size())];
+            try {
+                rawBody.transferTo(ByteBuffer.wrap(body));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            request.setBody(body);
+        }
+        return requests;
+    }
+
+    @Override
+    public Uni<Long> countByProjectId(String projectId) {
+        return capturedRequestRepository.countByProjectId(projectId);
+    }
+}
@@ -0,0 +1,31 @@
+package sn.noreyni.capture;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Zero-copy bridge between Vert.x buffers and the Netty buffers they wrap
+ * Vert.x 4 deprecates both calls in favour of {@code BufferInternal}, which only ships with Vert.x 5; they
+ * remain the only way to share memory with Netty until then, so the deprecation is confined to this class.
+ */
+final class NettyBuffers {
+
+    private NettyBuffers() {
+    }
+
+    /**
+     * Netty buffer backing a Vert.x buffer, not a copy
+     */
+    @SuppressWarnings("deprecation")
+    static ByteBuf unwrap(Buffer buffer) {
+        return buffer.getByteBuf();
+    }
+
+    /**
+     * Vert.x buffer sharing the memory of a Netty buffer
+     */
+    @SuppressWarnings("deprecation")
+    static Buffer wrap(ByteBuf buffer) {
+        return Buffer.buffer(buffer);
+    }
+}
@@ -0,0 +1,70 @@
+package sn.noreyni.capture;
+
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.capture.signature.SignatureVerifier;
+import sn.noreyni.forward.ForwardTarget;
+import sn.noreyni.project.ForwardDestination;
+import sn.noreyni.project.Project;
+
+import java.util.List;
+
+/**
+ * Routing record of a project: what the ingestion path needs to know, nothing more
+ */
+public record ProjectRoute(
+        String projectId,
+        ProjectStatus status,
+        Visibility visibility,
+        StorageEngine storageEngine,
+        ProjectType type,
+        Integer rateLimit,
+        Integer rateBurst,
+        Long dailyQuota,
+        List<ForwardTarget> destinations,
+        SignatureVerifier signature
+) {
+
+    public static ProjectRoute of(Project project) {
+        return of(project, null);
+    }
+
+    /**
+     * Route of an updated project, keeping the signature verifier of its previous route when the
+     * signature configuration did not change: its initialized {@code Mac}s stay warm
+     */
+    public static ProjectRoute of(Project project, ProjectRoute previous) {
+        SignatureVerifier current = previous != null ? previous.signature() : null;
+        return new ProjectRoute(
+                project.getIdAsString(),
+                project.getStatus(),
+                project.getVisibility(),
+                project.getStorageEngine() != null ? project.getStorageEngine() : StorageEngine.MONGO,
+                project.getType(),
+                project.getRateLimit(),
+                project.getRateBurst(),
+                project.getDailyQuota(),
+                targets(project.getDestinations()),
+                current != null && current.matches(project.getSignature())
+                        ? current : SignatureVerifier.of(project.getSignature()));
+    }
+
+    private static List<ForwardTarget> targets(List<ForwardDestination> destinations) {
+        if (destinations == null || destinations.isEmpty()) {
+            return List.of();
+        }
+        return destinations.stream()
+                .filter(ForwardDestination::isEnabled)
+                .map(ForwardTarget::of)
+                .toList();
+    }
+
+    /**
+     * Suspended and archived projects no longer accept webhooks
+     */
+    public boolean acceptsCaptures() {
+        return status != ProjectStatus.SUSPENDED && status != ProjectStatus.ARCHIVED;
+    }
+}
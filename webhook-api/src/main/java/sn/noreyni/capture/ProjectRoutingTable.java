@@ -0,0 +1,183 @@
+package sn.noreyni.capture;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.ProjectRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory routing table of the ingestion path: project ID to {@link ProjectRoute}
+ * Loaded at startup and kept in sync by {@link sn.noreyni.project.ProjectService} on every write,
+ * so capturing a webhook does not query MongoDB. Lookups are lock-free and do not allocate.
+ */
+@ApplicationScoped
+@Slf4j
+public class ProjectRoutingTable {
+
+    private static final long RELOAD_DELAY_MS = 30_000;
+
+    @Inject
+    ProjectRepository projectRepository;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, ProjectRoute> routes = new ConcurrentHashMap<>();
+    // Projects deleted while the table is loading, a row read before the delete must not bring them back
+    private final Set<String> removedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+    private volatile boolean stopped;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("webhook.routing.table.size", routes, ConcurrentHashMap::size)
+                .description("Projects held by the ingestion routing table")
+                .register(meterRegistry);
+        this.misses = Counter.builder("webhook.routing.table.misses")
+                .description("Ingestion lookups of a project ID absent from the routing table")
+                .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        load();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+    }
+
+    /**
+     * Route of a project, null when the project is not in the table
+     */
+    public ProjectRoute find(String projectId) {
+        ProjectRoute route = routes.get(projectId);
+        if (route == null) {
+            misses.increment();
+        }
+        return route;
+    }
+
+    /**
+     * Route of a project, falling back to MongoDB only while the table is not loaded yet
+     * Does not count a miss: callers on the ingestion path already did through {@link #find(String)}
+     *
+     * @return Uni containing the route, null if the project does not exist
+     */
+    public Uni<ProjectRoute> resolve(String projectId) {
+        ProjectRoute route = routes.get(projectId);
+        if (route != null || loaded || !ObjectId.isValid(projectId)) {
+            return Uni.createFrom().item(route);
+        }
+
+        return projectRepository.findById(new ObjectId(projectId))
+                .map(project -> {
+                    if (project == null) {
+                        return null;
+                    }
+                    return putLoaded(ProjectRoute.of(project));
+                });
+    }
+
+    /**
+     * Adds or replaces the route of a created or updated project
+     */
+    public void put(Project project) {
+        routes.compute(project.getIdAsString(), (projectId, previous) -> ProjectRoute.of(project, previous));
+    }
+
+    /**
+     * Adds or replaces a route
+     */
+    public void put(ProjectRoute route) {
+        routes.put(route.projectId(), route);
+    }
+
+    /**
+     * Removes the route of a deleted project
+     */
+    public void remove(String projectId) {
+        if (!loaded) {
+            removedDuringLoad.add(projectId);
+        }
+        routes.remove(projectId);
+    }
+
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * Loads every project, retrying later when MongoDB is not reachable
+     * Routes written meanwhile by the service are newer than the loaded ones and are kept, projects
+     * deleted meanwhile are not added back
+     */
+    void load() {
+        Instant start = Instant.now();
+        AtomicInteger count = new AtomicInteger();
+
+        Multi.createFrom().deferred(() -> projectRepository.streamAll())
+                .subscribe().with(
+                        project -> {
+                            putLoaded(ProjectRoute.of(project));
+                            count.incrementAndGet();
+                        },
+                        throwable -> {
+                            log.warn("capture.routing.load.error - Routing table not loaded, retrying in {}ms, error={}",
+                                    RELOAD_DELAY_MS, throwable.getMessage());
+                            if (!stopped) {
+                                vertx.setTimer(RELOAD_DELAY_MS, id -> load());
+                            }
+                        },
+                        () -> {
+                            loaded = true;
+                            removedDuringLoad.clear();
+                            log.info("capture.routing.load.success - Loaded {} projects in {}ms",
+                                    count.get(), Duration.between(start, Instant.now()).toMillis());
+                        });
+    }
+
+    /**
+     * Adds a route read from MongoDB unless the service wrote or deleted the project meanwhile
+     * {@link #remove(String)} records the deletion before removing the route, so checking again after
+     * the insert catches a deletion that ran in between.
+     *
+     * @return the route now in the table, null if the project has been deleted
+     */
+    private ProjectRoute putLoaded(ProjectRoute route) {
+        String projectId = route.projectId();
+        if (removedDuringLoad.contains(projectId)) {
+            return null;
+        }
+        ProjectRoute current = routes.putIfAbsent(projectId, route);
+        if (current != null) {
+            return current;
+        }
+        if (removedDuringLoad.contains(projectId)) {
+            routes.remove(projectId, route);
+            return null;
+        }
+        return route;
+    }
+}
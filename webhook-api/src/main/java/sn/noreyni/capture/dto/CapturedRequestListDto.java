@@ -0,0 +1,16 @@
+package sn.noreyni.capture.dto;
+
+import sn.noreyni.common.enums.SignatureStatus;
+
+import java.time.LocalDateTime;
+
+public record CapturedRequestListDto(
+        String id,
+        String method,
+        String path,
+        String query,
+        String contentType,
+        long bodySize,
+        LocalDateTime receivedAt,
+        SignatureStatus signatureStatus
+) {}
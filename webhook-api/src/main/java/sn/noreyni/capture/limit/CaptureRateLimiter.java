@@ -0,0 +1,100 @@
+package sn.noreyni.capture.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import sn.noreyni.capture.CaptureConfig;
+import sn.noreyni.capture.ProjectRoute;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits and daily quotas of the capture path
+ * Limits come from the project overrides, then the tier of the project type, then the defaults.
+ * State is per node and in memory: one {@link ProjectLimiter} per project, rebuilt with the same bucket
+ * and day count when the project route changes. No lock and no database access per request.
+ */
+@ApplicationScoped
+public class CaptureRateLimiter {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Inject
+    CaptureConfig captureConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, ProjectLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Checks a captured request against the limits of its project
+     *
+     * @param route the project route
+     * @return null when the request is accepted, the rejection otherwise
+     */
+    public Rejection tryAcquire(ProjectRoute route) {
+        ProjectLimiter limiter = limiterFor(route);
+
+        long now = System.nanoTime();
+        long wait = limiter.tryAcquireRate(now);
+        if (wait > 0) {
+            limiter.rateRejected.increment();
+            return new Rejection(Rejection.Reason.RATE, limiter.burst(), Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999)));
+        }
+
+        long epochMillis = System.currentTimeMillis();
+        long epochDay = Math.floorDiv(epochMillis, DAY_MILLIS);
+        if (!limiter.tryAcquireQuota(epochDay)) {
+            limiter.quotaRejected.increment();
+            long untilMidnight = TimeUnit.MILLISECONDS.toSeconds((epochDay + 1) * DAY_MILLIS - epochMillis);
+            return new Rejection(Rejection.Reason.QUOTA, limiter.dailyQuota(), Math.max(1, untilMidnight));
+        }
+
+        return null;
+    }
+
+    /**
+     * Drops the limiter of a deleted project
+     */
+    public void evict(String projectId) {
+        limiters.remove(projectId);
+    }
+
+    private ProjectLimiter limiterFor(ProjectRoute route) {
+        ProjectLimiter limiter = limiters.get(route.projectId());
+        if (limiter != null && limiter.route() == route) {
+            return limiter;
+        }
+        // First request of the project or its route changed: limits are resolved again
+        return limiters.compute(route.projectId(),
+                (id, existing) -> existing != null && existing.route() == route ? existing : create(route, existing));
+    }
+
+    private ProjectLimiter create(ProjectRoute route, ProjectLimiter previous) {
+        CaptureConfig.Tier tier = route.type() != null
+                ? captureConfig.limits().tiers().getOrDefault(route.type().name(), captureConfig.limits().defaults())
+                : captureConfig.limits().defaults();
+
+        int rate = route.rateLimit() != null ? route.rateLimit() : tier.rate();
+        int burst = route.rateBurst() != null ? route.rateBurst() : tier.burst();
+        long dailyQuota = route.dailyQuota() != null ? route.dailyQuota() : tier.dailyQuota();
+
+        if (previous != null) {
+            return new ProjectLimiter(route, rate, burst, dailyQuota, previous);
+        }
+        return new ProjectLimiter(route, rate, burst, dailyQuota,
+                rejectedCounter(route.projectId(), "rate"),
+                rejectedCounter(route.projectId(), "quota"));
+    }
+
+    private Counter rejectedCounter(String projectId, String reason) {
+        return Counter.builder("webhook.capture.limit.rejected")
+                .description("Captured requests rejected by the project rate limit or daily quota")
+                .tag("project", projectId)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,130 @@
+package sn.noreyni.capture.limit;
+
+import io.micrometer.core.instrument.Counter;
+import sn.noreyni.capture.ProjectRoute;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket and daily quota of one project, lock-free
+ * <ul>
+ *   <li>The bucket is kept as a single theoretical arrival time (GCRA): each request moves it one
+ *   emission interval forward, a request is rejected when it would move it further than the burst
+ *   allows. One CAS per request, no refill thread.</li>
+ *   <li>The quota packs the UTC epoch day and the day counter in a single long.</li>
+ * </ul>
+ * Both states are shared with the limiter built when the route changes, so editing a project neither
+ * refills its bucket nor resets its quota.
+ */
+public final class ProjectLimiter {
+
+    private static final int COUNT_BITS = 40;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final ProjectRoute route;
+    private final int rate;
+    private final int burst;
+    private final long dailyQuota;
+    private final long emissionInterval;
+    private final long burstTolerance;
+
+    private final AtomicLong theoreticalArrival;
+    private final AtomicLong dayCount;
+
+    final Counter rateRejected;
+    final Counter quotaRejected;
+
+    ProjectLimiter(ProjectRoute route, int rate, int burst, long dailyQuota, Counter rateRejected, Counter quotaRejected) {
+        this(route, rate, burst, dailyQuota, rateRejected, quotaRejected,
+                new AtomicLong(Long.MIN_VALUE), new AtomicLong());
+    }
+
+    /**
+     * Limiter of a changed route, taking over the bucket and day count of the previous one
+     */
+    ProjectLimiter(ProjectRoute route, int rate, int burst, long dailyQuota, ProjectLimiter previous) {
+        this(route, rate, burst, dailyQuota, previous.rateRejected, previous.quotaRejected,
+                previous.theoreticalArrival, previous.dayCount);
+    }
+
+    private ProjectLimiter(ProjectRoute route, int rate, int burst, long dailyQuota, Counter rateRejected,
+                           Counter quotaRejected, AtomicLong theoreticalArrival, AtomicLong dayCount) {
+        this.route = route;
+        this.rate = rate;
+        this.burst = Math.max(1, burst);
+        this.dailyQuota = dailyQuota;
+        this.emissionInterval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        this.burstTolerance = emissionInterval * this.burst;
+        this.rateRejected = rateRejected;
+        this.quotaRejected = quotaRejected;
+        this.theoreticalArrival = theoreticalArrival;
+        this.dayCount = dayCount;
+    }
+
+    /**
+     * Route the limits were resolved from, a new limiter is built when the route changes
+     */
+    ProjectRoute route() {
+        return route;
+    }
+
+    int rate() {
+        return rate;
+    }
+
+    int burst() {
+        return burst;
+    }
+
+    long dailyQuota() {
+        return dailyQuota;
+    }
+
+    /**
+     * Takes a token from the bucket
+     *
+     * @param now monotonic time in nanoseconds
+     * @return 0 when accepted, otherwise the nanoseconds to wait before a token is available
+     */
+    long tryAcquireRate(long now) {
+        if (emissionInterval == 0) {
+            return 0;
+        }
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = Math.max(current, now);
+            long next = base + emissionInterval;
+            long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Counts a captured request against the daily quota
+     *
+     * @param epochDay current UTC epoch day
+     * @return true when the request fits in the quota
+     */
+    boolean tryAcquireQuota(long epochDay) {
+        if (dailyQuota <= 0) {
+            return true;
+        }
+        while (true) {
+            long current = dayCount.get();
+            long day = current >>> COUNT_BITS;
+            long count = day == epochDay ? current & COUNT_MASK : 0;
+            if (count >= dailyQuota) {
+                return false;
+            }
+            if (dayCount.compareAndSet(current, (epochDay << COUNT_BITS) | (count + 1))) {
+                return true;
+            }
+        }
+    }
+}
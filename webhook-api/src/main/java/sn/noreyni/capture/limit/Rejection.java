@@ -0,0 +1,19 @@
+package sn.noreyni.capture.limit;
+
+/**
+ * Why a captured request was throttled, with the values of the rate-limit response headers
+ *
+ * @param reason       RATE (token bucket empty) or QUOTA (daily quota reached)
+ * @param limit        bucket size or daily quota
+ * @param resetSeconds seconds until the request would be accepted
+ */
+public record Rejection(
+        Reason reason,
+        long limit,
+        long resetSeconds
+) {
+
+    public enum Reason {
+        RATE, QUOTA
+    }
+}
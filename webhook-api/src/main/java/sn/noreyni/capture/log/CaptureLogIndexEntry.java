@@ -0,0 +1,66 @@
+package sn.noreyni.capture.log;
+
+import io.quarkus.mongodb.panache.common.MongoEntity;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * MongoDB index of a captured request stored in a segment log
+ * Shares the ID of the captured request, the request itself (headers, body) lives in the segment
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@MongoEntity(collection = "capture_log_index")
+public class CaptureLogIndexEntry extends BaseEntity {
+
+    @BsonProperty("project_id")
+    private String projectId;
+
+    @BsonProperty("received_at")
+    private LocalDateTime receivedAt;
+
+    @BsonProperty("method")
+    private String method;
+
+    @BsonProperty("path")
+    private String path;
+
+    @BsonProperty("content_type")
+    private String contentType;
+
+    @BsonProperty("body_size")
+    private long bodySize;
+
+    @BsonProperty("segment")
+    private long segment;
+
+    @BsonProperty("position")
+    private int position;
+
+    @BsonProperty("length")
+    private int length;
+
+    @BsonProperty("body_offset")
+    private int bodyOffset;
+
+    public static CaptureLogIndexEntry of(CapturedRequest request, LogPosition logPosition) {
+        CaptureLogIndexEntry entry = new CaptureLogIndexEntry();
+        entry.id = request.id;
+        entry.setProjectId(request.getProjectId());
+        entry.setReceivedAt(request.getReceivedAt());
+        entry.setMethod(request.getMethod());
+        entry.setPath(request.getPath());
+        entry.setContentType(request.getContentType());
+        entry.setBodySize(logPosition.bodySize());
+        entry.setSegment(logPosition.segment());
+        entry.setPosition(logPosition.position());
+        entry.setLength(logPosition.length());
+        entry.setBodyOffset(logPosition.bodyOffset());
+        return entry;
+    }
+}
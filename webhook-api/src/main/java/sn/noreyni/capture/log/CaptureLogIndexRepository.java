@@ -0,0 +1,51 @@
+package sn.noreyni.capture.log;
+
+import com.mongodb.client.model.IndexModel;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepository;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.index.IndexedRepository;
+import sn.noreyni.common.index.QueryShape;
+
+import java.util.List;
+
+@ApplicationScoped
+public class CaptureLogIndexRepository implements ReactivePanacheMongoRepository<CaptureLogIndexEntry>, IndexedRepository {
+
+    @Override
+    public List<IndexModel> indexes() {
+        return List.of(
+                new IndexModel(new Document("project_id", 1).append("received_at", -1)),
+                new IndexModel(new Document("project_id", 1).append("segment", 1))
+        );
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        String projectId = new ObjectId().toHexString();
+        return List.of(
+                QueryShape.of("findRecentByProjectId", new Document("project_id", projectId), new Document("received_at", -1)),
+                QueryShape.of("countByProjectId", new Document("project_id", projectId)),
+                QueryShape.of("deleteBySegments", new Document("project_id", projectId)
+                        .append("segment", new Document("$in", List.of(0L))))
+        );
+    }
+
+    public Uni<List<CaptureLogIndexEntry>> findRecentByProjectId(String projectId, int limit) {
+        return find("projectId", Sort.by("receivedAt").descending(), projectId)
+                .page(Page.ofSize(limit))
+                .list();
+    }
+
+    public Uni<Long> countByProjectId(String projectId) {
+        return find("projectId", projectId).count();
+    }
+
+    public Uni<Long> deleteBySegments(String projectId, List<Long> segments) {
+        return delete("projectId = ?1 and segment in ?2", projectId, segments);
+    }
+}
@@ -0,0 +1,69 @@
+package sn.noreyni.capture.log;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.capture.CaptureConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodic retention of the capture logs
+ * Deletes the segments older than {@code webhook.capture.log.retention} together with their index entries
+ */
+@ApplicationScoped
+@Slf4j
+public class CaptureLogRetentionJob {
+
+    @Inject
+    SegmentLogStore segmentLogStore;
+
+    @Inject
+    CaptureConfig captureConfig;
+
+    @Inject
+    Vertx vertx;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private long timerId = -1;
+
+    void onStart(@Observes StartupEvent event) {
+        long interval = Math.max(1000, captureConfig.log().retentionInterval().toMillis());
+        timerId = vertx.setPeriodic(interval, id -> run());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        Instant start = Instant.now();
+        Instant cutoff = start.minus(captureConfig.log().retention());
+
+        vertx.<Integer>executeBlocking(() -> segmentLogStore.enforceRetention(cutoff), false)
+                .onComplete(result -> {
+                    running.set(false);
+                    if (result.succeeded()) {
+                        if (result.result() > 0) {
+                            log.info("capture.log.retention.success - Deleted {} segments older than {} in {}ms",
+                                    result.result(), cutoff, Duration.between(start, Instant.now()).toMillis());
+                        }
+                    } else {
+                        log.error("capture.log.retention.error - error={}",
+                                result.cause().getMessage(), result.cause());
+                    }
+                });
+    }
+}
@@ -0,0 +1,238 @@
+package sn.noreyni.capture.log;
+
+import org.bson.types.ObjectId;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.common.enums.SignatureStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding of a captured request inside a log segment
+ * <pre>
+ * version:byte | id:12 bytes | receivedAt:long seconds + int nanos | signatureStatus:byte (0 = none, else ordinal + 1)
+ * | method | path | query | contentType | remoteAddress        (string = int length, -1 for null, UTF-8)
+ * | headerCount:int | (name | value) * headerCount
+ * | bodyLength:int | body
+ * </pre>
+ * Version 1 records, written before the signature status existed, are still read.
+ */
+public final class CaptureRecordCodec {
+
+    static final byte VERSION = 2;
+
+    private static final byte VERSION_WITHOUT_SIGNATURE = 1;
+
+    private static final int ID_SIZE = 12;
+
+    private static final SignatureStatus[] SIGNATURE_STATUSES = SignatureStatus.values();
+
+    private CaptureRecordCodec() {
+    }
+
+    /**
+     * A captured request whose strings are already UTF-8 encoded, so the record size is known before writing
+     */
+    public static final class Prepared {
+        private final CapturedRequest request;
+        private final byte[][] strings;
+        private final int headerCount;
+        private final int size;
+        private final int bodyOffset;
+
+        private Prepared(CapturedRequest request, byte[][] strings, int headerCount, int size, int bodyOffset) {
+            this.request = request;
+            this.strings = strings;
+            this.headerCount = headerCount;
+            this.size = size;
+            this.bodyOffset = bodyOffset;
+        }
+
+        public CapturedRequest request() {
+            return request;
+        }
+
+        /**
+         * Encoded size of the record payload
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Offset of the body bytes from the start of the payload
+         */
+        public int bodyOffset() {
+            return bodyOffset;
+        }
+
+        public int bodyLength() {
+            return CaptureRecordCodec.bodyLength(request);
+        }
+    }
+
+    public static Prepared prepare(CapturedRequest request) {
+        List<byte[]> strings = new ArrayList<>(16);
+        strings.add(utf8(request.getMethod()));
+        strings.add(utf8(request.getPath()));
+        strings.add(utf8(request.getQuery()));
+        strings.add(utf8(request.getContentType()));
+        strings.add(utf8(request.getRemoteAddress()));
+
+        int headerCount = 0;
+        if (request.getHeaders() != null) {
+            for (Map.Entry<String, List<String>> header : request.getHeaders().entrySet()) {
+                byte[] name = utf8(header.getKey());
+                for (String value : header.getValue()) {
+                    strings.add(name);
+                    strings.add(utf8(value));
+                    headerCount++;
+                }
+            }
+        }
+
+        int size = 1 + ID_SIZE + Long.BYTES + Integer.BYTES + 1 + Integer.BYTES;
+        for (byte[] string : strings) {
+            size += Integer.BYTES + (string != null ? string.length : 0);
+        }
+        size += Integer.BYTES;
+        int bodyOffset = size;
+        size += bodyLength(request);
+
+        return new Prepared(request, strings.toArray(new byte[0][]), headerCount, size, bodyOffset);
+    }
+
+    /**
+     * Writes a prepared record at an absolute offset of the target buffer
+     * The raw body is transferred straight into the target, blocking when it was spilled to a file
+     */
+    public static void write(Prepared prepared, ByteBuffer target, int offset) throws IOException {
+        CapturedRequest request = prepared.request;
+        int index = offset;
+
+        target.put(index, VERSION);
+        index += 1;
+
+        target.put(index, request.id.toByteArray());
+        index += ID_SIZE;
+
+        LocalDateTime receivedAt = request.getReceivedAt() != null ? request.getReceivedAt() : LocalDateTime.now();
+        target.putLong(index, receivedAt.toEpochSecond(ZoneOffset.UTC));
+        index += Long.BYTES;
+        target.putInt(index, receivedAt.getNano());
+        index += Integer.BYTES;
+
+        SignatureStatus signatureStatus = request.getSignatureStatus();
+        target.put(index, signatureStatus != null ? (byte) (signatureStatus.ordinal() + 1) : 0);
+        index += 1;
+
+        for (int i = 0; i < 5; i++) {
+            index = writeString(target, index, prepared.strings[i]);
+        }
+
+        target.putInt(index, prepared.headerCount);
+        index += Integer.BYTES;
+        for (int i = 5; i < prepared.strings.length; i++) {
+            index = writeString(target, index, prepared.strings[i]);
+        }
+
+        int bodyLength = bodyLength(request);
+        target.putInt(index, bodyLength);
+        index += Integer.BYTES;
+        if (request.getRawBody() != null) {
+            request.getRawBody().transferTo(target.slice(index, bodyLength));
+        } else if (request.getBody() != null) {
+            target.put(index, request.getBody());
+        }
+    }
+
+    /**
+     * Decodes a record payload (position 0 = start of the payload)
+     *
+     * @param payload  the record payload
+     * @param withBody whether the body bytes are copied into the returned entity
+     */
+    public static CapturedRequest read(ByteBuffer payload, String projectId, boolean withBody) {
+        ByteBuffer in = payload.duplicate();
+        byte version = in.get();
+        if (version != VERSION && version != VERSION_WITHOUT_SIGNATURE) {
+            throw new IllegalStateException("Unsupported capture record version: " + version);
+        }
+
+        byte[] id = new byte[ID_SIZE];
+        in.get(id);
+
+        CapturedRequest request = new CapturedRequest();
+        request.id = new ObjectId(id);
+        request.setProjectId(projectId);
+        long seconds = in.getLong();
+        int nanos = in.getInt();
+        request.setReceivedAt(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        if (version != VERSION_WITHOUT_SIGNATURE) {
+            byte signatureStatus = in.get();
+            request.setSignatureStatus(signatureStatus != 0 ? SIGNATURE_STATUSES[signatureStatus - 1] : null);
+        }
+        request.setMethod(readString(in));
+        request.setPath(readString(in));
+        request.setQuery(readString(in));
+        request.setContentType(readString(in));
+        request.setRemoteAddress(readString(in));
+
+        int headerCount = in.getInt();
+        Map<String, List<String>> headers = new LinkedHashMap<>(headerCount * 2);
+        for (int i = 0; i < headerCount; i++) {
+            String name = readString(in);
+            String value = readString(in);
+            headers.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+        }
+        request.setHeaders(headers);
+
+        int bodyLength = in.getInt();
+        request.setBodySize(bodyLength);
+        if (withBody && bodyLength > 0) {
+            byte[] body = new byte[bodyLength];
+            in.get(body);
+            request.setBody(body);
+        }
+
+        return request;
+    }
+
+    private static int bodyLength(CapturedRequest request) {
+        if (request.getRawBody() != null) {
+            return Math.toIntExact(request.getRawBody().size());
+        }
+        return request.getBody() != null ? request.getBody().length : 0;
+    }
+
+    private static int writeString(ByteBuffer target, int index, byte[] value) {
+        if (value == null) {
+            target.putInt(index, -1);
+            return index + Integer.BYTES;
+        }
+        target.putInt(index, value.length);
+        target.put(index + Integer.BYTES, value);
+        return index + Integer.BYTES + value.length;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+}
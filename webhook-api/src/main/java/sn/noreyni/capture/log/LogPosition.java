@@ -0,0 +1,18 @@
+package sn.noreyni.capture.log;
+
+/**
+ * Location of a record in a project capture log
+ *
+ * @param segment    segment ID
+ * @param position   offset of the record header in the segment
+ * @param length     payload length
+ * @param bodyOffset offset of the body bytes in the segment
+ * @param bodySize   body length
+ */
+public record LogPosition(
+        long segment,
+        int position,
+        int length,
+        int bodyOffset,
+        int bodySize
+) {}
@@ -0,0 +1,229 @@
+package sn.noreyni.capture.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped, append-only segment file of a project capture log
+ * <pre>
+ * record = length:int | crc32c:int | payload (length bytes)
+ * </pre>
+ * A zero length marks the end of the written data. The length is written last so that a record
+ * torn by a crash is detected on recovery by a zero length or a CRC mismatch.
+ * Appends are serialized by the owning {@link SegmentLog}; reads use independent slices.
+ */
+final class Segment {
+
+    static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    static final String SUFFIX = ".seg";
+
+    private final long id;
+    private final Path path;
+    private final CRC32C crc = new CRC32C();
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private int position;
+    private boolean sealed;
+    private volatile long lastWriteMillis;
+
+    private Segment(long id, Path path) {
+        this.id = id;
+        this.path = path;
+    }
+
+    static Path fileName(Path directory, long id) {
+        return directory.resolve(String.format("%020d%s", id, SUFFIX));
+    }
+
+    static long idOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Creates a new, empty active segment
+     */
+    static Segment create(Path directory, long id, int capacity) throws IOException {
+        Segment segment = new Segment(id, fileName(directory, id));
+        segment.channel = FileChannel.open(segment.path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment.buffer = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        segment.lastWriteMillis = System.currentTimeMillis();
+        return segment;
+    }
+
+    /**
+     * Opens the last segment of a log for appending, {@link #recover()} must be called before appending
+     */
+    static Segment openActive(Path file, int capacity) throws IOException {
+        Segment segment = new Segment(idOf(file), file);
+        segment.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long mapped = Math.max(capacity, segment.channel.size());
+        segment.buffer = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, mapped);
+        segment.lastWriteMillis = Files.getLastModifiedTime(file).toMillis();
+        return segment;
+    }
+
+    /**
+     * Opens a sealed (read-only) segment
+     */
+    static Segment openSealed(Path file) throws IOException {
+        Segment segment = new Segment(idOf(file), file);
+        try (FileChannel readChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            segment.buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+        }
+        segment.position = segment.buffer.capacity();
+        segment.sealed = true;
+        segment.lastWriteMillis = Files.getLastModifiedTime(file).toMillis();
+        return segment;
+    }
+
+    long id() {
+        return id;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int position() {
+        return position;
+    }
+
+    boolean sealed() {
+        return sealed;
+    }
+
+    boolean hasRoom(int payloadSize) {
+        return !sealed && (long) position + RECORD_HEADER_SIZE + payloadSize <= buffer.capacity();
+    }
+
+    /**
+     * Appends a record and returns its position in the segment
+     */
+    int append(CaptureRecordCodec.Prepared prepared) throws IOException {
+        MappedByteBuffer target = buffer;
+        int recordPosition = position;
+        int payloadPosition = recordPosition + RECORD_HEADER_SIZE;
+
+        CaptureRecordCodec.write(prepared, target, payloadPosition);
+        target.putInt(recordPosition + Integer.BYTES, checksum(target, payloadPosition, prepared.size()));
+        // Length last: a record is only visible once it is complete
+        target.putInt(recordPosition, prepared.size());
+
+        position = payloadPosition + prepared.size();
+        lastWriteMillis = System.currentTimeMillis();
+        return recordPosition;
+    }
+
+    /**
+     * Read-only view of the payload of the record starting at the given position
+     */
+    ByteBuffer payload(int recordPosition) {
+        ByteBuffer source = buffer;
+        int length = source.getInt(recordPosition);
+        return source.slice(recordPosition + RECORD_HEADER_SIZE, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Read-only view of an arbitrary range of the segment
+     */
+    ByteBuffer slice(int offset, int length) {
+        return buffer.slice(offset, length).asReadOnlyBuffer();
+    }
+
+    void force() {
+        if (!sealed) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Flushes the segment, trims the unused mapped tail from the file and remaps it read-only
+     * The file keeps the time of its last record as modification time, not the time of the trim
+     */
+    void seal() throws IOException {
+        if (sealed) {
+            return;
+        }
+        buffer.force();
+        channel.truncate(position);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, position);
+        channel.close();
+        channel = null;
+        sealed = true;
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastWriteMillis));
+    }
+
+    /**
+     * Time of the last appended record; writes through the mapping do not reliably update the file time
+     */
+    Instant lastModified() {
+        return Instant.ofEpochMilli(lastWriteMillis);
+    }
+
+    void close() throws IOException {
+        force();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    void delete() throws IOException {
+        close();
+        // The mapping itself is released by the GC, unlinking the file while mapped is safe
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Scans the records from the start and stops at the first empty, truncated or corrupted one
+     *
+     * @return true if a torn record was found and cleared
+     */
+    boolean recover() {
+        MappedByteBuffer source = buffer;
+        int capacity = source.capacity();
+        int scan = 0;
+        int length = 0;
+
+        while (scan + RECORD_HEADER_SIZE <= capacity) {
+            length = source.getInt(scan);
+            if (length <= 0 || (long) scan + RECORD_HEADER_SIZE + length > capacity) {
+                break;
+            }
+            int stored = source.getInt(scan + Integer.BYTES);
+            if (checksum(source, scan + RECORD_HEADER_SIZE, length) != stored) {
+                break;
+            }
+            scan += RECORD_HEADER_SIZE + length;
+        }
+
+        position = scan;
+
+        boolean torn = scan + RECORD_HEADER_SIZE <= capacity
+                && (length != 0 || source.getInt(scan + Integer.BYTES) != 0);
+        if (torn) {
+            long end = length > 0 ? Math.min(capacity, (long) scan + RECORD_HEADER_SIZE + length) : capacity;
+            for (int i = scan; i < end; i++) {
+                source.put(i, (byte) 0);
+            }
+            source.force();
+        }
+        return torn;
+    }
+
+    private int checksum(ByteBuffer source, int offset, int length) {
+        crc.reset();
+        crc.update(source.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
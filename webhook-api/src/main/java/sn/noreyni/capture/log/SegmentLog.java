@@ -0,0 +1,177 @@
+package sn.noreyni.capture.log;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only capture log of one project: an ordered list of memory-mapped {@link Segment}s
+ * Only the last segment is writable; it is sealed (trimmed and remapped read-only) when a record
+ * does not fit anymore, or when it is older than the retention, and a new segment is rolled.
+ */
+@Slf4j
+public final class SegmentLog {
+
+    private final String projectId;
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment active;
+
+    private SegmentLog(String projectId, Path directory, int segmentSize) {
+        this.projectId = projectId;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens (or creates) the log stored in the given directory, recovering the active segment
+     */
+    public static SegmentLog open(String projectId, Path directory, int segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        SegmentLog segmentLog = new SegmentLog(projectId, directory, segmentSize);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(file -> file.getFileName().toString().endsWith(Segment.SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (int i = 0; i < files.size() - 1; i++) {
+            Segment sealed = Segment.openSealed(files.get(i));
+            segmentLog.segments.put(sealed.id(), sealed);
+        }
+
+        if (files.isEmpty()) {
+            segmentLog.active = Segment.create(directory, 0, segmentSize);
+        } else {
+            segmentLog.active = Segment.openActive(files.getLast(), segmentSize);
+            if (segmentLog.active.recover()) {
+                log.warn("capture.log.recovered - Torn record cleared at the tail of the log, projectId={}, segment={}, position={}",
+                        projectId, segmentLog.active.id(), segmentLog.active.position());
+            }
+        }
+        segmentLog.segments.put(segmentLog.active.id(), segmentLog.active);
+
+        log.debug("capture.log.opened - projectId={}, segments={}, activeSegment={}, position={}",
+                projectId, segmentLog.segments.size(), segmentLog.active.id(), segmentLog.active.position());
+
+        return segmentLog;
+    }
+
+    public String projectId() {
+        return projectId;
+    }
+
+    /**
+     * Appends a record, rolling to a new segment when the active one is full
+     */
+    public synchronized LogPosition append(CaptureRecordCodec.Prepared prepared) throws IOException {
+        if (!active.hasRoom(prepared.size())) {
+            roll(Segment.RECORD_HEADER_SIZE + prepared.size());
+        }
+
+        int recordPosition = active.append(prepared);
+        return new LogPosition(
+                active.id(),
+                recordPosition,
+                prepared.size(),
+                recordPosition + Segment.RECORD_HEADER_SIZE + prepared.bodyOffset(),
+                prepared.bodyLength());
+    }
+
+    /**
+     * Flushes the active segment to disk
+     */
+    public synchronized void force() {
+        active.force();
+    }
+
+    /**
+     * Read-only view of a record payload
+     *
+     * @return null if the segment has been deleted by the retention
+     */
+    public ByteBuffer read(long segmentId, int position) {
+        Segment segment = segments.get(segmentId);
+        return segment != null ? segment.payload(position) : null;
+    }
+
+    /**
+     * Read-only view of a range of a segment (e.g. a request body), no copy is made
+     *
+     * @return null if the segment has been deleted by the retention
+     */
+    public ByteBuffer slice(long segmentId, int offset, int length) {
+        Segment segment = segments.get(segmentId);
+        return segment != null ? segment.slice(offset, length) : null;
+    }
+
+    /**
+     * Segments last written before the cutoff
+     * An active segment holding records that old is sealed first (and a new one rolled), so that a
+     * project with little traffic is subject to the retention too.
+     *
+     * @return the IDs of the expired segments, to {@link #delete(List)} once their index entries are gone
+     */
+    public synchronized List<Long> expiredSegments(Instant cutoff) throws IOException {
+        if (active.position() > 0 && active.lastModified().isBefore(cutoff)) {
+            roll(segmentSize);
+        }
+        List<Long> expired = new ArrayList<>();
+        for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+            Segment segment = entry.getValue();
+            if (segment != active && segment.lastModified().isBefore(cutoff)) {
+                expired.add(entry.getKey());
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Deletes sealed segments, the active one is never deleted
+     */
+    public synchronized void delete(List<Long> segmentIds) throws IOException {
+        for (Long segmentId : segmentIds) {
+            Segment segment = segments.get(segmentId);
+            if (segment == null || segment == active) {
+                continue;
+            }
+            segments.remove(segmentId);
+            segment.delete();
+        }
+    }
+
+    /**
+     * Number of segments currently held by the log
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public synchronized void close() throws IOException {
+        active.close();
+    }
+
+    private void roll(int requiredCapacity) throws IOException {
+        Segment previous = active;
+        previous.seal();
+
+        active = Segment.create(directory, previous.id() + 1, Math.max(segmentSize, requiredCapacity));
+        segments.put(active.id(), active);
+
+        log.debug("capture.log.rolled - projectId={}, sealedSegment={}, sealedSize={}, newSegment={}",
+                projectId, previous.id(), previous.position(), active.id());
+    }
+}
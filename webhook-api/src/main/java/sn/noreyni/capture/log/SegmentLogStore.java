@@ -0,0 +1,196 @@
+package sn.noreyni.capture.log;
+
+import com.mongodb.client.model.InsertManyOptions;
+import io.quarkus.runtime.ShutdownEvent;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import sn.noreyni.capture.CaptureConfig;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.capture.CapturedRequestStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Storage engine for high-volume projects
+ * Captured requests are appended to a per-project memory-mapped segment log; MongoDB only holds a
+ * small index entry (project, time, segment, offsets). Reads slice the mapped segments directly.
+ */
+@ApplicationScoped
+@Slf4j
+public class SegmentLogStore implements CapturedRequestStore {
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+    @Inject
+    CaptureConfig captureConfig;
+
+    @Inject
+    CaptureLogIndexRepository captureLogIndexRepository;
+
+    private final ConcurrentHashMap<String, SegmentLog> logs = new ConcurrentHashMap<>();
+
+    // Runs after the capture writer has drained its queue
+    void onStop(@Observes @Priority(Interceptor.Priority.PLATFORM_AFTER) ShutdownEvent event) {
+        logs.values().forEach(segmentLog -> {
+            try {
+                segmentLog.close();
+            } catch (IOException e) {
+                log.error("capture.log.close.error - projectId={}, error={}", segmentLog.projectId(), e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public Uni<Void> persist(List<CapturedRequest> requests) {
+        return Uni.createFrom().item(() -> append(requests))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .chain(entries -> captureLogIndexRepository.mongoCollection()
+                        .insertMany(entries, new InsertManyOptions().ordered(false)))
+                .replaceWithVoid();
+    }
+
+    @Override
+    public Uni<List<CapturedRequest>> findRecentByProjectId(String projectId, int limit) {
+        return captureLogIndexRepository.findRecentByProjectId(projectId, limit)
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .map(entries -> {
+                    SegmentLog segmentLog = logFor(projectId);
+                    List<CapturedRequest> result = new ArrayList<>(entries.size());
+                    for (CaptureLogIndexEntry entry : entries) {
+                        ByteBuffer record = segmentLog.read(entry.getSegment(), entry.getPosition());
+                        // Segment expired between the index query and the read
+                        if (record != null) {
+                            result.add(CaptureRecordCodec.read(record, projectId, false));
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    @Override
+    public Uni<CapturedRequest> findById(String projectId, ObjectId id) {
+        return findEntry(projectId, id)
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .map(entry -> {
+                    ByteBuffer record = entry != null ? logFor(projectId).read(entry.getSegment(), entry.getPosition()) : null;
+                    return record != null ? CaptureRecordCodec.read(record, projectId, true) : null;
+                });
+    }
+
+    @Override
+    public Uni<ByteBuffer> findBody(String projectId, ObjectId id) {
+        return findEntry(projectId, id)
+                .map(entry -> {
+                    if (entry == null) {
+                        return null;
+                    }
+                    if (entry.getBodySize() == 0) {
+                        return EMPTY;
+                    }
+                    return logFor(projectId).slice(entry.getSegment(), entry.getBodyOffset(), (int) entry.getBodySize());
+                });
+    }
+
+    @Override
+    public Uni<Long> countByProjectId(String projectId) {
+        return captureLogIndexRepository.countByProjectId(projectId);
+    }
+
+    /**
+     * Deletes the segments older than the retention delay in every project log
+     * The index entries go first, so that no entry ever points to a deleted segment; a crash in between
+     * only leaves segment files without entries, deleted again by the next run.
+     * Blocking: must run on a worker thread
+     *
+     * @return number of deleted segments
+     */
+    public int enforceRetention(Instant cutoff) {
+        Path root = Path.of(captureConfig.log().directory());
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+
+        int count = 0;
+        try (Stream<Path> projects = Files.list(root)) {
+            for (Path directory : projects.filter(Files::isDirectory).toList()) {
+                String projectId = directory.getFileName().toString();
+                if (!ObjectId.isValid(projectId)) {
+                    continue;
+                }
+                SegmentLog segmentLog = logFor(projectId);
+                List<Long> segments = segmentLog.expiredSegments(cutoff);
+                if (segments.isEmpty()) {
+                    continue;
+                }
+                captureLogIndexRepository.deleteBySegments(projectId, segments).await().indefinitely();
+                segmentLog.delete(segments);
+                count += segments.size();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    private Uni<CaptureLogIndexEntry> findEntry(String projectId, ObjectId id) {
+        return captureLogIndexRepository.findById(id)
+                .map(entry -> entry != null && projectId.equals(entry.getProjectId()) ? entry : null);
+    }
+
+    /**
+     * Appends the batch to the project logs, then forces the touched logs to disk
+     * Index entries are returned in the order of the requests
+     */
+    private List<CaptureLogIndexEntry> append(List<CapturedRequest> requests) {
+        List<CaptureLogIndexEntry> entries = new ArrayList<>(requests.size());
+        Set<SegmentLog> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        try {
+            for (CapturedRequest request : requests) {
+                SegmentLog segmentLog = logFor(request.getProjectId());
+                LogPosition logPosition = segmentLog.append(CaptureRecordCodec.prepare(request));
+                entries.add(CaptureLogIndexEntry.of(request, logPosition));
+                touched.add(segmentLog);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (captureConfig.log().fsync()) {
+            touched.forEach(SegmentLog::force);
+        }
+        return entries;
+    }
+
+    private SegmentLog logFor(String projectId) {
+        if (!ObjectId.isValid(projectId)) {
+            throw new IllegalArgumentException("Invalid project ID for capture log: " + projectId);
+        }
+        return logs.computeIfAbsent(projectId, id -> {
+            try {
+                return SegmentLog.open(id, Path.of(captureConfig.log().directory(), id), captureConfig.log().segmentSize());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package sn.noreyni.capture.signature;
+
+import io.netty.buffer.ByteBuf;
+import sn.noreyni.common.enums.SignatureStatus;
+
+import javax.crypto.Mac;
+import java.nio.ByteBuffer;
+
+/**
+ * Signature verification of one request, fed with the body chunks as they are received
+ * Holds a Mac borrowed from the verifier until {@link #finish()} or {@link #abort()}.
+ */
+public final class SignatureCheck {
+
+    /**
+     * Request without the signature header
+     */
+    static final SignatureCheck MISSING = new SignatureCheck(SignatureStatus.MISSING);
+
+    /**
+     * Request whose signature header cannot be verified whatever the body (malformed, expired timestamp)
+     */
+    static final SignatureCheck MALFORMED = new SignatureCheck(SignatureStatus.INVALID);
+
+    private final SignatureVerifier verifier;
+    private final String signature;
+    private final SignatureStatus decided;
+    private Mac mac;
+
+    SignatureCheck(SignatureVerifier verifier, Mac mac, String signature) {
+        this.verifier = verifier;
+        this.mac = mac;
+        this.signature = signature;
+        this.decided = null;
+    }
+
+    private SignatureCheck(SignatureStatus decided) {
+        this.verifier = null;
+        this.signature = null;
+        this.decided = decided;
+    }
+
+    /**
+     * Adds a body chunk to the HMAC, without copying it
+     */
+    public void update(ByteBuf chunk) {
+        if (mac == null || !chunk.isReadable()) {
+            return;
+        }
+        if (chunk.hasArray()) {
+            mac.update(chunk.array(), chunk.arrayOffset() + chunk.readerIndex(), chunk.readableBytes());
+        } else if (chunk.nioBufferCount() == 1) {
+            mac.update(chunk.internalNioBuffer(chunk.readerIndex(), chunk.readableBytes()));
+        } else {
+            for (ByteBuffer buffer : chunk.nioBuffers()) {
+                mac.update(buffer);
+            }
+        }
+    }
+
+    /**
+     * Completes the verification once the whole body was fed
+     */
+    public SignatureStatus finish() {
+        if (mac == null) {
+            return decided;
+        }
+        try {
+            return verifier.complete(mac, signature) ? SignatureStatus.VALID : SignatureStatus.INVALID;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Gives the Mac back when the body could not be read
+     */
+    public void abort() {
+        if (mac != null) {
+            release();
+        }
+    }
+
+    private void release() {
+        Mac borrowed = mac;
+        mac = null;
+        verifier.release(borrowed);
+    }
+}
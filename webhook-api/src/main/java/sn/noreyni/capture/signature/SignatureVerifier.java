@@ -0,0 +1,294 @@
+package sn.noreyni.capture.signature;
+
+import io.vertx.core.MultiMap;
+import sn.noreyni.common.enums.SignatureFormat;
+import sn.noreyni.project.WebhookSignature;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/**
+ * HMAC signature verification of the webhooks of one project, part of its routing record
+ * Each thread keeps a few {@link Mac} instances already initialized with the project secret: a request borrows
+ * one, feeds it the body chunks as they are received and gives it back once the body is complete, so a request
+ * costs no key setup, no second pass over the body and no copy of it. The received signature is decoded in place
+ * and compared in constant time. The routing table keeps the verifier of a project across its updates as long as
+ * the signature configuration does not change, see {@link #matches(WebhookSignature)}.
+ */
+public final class SignatureVerifier {
+
+    /**
+     * Initialized Mac instances kept per thread, one per request whose body is being received at once
+     */
+    static final int POOL_SIZE = 8;
+
+    /**
+     * Maximum age of a Stripe signature timestamp, Stripe's own default
+     */
+    static final long STRIPE_TOLERANCE_SECONDS = 300;
+
+    private static final int MAX_MAC_LENGTH = 64;
+
+    /**
+     * Computed digest then decoded signature, per thread
+     */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[2 * MAX_MAC_LENGTH]);
+
+    private final String algorithm;
+    private final String secret;
+    private final SecretKeySpec key;
+    private final String header;
+    private final SignatureFormat format;
+    private final String prefix;
+    private final ThreadLocal<ArrayDeque<Mac>> macs = ThreadLocal.withInitial(() -> new ArrayDeque<>(POOL_SIZE));
+
+    private SignatureVerifier(WebhookSignature signature) {
+        this.algorithm = signature.getAlgorithm().getJcaName();
+        this.secret = signature.getSecret();
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), algorithm);
+        this.header = signature.getHeader();
+        this.format = signature.getFormat();
+        this.prefix = signature.getPrefix() != null ? signature.getPrefix() : "";
+        release(newMac());
+    }
+
+    /**
+     * Verifier of a project signature configuration
+     *
+     * @return null when the project does not check signatures
+     */
+    public static SignatureVerifier of(WebhookSignature signature) {
+        if (signature == null || !signature.isEnabled() || signature.getSecret() == null || signature.getSecret().isEmpty()
+                || signature.getHeader() == null || signature.getHeader().isBlank()) {
+            return null;
+        }
+        return new SignatureVerifier(signature);
+    }
+
+    /**
+     * Whether this verifier checks exactly the given configuration, so that it can be kept by an updated route
+     */
+    public boolean matches(WebhookSignature signature) {
+        return signature != null && signature.isEnabled()
+                && signature.getAlgorithm() != null && algorithm.equals(signature.getAlgorithm().getJcaName())
+                && secret.equals(signature.getSecret())
+                && Objects.equals(header, signature.getHeader())
+                && format == signature.getFormat()
+                && prefix.equals(signature.getPrefix() != null ? signature.getPrefix() : "");
+    }
+
+    /**
+     * Starts the verification of a request, before its body is read
+     *
+     * @param headers the request headers
+     * @return the check to feed with the body, already decided when the signature header is absent or malformed
+     */
+    public SignatureCheck start(MultiMap headers) {
+        String signature = headers.get(header);
+        if (signature == null) {
+            return SignatureCheck.MISSING;
+        }
+        if (format != SignatureFormat.STRIPE) {
+            return new SignatureCheck(this, borrow(), signature);
+        }
+
+        // t=<timestamp>,v1=<signature>[,v1=...]: the signed payload is "<timestamp>.<body>"
+        int start = field(signature, "t=", 0);
+        if (start < 0) {
+            return SignatureCheck.MALFORMED;
+        }
+        int end = fieldEnd(signature, start);
+        long timestamp = 0;
+        for (int i = start; i < end; i++) {
+            char c = signature.charAt(i);
+            if (c < '0' || c > '9' || i - start > 18) {
+                return SignatureCheck.MALFORMED;
+            }
+            timestamp = timestamp * 10 + (c - '0');
+        }
+        if (end == start || Math.abs(System.currentTimeMillis() / 1000 - timestamp) > STRIPE_TOLERANCE_SECONDS) {
+            return SignatureCheck.MALFORMED;
+        }
+        Mac mac = borrow();
+        for (int i = start; i < end; i++) {
+            mac.update((byte) signature.charAt(i));
+        }
+        mac.update((byte) '.');
+        return new SignatureCheck(this, mac, signature);
+    }
+
+    /**
+     * Completes the HMAC of a request and compares it with the received signature
+     */
+    boolean complete(Mac mac, String signature) {
+        byte[] scratch = SCRATCH.get();
+        int length = mac.getMacLength();
+        try {
+            mac.doFinal(scratch, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC output larger than " + MAX_MAC_LENGTH + " bytes", e);
+        }
+
+        switch (format) {
+            case HEX:
+                return signature.startsWith(prefix)
+                        && hexEquals(scratch, length, signature, prefix.length(), signature.length());
+            case BASE64:
+                return signature.startsWith(prefix)
+                        && base64Decode(signature, prefix.length(), scratch, MAX_MAC_LENGTH) == length
+                        && constantTimeEquals(scratch, 0, scratch, MAX_MAC_LENGTH, length);
+            default:
+                // Any of the v1 signatures, several are sent while the endpoint secret is rolled
+                boolean valid = false;
+                for (int start = field(signature, "v1=", 0); start >= 0; ) {
+                    int end = fieldEnd(signature, start);
+                    valid |= hexEquals(scratch, length, signature, start, end);
+                    start = field(signature, "v1=", end);
+                }
+                return valid;
+        }
+    }
+
+    Mac borrow() {
+        Mac mac = macs.get().poll();
+        return mac != null ? mac : newMac();
+    }
+
+    void release(Mac mac) {
+        mac.reset();
+        ArrayDeque<Mac> pool = macs.get();
+        if (pool.size() < POOL_SIZE) {
+            pool.push(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unavailable HMAC algorithm: " + algorithm, e);
+        }
+    }
+
+    /**
+     * Start of the value of a {@code name=value} field of a comma separated header, -1 when absent
+     */
+    private static int field(String header, String name, int from) {
+        int index = from;
+        while (index < header.length()) {
+            while (index < header.length() && header.charAt(index) == ' ') {
+                index++;
+            }
+            if (header.startsWith(name, index)) {
+                return index + name.length();
+            }
+            index = fieldEnd(header, index) + 1;
+        }
+        return -1;
+    }
+
+    private static int fieldEnd(String header, int from) {
+        int end = header.indexOf(',', from);
+        return end < 0 ? header.length() : end;
+    }
+
+    /**
+     * Compares a digest with its hex encoding in {@code [from, to)}, in time independent of the content
+     */
+    static boolean hexEquals(byte[] digest, int length, String hex, int from, int to) {
+        if (to - from != 2 * length) {
+            return false;
+        }
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            int high = hexValue(hex.charAt(from + 2 * i));
+            int low = hexValue(hex.charAt(from + 2 * i + 1));
+            diff |= (high | low) & 0x100;
+            diff |= (digest[i] ^ ((high << 4) | low)) & 0xff;
+        }
+        return diff == 0;
+    }
+
+    /**
+     * Compares two ranges in time independent of their content
+     */
+    static boolean constantTimeEquals(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= a[aOffset + i] ^ b[bOffset + i];
+        }
+        return diff == 0;
+    }
+
+    /**
+     * Decodes standard or URL-safe base64 into {@code target} at {@code offset}
+     *
+     * @return number of decoded bytes, -1 when the text is not base64 or longer than a digest
+     */
+    static int base64Decode(String text, int from, byte[] target, int offset) {
+        int bits = 0;
+        int bitCount = 0;
+        int written = 0;
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '=') {
+                break;
+            }
+            int value = base64Value(c);
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                if (written == MAX_MAC_LENGTH) {
+                    return -1;
+                }
+                target[offset + written++] = (byte) (bits >> bitCount);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Value of a hex digit, with bit 8 set when the character is not one
+     */
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return 0x100;
+    }
+
+    private static int base64Value(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        }
+        if (c == '+' || c == '-') {
+            return 62;
+        }
+        if (c == '/' || c == '_') {
+            return 63;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,46 @@
+package sn.noreyni.common.bulk;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts documents with one unordered bulk write
+ * The server keeps inserting after a failed document, so one duplicate does not abort the rest of the
+ * batch: the write errors are returned by document index instead of failing the whole insert.
+ */
+public final class UnorderedInsert {
+
+    /**
+     * Error code of a unique index violation
+     */
+    public static final int DUPLICATE_KEY = 11000;
+
+    private UnorderedInsert() {
+    }
+
+    /**
+     * Inserts the documents, their IDs must be assigned beforehand
+     *
+     * @return write errors by index of the document in {@code documents}, empty when all were inserted
+     */
+    public static <T> Uni<Map<Integer, BulkWriteError>> insert(ReactiveMongoCollection<T> collection, List<T> documents) {
+        if (documents.isEmpty()) {
+            return Uni.createFrom().item(Map.of());
+        }
+        List<InsertOneModel<T>> inserts = documents.stream().map(InsertOneModel::new).toList();
+        return Uni.createFrom().deferred(() -> collection.bulkWrite(inserts, new BulkWriteOptions().ordered(false)))
+                .map(result -> Map.<Integer, BulkWriteError>of())
+                .onFailure(MongoBulkWriteException.class).recoverWithItem(throwable -> ((MongoBulkWriteException) throwable)
+                        .getWriteErrors().stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity())));
+    }
+}
@@ -0,0 +1,89 @@
+package sn.noreyni.common.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of entities by ID, in front of a repository
+ * Backed by Caffeine: W-TinyLFU admission and eviction beyond {@code maximum-size}, expiry after
+ * {@code expire-after-write}. Concurrent misses on the same ID share one load. Values must be immutable (DTO
+ * records), absent entities and failed loads are not cached. Writers invalidate the ID once their write has
+ * completed; a load still in flight at that point is dropped from the cache, so it cannot bring the old value
+ * back. Exposes {@code webhook.cache.hits|misses|evictions|size} tagged with the cache name.
+ *
+ * @param <T> cached value
+ */
+public class EntityCache<T> {
+
+    private final String name;
+    private final AsyncCache<String, T> cache;
+
+    /**
+     * Builds the cache, a disabled cache delegates every read to its loader
+     */
+    public EntityCache(String name, EntityCacheConfig.Entity config, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.cache = config.enabled()
+                ? Caffeine.newBuilder()
+                .maximumSize(config.maximumSize())
+                .expireAfterWrite(config.expireAfterWrite())
+                .recordStats()
+                .buildAsync()
+                : null;
+        if (cache != null) {
+            registerMetrics(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Value of an ID, loaded on a miss
+     *
+     * @param loader reads the value from the database, emits null when the entity does not exist
+     * @return Uni containing the value, null when the entity does not exist
+     */
+    public Uni<T> get(String id, Function<String, Uni<T>> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+        return Uni.createFrom().completionStage(() -> cache.get(id,
+                (key, executor) -> loader.apply(key).subscribeAsCompletionStage()));
+    }
+
+    /**
+     * Drops the value of an ID, to be called once a write of the entity has completed
+     */
+    public void invalidate(String id) {
+        if (cache != null && id != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("webhook.cache.hits", cache, c -> c.synchronous().stats().hitCount())
+                .tag("cache", name)
+                .description("Reads answered from the entity cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("webhook.cache.misses", cache, c -> c.synchronous().stats().missCount())
+                .tag("cache", name)
+                .description("Reads loaded from MongoDB into the entity cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("webhook.cache.evictions", cache, c -> c.synchronous().stats().evictionCount())
+                .tag("cache", name)
+                .description("Entries evicted from the entity cache for size or expiry")
+                .register(meterRegistry);
+        Gauge.builder("webhook.cache.size", cache, c -> c.synchronous().estimatedSize())
+                .tag("cache", name)
+                .description("Entries held by the entity cache")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package sn.noreyni.common.cache;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "webhook.cache")
+public interface EntityCacheConfig {
+
+    /**
+     * Cache of user details, read by {@code GET /api/users/{id}}
+     */
+    @WithName("users")
+    Entity users();
+
+    /**
+     * Cache of project details, read by {@code GET /api/projects/{id}}
+     */
+    @WithName("projects")
+    Entity projects();
+
+    interface Entity {
+
+        /**
+         * Whether reads go through the cache, every read queries MongoDB when disabled
+         */
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Maximum number of cached entries, the least valuable ones are evicted beyond it
+         */
+        @WithName("maximum-size")
+        @WithDefault("10000")
+        long maximumSize();
+
+        /**
+         * Time after which an entry is reloaded, bounds staleness after a write made by another instance
+         */
+        @WithName("expire-after-write")
+        @WithDefault("5m")
+        Duration expireAfterWrite();
+    }
+}
@@ -0,0 +1,85 @@
+package sn.noreyni.common.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reading and writing of single values for the projection codecs
+ * Each read method expects the reader positioned on a value, after its name, and accepts a BSON null.
+ * Dates follow the driver's {@code LocalDateTime} codec: UTC date-times.
+ */
+public final class BsonValues {
+
+    private BsonValues() {
+    }
+
+    public static String readString(BsonReader reader) {
+        if (isNull(reader)) {
+            return null;
+        }
+        if (reader.getCurrentBsonType() == BsonType.OBJECT_ID) {
+            return reader.readObjectId().toHexString();
+        }
+        return reader.readString();
+    }
+
+    public static <E extends Enum<E>> E readEnum(BsonReader reader, Class<E> type) {
+        String name = readString(reader);
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    public static LocalDateTime readDateTime(BsonReader reader) {
+        if (isNull(reader)) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readDateTime()), ZoneOffset.UTC);
+    }
+
+    public static int readInt(BsonReader reader) {
+        if (isNull(reader)) {
+            return 0;
+        }
+        return switch (reader.getCurrentBsonType()) {
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            default -> reader.readInt32();
+        };
+    }
+
+    public static boolean readBoolean(BsonReader reader) {
+        return !isNull(reader) && reader.readBoolean();
+    }
+
+    public static void writeString(BsonWriter writer, String name, String value) {
+        if (value == null) {
+            writer.writeNull(name);
+        } else {
+            writer.writeString(name, value);
+        }
+    }
+
+    public static void writeEnum(BsonWriter writer, String name, Enum<?> value) {
+        writeString(writer, name, value != null ? value.name() : null);
+    }
+
+    public static void writeDateTime(BsonWriter writer, String name, LocalDateTime value) {
+        if (value == null) {
+            writer.writeNull(name);
+        } else {
+            writer.writeDateTime(name, value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    private static boolean isNull(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,8 @@
+package sn.noreyni.common.enums;
+
+/**
+ * Role of a user on a project, strongest first
+ */
+public enum ProjectRole {
+    OWNER, MEMBER, INVITED
+}
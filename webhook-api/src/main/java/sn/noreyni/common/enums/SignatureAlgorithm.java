@@ -0,0 +1,16 @@
+package sn.noreyni.common.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum SignatureAlgorithm {
+    HMAC_SHA1("HmacSHA1"),
+    HMAC_SHA256("HmacSHA256"),
+    HMAC_SHA512("HmacSHA512");
+
+    private final String jcaName;
+
+    SignatureAlgorithm(String jcaName) {
+        this.jcaName = jcaName;
+    }
+}
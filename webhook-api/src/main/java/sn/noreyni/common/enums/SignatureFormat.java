@@ -0,0 +1,10 @@
+package sn.noreyni.common.enums;
+
+/**
+ * Encoding of the signature header of a webhook
+ * {@code HEX} and {@code BASE64} hold the HMAC of the body, after an optional prefix such as {@code sha256=}
+ * (GitHub, Shopify); {@code STRIPE} holds {@code t=<timestamp>,v1=<hex>} signing {@code <timestamp>.<body>}.
+ */
+public enum SignatureFormat {
+    HEX, BASE64, STRIPE
+}
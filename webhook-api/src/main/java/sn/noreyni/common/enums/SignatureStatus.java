@@ -0,0 +1,5 @@
+package sn.noreyni.common.enums;
+
+public enum SignatureStatus {
+    VALID, INVALID, MISSING
+}
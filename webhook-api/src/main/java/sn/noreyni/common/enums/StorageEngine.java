@@ -0,0 +1,5 @@
+package sn.noreyni.common.enums;
+
+public enum StorageEngine {
+    MONGO, SEGMENT_LOG
+}
@@ -0,0 +1,33 @@
+package sn.noreyni.common.index;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "webhook.indexes")
+public interface IndexConfig {
+
+    /**
+     * Create the declared indexes at startup
+     */
+    @WithName("create")
+    @WithDefault("true")
+    boolean create();
+
+    /**
+     * Explain every declared query shape at startup and fail the startup if one of them scans a collection
+     * Meant for test and CI environments with a MongoDB instance, startup waits for MongoDB.
+     */
+    @WithName("verify")
+    @WithDefault("false")
+    boolean verify();
+
+    /**
+     * Maximum time the verification may take before the startup fails
+     */
+    @WithName("verify-timeout")
+    @WithDefault("60s")
+    Duration verifyTimeout();
+}
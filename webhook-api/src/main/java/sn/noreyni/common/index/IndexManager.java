@@ -0,0 +1,179 @@
+package sn.noreyni.common.index;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.IndexModel;
+import io.quarkus.arc.All;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepositoryBase;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared by every {@link IndexedRepository} at startup
+ * Creation runs in the background and is retried while MongoDB is unreachable. An index the server refuses
+ * (e.g. a unique index over duplicate values) is reported and skipped. In verification mode
+ * ({@code webhook.indexes.verify}) the startup waits for the indexes, explains every declared query shape and
+ * fails if one of them is answered with a collection scan.
+ */
+@ApplicationScoped
+@Slf4j
+public class IndexManager {
+
+    static final long RETRY_DELAY_MS = 30_000;
+
+    @Inject
+    @All
+    List<IndexedRepository> repositories;
+
+    @Inject
+    IndexConfig indexConfig;
+
+    @Inject
+    Vertx vertx;
+
+    private volatile boolean stopped;
+
+    void onStart(@Observes StartupEvent event) {
+        if (indexConfig.verify()) {
+            List<String> scans = createIndexes()
+                    .chain(created -> verify())
+                    .await().atMost(indexConfig.verifyTimeout());
+            if (!scans.isEmpty()) {
+                throw new IllegalStateException("Queries answered with a collection scan: " + String.join(", ", scans));
+            }
+            log.info("index.verify.success - Every declared query shape uses an index");
+            return;
+        }
+        if (indexConfig.create()) {
+            ensureIndexes();
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+    }
+
+    /**
+     * Creates the declared indexes, retrying later when MongoDB is not reachable
+     */
+    void ensureIndexes() {
+        Instant start = Instant.now();
+        createIndexes().subscribe().with(
+                created -> log.info("index.create.success - Ensured {} indexes in {}ms",
+                        created, Duration.between(start, Instant.now()).toMillis()),
+                throwable -> {
+                    log.warn("index.create.error - Indexes not created, retrying in {}ms, error={}",
+                            RETRY_DELAY_MS, throwable.getMessage());
+                    if (!stopped) {
+                        vertx.setTimer(RETRY_DELAY_MS, id -> ensureIndexes());
+                    }
+                });
+    }
+
+    /**
+     * Creates every declared index, completes with the number of indexes that exist afterwards
+     */
+    public Uni<Integer> createIndexes() {
+        return Multi.createFrom().iterable(repositories)
+                .onItem().transformToMultiAndConcatenate(repository -> Multi.createFrom().iterable(repository.indexes())
+                        .onItem().transformToUniAndConcatenate(index -> createIndex(repository, index)))
+                .collect().with(Collectors.summingInt(created -> created ? 1 : 0));
+    }
+
+    /**
+     * Explains every declared query shape
+     *
+     * @return {@code collection.query} of the shapes answered with a collection scan
+     */
+    public Uni<List<String>> verify() {
+        return Multi.createFrom().iterable(repositories)
+                .onItem().transformToMultiAndConcatenate(repository -> Multi.createFrom().iterable(repository.queryShapes())
+                        .onItem().transformToUniAndConcatenate(shape -> explain(repository, shape)))
+                .select().where(Optional::isPresent)
+                .map(Optional::get)
+                .collect().asList();
+    }
+
+    /**
+     * Whether the winning plan of an {@code explain} result reads a collection without an index
+     */
+    public static boolean usesCollectionScan(Document explain) {
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        return queryPlanner != null && containsCollectionScan(queryPlanner.get("winningPlan"));
+    }
+
+    private Uni<Boolean> createIndex(IndexedRepository repository, IndexModel index) {
+        return Uni.createFrom().deferred(() -> {
+            ReactiveMongoCollection<?> collection = ((ReactivePanacheMongoRepositoryBase<?, ?>) repository).mongoCollection();
+            String collectionName = collection.getNamespace().getCollectionName();
+
+            return collection.createIndex(index.getKeys(), index.getOptions())
+                    .map(name -> {
+                        log.debug("index.create.ensured - collection={}, index={}", collectionName, name);
+                        return true;
+                    })
+                    // Refused by the server: reported, the other indexes are still created
+                    .onFailure(MongoCommandException.class).recoverWithItem(throwable -> {
+                        log.error("index.create.refused - collection={}, keys={}, error={}",
+                                collectionName, index.getKeys(), throwable.getMessage());
+                        return false;
+                    });
+        });
+    }
+
+    private Uni<Optional<String>> explain(IndexedRepository repository, QueryShape shape) {
+        return Uni.createFrom().deferred(() -> {
+            ReactivePanacheMongoRepositoryBase<?, ?> panacheRepository = (ReactivePanacheMongoRepositoryBase<?, ?>) repository;
+            String collectionName = panacheRepository.mongoCollection().getNamespace().getCollectionName();
+            Document command = new Document("explain", new Document("find", collectionName)
+                    .append("filter", shape.filter())
+                    .append("sort", shape.sort()))
+                    .append("verbosity", "queryPlanner");
+
+            return panacheRepository.mongoDatabase().runCommand(command)
+                    .map(explain -> {
+                        if (!usesCollectionScan(explain)) {
+                            return Optional.<String>empty();
+                        }
+                        log.error("index.verify.collectionScan - collection={}, query={}, filter={}, sort={}",
+                                collectionName, shape.name(), shape.filter().toJson(), shape.sort().toJson());
+                        return Optional.of(collectionName + "." + shape.name());
+                    });
+        });
+    }
+
+    private static boolean containsCollectionScan(Object plan) {
+        if (plan instanceof Document document) {
+            if ("COLLSCAN".equals(document.get("stage"))) {
+                return true;
+            }
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                if (containsCollectionScan(entry.getValue())) {
+                    return true;
+                }
+            }
+        } else if (plan instanceof List<?> list) {
+            for (Object element : list) {
+                if (containsCollectionScan(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
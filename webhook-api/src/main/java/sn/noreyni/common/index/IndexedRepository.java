@@ -0,0 +1,23 @@
+package sn.noreyni.common.index;
+
+import com.mongodb.client.model.IndexModel;
+
+import java.util.List;
+
+/**
+ * Repository declaring the indexes its queries rely on
+ * Implemented by Panache repositories: {@link IndexManager} creates the declared indexes at startup and,
+ * in verification mode, checks that every declared query shape is answered without a collection scan.
+ */
+public interface IndexedRepository {
+
+    /**
+     * Indexes of the repository collection, {@code _id} excluded
+     */
+    List<IndexModel> indexes();
+
+    /**
+     * Filters and sorts issued by the repository queries, with sample values
+     */
+    List<QueryShape> queryShapes();
+}
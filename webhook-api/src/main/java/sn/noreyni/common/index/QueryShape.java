@@ -0,0 +1,21 @@
+package sn.noreyni.common.index;
+
+import org.bson.Document;
+
+/**
+ * Filter and sort of a repository query, explained in verification mode
+ *
+ * @param name query name used in reports, usually the repository method
+ * @param filter filter with sample values of the right types
+ * @param sort sort of the query, empty when unsorted
+ */
+public record QueryShape(String name, Document filter, Document sort) {
+
+    public static QueryShape of(String name, Document filter) {
+        return new QueryShape(name, filter, new Document());
+    }
+
+    public static QueryShape of(String name, Document filter, Document sort) {
+        return new QueryShape(name, filter, sort);
+    }
+}
@@ -0,0 +1,148 @@
+package sn.noreyni.common.pagination;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.ByteBuf;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.exception.ApiException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination position: the sort key and {@code _id} of the last element of a page
+ * The next page is read with a range condition on (sort key, {@code _id}) instead of a skip, so every
+ * page costs the same index seek whatever its depth. Clients get it as an opaque URL-safe token.
+ *
+ * @param field BSON name of the sort key, {@code _id} when sorting on the ID only
+ * @param direction 1 ascending, -1 descending
+ * @param value sort key of the last element, null when it has none
+ * @param id {@code _id} of the last element
+ */
+public record Cursor(String field, int direction, Object value, ObjectId id) {
+
+    public static final String ID_FIELD = "_id";
+
+    private static final DocumentCodec CODEC = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+    /**
+     * Sort key usable for keyset pagination
+     *
+     * @param field BSON name of the field
+     * @param value reads the key of an entity, as stored in MongoDB
+     */
+    public record Key<T>(String field, Function<T, Object> value) {
+    }
+
+    /**
+     * Position after an element, for the given sort
+     */
+    public static <T> Cursor after(Key<T> key, int direction, T element, ObjectId id) {
+        Object value = ID_FIELD.equals(key.field()) ? null : key.value().apply(element);
+        return new Cursor(key.field(), direction, value instanceof Enum<?> e ? e.name() : value, id);
+    }
+
+    /**
+     * Sort matching the keyset condition, {@code _id} breaks ties between equal keys
+     */
+    public static Document sort(String field, int direction) {
+        Document sort = new Document();
+        if (!ID_FIELD.equals(field)) {
+            sort.append(field, direction);
+        }
+        return sort.append(ID_FIELD, direction);
+    }
+
+    /**
+     * Adds the keyset condition of a cursor to a filter, the filter is returned as is without cursor
+     */
+    public static Document seek(Document filter, Cursor after) {
+        if (after == null) {
+            return filter;
+        }
+        if (filter.isEmpty()) {
+            return after.condition();
+        }
+        return new Document("$and", List.of(filter, after.condition()));
+    }
+
+    /**
+     * Whether this cursor was issued for the given sort
+     */
+    public boolean matches(String field, int direction) {
+        return this.field.equals(field) && this.direction == direction;
+    }
+
+    /**
+     * Condition selecting the elements that come after this position
+     * Null keys sort before any value in MongoDB, and comparison operators never match them, so they are
+     * handled explicitly.
+     */
+    public Document condition() {
+        String idOperator = direction > 0 ? "$gt" : "$lt";
+        Document afterId = new Document(ID_FIELD, new Document(idOperator, id));
+        if (ID_FIELD.equals(field)) {
+            return afterId;
+        }
+
+        List<Document> branches = new ArrayList<>(3);
+        if (value == null) {
+            branches.add(new Document(field, null).append(ID_FIELD, new Document(idOperator, id)));
+            if (direction > 0) {
+                branches.add(new Document(field, new Document("$ne", null)));
+            }
+        } else {
+            branches.add(new Document(field, new Document(idOperator, value)));
+            branches.add(new Document(field, value).append(ID_FIELD, new Document(idOperator, id)));
+            if (direction < 0) {
+                branches.add(new Document(field, null));
+            }
+        }
+        return branches.size() == 1 ? branches.getFirst() : new Document("$or", branches);
+    }
+
+    /**
+     * Opaque token given to clients
+     */
+    public String encode() {
+        Document document = new Document("f", field)
+                .append("d", direction)
+                .append("v", value)
+                .append("i", id);
+        ByteBuf buffer = new RawBsonDocument(document, CODEC).getByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Reads a token produced by {@link #encode()}
+     *
+     * @throws ApiException with 400 status if the token is not a valid cursor
+     */
+    public static Cursor decode(String token) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token.trim());
+            Document document;
+            try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes))) {
+                document = CODEC.decode(reader, DecoderContext.builder().build());
+            }
+            if (document.get("f") instanceof String field
+                    && document.get("d") instanceof Integer direction
+                    && (direction == 1 || direction == -1)
+                    && document.get("i") instanceof ObjectId id) {
+                return new Cursor(field, direction, document.get("v"), id);
+            }
+        } catch (RuntimeException e) {
+            // Falls through to the invalid cursor error
+        }
+        throw new ApiException("Curseur de pagination invalide", 400);
+    }
+}
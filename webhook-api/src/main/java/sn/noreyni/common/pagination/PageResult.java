@@ -0,0 +1,11 @@
+package sn.noreyni.common.pagination;
+
+import sn.noreyni.common.response.PaginationMeta;
+
+import java.util.List;
+
+/**
+ * One page of a listing with its pagination metadata
+ */
+public record PageResult<T>(List<T> items, PaginationMeta pagination) {
+}
@@ -1,19 +1,38 @@
 package sn.noreyni.common.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Pagination metadata of a list response
+ * Offset mode fills the page number and totals; cursor mode leaves them out and gives {@code nextCursor}
+ * instead, absent on the last page. {@code totalEstimated} is set when the total is an estimate.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PaginationMeta(
-        int page,
+        Integer page,
         int size,
-        long totalElements,
-        int totalPages,
+        Long totalElements,
+        Integer totalPages,
+        Boolean totalEstimated,
         boolean hasNext,
-        boolean hasPrevious
+        boolean hasPrevious,
+        String nextCursor
 ) {
 
     public static PaginationMeta of(int page, int size, long totalElements) {
+        return of(page, size, totalElements, false);
+    }
+
+    public static PaginationMeta of(int page, int size, long totalElements, boolean estimated) {
         int totalPages = (int) Math.ceil((double) totalElements / size);
         boolean hasNext = page < totalPages - 1;
         boolean hasPrevious = page > 0;
 
-        return new PaginationMeta(page, size, totalElements, totalPages, hasNext, hasPrevious);
+        return new PaginationMeta(page, size, totalElements, totalPages, estimated ? Boolean.TRUE : null,
+                hasNext, hasPrevious, null);
+    }
+
+    public static PaginationMeta ofCursor(int size, boolean hasPrevious, String nextCursor) {
+        return new PaginationMeta(null, size, null, null, null, nextCursor != null, hasPrevious, nextCursor);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package sn.noreyni.common.throttle;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.response.ApiResponse;
+
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttling of the endpoints that can be abused without a valid account
+ * <ul>
+ *   <li>Logins, per client address and per account: rejected before the user lookup and the BCrypt check,
+ *   so a credential-stuffing flood cannot saturate the hashing pool.</li>
+ *   <li>Email and project name availability checks, per client address, against enumeration.</li>
+ * </ul>
+ * Address limits are checked by a route handler ahead of the REST resources, the account limit by
+ * {@link sn.noreyni.auth.AuthService}. Rejections get {@code 429} with a {@code Retry-After} header.
+ */
+@ApplicationScoped
+@Slf4j
+public class RequestThrottle {
+
+    static final String LOGIN_PATH = "/api/auth/login";
+    static final String EMAIL_CHECK_PATH = "/api/users/check-email";
+    static final String NAME_CHECK_PATH = "/api/projects/check-name";
+
+    static final String TOO_MANY_ATTEMPTS = "Trop de tentatives, veuillez réessayer plus tard";
+
+    @Inject
+    ThrottleConfig throttleConfig;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private SlidingWindowLimiter loginAccount;
+    private SlidingWindowLimiter loginIp;
+    private SlidingWindowLimiter lookupIp;
+    private Counter loginAccountRejected;
+    private Counter loginIpRejected;
+    private Counter lookupIpRejected;
+    private String rejectionBody;
+    private long evictionTimer = -1;
+
+    @PostConstruct
+    void init() {
+        this.loginAccount = limiter("login-account", throttleConfig.loginAccount());
+        this.loginIp = limiter("login-ip", throttleConfig.loginIp());
+        this.lookupIp = limiter("lookup-ip", throttleConfig.lookupIp());
+        this.loginAccountRejected = rejectedCounter("login-account");
+        this.loginIpRejected = rejectedCounter("login-ip");
+        this.lookupIpRejected = rejectedCounter("lookup-ip");
+        try {
+            this.rejectionBody = objectMapper.writeValueAsString(ApiResponse.error(TOO_MANY_ATTEMPTS));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (throttleConfig.enabled()) {
+            evictionTimer = vertx.setPeriodic(throttleConfig.evictionInterval().toMillis(), id -> evictIdle());
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (evictionTimer >= 0) {
+            vertx.cancelTimer(evictionTimer);
+        }
+    }
+
+    /**
+     * Checks the address limits ahead of the REST resources, before the body is even read
+     */
+    void registerRoutes(@Observes Router router) {
+        if (!throttleConfig.enabled()) {
+            return;
+        }
+        router.post(LOGIN_PATH).order(RouteConstants.ROUTE_ORDER_BEFORE_DEFAULT)
+                .handler(rc -> filter(rc, loginIp, loginIpRejected));
+        router.route(HttpMethod.GET, EMAIL_CHECK_PATH).order(RouteConstants.ROUTE_ORDER_BEFORE_DEFAULT)
+                .handler(rc -> filter(rc, lookupIp, lookupIpRejected));
+        router.route(HttpMethod.GET, NAME_CHECK_PATH).order(RouteConstants.ROUTE_ORDER_BEFORE_DEFAULT)
+                .handler(rc -> filter(rc, lookupIp, lookupIpRejected));
+    }
+
+    /**
+     * Counts a login attempt on an account
+     *
+     * @throws ApiException with 429 status when the account is over its limit
+     */
+    public void acquireLogin(String email) {
+        if (!throttleConfig.enabled() || email == null) {
+            return;
+        }
+        long wait = loginAccount.tryAcquire(email.toLowerCase(Locale.ROOT), System.currentTimeMillis());
+        if (wait > 0) {
+            loginAccountRejected.increment();
+            log.warn("throttle.login.account - Login attempts over the limit, email={}, retryAfter={}ms", email, wait);
+            throw new ApiException(TOO_MANY_ATTEMPTS, 429);
+        }
+    }
+
+    /**
+     * Clears the attempts of an account once its owner has logged in
+     */
+    public void loginSucceeded(String email) {
+        if (throttleConfig.enabled() && email != null) {
+            loginAccount.reset(email.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void filter(RoutingContext rc, SlidingWindowLimiter limiter, Counter rejected) {
+        String address = rc.request().remoteAddress() != null ? rc.request().remoteAddress().hostAddress() : "unknown";
+        long wait = limiter.tryAcquire(address, System.currentTimeMillis());
+        if (wait == 0) {
+            rc.next();
+            return;
+        }
+        rejected.increment();
+        log.debug("throttle.rejected - path={}, address={}, retryAfter={}ms", rc.normalizedPath(), address, wait);
+        rc.response()
+                .setStatusCode(429)
+                .putHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(wait + 999))))
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .end(rejectionBody);
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        int evicted = loginAccount.evictIdle(now) + loginIp.evictIdle(now) + lookupIp.evictIdle(now);
+        if (evicted > 0) {
+            log.debug("throttle.evicted - Removed {} idle keys", evicted);
+        }
+    }
+
+    private SlidingWindowLimiter limiter(String name, ThrottleConfig.Window window) {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(window.limit(), window.window().toMillis(),
+                throttleConfig.stripes(), throttleConfig.maxKeys());
+        Gauge.builder("webhook.throttle.keys", limiter, SlidingWindowLimiter::size)
+                .description("Accounts or addresses tracked by a throttle")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private Counter rejectedCounter(String name) {
+        return Counter.builder("webhook.throttle.rejected")
+                .description("Requests rejected by a throttle")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,179 @@
+package sn.noreyni.common.throttle;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding-window attempt counter per key (account, client address), lock-free
+ * The window is approximated from two fixed windows: the count of the previous one, weighted by how much of
+ * it still overlaps the sliding window, plus the count of the current one. Both counts and the window number
+ * are packed in a single long updated by CAS. Keys are spread over striped maps of bounded size: once a
+ * stripe is full its new keys fall back on one of its overflow counters, picked by a hash of the key, which
+ * only throttles them sooner; a key flooding the limiter shares its counter with few others. Keys without
+ * attempts in the last two windows count nothing and are removed by {@link #evictIdle(long)}, the only place
+ * that walks a stripe.
+ */
+public final class SlidingWindowLimiter {
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int OVERFLOW_BITS = 6;
+
+    private final int limit;
+    private final long windowMillis;
+    private final int maxKeysPerStripe;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final AtomicLong[] overflow;
+
+    @SuppressWarnings("unchecked")
+    public SlidingWindowLimiter(int limit, long windowMillis, int stripes, int maxKeys) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two: " + stripes);
+        }
+        if (windowMillis < 1000) {
+            // The window number is kept on 32 bits
+            throw new IllegalArgumentException("window must be at least one second: " + windowMillis + "ms");
+        }
+        this.limit = (int) Math.min(limit, COUNT_MASK);
+        this.windowMillis = windowMillis;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / stripes);
+        this.stripes = new ConcurrentHashMap[stripes];
+        this.overflow = new AtomicLong[stripes << OVERFLOW_BITS];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        for (int i = 0; i < overflow.length; i++) {
+            this.overflow[i] = new AtomicLong();
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Counts an attempt of a key, unless the key is already over the limit
+     *
+     * @param nowMillis current epoch time in milliseconds
+     * @return 0 when the attempt is accepted, otherwise the milliseconds before the next one would be
+     */
+    public long tryAcquire(String key, long nowMillis) {
+        AtomicLong state = stateOf(key);
+        long window = nowMillis / windowMillis;
+        long elapsed = nowMillis % windowMillis;
+
+        while (true) {
+            long current = state.get();
+            long stateWindow = current >>> (2 * COUNT_BITS);
+            long previousCount = 0;
+            long currentCount = 0;
+            if (stateWindow == window) {
+                previousCount = (current >>> COUNT_BITS) & COUNT_MASK;
+                currentCount = current & COUNT_MASK;
+            } else if (stateWindow == window - 1) {
+                previousCount = current & COUNT_MASK;
+            }
+
+            long estimate = currentCount + previousCount * (windowMillis - elapsed) / windowMillis;
+            if (estimate >= limit) {
+                return retryAfter(previousCount, currentCount, elapsed);
+            }
+            long next = (window << (2 * COUNT_BITS)) | (previousCount << COUNT_BITS) | Math.min(currentCount + 1, COUNT_MASK);
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Forgets the attempts of a key, e.g. after a successful login
+     */
+    public void reset(String key) {
+        stripe(key).remove(key);
+    }
+
+    /**
+     * Removes the keys without attempts in the current and previous windows
+     *
+     * @return number of removed keys
+     */
+    public int evictIdle(long nowMillis) {
+        long window = nowMillis / windowMillis;
+        int removed = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(state -> isIdle(state, window));
+            removed += before - stripe.size();
+        }
+        for (AtomicLong state : overflow) {
+            if (isIdle(state, window)) {
+                state.set(0);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Keys currently tracked
+     */
+    public long size() {
+        long size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong stateOf(String key) {
+        int stripeIndex = stripeIndex(key);
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[stripeIndex];
+        AtomicLong state = stripe.get(key);
+        if (state != null) {
+            return state;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            // Idle keys are left to the periodic sweep: walking a full stripe here would cost every new key O(n)
+            return overflow[(stripeIndex << OVERFLOW_BITS) | overflowSlot(key)];
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    /**
+     * Time until the estimate drops below the limit, the previous window weighing less as time goes by
+     */
+    private long retryAfter(long previousCount, long currentCount, long elapsed) {
+        if (currentCount < limit) {
+            long until = windowMillis - (limit - currentCount) * windowMillis / previousCount;
+            return Math.max(1, until - elapsed + 1);
+        }
+        // Only once the current window has become the previous one
+        return windowMillis - elapsed + (currentCount - limit + 1) * windowMillis / currentCount + 1;
+    }
+
+    private static boolean isIdle(AtomicLong state, long window) {
+        return (state.get() >>> (2 * COUNT_BITS)) < window - 1;
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripe(String key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    private int stripeIndex(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    /**
+     * Overflow counter of a key within its stripe, from the high bits of a mixed hash so that it does not
+     * depend on the bits that picked the stripe
+     */
+    private static int overflowSlot(String key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        hash ^= hash >>> 15;
+        hash *= 0x85EBCA6B;
+        return hash >>> (Integer.SIZE - OVERFLOW_BITS);
+    }
+}
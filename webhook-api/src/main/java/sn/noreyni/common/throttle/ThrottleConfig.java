@@ -0,0 +1,71 @@
+package sn.noreyni.common.throttle;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "webhook.throttle")
+public interface ThrottleConfig {
+
+    /**
+     * Whether logins and availability checks are throttled
+     */
+    @WithName("enabled")
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * Independent maps each limiter is split into, a power of two
+     */
+    @WithName("stripes")
+    @WithDefault("16")
+    int stripes();
+
+    /**
+     * Keys (accounts or addresses) tracked by one limiter, further keys share one counter per stripe
+     */
+    @WithName("max-keys")
+    @WithDefault("100000")
+    int maxKeys();
+
+    /**
+     * Period of the removal of the keys without attempts in the last two windows
+     */
+    @WithName("eviction-interval")
+    @WithDefault("1m")
+    Duration evictionInterval();
+
+    /**
+     * Login attempts per account (email)
+     */
+    @WithName("login-account")
+    Window loginAccount();
+
+    /**
+     * Login attempts per client address
+     */
+    @WithName("login-ip")
+    Window loginIp();
+
+    /**
+     * Email and project name availability checks per client address
+     */
+    @WithName("lookup-ip")
+    Window lookupIp();
+
+    interface Window {
+
+        /**
+         * Attempts accepted over a sliding window
+         */
+        @WithName("limit")
+        @WithDefault("30")
+        int limit();
+
+        @WithName("window")
+        @WithDefault("1m")
+        Duration window();
+    }
+}
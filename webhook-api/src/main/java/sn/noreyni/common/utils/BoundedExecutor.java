@@ -0,0 +1,96 @@
+package sn.noreyni.common.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import sn.noreyni.common.exception.ApiException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of threads with a bounded queue, for CPU bound work that must stay off the event loop
+ * A task submitted while the queue is full fails at once with a 429 instead of waiting, so an overload
+ * answers fast rather than piling up latency. Exposes {@code webhook.<name>.queue.depth}, {@code .active},
+ * {@code .rejected} and the time tasks wait in the queue, {@code .queue.wait}.
+ */
+public final class BoundedExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final String overloadMessage;
+    private final Counter rejected;
+    private final Timer queueWait;
+
+    /**
+     * @param name            metric prefix and thread name
+     * @param overloadMessage message of the 429 returned while the queue is full
+     */
+    public BoundedExecutor(String name, int threads, int queueCapacity, String overloadMessage, MeterRegistry meterRegistry) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.overloadMessage = overloadMessage;
+
+        Gauge.builder("webhook." + name + ".queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("webhook." + name + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Tasks running")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("webhook." + name + ".rejected")
+                .description("Tasks rejected because the queue was full")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("webhook." + name + ".queue.wait")
+                .description("Time tasks waited for a thread")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a task on the pool
+     *
+     * @return Uni emitting the result of the task on a pool thread
+     * @throws ApiException with 429 status if the queue is full
+     */
+    public <T> Uni<T> submit(Supplier<T> task) {
+        return Uni.createFrom().emitter(emitter -> {
+            long queuedAt = System.nanoTime();
+            try {
+                executor.execute(() -> {
+                    queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                    T result;
+                    try {
+                        result = task.get();
+                    } catch (Throwable throwable) {
+                        emitter.fail(throwable);
+                        return;
+                    }
+                    emitter.complete(result);
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                emitter.fail(new ApiException(overloadMessage, 429));
+            }
+        });
+    }
+
+    public int threads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package sn.noreyni.common.utils;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.util.OptionalInt;
+
+@ConfigMapping(prefix = "webhook.password")
+public interface PasswordConfig {
+
+    /**
+     * Hashing threads, the number of cores when not set: BCrypt is CPU bound, more threads only queue on the CPU
+     */
+    @WithName("threads")
+    OptionalInt threads();
+
+    /**
+     * Hashes waiting for a thread, further ones are rejected with 429 instead of waiting
+     */
+    @WithName("queue-capacity")
+    @WithDefault("256")
+    int queueCapacity();
+}
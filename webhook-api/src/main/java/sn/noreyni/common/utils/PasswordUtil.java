@@ -1,24 +1,87 @@
 package sn.noreyni.common.utils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.mindrot.jbcrypt.BCrypt;
 
 @ApplicationScoped
 public class PasswordUtil {
     private static final int SALT_ROUNDS = 12;
 
+    @Inject
+    PasswordConfig passwordConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Runs the hashes and verifications, a BCrypt call takes a core for hundreds of milliseconds
+     */
+    private BoundedExecutor hashingPool;
+
+    public PasswordUtil() {
+    }
+
+    PasswordUtil(BoundedExecutor hashingPool) {
+        this.hashingPool = hashingPool;
+    }
+
+    @PostConstruct
+    void init() {
+        this.hashingPool = new BoundedExecutor("password",
+                passwordConfig.threads().orElse(Runtime.getRuntime().availableProcessors()),
+                passwordConfig.queueCapacity(),
+                "File de hachage des mots de passe saturée, veuillez réessayer plus tard",
+                meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
 
     /**
      * Hash a plain text password
+     * Blocks the calling thread, use {@link #hashPasswordAsync} from the event loop
      */
     public String hashPassword(String plainPassword) {
         return BCrypt.hashpw(plainPassword, BCrypt.gensalt(SALT_ROUNDS));
     }
 
+    /**
+     * Hash a plain text password on the hashing pool, off the calling thread
+     *
+     * @throws sn.noreyni.common.exception.ApiException with 429 status if the hashing queue is full
+     */
+    public Uni<String> hashPasswordAsync(String plainPassword) {
+        return hashingPool.submit(() -> hashPassword(plainPassword));
+    }
+
     /**
      * Verify a plain text password against a hashed password
+     * Blocks the calling thread, use {@link #verifyPasswordAsync} from the event loop
      */
     public boolean verifyPassword(String plainPassword, String hashedPassword) {
         return BCrypt.checkpw(plainPassword, hashedPassword);
     }
+
+    /**
+     * Verify a plain text password against a hashed password on the hashing pool
+     *
+     * @throws sn.noreyni.common.exception.ApiException with 429 status if the hashing queue is full
+     */
+    public Uni<Boolean> verifyPasswordAsync(String plainPassword, String hashedPassword) {
+        return hashingPool.submit(() -> verifyPassword(plainPassword, hashedPassword));
+    }
+
+    /**
+     * Hashes that run at once, more only wait in the queue
+     */
+    public int parallelism() {
+        return hashingPool.threads();
+    }
 }
@@ -0,0 +1,23 @@
+package sn.noreyni.export;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+@ConfigMapping(prefix = "webhook.export")
+public interface ExportConfig {
+
+    /**
+     * Documents serialized into one chunk of the response
+     */
+    @WithName("chunk-size")
+    @WithDefault("256")
+    int chunkSize();
+
+    /**
+     * Documents fetched per MongoDB cursor batch
+     */
+    @WithName("fetch-size")
+    @WithDefault("1000")
+    int fetchSize();
+}
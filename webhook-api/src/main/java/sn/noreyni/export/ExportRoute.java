@@ -0,0 +1,192 @@
+package sn.noreyni.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import sn.noreyni.project.ProjectInvitationMapper;
+import sn.noreyni.project.ProjectInvitationRepository;
+import sn.noreyni.project.ProjectRepository;
+import sn.noreyni.user.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Streaming NDJSON export of projects, users and invitations
+ * {@code GET /api/export/{projects|users|invitations}} writes one JSON document per line, in ID order, straight
+ * from the MongoDB cursor: a chunk is requested only once the previous one is written to the connection, so
+ * an export runs in constant memory whatever its size. {@code ?after=<id>} resumes after the last exported
+ * document, {@code ?gzip=true} compresses the response on the fly ({@code Content-Encoding: gzip}).
+ * An error after the first chunk resets the connection, the client resumes from the last complete line.
+ */
+@ApplicationScoped
+@Slf4j
+public class ExportRoute {
+
+    static final String EXPORT_PREFIX = "/api/export/";
+    static final String NDJSON = "application/x-ndjson";
+
+    @Inject
+    ProjectRepository projectRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    ProjectInvitationRepository projectInvitationRepository;
+
+    @Inject
+    ProjectInvitationMapper projectInvitationMapper;
+
+    @Inject
+    ExportConfig exportConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ObjectWriter writer;
+
+    @PostConstruct
+    void init() {
+        // One document per line, the REST mapper indents its output
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    void registerRoutes(@Observes Router router) {
+        router.get(EXPORT_PREFIX + "projects").handler(rc -> export(rc, "projects",
+                after -> projectRepository.streamListDtos(after, exportConfig.fetchSize())));
+        router.get(EXPORT_PREFIX + "users").handler(rc -> export(rc, "users",
+                after -> userRepository.streamListDtos(after, exportConfig.fetchSize())));
+        router.get(EXPORT_PREFIX + "invitations").handler(rc -> export(rc, "invitations",
+                after -> projectInvitationRepository.streamAfter(after, exportConfig.fetchSize())
+                        .map(projectInvitationMapper::toListDto)));
+    }
+
+    private void export(RoutingContext rc, String type, Function<ObjectId, Multi<?>> source) {
+        String after = rc.queryParams().get("after");
+        if (after != null && !ObjectId.isValid(after)) {
+            log.debug("export.invalidAfter - type={}, after={}", type, after);
+            respondError(rc.response(), 400, "Identifiant de reprise invalide: " + after);
+            return;
+        }
+        boolean gzip = Boolean.parseBoolean(rc.queryParams().get("gzip"));
+
+        log.info("export.start - type={}, after={}, gzip={}", type, after, gzip);
+
+        AtomicLong count = new AtomicLong();
+        Multi<?> documents = source.apply(after != null ? new ObjectId(after) : null)
+                .onItem().invoke(document -> count.incrementAndGet());
+        Multi<Buffer> body = NdjsonEncoder.encode(documents, writer, exportConfig.chunkSize(), gzip);
+
+        HttpServerResponse response = rc.response()
+                .setChunked(true)
+                .putHeader(HttpHeaders.CONTENT_TYPE, NDJSON)
+                .putHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + type + ".ndjson\"");
+        if (gzip) {
+            response.putHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        Context context = Vertx.currentContext();
+        Instant start = Instant.now();
+        body.emitOn(command -> context.runOnContext(v -> command.run()))
+                .subscribe().withSubscriber(new ResponseWriter(response, type, count, start));
+    }
+
+    /**
+     * Writes chunks to the response, requesting the next one only when the connection can take it
+     */
+    private static final class ResponseWriter implements MultiSubscriber<Buffer> {
+
+        private final HttpServerResponse response;
+        private final String type;
+        private final AtomicLong count;
+        private final Instant start;
+        private Flow.Subscription subscription;
+        private boolean started;
+
+        ResponseWriter(HttpServerResponse response, String type, AtomicLong count, Instant start) {
+            this.response = response;
+            this.type = type;
+            this.count = count;
+            this.start = start;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            response.closeHandler(v -> {
+                if (!response.ended()) {
+                    log.info("export.cancelled - Client disconnected, type={}, exported={}", type, count.get());
+                    subscription.cancel();
+                }
+            });
+            subscription.request(1);
+        }
+
+        @Override
+        public void onItem(Buffer chunk) {
+            if (response.closed()) {
+                return;
+            }
+            started = true;
+            response.write(chunk);
+            if (response.writeQueueFull()) {
+                response.drainHandler(v -> {
+                    response.drainHandler(null);
+                    subscription.request(1);
+                });
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable failure) {
+            log.error("export.error - type={}, exported={}, error={}", type, count.get(), failure.getMessage(), failure);
+            if (response.closed() || response.ended()) {
+                return;
+            }
+            if (started) {
+                // Truncated output must not look complete
+                response.reset();
+                return;
+            }
+            response.headers().remove(HttpHeaders.CONTENT_ENCODING).remove(HttpHeaders.CONTENT_DISPOSITION);
+            respondError(response.setChunked(false), 500, "Erreur lors de l'export");
+        }
+
+        @Override
+        public void onCompletion() {
+            if (response.closed() || response.ended()) {
+                return;
+            }
+            response.end();
+            log.info("export.success - type={}, exported={}, duration={}ms",
+                    type, count.get(), Duration.between(start, Instant.now()).toMillis());
+        }
+    }
+
+    private static void respondError(HttpServerResponse response, int status, String message) {
+        response.setStatusCode(status)
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .end("{\"success\":false,\"message\":\"" + message.replace("\"", "\\\"") + "\"}");
+    }
+}
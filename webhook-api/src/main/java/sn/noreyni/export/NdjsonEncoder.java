@@ -0,0 +1,107 @@
+package sn.noreyni.export;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Turns a stream of documents into NDJSON chunks, one JSON document per line
+ * Documents are serialized by groups of {@code chunkSize}, so at most one group is held in memory. With gzip,
+ * every chunk is compressed and sync-flushed as it is produced, the gzip trailer follows the last chunk.
+ */
+public final class NdjsonEncoder {
+
+    private static final byte NEWLINE = '\n';
+
+    private NdjsonEncoder() {
+    }
+
+    public static <T> Multi<Buffer> encode(Multi<T> documents, ObjectWriter writer, int chunkSize, boolean gzip) {
+        Multi<Buffer> chunks = documents
+                .group().intoLists().of(chunkSize)
+                .map(group -> lines(group, writer));
+        if (!gzip) {
+            return chunks;
+        }
+        return Multi.createFrom().deferred(() -> {
+            GzipChunks compressor = new GzipChunks();
+            return chunks
+                    .map(compressor::compress)
+                    .onCompletion().continueWith(() -> List.of(compressor.finish()))
+                    .onTermination().invoke(compressor::close);
+        });
+    }
+
+    private static <T> Buffer lines(List<T> group, ObjectWriter writer) {
+        Buffer buffer = Buffer.buffer(group.size() * 256);
+        try {
+            for (T document : group) {
+                buffer.appendBytes(writer.writeValueAsBytes(document)).appendByte(NEWLINE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    /**
+     * Gzip stream whose output is taken chunk by chunk
+     */
+    private static final class GzipChunks {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream(8192);
+        private final GZIPOutputStream gzip;
+        private boolean closed;
+
+        GzipChunks() {
+            try {
+                this.gzip = new GZIPOutputStream(output, 8192, true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Buffer compress(Buffer chunk) {
+            try {
+                gzip.write(chunk.getBytes());
+                gzip.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return drain();
+        }
+
+        Buffer finish() {
+            try {
+                gzip.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return drain();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                gzip.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+
+        private Buffer drain() {
+            Buffer buffer = Buffer.buffer(output.toByteArray());
+            output.reset();
+            return buffer;
+        }
+    }
+}
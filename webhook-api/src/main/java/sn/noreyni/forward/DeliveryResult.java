@@ -0,0 +1,43 @@
+package sn.noreyni.forward;
+
+import sn.noreyni.common.exception.ApiException;
+
+/**
+ * Outcome of one delivery of a captured request to a destination
+ *
+ * @param statusCode     response status, 0 when no response was received
+ * @param failure        transport failure or rejection, null when a response was received
+ * @param durationNanos  time from the request being sent to the response being received
+ */
+public record DeliveryResult(
+        String targetId,
+        int statusCode,
+        Throwable failure,
+        long durationNanos
+) {
+
+    public static DeliveryResult rejected(String targetId, Throwable failure) {
+        return new DeliveryResult(targetId, 0, failure, 0);
+    }
+
+    /**
+     * A 2xx response was received
+     */
+    public boolean isSuccess() {
+        return failure == null && statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * Not sent because the destination queue was full, transport failures are never {@link ApiException}
+     */
+    public boolean isRejected() {
+        return failure instanceof ApiException;
+    }
+
+    /**
+     * Worth delivering again: transport failure, rejection, timeout, throttling or server error
+     */
+    public boolean isRetryable() {
+        return failure != null || statusCode == 408 || statusCode == 425 || statusCode == 429 || statusCode >= 500;
+    }
+}
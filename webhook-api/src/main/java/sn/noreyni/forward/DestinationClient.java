@@ -0,0 +1,292 @@
+package sn.noreyni.forward;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.http.RequestOptions;
+import sn.noreyni.capture.CapturedBody;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.common.exception.ApiException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Connection pool and delivery queue of one forward destination
+ * At most {@code max-in-flight} deliveries are sent at a time, the others wait in a bounded lock-free
+ * queue drained as responses come back. A full queue rejects the delivery instead of blocking.
+ */
+final class DestinationClient {
+
+    static final String REQUEST_ID_HEADER = "X-Webhook-Forge-Request-Id";
+    static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private static final int MAX_REFUSALS = 3;
+
+    /**
+     * Connection-level headers that must not be forwarded (and are forbidden over HTTP/2)
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "host", "connection", "keep-alive", "proxy-connection", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length", "http2-settings");
+
+    private final ForwardTarget target;
+    private final Vertx vertx;
+    private final HttpClient client;
+    private final int maxInFlight;
+    private final int queueCapacity;
+    private final long requestTimeoutMs;
+
+    private final ConcurrentLinkedQueue<Delivery> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long lastUsed = System.nanoTime();
+
+    private final MeterRegistry meterRegistry;
+    private final Timer latency;
+    private final Counter failed;
+    private final Counter rejected;
+
+    DestinationClient(String projectId, ForwardTarget target, Vertx vertx, ForwardConfig config, MeterRegistry meterRegistry) {
+        this.target = target;
+        this.vertx = vertx;
+        this.maxInFlight = config.maxInFlight();
+        this.queueCapacity = config.queueCapacity();
+        this.requestTimeoutMs = config.requestTimeout().toMillis();
+
+        HttpClientOptions options = new HttpClientOptions()
+                .setKeepAlive(true)
+                .setKeepAliveTimeout((int) config.keepAliveTimeout().toSeconds())
+                .setHttp2KeepAliveTimeout((int) config.keepAliveTimeout().toSeconds())
+                .setConnectTimeout((int) config.connectTimeout().toMillis())
+                .setTrustAll(false)
+                .setVerifyHost(true);
+        if (config.http2()) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setUseAlpn(true)
+                    .setHttp2ClearTextUpgrade(true)
+                    // Upgrades with an OPTIONS request so deliveries with a body are never the upgrade request
+                    .setHttp2ClearTextUpgradeWithPreflightRequest(true)
+                    .setHttp2MultiplexingLimit(config.http2MultiplexingLimit());
+        }
+        this.client = vertx.createHttpClient(options, new PoolOptions()
+                .setHttp1MaxSize(config.poolSize())
+                .setHttp2MaxSize(config.http2PoolSize()));
+
+        this.meterRegistry = meterRegistry;
+        this.latency = Timer.builder("webhook.forward.latency")
+                .description("Time from a delivery being sent to the destination response")
+                .tag("project", projectId)
+                .tag("destination", target.id())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failed = Counter.builder("webhook.forward.failed")
+                .description("Deliveries answered with a non 2xx status or failed at transport level")
+                .tag("project", projectId)
+                .tag("destination", target.id())
+                .register(meterRegistry);
+        this.rejected = Counter.builder("webhook.forward.rejected")
+                .description("Deliveries rejected because the destination queue was full")
+                .tag("project", projectId)
+                .tag("destination", target.id())
+                .register(meterRegistry);
+    }
+
+    ForwardTarget target() {
+        return target;
+    }
+
+    /**
+     * Queues a delivery, never blocks
+     *
+     * @param captured the captured request to forward
+     * @param body     the body to send, retained by the caller until the callback runs
+     * @param callback receives the result, on a Vert.x thread
+     */
+    void submit(CapturedRequest captured, Buffer body, CapturedBody rawBody, Consumer<DeliveryResult> callback) {
+        lastUsed = System.nanoTime();
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            rejected.increment();
+            callback.accept(DeliveryResult.rejected(target.id(),
+                    new ApiException("File d'attente de la destination pleine: " + target.id(), 429)));
+            return;
+        }
+        pending.offer(new Delivery(captured, body, rawBody, callback));
+        drain();
+    }
+
+    /**
+     * Deliveries waiting or in flight
+     */
+    int load() {
+        return queued.get() + inFlight.get();
+    }
+
+    boolean idleSince(long nanos) {
+        return load() == 0 && lastUsed < nanos;
+    }
+
+    /**
+     * Closes the connections and removes the meters of the destination, a later client registers them again
+     */
+    Future<Void> close() {
+        meterRegistry.remove(latency);
+        meterRegistry.remove(failed);
+        meterRegistry.remove(rejected);
+        return client.close();
+    }
+
+    /**
+     * Sends queued deliveries while in-flight slots are available
+     */
+    private void drain() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Delivery delivery = pending.poll();
+            if (delivery == null) {
+                inFlight.decrementAndGet();
+                // A delivery queued between the poll and the release of the slot must not be left behind
+                if (pending.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            queued.decrementAndGet();
+            send(delivery, 0);
+        }
+    }
+
+    private void send(Delivery delivery, int refusals) {
+        CapturedRequest captured = delivery.captured();
+        long start = System.nanoTime();
+
+        Future<HttpClientResponse> response;
+        try {
+            RequestOptions options = new RequestOptions()
+                    .setMethod(HttpMethod.valueOf(captured.getMethod()))
+                    .setAbsoluteURI(uri(target.url(), captured.getPath(), captured.getQuery()))
+                    .setTimeout(requestTimeoutMs);
+            response = client.request(options).compose(request -> {
+                copyHeaders(captured, request);
+                return sendBody(request, delivery);
+            });
+        } catch (RuntimeException e) {
+            response = Future.failedFuture(e);
+        }
+
+        response.compose(received -> received.end().map(ignored -> received.statusCode()))
+                .onComplete(result -> {
+                    if (result.failed() && refusals < MAX_REFUSALS && isRefusedStream(result.cause())) {
+                        // The stream was refused before the destination processed it, sending again is safe
+                        send(delivery, refusals + 1);
+                        return;
+                    }
+
+                    long duration = System.nanoTime() - start;
+                    DeliveryResult deliveryResult;
+                    if (result.succeeded()) {
+                        latency.record(duration, TimeUnit.NANOSECONDS);
+                        deliveryResult = new DeliveryResult(target.id(), result.result(), null, duration);
+                    } else {
+                        deliveryResult = new DeliveryResult(target.id(), 0, result.cause(), duration);
+                    }
+                    if (!deliveryResult.isSuccess()) {
+                        failed.increment();
+                    }
+
+                    inFlight.decrementAndGet();
+                    try {
+                        delivery.callback().accept(deliveryResult);
+                    } finally {
+                        drain();
+                    }
+                });
+    }
+
+    /**
+     * REFUSED_STREAM: the HTTP/2 stream was not processed (RFC 9113 section 8.7), typically when the
+     * connection reaches its stream limit before the destination settings are applied
+     */
+    private static boolean isRefusedStream(Throwable failure) {
+        return failure instanceof Http2Exception.StreamException streamException
+                && streamException.error() == Http2Error.REFUSED_STREAM;
+    }
+
+    private Future<HttpClientResponse> sendBody(HttpClientRequest request, Delivery delivery) {
+        if (delivery.body() != null) {
+            return request.send(delivery.body());
+        }
+
+        // Spilled body: streamed from the file with back-pressure
+        CapturedBody rawBody = delivery.rawBody();
+        request.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(rawBody.size()));
+        return vertx.fileSystem().open(rawBody.file().toString(), new OpenOptions().setRead(true).setWrite(false))
+                .compose(file -> request.send(file).onComplete(ignored -> file.close()));
+    }
+
+    private static void copyHeaders(CapturedRequest captured, HttpClientRequest request) {
+        if (captured.getHeaders() != null) {
+            for (Map.Entry<String, List<String>> header : captured.getHeaders().entrySet()) {
+                if (!HOP_BY_HOP_HEADERS.contains(header.getKey().toLowerCase())) {
+                    request.putHeader(header.getKey(), header.getValue());
+                }
+            }
+        }
+
+        String remoteAddress = captured.getRemoteAddress();
+        if (remoteAddress != null) {
+            String forwardedFor = request.headers().get(FORWARDED_FOR_HEADER);
+            request.putHeader(FORWARDED_FOR_HEADER, forwardedFor != null ? forwardedFor + ", " + remoteAddress : remoteAddress);
+        }
+        request.putHeader(REQUEST_ID_HEADER, captured.getIdAsString());
+    }
+
+    /**
+     * Appends the captured sub-path and query string to the destination URL
+     */
+    static String uri(String url, String path, String query) {
+        StringBuilder uri = new StringBuilder(url.length() + 64).append(url);
+        if (path != null && !path.isEmpty() && !"/".equals(path)) {
+            if (url.endsWith("/")) {
+                uri.setLength(uri.length() - 1);
+            }
+            uri.append(path.startsWith("/") ? "" : "/").append(path);
+        }
+        if (query != null && !query.isEmpty()) {
+            uri.append(url.indexOf('?') >= 0 ? '&' : '?').append(query);
+        }
+        return uri.toString();
+    }
+
+    /**
+     * Queued delivery: the body is either an in-memory buffer or a spilled {@link CapturedBody}
+     */
+    private record Delivery(CapturedRequest captured, Buffer body, CapturedBody rawBody, Consumer<DeliveryResult> callback) {
+    }
+}
@@ -0,0 +1,134 @@
+package sn.noreyni.forward;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "webhook.forward")
+public interface ForwardConfig {
+
+    /**
+     * Maximum number of deliveries in flight per destination
+     */
+    @WithName("max-in-flight")
+    @WithDefault("256")
+    int maxInFlight();
+
+    /**
+     * Deliveries waiting for an in-flight slot per destination, further deliveries are rejected
+     */
+    @WithName("queue-capacity")
+    @WithDefault("10000")
+    int queueCapacity();
+
+    /**
+     * HTTP/1.1 connections per destination
+     */
+    @WithName("pool-size")
+    @WithDefault("64")
+    int poolSize();
+
+    /**
+     * HTTP/2 connections per destination
+     */
+    @WithName("http2-pool-size")
+    @WithDefault("2")
+    int http2PoolSize();
+
+    /**
+     * Concurrent streams per HTTP/2 connection
+     * Also applies before the destination settings are received, 100 is the minimum servers should allow
+     */
+    @WithName("http2-multiplexing-limit")
+    @WithDefault("100")
+    int http2MultiplexingLimit();
+
+    /**
+     * Negotiate HTTP/2 (ALPN over TLS, h2c upgrade over plain HTTP), falling back to HTTP/1.1
+     */
+    @WithName("http2")
+    @WithDefault("true")
+    boolean http2();
+
+    @WithName("connect-timeout")
+    @WithDefault("5s")
+    Duration connectTimeout();
+
+    /**
+     * Maximum time to get the response of a delivery
+     */
+    @WithName("request-timeout")
+    @WithDefault("30s")
+    Duration requestTimeout();
+
+    /**
+     * Time an unused pooled connection is kept alive
+     */
+    @WithName("keep-alive-timeout")
+    @WithDefault("60s")
+    Duration keepAliveTimeout();
+
+    /**
+     * Time the client of a destination without delivery is kept before being closed
+     */
+    @WithName("client-idle-timeout")
+    @WithDefault("10m")
+    Duration clientIdleTimeout();
+
+    /**
+     * Retries of failed deliveries
+     */
+    @WithName("retry")
+    Retry retry();
+
+    interface Retry {
+
+        /**
+         * Deliveries attempted before a failed delivery is given up, the first one included
+         */
+        @WithName("max-attempts")
+        @WithDefault("10")
+        int maxAttempts();
+
+        /**
+         * Backoff before the first retry, doubled on every attempt
+         */
+        @WithName("initial-delay")
+        @WithDefault("5s")
+        Duration initialDelay();
+
+        @WithName("max-delay")
+        @WithDefault("1h")
+        Duration maxDelay();
+
+        /**
+         * Resolution of the timing wheel
+         */
+        @WithName("tick")
+        @WithDefault("100ms")
+        Duration tick();
+
+        /**
+         * Window the pending retries of a recovered destination are spread over
+         */
+        @WithName("recovery-spread")
+        @WithDefault("30s")
+        Duration recoverySpread();
+
+        /**
+         * Pending retries of recovered destinations pulled forward per tick, bounds the work done on the event loop
+         */
+        @WithName("recovery-batch")
+        @WithDefault("500")
+        int recoveryBatch();
+
+        /**
+         * Delay before a retry rejected by a full destination queue is dispatched again, not counted as an attempt
+         */
+        @WithName("requeue-delay")
+        @WithDefault("1s")
+        Duration requeueDelay();
+    }
+}
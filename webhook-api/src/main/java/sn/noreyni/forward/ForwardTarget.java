@@ -0,0 +1,16 @@
+package sn.noreyni.forward;
+
+import sn.noreyni.project.ForwardDestination;
+
+/**
+ * Enabled forward destination of a project, as held by the routing table
+ */
+public record ForwardTarget(
+        String id,
+        String url
+) {
+
+    public static ForwardTarget of(ForwardDestination destination) {
+        return new ForwardTarget(destination.getId(), destination.getUrl());
+    }
+}
@@ -0,0 +1,145 @@
+package sn.noreyni.forward;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.capture.CaptureBodyReader;
+import sn.noreyni.capture.CapturedBody;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.forward.retry.RetryScheduler;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards captured requests to the destinations of their project
+ * Each destination has its own {@link DestinationClient}: a non-blocking Vert.x HTTP client (HTTP/2 when the
+ * destination supports it, keep-alive HTTP/1.1 pool otherwise) with a bounded number of deliveries in flight.
+ * Forwarding is fire-and-forget for the capture path: a slow or unreachable destination only fills its own queue.
+ * Failed deliveries are handed to the {@link RetryScheduler}.
+ */
+@ApplicationScoped
+@Slf4j
+public class ForwardingEngine {
+
+    private static final long SWEEP_INTERVAL_MS = 60_000;
+
+    @Inject
+    ForwardConfig forwardConfig;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    CaptureBodyReader captureBodyReader;
+
+    @Inject
+    RetryScheduler retryScheduler;
+
+    private final ConcurrentHashMap<String, DestinationClient> clients = new ConcurrentHashMap<>();
+    private long sweepTimer;
+
+    @PostConstruct
+    void init() {
+        this.sweepTimer = vertx.setPeriodic(SWEEP_INTERVAL_MS, id -> closeIdleClients());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        vertx.cancelTimer(sweepTimer);
+        clients.values().forEach(DestinationClient::close);
+        clients.clear();
+    }
+
+    /**
+     * Forwards a captured request to every target, without waiting for the deliveries
+     *
+     * @param captured the captured request, its body is retained until every delivery completed
+     * @param targets  enabled destinations of the project
+     */
+    public void forward(CapturedRequest captured, List<ForwardTarget> targets) {
+        for (ForwardTarget target : targets) {
+            deliver(captured, target)
+                    .subscribe().with(result -> {
+                        if (result.isSuccess()) {
+                            retryScheduler.onDelivered(target);
+                            return;
+                        }
+                        log.debug("forward.deliver.failed - requestId={}, destination={}, status={}, error={}",
+                                captured.getIdAsString(), target.id(), result.statusCode(),
+                                result.failure() != null ? result.failure().getMessage() : null);
+                        retryScheduler.onFailure(captured, target, result);
+                    });
+        }
+    }
+
+    /**
+     * Delivers a captured request to one target
+     * Uses the raw body received by the capture path when present, the stored body otherwise
+     *
+     * @return Uni containing the delivery result, never failed
+     */
+    public Uni<DeliveryResult> deliver(CapturedRequest captured, ForwardTarget target) {
+        return Uni.createFrom().emitter(emitter -> {
+            DestinationClient client = clientFor(captured.getProjectId(), target);
+            CapturedBody rawBody = captured.getRawBody();
+
+            if (rawBody == null) {
+                Buffer body = captured.getBody() != null ? Buffer.buffer(captured.getBody()) : Buffer.buffer(0);
+                client.submit(captured, body, null, emitter::complete);
+                return;
+            }
+
+            rawBody.retain();
+            client.submit(captured, rawBody.isSpilled() ? null : rawBody.buffer(), rawBody, result ->
+                    captureBodyReader.release(rawBody).subscribe().with(ignored -> emitter.complete(result)));
+        });
+    }
+
+    /**
+     * Deliveries waiting or in flight for a destination
+     */
+    public int load(String targetId) {
+        DestinationClient client = clients.get(targetId);
+        return client != null ? client.load() : 0;
+    }
+
+    private DestinationClient clientFor(String projectId, ForwardTarget target) {
+        DestinationClient client = clients.get(target.id());
+        if (client != null && client.target().url().equals(target.url())) {
+            return client;
+        }
+        return clients.compute(target.id(), (id, existing) -> {
+            if (existing != null && existing.target().url().equals(target.url())) {
+                return existing;
+            }
+            if (existing != null) {
+                // Destination URL changed: connections to the previous host are no longer needed
+                existing.close();
+            }
+            log.debug("forward.client.create - projectId={}, destination={}, url={}", projectId, target.id(), target.url());
+            return new DestinationClient(projectId, target, vertx, forwardConfig, meterRegistry);
+        });
+    }
+
+    private void closeIdleClients() {
+        long idleSince = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(forwardConfig.clientIdleTimeout().toMillis());
+        clients.forEach((id, client) -> {
+            if (client.idleSince(idleSince) && clients.remove(id, client)) {
+                log.debug("forward.client.close - Closing idle client, destination={}, idleTimeout={}",
+                        id, forwardConfig.clientIdleTimeout());
+                client.close();
+            }
+        });
+    }
+}
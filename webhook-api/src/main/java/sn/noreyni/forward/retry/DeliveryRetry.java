@@ -0,0 +1,47 @@
+package sn.noreyni.forward.retry;
+
+import io.quarkus.mongodb.panache.common.MongoEntity;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.entity.BaseEntity;
+
+import java.time.Instant;
+
+/**
+ * Pending retry of a failed delivery, kept until the delivery succeeds or runs out of attempts
+ * The scheduler holds every pending retry in memory, the collection only makes them survive a restart
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@MongoEntity(collection = "delivery_retries")
+public class DeliveryRetry extends BaseEntity {
+
+    @BsonProperty("project_id")
+    private String projectId;
+
+    @BsonProperty("request_id")
+    private ObjectId requestId;
+
+    @BsonProperty("destination_id")
+    private String destinationId;
+
+    @BsonProperty("destination_url")
+    private String destinationUrl;
+
+    /**
+     * Deliveries already attempted, the first one included
+     */
+    @BsonProperty("attempts")
+    private int attempts;
+
+    @BsonProperty("next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @BsonProperty("last_status")
+    private int lastStatus;
+
+    @BsonProperty("last_error")
+    private String lastError;
+}
@@ -0,0 +1,41 @@
+package sn.noreyni.forward.retry;
+
+import com.mongodb.client.model.IndexModel;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.index.IndexedRepository;
+import sn.noreyni.common.index.QueryShape;
+
+import java.time.Instant;
+import java.util.List;
+
+@ApplicationScoped
+public class DeliveryRetryRepository implements ReactivePanacheMongoRepository<DeliveryRetry>, IndexedRepository {
+
+    @Override
+    public List<IndexModel> indexes() {
+        return List.of(new IndexModel(new Document("destination_id", 1)));
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        return List.of(QueryShape.of("rescheduleDestination", new Document("destination_id", new ObjectId().toHexString())));
+    }
+
+    public Uni<Long> updateAttempt(ObjectId id, int attempts, Instant nextAttemptAt, int lastStatus, String lastError) {
+        return update("{'$set': {'attempts': ?1, 'next_attempt_at': ?2, 'last_status': ?3, 'last_error': ?4}}",
+                attempts, nextAttemptAt, lastStatus, lastError)
+                .where("_id", id);
+    }
+
+    /**
+     * Moves every pending retry of a destination to the given time
+     */
+    public Uni<Long> rescheduleDestination(String destinationId, Instant nextAttemptAt) {
+        return update("nextAttemptAt", nextAttemptAt)
+                .where("destinationId", destinationId);
+    }
+}
@@ -0,0 +1,457 @@
+package sn.noreyni.forward.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import sn.noreyni.capture.CaptureStorage;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.capture.ProjectRoute;
+import sn.noreyni.capture.ProjectRoutingTable;
+import sn.noreyni.forward.DeliveryResult;
+import sn.noreyni.forward.ForwardConfig;
+import sn.noreyni.forward.ForwardTarget;
+import sn.noreyni.forward.ForwardingEngine;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Retries failed deliveries with exponential backoff and jitter
+ * Every pending retry is a {@link DeliveryRetry} document (so retries survive a restart) and a timeout of
+ * a {@link TimingWheel} driven by a single periodic timer: no timer and no database poll per retry.
+ * When a destination delivers again after failures, its pending retries are pulled forward and spread
+ * over {@code webhook.forward.retry.recovery-spread}, at most {@code recovery-batch} of them per tick.
+ */
+@ApplicationScoped
+@Slf4j
+public class RetryScheduler {
+
+    private static final long RELOAD_DELAY_MS = 30_000;
+
+    @Inject
+    ForwardConfig forwardConfig;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    DeliveryRetryRepository deliveryRetryRepository;
+
+    @Inject
+    CaptureStorage captureStorage;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    ForwardingEngine forwardingEngine;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<ObjectId, TimingWheel.Timeout<PendingRetry>> byId = new HashMap<>();
+    private final Map<String, Set<TimingWheel.Timeout<PendingRetry>>> byDestination = new HashMap<>();
+    private final Set<String> failingDestinations = ConcurrentHashMap.newKeySet();
+    // Retries of recovered destinations (detached from byDestination) still to pull forward, a batch per tick
+    private final ArrayDeque<Iterator<TimingWheel.Timeout<PendingRetry>>> recovering = new ArrayDeque<>();
+
+    private TimingWheel<PendingRetry> wheel;
+    private long tickTimer;
+    private volatile boolean stopped;
+
+    private Timer lag;
+    private Counter exhausted;
+    private Counter recovered;
+
+    /**
+     * In-memory state of a pending retry, the destination URL is taken from the project route when dispatched
+     */
+    static final class PendingRetry {
+
+        final ObjectId id;
+        final String projectId;
+        final ObjectId requestId;
+        final String destinationId;
+        int attempts;
+
+        PendingRetry(ObjectId id, String projectId, ObjectId requestId, String destinationId, int attempts) {
+            this.id = id;
+            this.projectId = projectId;
+            this.requestId = requestId;
+            this.destinationId = destinationId;
+            this.attempts = attempts;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        long tick = forwardConfig.retry().tick().toMillis();
+        this.wheel = new TimingWheel<>(tick, System.currentTimeMillis());
+        this.tickTimer = vertx.setPeriodic(tick, id -> tick());
+
+        Gauge.builder("webhook.forward.retry.pending", this, RetryScheduler::pending)
+                .description("Failed deliveries waiting for a retry")
+                .register(meterRegistry);
+        this.lag = Timer.builder("webhook.forward.retry.lag")
+                .description("Delay between the due time of a retry and its dispatch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("webhook.forward.retry.exhausted")
+                .description("Deliveries given up after the maximum number of attempts")
+                .register(meterRegistry);
+        this.recovered = Counter.builder("webhook.forward.retry.recovered")
+                .description("Pending retries pulled forward because their destination recovered")
+                .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        load();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+        vertx.cancelTimer(tickTimer);
+    }
+
+    /**
+     * Schedules the first retry of a failed delivery of the capture path
+     */
+    public void onFailure(CapturedRequest captured, ForwardTarget target, DeliveryResult result) {
+        failingDestinations.add(target.id());
+        if (!result.isRetryable()) {
+            log.debug("forward.retry.skip - Not retryable, requestId={}, destination={}, status={}",
+                    captured.getIdAsString(), target.id(), result.statusCode());
+            return;
+        }
+
+        Instant nextAttemptAt = Instant.now().plus(backoff(1));
+        DeliveryRetry retry = new DeliveryRetry();
+        retry.setProjectId(captured.getProjectId());
+        retry.setRequestId(captured.id);
+        retry.setDestinationId(target.id());
+        retry.setDestinationUrl(target.url());
+        retry.setAttempts(1);
+        retry.setNextAttemptAt(nextAttemptAt);
+        retry.setLastStatus(result.statusCode());
+        retry.setLastError(result.failure() != null ? result.failure().getMessage() : null);
+        retry.prePersist();
+
+        deliveryRetryRepository.persist(retry)
+                .subscribe().with(
+                        saved -> schedule(new PendingRetry(saved.id, saved.getProjectId(), saved.getRequestId(),
+                                saved.getDestinationId(), 1), nextAttemptAt.toEpochMilli()),
+                        throwable -> log.error("forward.retry.persist.error - Retry not saved, requestId={}, destination={}, error={}",
+                                captured.getIdAsString(), target.id(), throwable.getMessage()));
+    }
+
+    /**
+     * Notes a successful delivery, pulling the pending retries of a recovering destination forward
+     */
+    public void onDelivered(ForwardTarget target) {
+        if (failingDestinations.remove(target.id())) {
+            rescheduleDestination(target.id());
+        }
+    }
+
+    /**
+     * Moves every pending retry of a destination to now, spread over the recovery window
+     * Only the list of the destination is detached here; the retries are moved by the next ticks, a batch
+     * at a time, so a large backlog does not hold the lock (and the event loop) in one go.
+     *
+     * @return the number of retries to reschedule
+     */
+    public int rescheduleDestination(String destinationId) {
+        long now = System.currentTimeMillis();
+        int count;
+
+        lock.lock();
+        try {
+            Set<TimingWheel.Timeout<PendingRetry>> timeouts = byDestination.remove(destinationId);
+            if (timeouts == null) {
+                return 0;
+            }
+            count = timeouts.size();
+            recovering.add(timeouts.iterator());
+        } finally {
+            lock.unlock();
+        }
+
+        log.info("forward.retry.recovered - Destination delivering again, destination={}, rescheduled={}",
+                destinationId, count);
+        // Persisted times only matter after a restart, where overdue retries are spread again
+        deliveryRetryRepository.rescheduleDestination(destinationId, Instant.ofEpochMilli(now))
+                .subscribe().with(
+                        updated -> log.debug("forward.retry.recovered.persisted - destination={}, updated={}", destinationId, updated),
+                        throwable -> log.warn("forward.retry.recovered.error - destination={}, error={}",
+                                destinationId, throwable.getMessage()));
+        return count;
+    }
+
+    /**
+     * Cancels a pending retry
+     *
+     * @return false when the retry is not pending
+     */
+    public boolean cancel(ObjectId retryId) {
+        lock.lock();
+        try {
+            TimingWheel.Timeout<PendingRetry> timeout = byId.get(retryId);
+            if (timeout == null) {
+                return false;
+            }
+            wheel.cancel(timeout);
+            unindex(timeout);
+        } finally {
+            lock.unlock();
+        }
+        delete(retryId);
+        return true;
+    }
+
+    /**
+     * Pending retries
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Backoff before the given attempt: doubled on every attempt, capped, with the upper half jittered
+     */
+    Duration backoff(int attempt) {
+        long initial = forwardConfig.retry().initialDelay().toMillis();
+        long max = forwardConfig.retry().maxDelay().toMillis();
+        long delay = attempt >= 31 ? max : Math.min(max, initial << Math.max(0, attempt - 1));
+        long half = delay / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(delay - half + 1));
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        List<PendingRetry> due = new ArrayList<>();
+        int moved;
+
+        lock.lock();
+        try {
+            moved = pullForward(now);
+            wheel.advance(now, timeout -> {
+                unindex(timeout);
+                lag.record(Math.max(0, now - timeout.deadlineMillis()), TimeUnit.MILLISECONDS);
+                due.add(timeout.payload());
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        if (moved > 0) {
+            recovered.increment(moved);
+        }
+        for (PendingRetry retry : due) {
+            dispatch(retry);
+        }
+    }
+
+    /**
+     * Moves up to {@code recovery-batch} retries of the recovered destinations, called with the lock held
+     * Retries dispatched or cancelled since the recovery are no longer pending and are skipped, they count
+     * in the batch all the same.
+     *
+     * @return the number of moved retries
+     */
+    private int pullForward(long now) {
+        if (recovering.isEmpty()) {
+            return 0;
+        }
+        long spread = Math.max(1, forwardConfig.retry().recoverySpread().toMillis());
+        int budget = forwardConfig.retry().recoveryBatch();
+        int visited = 0;
+        int moved = 0;
+
+        while (visited < budget && !recovering.isEmpty()) {
+            Iterator<TimingWheel.Timeout<PendingRetry>> timeouts = recovering.peek();
+            while (visited < budget && timeouts.hasNext()) {
+                TimingWheel.Timeout<PendingRetry> timeout = timeouts.next();
+                visited++;
+                if (byId.get(timeout.payload().id) != timeout) {
+                    continue;
+                }
+                wheel.cancel(timeout);
+                index(wheel.schedule(now + ThreadLocalRandom.current().nextLong(spread), timeout.payload()));
+                moved++;
+            }
+            if (!timeouts.hasNext()) {
+                recovering.poll();
+            }
+        }
+        return moved;
+    }
+
+    private void dispatch(PendingRetry retry) {
+        ProjectRoute route = projectRoutingTable.find(retry.projectId);
+        ForwardTarget target = route == null ? null : route.destinations().stream()
+                .filter(destination -> destination.id().equals(retry.destinationId))
+                .findFirst()
+                .orElse(null);
+        if (target == null) {
+            log.debug("forward.retry.drop - Destination removed or disabled, requestId={}, destination={}",
+                    retry.requestId, retry.destinationId);
+            delete(retry.id);
+            return;
+        }
+
+        captureStorage.store(route.storageEngine()).findById(retry.projectId, retry.requestId)
+                .chain(captured -> captured == null
+                        ? Uni.createFrom().<DeliveryResult>nullItem()
+                        : forwardingEngine.deliver(captured, target))
+                .subscribe().with(
+                        result -> {
+                            if (result == null) {
+                                log.debug("forward.retry.drop - Captured request no longer stored, requestId={}", retry.requestId);
+                                delete(retry.id);
+                                return;
+                            }
+                            onRetryResult(retry, target, result);
+                        },
+                        throwable -> {
+                            log.warn("forward.retry.load.error - Captured request not read, requestId={}, error={}",
+                                    retry.requestId, throwable.getMessage());
+                            schedule(retry, System.currentTimeMillis() + forwardConfig.retry().requeueDelay().toMillis());
+                        });
+    }
+
+    private void onRetryResult(PendingRetry retry, ForwardTarget target, DeliveryResult result) {
+        if (result.isSuccess()) {
+            log.debug("forward.retry.success - requestId={}, destination={}, attempts={}",
+                    retry.requestId, target.id(), retry.attempts + 1);
+            delete(retry.id);
+            onDelivered(target);
+            return;
+        }
+
+        if (result.isRejected()) {
+            // Destination queue full: not an attempt
+            schedule(retry, System.currentTimeMillis() + forwardConfig.retry().requeueDelay().toMillis());
+            return;
+        }
+
+        failingDestinations.add(target.id());
+        retry.attempts++;
+        if (retry.attempts >= forwardConfig.retry().maxAttempts() || !result.isRetryable()) {
+            log.warn("forward.retry.exhausted - Delivery given up, requestId={}, destination={}, attempts={}, status={}",
+                    retry.requestId, target.id(), retry.attempts, result.statusCode());
+            exhausted.increment();
+            delete(retry.id);
+            return;
+        }
+
+        Instant nextAttemptAt = Instant.now().plus(backoff(retry.attempts));
+        deliveryRetryRepository.updateAttempt(retry.id, retry.attempts, nextAttemptAt, result.statusCode(),
+                        result.failure() != null ? result.failure().getMessage() : null)
+                .subscribe().with(
+                        updated -> schedule(retry, nextAttemptAt.toEpochMilli()),
+                        throwable -> {
+                            log.warn("forward.retry.update.error - requestId={}, error={}", retry.requestId, throwable.getMessage());
+                            schedule(retry, nextAttemptAt.toEpochMilli());
+                        });
+    }
+
+    private void schedule(PendingRetry retry, long deadlineMillis) {
+        if (stopped) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!byId.containsKey(retry.id)) {
+                index(wheel.schedule(deadlineMillis, retry));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void index(TimingWheel.Timeout<PendingRetry> timeout) {
+        byId.put(timeout.payload().id, timeout);
+        byDestination.computeIfAbsent(timeout.payload().destinationId, id -> new HashSet<>()).add(timeout);
+    }
+
+    private void unindex(TimingWheel.Timeout<PendingRetry> timeout) {
+        byId.remove(timeout.payload().id);
+        Set<TimingWheel.Timeout<PendingRetry>> timeouts = byDestination.get(timeout.payload().destinationId);
+        if (timeouts != null) {
+            timeouts.remove(timeout);
+            if (timeouts.isEmpty()) {
+                byDestination.remove(timeout.payload().destinationId);
+            }
+        }
+    }
+
+    private void delete(ObjectId retryId) {
+        deliveryRetryRepository.deleteById(retryId)
+                .subscribe().with(
+                        deleted -> { },
+                        throwable -> log.warn("forward.retry.delete.error - retryId={}, error={}", retryId, throwable.getMessage()));
+    }
+
+    /**
+     * Loads the pending retries saved before the restart, retrying later when MongoDB is not reachable
+     * Overdue retries are spread over the recovery window instead of all being dispatched on the first tick
+     */
+    void load() {
+        Instant start = Instant.now();
+        long now = start.toEpochMilli();
+        long spread = Math.max(1, forwardConfig.retry().recoverySpread().toMillis());
+        AtomicInteger count = new AtomicInteger();
+
+        Multi.createFrom().deferred(() -> deliveryRetryRepository.streamAll())
+                .subscribe().with(
+                        retry -> {
+                            long deadline = retry.getNextAttemptAt() != null ? retry.getNextAttemptAt().toEpochMilli() : now;
+                            if (deadline < now) {
+                                deadline = now + ThreadLocalRandom.current().nextLong(spread);
+                            }
+                            schedule(new PendingRetry(retry.id, retry.getProjectId(), retry.getRequestId(),
+                                    retry.getDestinationId(), retry.getAttempts()), deadline);
+                            count.incrementAndGet();
+                        },
+                        throwable -> {
+                            log.warn("forward.retry.load.error - Pending retries not loaded, retrying in {}ms, error={}",
+                                    RELOAD_DELAY_MS, throwable.getMessage());
+                            if (!stopped) {
+                                vertx.setTimer(RELOAD_DELAY_MS, id -> load());
+                            }
+                        },
+                        () -> log.info("forward.retry.load.success - Loaded {} pending retries in {}ms",
+                                count.get(), Duration.between(start, Instant.now()).toMillis()));
+    }
+}
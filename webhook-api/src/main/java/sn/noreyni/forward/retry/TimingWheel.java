@@ -0,0 +1,212 @@
+package sn.noreyni.forward.retry;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: schedule and cancel in O(1), whatever the number of pending timeouts
+ * Level 0 has one bucket per tick, each upper level one bucket per full turn of the level below. A timeout
+ * is put in the lowest level whose span covers its delay and moves down one level each time its bucket is
+ * reached, until it expires from level 0. Buckets are intrusive doubly-linked lists, so cancelling only
+ * unlinks the node.
+ * Not thread-safe, callers serialize access.
+ *
+ * @param <T> payload of a timeout
+ */
+public final class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Bucket<T>[][] buckets;
+    private final long startMillis;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = new Bucket[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                buckets[level][slot] = new Bucket<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules a payload, a deadline in the past expires on the next tick
+     *
+     * @param deadlineMillis epoch milliseconds the payload is due at
+     * @return the handle to cancel the timeout
+     */
+    public Timeout<T> schedule(long deadlineMillis, T payload) {
+        Timeout<T> timeout = new Timeout<>(deadlineMillis, payload);
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending timeout
+     *
+     * @return false when the timeout already expired or was cancelled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to the given time, handing every expired timeout to the consumer
+     * The consumer may schedule new timeouts, they are placed after the current tick
+     */
+    public void advance(long nowMillis, Consumer<Timeout<T>> expired) {
+        long targetTick = tickOf(nowMillis);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                // Nothing to cascade or expire, jump straight to the target
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+            cascade();
+
+            Bucket<T> bucket = buckets[0][(int) (currentTick & WHEEL_MASK)];
+            Timeout<T> timeout;
+            while ((timeout = bucket.poll()) != null) {
+                size--;
+                expired.accept(timeout);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Epoch milliseconds of the last processed tick
+     */
+    public long currentMillis() {
+        return startMillis + currentTick * tickMillis;
+    }
+
+    /**
+     * Moves the timeouts of the upper buckets reached by the current tick one or more levels down
+     * Upper levels first, so a timeout cascaded from level 2 is not cascaded again from level 1
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = WHEEL_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            Bucket<T> bucket = buckets[level][(int) ((currentTick >>> shift) & WHEEL_MASK)];
+            Timeout<T> timeout;
+            while ((timeout = bucket.poll()) != null) {
+                // Due on the current tick at the latest, expired right after the cascade
+                place(timeout, currentTick);
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout, long earliestTick) {
+        // Rounded up: a timeout never expires before its deadline
+        long deadlineTick = Math.max(Math.ceilDiv(timeout.deadlineMillis - startMillis, tickMillis), earliestTick);
+        long delay = Math.min(deadlineTick - currentTick, MAX_DELAY_TICKS);
+        deadlineTick = currentTick + delay;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        buckets[level][(int) ((deadlineTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)].add(timeout);
+    }
+
+    private long tickOf(long millis) {
+        return Math.floorDiv(millis - startMillis, tickMillis);
+    }
+
+    /**
+     * Pending entry of the wheel
+     */
+    public static final class Timeout<T> {
+
+        private final long deadlineMillis;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(long deadlineMillis, T payload) {
+            this.deadlineMillis = deadlineMillis;
+            this.payload = payload;
+        }
+
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * Still waiting in the wheel
+         */
+        public boolean isPending() {
+            return bucket != null;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> poll() {
+            Timeout<T> timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package sn.noreyni.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoEntity;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.bulk.UnorderedInsert;
+import sn.noreyni.importer.dto.ImportReport;
+import sn.noreyni.importer.dto.ImportRowResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a streamed NDJSON body, one creation payload per line
+ * Lines are parsed and validated as they arrive, then grouped into batches of {@code webhook.import.batch-size}.
+ * A batch is checked for existing keys with one {@code $in} query, its entities are built in parallel (password
+ * hashing) and written with one unordered bulk write. Up to {@code webhook.import.concurrent-batches} batches are
+ * in flight, so reading, hashing and writing overlap. Every line gets a result, a failure only affects its batch.
+ */
+@ApplicationScoped
+@Slf4j
+public class BulkImporter {
+
+    @Inject
+    ImportConfig importConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    /**
+     * Imports the lines of a body
+     *
+     * @param body chunks of the body as they are received
+     */
+    public <D, E extends ReactivePanacheMongoEntity> Uni<ImportReport> run(Multi<Buffer> body, ImportTarget<D, E> target,
+                                                                           String currentUserId) {
+        NdjsonLineSplitter splitter = new NdjsonLineSplitter(importConfig.maxLineLength());
+        // Keys already taken by a previous line, only touched as batches are emitted, one at a time
+        Set<String> seen = new HashSet<>();
+
+        return body.onItem().transformToIterable(splitter::feed)
+                .onCompletion().continueWith(splitter::finish)
+                .map(line -> parse(line, target))
+                .group().intoLists().of(importConfig.batchSize())
+                .onItem().transformToUni(batch -> importBatch(batch, target, seen, currentUserId))
+                .merge(importConfig.concurrentBatches())
+                .onItem().transformToIterable(results -> results)
+                .collect().asList()
+                .map(ImportReport::of);
+    }
+
+    /**
+     * A parsed line, either a valid payload or its rejection
+     */
+    private record Row<D>(int number, D payload, ImportRowResult rejected) {
+    }
+
+    private <D> Row<D> parse(NdjsonLineSplitter.Line line, ImportTarget<D, ?> target) {
+        if (line.text() == null) {
+            return rejected(line, "Ligne trop longue (maximum " + importConfig.maxLineLength() + " octets)");
+        }
+        D payload;
+        try {
+            payload = objectMapper.readValue(line.text(), target.payloadType());
+        } catch (JsonProcessingException e) {
+            return rejected(line, "JSON invalide: " + e.getOriginalMessage());
+        }
+        if (payload == null) {
+            return rejected(line, "JSON invalide: objet attendu");
+        }
+        Set<ConstraintViolation<D>> violations = validator.validate(payload);
+        if (!violations.isEmpty()) {
+            return rejected(line, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        String invalid = target.validate(payload);
+        if (invalid != null) {
+            return rejected(line, invalid);
+        }
+        return new Row<>(line.number(), payload, null);
+    }
+
+    private static <D> Row<D> rejected(NdjsonLineSplitter.Line line, String message) {
+        return new Row<>(line.number(), null, ImportRowResult.invalid(line.number(), message));
+    }
+
+    private <D, E extends ReactivePanacheMongoEntity> Uni<List<ImportRowResult>> importBatch(
+            List<Row<D>> batch, ImportTarget<D, E> target, Set<String> seen, String currentUserId) {
+        List<ImportRowResult> results = new ArrayList<>();
+        List<Row<D>> candidates = new ArrayList<>();
+        for (Row<D> row : batch) {
+            if (row.rejected() != null) {
+                results.add(row.rejected());
+            } else if (!seen.add(target.key(row.payload()))) {
+                results.add(ImportRowResult.duplicate(row.number(), "Doublon d'une ligne précédente: " + target.key(row.payload())));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Uni.createFrom().item(results);
+        }
+
+        return writeCandidates(candidates, target, currentUserId)
+                .onFailure().recoverWithItem(throwable -> {
+                    log.error("import.batch.error - type={}, firstRow={}, rows={}, error={}",
+                            target.type(), candidates.get(0).number(), candidates.size(), throwable.getMessage(), throwable);
+                    return candidates.stream()
+                            .map(row -> ImportRowResult.failed(row.number(), "Erreur lors de l'enregistrement"))
+                            .toList();
+                })
+                .map(written -> {
+                    results.addAll(written);
+                    return results;
+                });
+    }
+
+    private <D, E extends ReactivePanacheMongoEntity> Uni<List<ImportRowResult>> writeCandidates(
+            List<Row<D>> candidates, ImportTarget<D, E> target, String currentUserId) {
+        List<String> keys = candidates.stream().map(row -> target.key(row.payload())).toList();
+
+        return target.findExisting(keys)
+                .chain(existing -> {
+                    List<ImportRowResult> results = new ArrayList<>();
+                    List<Row<D>> fresh = new ArrayList<>();
+                    for (Row<D> row : candidates) {
+                        String key = target.key(row.payload());
+                        if (existing.contains(key)) {
+                            results.add(ImportRowResult.duplicate(row.number(), target.duplicateMessage(key)));
+                        } else {
+                            fresh.add(row);
+                        }
+                    }
+                    return Multi.createFrom().iterable(fresh)
+                            .onItem().transformToUni(row -> target.toEntity(row.payload(), currentUserId)
+                                    .map(entity -> new Prepared<>(row.number(), target.key(row.payload()), entity)))
+                            .merge(target.buildConcurrency())
+                            .collect().asList()
+                            .chain(prepared -> insert(prepared, target, currentUserId))
+                            .map(written -> {
+                                results.addAll(written);
+                                return results;
+                            });
+                });
+    }
+
+    /**
+     * An entity ready to be written, with the line it comes from
+     */
+    private record Prepared<E>(int number, String key, E entity) {
+    }
+
+    private <E extends ReactivePanacheMongoEntity> Uni<List<ImportRowResult>> insert(
+            List<Prepared<E>> prepared, ImportTarget<?, E> target, String currentUserId) {
+        List<E> entities = prepared.stream().map(Prepared::entity).toList();
+        entities.forEach(entity -> entity.id = new ObjectId());
+
+        return target.insert(entities)
+                .chain(errors -> {
+                    List<ImportRowResult> results = new ArrayList<>(prepared.size());
+                    List<E> inserted = new ArrayList<>(prepared.size());
+                    for (int i = 0; i < prepared.size(); i++) {
+                        Prepared<E> row = prepared.get(i);
+                        BulkWriteError error = errors.get(i);
+                        if (error == null) {
+                            inserted.add(row.entity());
+                            results.add(ImportRowResult.created(row.number(), row.entity().id.toHexString()));
+                        } else if (error.getCode() == UnorderedInsert.DUPLICATE_KEY) {
+                            // Created concurrently since the $in check
+                            results.add(ImportRowResult.duplicate(row.number(), target.duplicateMessage(row.key())));
+                        } else {
+                            log.warn("import.row.error - type={}, row={}, code={}, error={}",
+                                    target.type(), row.number(), error.getCode(), error.getMessage());
+                            results.add(ImportRowResult.failed(row.number(), "Erreur lors de l'enregistrement"));
+                        }
+                    }
+                    log.debug("import.batch.written - type={}, inserted={}, rejected={}",
+                            target.type(), inserted.size(), errors.size());
+                    return target.inserted(inserted, currentUserId).replaceWith(results);
+                });
+    }
+}
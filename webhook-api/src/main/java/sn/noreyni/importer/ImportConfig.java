@@ -0,0 +1,30 @@
+package sn.noreyni.importer;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+@ConfigMapping(prefix = "webhook.import")
+public interface ImportConfig {
+
+    /**
+     * Lines checked for duplicates and written together
+     */
+    @WithName("batch-size")
+    @WithDefault("500")
+    int batchSize();
+
+    /**
+     * Batches in flight at once: the next batch is hashed while the previous one is written
+     */
+    @WithName("concurrent-batches")
+    @WithDefault("2")
+    int concurrentBatches();
+
+    /**
+     * Longest accepted line in bytes, longer lines are reported as invalid without being buffered
+     */
+    @WithName("max-line-length")
+    @WithDefault("65536")
+    int maxLineLength();
+}
@@ -0,0 +1,101 @@
+package sn.noreyni.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoEntity;
+import io.quarkus.vertx.http.runtime.security.QuarkusHttpUser;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import sn.noreyni.common.response.ApiResponse;
+import sn.noreyni.importer.dto.ImportReport;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bulk import of users and projects from an NDJSON body
+ * {@code POST /api/import/{users|projects}} takes one creation payload per line and answers with the outcome of
+ * every line once the body is consumed. The body is read with back-pressure: the connection is only read as fast
+ * as lines are imported, whatever the size of the upload.
+ */
+@ApplicationScoped
+@Slf4j
+public class ImportRoute {
+
+    static final String IMPORT_PREFIX = "/api/import/";
+
+    @Inject
+    BulkImporter bulkImporter;
+
+    @Inject
+    UserImportTarget userImportTarget;
+
+    @Inject
+    ProjectImportTarget projectImportTarget;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    void registerRoutes(@Observes Router router) {
+        router.post(IMPORT_PREFIX + "users").handler(rc -> runImport(rc, userImportTarget));
+        router.post(IMPORT_PREFIX + "projects").handler(rc -> runImport(rc, projectImportTarget));
+    }
+
+    private <D, E extends ReactivePanacheMongoEntity> void runImport(RoutingContext rc, ImportTarget<D, E> target) {
+        String currentUserId = getCurrentUserId(rc);
+        Instant start = Instant.now();
+
+        log.info("import.start - type={}, importedBy={}", target.type(), currentUserId);
+
+        Multi<Buffer> body = io.vertx.mutiny.core.http.HttpServerRequest.newInstance(rc.request()).toMulti()
+                .map(io.vertx.mutiny.core.buffer.Buffer::getDelegate);
+
+        Context context = Vertx.currentContext();
+        bulkImporter.run(body, target, currentUserId)
+                .emitOn(command -> context.runOnContext(v -> command.run()))
+                .subscribe().with(
+                        report -> {
+                            log.info("import.success - type={}, total={}, created={}, duplicates={}, invalid={}, failed={}, duration={}ms",
+                                    target.type(), report.total(), report.created(), report.duplicates(), report.invalid(),
+                                    report.failed(), Duration.between(start, Instant.now()).toMillis());
+                            respond(rc.response(), 200, ApiResponse.success("Import terminé", report));
+                        },
+                        throwable -> {
+                            log.error("import.error - type={}, duration={}ms, error={}", target.type(),
+                                    Duration.between(start, Instant.now()).toMillis(), throwable.getMessage(), throwable);
+                            respond(rc.response(), 500, ApiResponse.<ImportReport>error("Erreur lors de l'import"));
+                        });
+    }
+
+    private void respond(HttpServerResponse response, int status, ApiResponse<ImportReport> body) {
+        if (response.closed() || response.ended()) {
+            return;
+        }
+        try {
+            response.setStatusCode(status)
+                    .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .end(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            log.error("import.respond.error - error={}", e.getMessage(), e);
+            response.setStatusCode(500).end();
+        }
+    }
+
+    /**
+     * Subject of the access token, the route is only reached by authenticated requests
+     */
+    private String getCurrentUserId(RoutingContext rc) {
+        return ((JsonWebToken) ((QuarkusHttpUser) rc.user()).getSecurityIdentity().getPrincipal()).getSubject();
+    }
+}
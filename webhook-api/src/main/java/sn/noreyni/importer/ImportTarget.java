@@ -0,0 +1,73 @@
+package sn.noreyni.importer;
+
+import com.mongodb.bulk.BulkWriteError;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoEntity;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What {@link BulkImporter} needs to know about an imported document type
+ *
+ * @param <D> creation payload of one line
+ * @param <E> entity written to MongoDB
+ */
+public interface ImportTarget<D, E extends ReactivePanacheMongoEntity> {
+
+    /**
+     * Type name, used in logs
+     */
+    String type();
+
+    Class<D> payloadType();
+
+    /**
+     * Unique key of a payload, two lines with the same key are duplicates
+     */
+    String key(D payload);
+
+    /**
+     * Rejection message of a line whose key is already used
+     */
+    String duplicateMessage(String key);
+
+    /**
+     * Rule of the target a payload breaks once its bean validation passed
+     *
+     * @return rejection message of the line, null when the payload is valid
+     */
+    default String validate(D payload) {
+        return null;
+    }
+
+    /**
+     * Keys among the given ones that already exist, in one query
+     */
+    Uni<Set<String>> findExisting(List<String> keys);
+
+    /**
+     * Builds the entity of a valid payload, may run off the calling thread
+     */
+    Uni<E> toEntity(D payload, String currentUserId);
+
+    /**
+     * Entities of a batch built at once
+     */
+    default int buildConcurrency() {
+        return 1;
+    }
+
+    /**
+     * Inserts entities with assigned IDs in one unordered write
+     *
+     * @return write errors by index in {@code entities}
+     */
+    Uni<Map<Integer, BulkWriteError>> insert(List<E> entities);
+
+    /**
+     * Side effects of the entities that were inserted, must not fail
+     */
+    Uni<Void> inserted(List<E> entities, String currentUserId);
+}
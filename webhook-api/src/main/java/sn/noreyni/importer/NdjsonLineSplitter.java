@@ -0,0 +1,92 @@
+package sn.noreyni.importer;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a streamed NDJSON body into numbered lines
+ * Chunks are fed as they are received, a line may span several chunks. Blank lines are skipped but
+ * counted, so line numbers match the ones of the uploaded file. A line longer than the limit is
+ * discarded as it arrives and reported with a {@code null} text. Not thread safe.
+ */
+public final class NdjsonLineSplitter {
+
+    /**
+     * A non-blank line
+     *
+     * @param number 1-based line number
+     * @param text   the trimmed line, {@code null} when it exceeded the limit
+     */
+    public record Line(int number, String text) {
+    }
+
+    private final int maxLineLength;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private boolean overflow;
+    private int number;
+
+    public NdjsonLineSplitter(int maxLineLength) {
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Lines completed by a chunk
+     */
+    public List<Line> feed(Buffer chunk) {
+        List<Line> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < chunk.length(); i++) {
+            if (chunk.getByte(i) == '\n') {
+                append(chunk, start, i);
+                complete(lines);
+                start = i + 1;
+            }
+        }
+        append(chunk, start, chunk.length());
+        return lines;
+    }
+
+    /**
+     * The last line, when the body does not end with a line break
+     */
+    public List<Line> finish() {
+        List<Line> lines = new ArrayList<>();
+        if (pending.size() > 0 || overflow) {
+            complete(lines);
+        }
+        return lines;
+    }
+
+    private void append(Buffer chunk, int from, int to) {
+        if (overflow || from == to) {
+            return;
+        }
+        if (pending.size() + (to - from) > maxLineLength) {
+            overflow = true;
+            pending.reset();
+            return;
+        }
+        pending.writeBytes(chunk.getBytes(from, to));
+    }
+
+    private void complete(List<Line> lines) {
+        number++;
+        if (overflow) {
+            lines.add(new Line(number, null));
+        } else {
+            String text = pending.toString(StandardCharsets.UTF_8).strip();
+            if (number == 1 && text.startsWith("\uFEFF")) {
+                text = text.substring(1).strip();
+            }
+            if (!text.isEmpty()) {
+                lines.add(new Line(number, text));
+            }
+        }
+        pending.reset();
+        overflow = false;
+    }
+}
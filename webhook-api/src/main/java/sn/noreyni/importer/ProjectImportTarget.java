@@ -0,0 +1,114 @@
+package sn.noreyni.importer;
+
+import com.mongodb.bulk.BulkWriteError;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import sn.noreyni.capture.ProjectRoutingTable;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.ProjectMapper;
+import sn.noreyni.project.ProjectRepository;
+import sn.noreyni.project.ProjectService;
+import sn.noreyni.project.access.ProjectAccessIndex;
+import sn.noreyni.project.dto.ProjectCreateDto;
+import sn.noreyni.project.dto.WebhookSignatureDto;
+import sn.noreyni.project.stats.ProjectStatsCounters;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Projects import: unique by name, owned by the importing user, with the defaults of a project creation
+ */
+@ApplicationScoped
+public class ProjectImportTarget implements ImportTarget<ProjectCreateDto, Project> {
+
+    @Inject
+    ProjectRepository projectRepository;
+
+    @Inject
+    ProjectMapper projectMapper;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    ProjectAccessIndex projectAccessIndex;
+
+    @Inject
+    ProjectStatsCounters projectStatsCounters;
+
+    @Override
+    public String type() {
+        return "projects";
+    }
+
+    @Override
+    public Class<ProjectCreateDto> payloadType() {
+        return ProjectCreateDto.class;
+    }
+
+    @Override
+    public String key(ProjectCreateDto payload) {
+        return payload.name();
+    }
+
+    @Override
+    public String duplicateMessage(String key) {
+        return "Un projet existe déjà avec le nom: " + key;
+    }
+
+    /**
+     * Same rule as a project creation: a signature verification without secret would reject every webhook
+     */
+    @Override
+    public String validate(ProjectCreateDto payload) {
+        WebhookSignatureDto signature = payload.signature();
+        if (signature != null && (signature.secret() == null || signature.secret().isBlank())) {
+            return ProjectService.SIGNATURE_SECRET_REQUIRED;
+        }
+        return null;
+    }
+
+    @Override
+    public Uni<Set<String>> findExisting(List<String> keys) {
+        return projectRepository.findExistingNames(keys);
+    }
+
+    @Override
+    public Uni<Project> toEntity(ProjectCreateDto payload, String currentUserId) {
+        Project project = projectMapper.toEntity(payload);
+
+        project.setOwnerId(currentUserId);
+        project.prePersist(currentUserId);
+
+        if (project.getStatus() == null) {
+            project.setStatus(ProjectStatus.DRAFT);
+        }
+        if (project.getVisibility() == null) {
+            project.setVisibility(Visibility.PRIVATE);
+        }
+        if (project.getStorageEngine() == null) {
+            project.setStorageEngine(StorageEngine.MONGO);
+        }
+        return Uni.createFrom().item(project);
+    }
+
+    @Override
+    public Uni<Map<Integer, BulkWriteError>> insert(List<Project> entities) {
+        return projectRepository.insertUnordered(entities);
+    }
+
+    @Override
+    public Uni<Void> inserted(List<Project> entities, String currentUserId) {
+        entities.forEach(project -> {
+            projectRoutingTable.put(project);
+            projectAccessIndex.put(project);
+        });
+        return projectStatsCounters.created(currentUserId, entities.stream().map(Project::getStatus).toList());
+    }
+}
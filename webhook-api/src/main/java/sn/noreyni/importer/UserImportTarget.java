@@ -0,0 +1,85 @@
+package sn.noreyni.importer;
+
+import com.mongodb.bulk.BulkWriteError;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import sn.noreyni.common.utils.PasswordUtil;
+import sn.noreyni.user.User;
+import sn.noreyni.user.UserMapper;
+import sn.noreyni.user.UserRepository;
+import sn.noreyni.user.dto.UserCreateDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Users import: unique by email, passwords hashed on the hashing pool
+ */
+@ApplicationScoped
+public class UserImportTarget implements ImportTarget<UserCreateDto, User> {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    UserMapper userMapper;
+
+    @Inject
+    PasswordUtil passwordUtil;
+
+    @Override
+    public String type() {
+        return "users";
+    }
+
+    @Override
+    public Class<UserCreateDto> payloadType() {
+        return UserCreateDto.class;
+    }
+
+    @Override
+    public String key(UserCreateDto payload) {
+        return payload.email();
+    }
+
+    @Override
+    public String duplicateMessage(String key) {
+        return "Un utilisateur existe déjà avec l'email: " + key;
+    }
+
+    @Override
+    public Uni<Set<String>> findExisting(List<String> keys) {
+        return userRepository.findExistingEmails(keys);
+    }
+
+    @Override
+    public Uni<User> toEntity(UserCreateDto payload, String currentUserId) {
+        return passwordUtil.hashPasswordAsync(payload.password())
+                .map(hash -> {
+                    User user = userMapper.toEntity(payload);
+                    user.prePersist();
+                    user.setPassword(hash);
+                    return user;
+                });
+    }
+
+    /**
+     * One hash per hashing thread: the batch never fills the hashing queue on its own
+     */
+    @Override
+    public int buildConcurrency() {
+        return passwordUtil.parallelism();
+    }
+
+    @Override
+    public Uni<Map<Integer, BulkWriteError>> insert(List<User> entities) {
+        return userRepository.insertUnordered(entities);
+    }
+
+    @Override
+    public Uni<Void> inserted(List<User> entities, String currentUserId) {
+        return Uni.createFrom().voidItem();
+    }
+}
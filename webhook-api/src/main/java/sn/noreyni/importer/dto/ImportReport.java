@@ -0,0 +1,35 @@
+package sn.noreyni.importer.dto;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Result of an import, with the outcome of every non-empty line in line order
+ */
+public record ImportReport(
+        int total,
+        int created,
+        int duplicates,
+        int invalid,
+        int failed,
+        List<ImportRowResult> rows
+) {
+
+    public static ImportReport of(List<ImportRowResult> results) {
+        List<ImportRowResult> rows = results.stream()
+                .sorted(Comparator.comparingInt(ImportRowResult::row))
+                .toList();
+        return new ImportReport(
+                rows.size(),
+                count(rows, ImportRowResult.Status.CREATED),
+                count(rows, ImportRowResult.Status.DUPLICATE),
+                count(rows, ImportRowResult.Status.INVALID),
+                count(rows, ImportRowResult.Status.FAILED),
+                rows
+        );
+    }
+
+    private static int count(List<ImportRowResult> rows, ImportRowResult.Status status) {
+        return (int) rows.stream().filter(row -> row.status() == status).count();
+    }
+}
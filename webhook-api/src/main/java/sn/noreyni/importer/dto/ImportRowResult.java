@@ -0,0 +1,37 @@
+package sn.noreyni.importer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one line of an import
+ *
+ * @param row     1-based line number in the uploaded file
+ * @param id      ID of the created document, only for {@link Status#CREATED}
+ * @param message reason of the rejection, absent for {@link Status#CREATED}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportRowResult(int row, Status status, String id, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    public static ImportRowResult created(int row, String id) {
+        return new ImportRowResult(row, Status.CREATED, id, null);
+    }
+
+    public static ImportRowResult duplicate(int row, String message) {
+        return new ImportRowResult(row, Status.DUPLICATE, null, message);
+    }
+
+    public static ImportRowResult invalid(int row, String message) {
+        return new ImportRowResult(row, Status.INVALID, null, message);
+    }
+
+    public static ImportRowResult failed(int row, String message) {
+        return new ImportRowResult(row, Status.FAILED, null, message);
+    }
+}
@@ -0,0 +1,23 @@
+package sn.noreyni.live;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+@ConfigMapping(prefix = "webhook.live")
+public interface LiveFeedConfig {
+
+    /**
+     * Messages waiting to be sent per session, the oldest ones are dropped once it is full
+     */
+    @WithName("queue-capacity")
+    @WithDefault("256")
+    int queueCapacity();
+
+    /**
+     * Projects a single session can subscribe to
+     */
+    @WithName("max-subscriptions")
+    @WithDefault("50")
+    int maxSubscriptions();
+}
@@ -0,0 +1,169 @@
+package sn.noreyni.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.websockets.client.runtime.WebSocketPrincipal;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.websocket.OnClose;
+import jakarta.websocket.OnError;
+import jakarta.websocket.OnMessage;
+import jakarta.websocket.OnOpen;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerEndpoint;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import sn.noreyni.capture.ProjectRoute;
+import sn.noreyni.capture.ProjectRoutingTable;
+import sn.noreyni.live.dto.LiveCommand;
+import sn.noreyni.live.dto.LiveMessage;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Live feed of captured requests
+ * Clients pick projects with {@code ?projects=id1,id2} when connecting and/or by sending
+ * {@code {"action": "subscribe" | "unsubscribe", "projects": [...]}}, then receive one
+ * {@code {"type": "request", ...}} message per captured request of those projects.
+ * Private and team projects are only streamed to their owner and members, checked on the access index.
+ */
+@ServerEndpoint("/ws/live")
+@ApplicationScoped
+@Slf4j
+public class LiveFeedEndpoint {
+
+    static final String SESSION_KEY = LiveSession.class.getName();
+
+    @Inject
+    LiveFeedRegistry liveFeedRegistry;
+
+    @Inject
+    LiveFeedConfig liveFeedConfig;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @OnOpen
+    public void onOpen(Session session) {
+        LiveSession liveSession = new LiveSession(
+                session.getId(),
+                userId(session.getUserPrincipal()),
+                (text, completion) -> session.getAsyncRemote().sendText(text,
+                        result -> completion.accept(result.isOK() ? null : result.getException())),
+                liveFeedConfig.queueCapacity(),
+                dropped -> liveFeedRegistry.render(LiveMessage.overflow(dropped)),
+                liveFeedRegistry);
+        session.getUserProperties().put(SESSION_KEY, liveSession);
+        liveFeedRegistry.register(liveSession);
+
+        log.debug("live.open - sessionId={}", session.getId());
+
+        List<String> projects = session.getRequestParameterMap().getOrDefault("projects", List.of()).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+        if (!projects.isEmpty()) {
+            subscribe(liveSession, projects);
+        }
+    }
+
+    @OnMessage
+    public void onMessage(Session session, String message) {
+        LiveSession liveSession = liveSession(session);
+        if (liveSession == null) {
+            return;
+        }
+
+        LiveCommand command;
+        try {
+            command = objectMapper.readValue(message, LiveCommand.class);
+        } catch (Exception e) {
+            reply(liveSession, LiveMessage.error("Message invalide"));
+            return;
+        }
+        List<String> projects = command.projects() != null ? command.projects() : List.of();
+
+        if ("subscribe".equals(command.action())) {
+            subscribe(liveSession, projects);
+        } else if ("unsubscribe".equals(command.action())) {
+            projects.forEach(projectId -> liveFeedRegistry.unsubscribe(liveSession, projectId));
+            reply(liveSession, LiveMessage.subscriptions(LiveMessage.UNSUBSCRIBED, projects));
+        } else {
+            reply(liveSession, LiveMessage.error("Action inconnue: " + command.action()));
+        }
+    }
+
+    @OnClose
+    public void onClose(Session session) {
+        LiveSession liveSession = liveSession(session);
+        if (liveSession != null) {
+            liveFeedRegistry.unregister(liveSession);
+        }
+        log.debug("live.close - sessionId={}", session.getId());
+    }
+
+    @OnError
+    public void onError(Session session, Throwable throwable) {
+        log.debug("live.error - sessionId={}, error={}", session.getId(), throwable.getMessage());
+        LiveSession liveSession = liveSession(session);
+        if (liveSession != null) {
+            liveFeedRegistry.unregister(liveSession);
+        }
+    }
+
+    private void subscribe(LiveSession liveSession, List<String> projects) {
+        List<String> subscribed = new ArrayList<>(projects.size());
+        for (String projectId : projects) {
+            ProjectRoute route = ObjectId.isValid(projectId) ? projectRoutingTable.find(projectId) : null;
+            if (route == null) {
+                reply(liveSession, LiveMessage.error("Projet non trouvé avec l'id: " + projectId));
+                continue;
+            }
+            if (!liveFeedRegistry.mayWatch(liveSession.userId(), route)) {
+                log.debug("live.subscribe.forbidden - sessionId={}, projectId={}, userId={}",
+                        liveSession.id(), projectId, liveSession.userId());
+                reply(liveSession, LiveMessage.error("Vous n'êtes pas autorisé à suivre ce projet: " + projectId));
+                continue;
+            }
+            if (!liveSession.projects().contains(projectId)
+                    && liveSession.projects().size() >= liveFeedConfig.maxSubscriptions()) {
+                reply(liveSession, LiveMessage.error("Nombre maximum d'abonnements atteint ("
+                        + liveFeedConfig.maxSubscriptions() + ")"));
+                break;
+            }
+            liveFeedRegistry.subscribe(liveSession, projectId);
+            subscribed.add(projectId);
+        }
+        if (!subscribed.isEmpty()) {
+            reply(liveSession, LiveMessage.subscriptions(LiveMessage.SUBSCRIBED, subscribed));
+        }
+    }
+
+    private void reply(LiveSession liveSession, LiveMessage message) {
+        String text = liveFeedRegistry.render(message);
+        if (text != null) {
+            liveSession.enqueue(LiveSession.Outbound.reply(text));
+        }
+    }
+
+    /**
+     * Subject of the bearer token the WebSocket handshake was authenticated with
+     */
+    private static String userId(Principal principal) {
+        if (principal instanceof WebSocketPrincipal webSocketPrincipal) {
+            principal = webSocketPrincipal.getSecurityIdentity().getPrincipal();
+        }
+        return principal instanceof JsonWebToken jwt ? jwt.getSubject() : null;
+    }
+
+    private static LiveSession liveSession(Session session) {
+        return (LiveSession) session.getUserProperties().get(SESSION_KEY);
+    }
+}
@@ -0,0 +1,207 @@
+package sn.noreyni.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.capture.CapturedRequestService;
+import sn.noreyni.capture.ProjectRoute;
+import sn.noreyni.capture.ProjectRoutingTable;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.live.dto.LiveMessage;
+import sn.noreyni.project.access.ProjectAccessIndex;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscriptions of the live feed, indexed by project ID
+ * Publishing a captured request costs one map lookup when nobody watches the project; otherwise the
+ * message is serialized once and queued on every subscribed {@link LiveSession}, sends are asynchronous.
+ * Subscriptions are checked again when the members or the visibility of a project change, see {@link #revalidate(String)}.
+ */
+@ApplicationScoped
+@Slf4j
+public class LiveFeedRegistry implements LiveSession.Listener {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    ProjectAccessIndex projectAccessIndex;
+
+    private final ConcurrentHashMap<String, Set<LiveSession>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LiveSession> sessions = new ConcurrentHashMap<>();
+
+    private ObjectWriter writer;
+    private Timer fanOutLatency;
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        // Compact frames, the REST mapper indents its output
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+
+        Gauge.builder("webhook.live.sessions", sessions, ConcurrentHashMap::size)
+                .description("Open live feed sessions")
+                .register(meterRegistry);
+        this.fanOutLatency = Timer.builder("webhook.live.fanout.latency")
+                .description("Time from a captured request being published to its delivery to a live feed session")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dropped = Counter.builder("webhook.live.dropped")
+                .description("Live feed messages dropped because the session queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes a captured request to the subscribers of its project
+     */
+    public void publish(CapturedRequest captured) {
+        Set<LiveSession> targets = subscribers.get(captured.getProjectId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+
+        long publishedNanos = System.nanoTime();
+        String text = render(LiveMessage.request(captured.getProjectId(), CapturedRequestService.toListDto(captured)));
+        if (text == null) {
+            return;
+        }
+        LiveSession.Outbound outbound = new LiveSession.Outbound(text, publishedNanos);
+        for (LiveSession session : targets) {
+            session.enqueue(outbound);
+        }
+    }
+
+    /**
+     * Registers an opened session
+     */
+    public void register(LiveSession session) {
+        sessions.put(session.id(), session);
+    }
+
+    /**
+     * Removes a closed session and all its subscriptions
+     */
+    public void unregister(LiveSession session) {
+        if (sessions.remove(session.id()) == null) {
+            return;
+        }
+        session.close();
+        for (String projectId : session.projects()) {
+            unsubscribe(session, projectId);
+        }
+    }
+
+    public void subscribe(LiveSession session, String projectId) {
+        subscribers.compute(projectId, (id, set) -> {
+            Set<LiveSession> updated = set != null ? set : ConcurrentHashMap.newKeySet();
+            updated.add(session);
+            return updated;
+        });
+        session.projects().add(projectId);
+    }
+
+    public void unsubscribe(LiveSession session, String projectId) {
+        session.projects().remove(projectId);
+        subscribers.computeIfPresent(projectId, (id, set) -> {
+            set.remove(session);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Whether a user may follow a project: public, or private and team projects of which the user is the owner or a member
+     */
+    public boolean mayWatch(String userId, ProjectRoute route) {
+        return route.visibility() == Visibility.PUBLIC || projectAccessIndex.isMember(userId, route.projectId());
+    }
+
+    /**
+     * Drops the subscriptions to a project whose user may no longer follow it, once its members or its
+     * visibility changed, or all of them once it is deleted; costs one lookup when nobody follows it
+     * The dropped sessions are told with an {@code unsubscribed} message.
+     */
+    public void revalidate(String projectId) {
+        Set<LiveSession> targets = subscribers.get(projectId);
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        ProjectRoute route = projectRoutingTable.find(projectId);
+        String notice = null;
+        for (LiveSession session : targets) {
+            if (route != null && mayWatch(session.userId(), route)) {
+                continue;
+            }
+            unsubscribe(session, projectId);
+            if (notice == null) {
+                notice = render(LiveMessage.subscriptions(LiveMessage.UNSUBSCRIBED, List.of(projectId)));
+            }
+            if (notice != null) {
+                session.enqueue(LiveSession.Outbound.reply(notice));
+            }
+            log.debug("live.revoked - sessionId={}, projectId={}, userId={}", session.id(), projectId, session.userId());
+        }
+    }
+
+    /**
+     * Sessions subscribed to a project
+     */
+    public int subscriberCount(String projectId) {
+        Set<LiveSession> targets = subscribers.get(projectId);
+        return targets != null ? targets.size() : 0;
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Serializes a message for the wire, null if it cannot be serialized
+     */
+    public String render(LiveMessage message) {
+        try {
+            return writer.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.error("live.render.error - type={}, error={}", message.type(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void sent(LiveSession.Outbound outbound) {
+        if (outbound.isReply()) {
+            return;
+        }
+        fanOutLatency.record(System.nanoTime() - outbound.publishedNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void dropped() {
+        dropped.increment();
+    }
+
+    @Override
+    public void failed(LiveSession session, Throwable failure) {
+        log.debug("live.send.error - Closing session, sessionId={}, error={}", session.id(), failure.getMessage());
+        unregister(session);
+    }
+}
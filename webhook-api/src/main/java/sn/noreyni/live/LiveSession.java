@@ -0,0 +1,175 @@
+package sn.noreyni.live;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Outbound side of one live feed connection
+ * Messages are queued and sent one at a time, asynchronously. When the client does not keep up the
+ * queue is bounded: the oldest messages are dropped and replaced by a single overflow notice carrying
+ * the number of dropped messages, so a slow client never holds memory or threads of the publishers.
+ */
+public final class LiveSession {
+
+    /**
+     * Asynchronous text sender of the underlying connection
+     */
+    @FunctionalInterface
+    public interface Transport {
+
+        /**
+         * Sends a text frame, the completion receives null on success
+         */
+        void send(String text, Consumer<Throwable> completion);
+    }
+
+    /**
+     * Message queued for a session, shared by every subscriber of the project
+     *
+     * @param publishedNanos {@link System#nanoTime()} when the message was published, 0 for replies to the client
+     */
+    public record Outbound(String text, long publishedNanos) {
+
+        public static Outbound reply(String text) {
+            return new Outbound(text, 0);
+        }
+
+        public boolean isReply() {
+            return publishedNanos == 0;
+        }
+    }
+
+    /**
+     * Fan-out callbacks of the registry
+     */
+    public interface Listener {
+
+        void sent(Outbound outbound);
+
+        void dropped();
+
+        void failed(LiveSession session, Throwable failure);
+    }
+
+    private final String id;
+    private final String userId;
+    private final Transport transport;
+    private final int capacity;
+    private final LongFunction<String> overflowNotice;
+    private final Listener listener;
+    private final Set<String> projects = ConcurrentHashMap.newKeySet();
+
+    private final ArrayDeque<Outbound> queue;
+    private long dropped;
+    private boolean sending;
+    private volatile boolean closed;
+
+    public LiveSession(String id, String userId, Transport transport, int capacity, LongFunction<String> overflowNotice,
+                       Listener listener) {
+        this.id = id;
+        this.userId = userId;
+        this.transport = transport;
+        this.capacity = Math.max(1, capacity);
+        this.overflowNotice = overflowNotice;
+        this.listener = listener;
+        this.queue = new ArrayDeque<>(Math.min(this.capacity, 16));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Subject of the access token the connection was opened with
+     */
+    public String userId() {
+        return userId;
+    }
+
+    /**
+     * Projects the session is subscribed to
+     */
+    public Set<String> projects() {
+        return projects;
+    }
+
+    /**
+     * Queues a message, never blocks
+     */
+    public void enqueue(Outbound outbound) {
+        if (closed) {
+            return;
+        }
+        boolean start;
+        synchronized (this) {
+            if (queue.size() >= capacity) {
+                queue.pollFirst();
+                dropped++;
+                listener.dropped();
+            }
+            queue.addLast(outbound);
+            start = !sending;
+            sending = true;
+        }
+        if (start) {
+            sendNext();
+        }
+    }
+
+    /**
+     * Messages waiting to be sent
+     */
+    public synchronized int queued() {
+        return queue.size();
+    }
+
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            queue.clear();
+        }
+    }
+
+    private void sendNext() {
+        Outbound next;
+        String text;
+        synchronized (this) {
+            if (closed) {
+                sending = false;
+                return;
+            }
+            if (dropped > 0) {
+                // Coalesces everything dropped so far into one notice, sent before the remaining messages
+                next = null;
+                text = overflowNotice.apply(dropped);
+                dropped = 0;
+            } else {
+                next = queue.pollFirst();
+                if (next == null) {
+                    sending = false;
+                    return;
+                }
+                text = next.text();
+            }
+        }
+
+        transport.send(text, failure -> {
+            if (failure != null) {
+                closed = true;
+                synchronized (this) {
+                    sending = false;
+                    queue.clear();
+                }
+                listener.failed(this, failure);
+                return;
+            }
+            if (next != null) {
+                listener.sent(next);
+            }
+            sendNext();
+        });
+    }
+}
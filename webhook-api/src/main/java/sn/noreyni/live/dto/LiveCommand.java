@@ -0,0 +1,11 @@
+package sn.noreyni.live.dto;
+
+import java.util.List;
+
+/**
+ * Message sent by a live feed client: {@code {"action": "subscribe", "projects": ["..."]}}
+ */
+public record LiveCommand(
+        String action,
+        List<String> projects
+) {}
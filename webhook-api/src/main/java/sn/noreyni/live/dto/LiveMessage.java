@@ -0,0 +1,42 @@
+package sn.noreyni.live.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import sn.noreyni.capture.dto.CapturedRequestListDto;
+
+import java.util.List;
+
+/**
+ * Message sent to a live feed client
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LiveMessage(
+        String type,
+        String projectId,
+        List<String> projects,
+        CapturedRequestListDto data,
+        Long dropped,
+        String message
+) {
+
+    public static final String REQUEST = "request";
+    public static final String SUBSCRIBED = "subscribed";
+    public static final String UNSUBSCRIBED = "unsubscribed";
+    public static final String OVERFLOW = "overflow";
+    public static final String ERROR = "error";
+
+    public static LiveMessage request(String projectId, CapturedRequestListDto data) {
+        return new LiveMessage(REQUEST, projectId, null, data, null, null);
+    }
+
+    public static LiveMessage subscriptions(String type, List<String> projects) {
+        return new LiveMessage(type, null, projects, null, null, null);
+    }
+
+    public static LiveMessage overflow(long dropped) {
+        return new LiveMessage(OVERFLOW, null, null, null, dropped, null);
+    }
+
+    public static LiveMessage error(String message) {
+        return new LiveMessage(ERROR, null, null, null, null, message);
+    }
+}
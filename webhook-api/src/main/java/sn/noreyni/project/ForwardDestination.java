@@ -0,0 +1,20 @@
+package sn.noreyni.project;
+
+import lombok.Data;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+
+/**
+ * Destination captured requests of a project are forwarded to (embedded in the project document)
+ */
+@Data
+public class ForwardDestination {
+
+    @BsonProperty("id")
+    private String id;
+
+    @BsonProperty("url")
+    private String url;
+
+    @BsonProperty("enabled")
+    private boolean enabled = true;
+}
@@ -8,9 +8,12 @@ import org.bson.codecs.pojo.annotations.BsonProperty;
 import sn.noreyni.common.entity.BaseEntity;
 import sn.noreyni.common.enums.ProjectStatus;
 import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
 import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.project.search.ProjectNameSearch;
 import sn.noreyni.user.User;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -26,6 +29,12 @@ public class Project extends BaseEntity {
     @BsonProperty("name")
     private String name;
 
+    @BsonProperty(ProjectNameSearch.KEY_FIELD)
+    private String nameKey;  // Normalized name, derived from the name
+
+    @BsonProperty(ProjectNameSearch.GRAMS_FIELD)
+    private List<String> nameGrams;  // Trigrams of the normalized name, derived from the name
+
     @BsonProperty("description")
     private String description;
 
@@ -38,6 +47,24 @@ public class Project extends BaseEntity {
     @BsonProperty("type")
     private ProjectType type;
 
+    @BsonProperty("storage_engine")
+    private StorageEngine storageEngine = StorageEngine.MONGO;
+
+    @BsonProperty("rate_limit")
+    private Integer rateLimit;  // Captured requests per second, overrides the type tier when set
+
+    @BsonProperty("rate_burst")
+    private Integer rateBurst;  // Bucket size, overrides the type tier when set
+
+    @BsonProperty("daily_quota")
+    private Long dailyQuota;  // Captured requests per day, overrides the type tier when set
+
+    @BsonProperty("destinations")
+    private List<ForwardDestination> destinations = new ArrayList<>();
+
+    @BsonProperty("signature")
+    private WebhookSignature signature;  // Checked on every captured request when set
+
     @BsonProperty("owner_id")
     private String ownerId;
 
@@ -55,4 +82,13 @@ public class Project extends BaseEntity {
 
     @BsonIgnore
     private List<User> invitedUsers;  // Populated when fetching the project
+
+    /**
+     * Sets the name and the search fields derived from it
+     */
+    public void setName(String name) {
+        this.name = name;
+        this.nameKey = ProjectNameSearch.normalize(name);
+        this.nameGrams = ProjectNameSearch.grams(nameKey);
+    }
 }
\ No newline at end of file
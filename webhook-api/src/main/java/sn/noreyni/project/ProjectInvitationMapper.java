@@ -1,20 +1,25 @@
 package sn.noreyni.project;
 
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import java.util.Collections;
+import java.util.HashSet;
 
 import org.modelmapper.ModelMapper;
 import sn.noreyni.project.dto.ProjectInvitationCreateDto;
 import sn.noreyni.project.dto.ProjectInvitationDetailsDto;
 import sn.noreyni.project.dto.ProjectInvitationListDto;
 import sn.noreyni.project.dto.ProjectInvitationUpdateDto;
+import sn.noreyni.user.UserBatchLoader;
 import sn.noreyni.user.UserMapper;
 import sn.noreyni.user.dto.UserListDto;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class ProjectInvitationMapper {
@@ -28,6 +33,9 @@ public class ProjectInvitationMapper {
     @Inject
     UserMapper userMapper;
 
+    @Inject
+    UserBatchLoader userBatchLoader;
+
     /**
      * Convert ProjectInvitation entity to ProjectInvitationListDto
      */
@@ -35,13 +43,33 @@ public class ProjectInvitationMapper {
         if (invitation == null) {
             return null;
         }
+        return toListDto(invitation, invitation.getInviter() != null ? userMapper.toListDto(invitation.getInviter()) : null);
+    }
+
+    /**
+     * Convert ProjectInvitation entities to ProjectInvitationListDto, all inviters are loaded with one query
+     */
+    public Uni<List<ProjectInvitationListDto>> toListDtoWithUsers(List<ProjectInvitation> invitations) {
+        if (invitations == null || invitations.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+        Set<String> inviterIds = invitations.stream()
+                .map(ProjectInvitation::getInviterId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return userBatchLoader.load(inviterIds)
+                .map(users -> invitations.stream()
+                        .map(invitation -> toListDto(invitation, users.get(invitation.getInviterId())))
+                        .toList());
+    }
 
+    private ProjectInvitationListDto toListDto(ProjectInvitation invitation, UserListDto inviter) {
         return new ProjectInvitationListDto(
                 invitation.getIdAsString(),
                 invitation.getProjectId(),
                 invitation.getProject() != null ? invitation.getProject().getName() : null,
                 invitation.getInviterId(),
-                invitation.getInviter() != null ? userMapper.toListDto(invitation.getInviter()) : null,
+                inviter,
                 invitation.getStatus(),
                 invitation.getSentAt(),
                 invitation.getExpiresAt()
@@ -105,24 +133,59 @@ public class ProjectInvitationMapper {
 
         ProjectInvitation firstInvitation = invitations.getFirst();
 
-        List<String> inviteeIds = invitations.stream()
-                .map(ProjectInvitation::getInviteeId)
-                .filter(Objects::nonNull)
-                .toList();
-
         List<UserListDto> invitees = invitations.stream()
                 .map(ProjectInvitation::getInvitee)
                 .filter(Objects::nonNull)
                 .map(userMapper::toListDto)
                 .toList();
 
+        return toGroupedDetailsDto(invitations,
+                firstInvitation.getInviter() != null ? userMapper.toListDto(firstInvitation.getInviter()) : null,
+                invitees);
+    }
+
+    /**
+     * Convert grouped ProjectInvitation entities to a single ProjectInvitationDetailsDto, the inviter and all
+     * invitees are loaded with one query
+     */
+    public Uni<ProjectInvitationDetailsDto> toGroupedDetailsDtoWithUsers(List<ProjectInvitation> invitations) {
+        if (invitations == null || invitations.isEmpty()) {
+            return Uni.createFrom().nullItem();
+        }
+
+        ProjectInvitation firstInvitation = invitations.getFirst();
+        Set<String> userIds = invitations.stream()
+                .map(ProjectInvitation::getInviteeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        if (firstInvitation.getInviterId() != null) {
+            userIds.add(firstInvitation.getInviterId());
+        }
+
+        return userBatchLoader.load(userIds)
+                .map(users -> toGroupedDetailsDto(invitations,
+                        users.get(firstInvitation.getInviterId()),
+                        invitations.stream()
+                                .map(invitation -> users.get(invitation.getInviteeId()))
+                                .filter(Objects::nonNull)
+                                .toList()));
+    }
+
+    private ProjectInvitationDetailsDto toGroupedDetailsDto(List<ProjectInvitation> invitations, UserListDto inviter,
+                                                            List<UserListDto> invitees) {
+        ProjectInvitation firstInvitation = invitations.getFirst();
+
+        List<String> inviteeIds = invitations.stream()
+                .map(ProjectInvitation::getInviteeId)
+                .filter(Objects::nonNull)
+                .toList();
+
         return new ProjectInvitationDetailsDto(
                 firstInvitation.getIdAsString(), // Use first invitation's ID as group ID
                 firstInvitation.getProjectId(),
                 firstInvitation.getProject() != null ? projectMapper.toListDto(firstInvitation.getProject()) : null,
                 firstInvitation.getInviterId(),
-                firstInvitation.getInviter() != null ? userMapper.toListDto(firstInvitation.getInviter())
-                        : null,
+                inviter,
                 inviteeIds,
                 invitees,
                 firstInvitation.getStatus(), // You might want to compute a combined status
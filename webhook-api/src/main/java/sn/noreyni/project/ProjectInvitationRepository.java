@@ -1,15 +1,65 @@
 package sn.noreyni.project;
 
+import com.mongodb.client.model.IndexModel;
+import io.quarkus.mongodb.FindOptions;
 import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepository;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import sn.noreyni.common.enums.InvitationStatus;
+import sn.noreyni.common.index.IndexedRepository;
+import sn.noreyni.common.index.QueryShape;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @ApplicationScoped
-public class ProjectInvitationRepository implements ReactivePanacheMongoRepository<ProjectInvitation> {
+public class ProjectInvitationRepository implements ReactivePanacheMongoRepository<ProjectInvitation>, IndexedRepository {
+
+    @Override
+    public List<IndexModel> indexes() {
+        return List.of(
+                new IndexModel(new Document("project_id", 1).append("invitee_id", 1).append("status", 1)),
+                new IndexModel(new Document("project_id", 1).append("sent_at", -1)),
+                new IndexModel(new Document("invitee_id", 1).append("status", 1).append("sent_at", -1)),
+                new IndexModel(new Document("inviter_id", 1)),
+                new IndexModel(new Document("status", 1).append("expires_at", 1)),
+                new IndexModel(new Document("sent_at", -1))
+        );
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        String projectId = new ObjectId().toHexString();
+        String userId = new ObjectId().toHexString();
+        String pending = InvitationStatus.PENDING.name();
+        LocalDateTime now = LocalDateTime.now();
+        return List.of(
+                QueryShape.of("findByProjectId", new Document("project_id", projectId)),
+                QueryShape.of("findByInviterId", new Document("inviter_id", userId)),
+                QueryShape.of("findByInviteeId", new Document("invitee_id", userId)),
+                QueryShape.of("findByStatus", new Document("status", pending)),
+                QueryShape.of("findByProjectIdAndStatus", new Document("project_id", projectId).append("status", pending)),
+                QueryShape.of("findByInviteeIdAndStatus", new Document("invitee_id", userId).append("status", pending)),
+                QueryShape.of("findByProjectIdAndInviteeId", new Document("project_id", projectId).append("invitee_id", userId)),
+                QueryShape.of("hasPendingInvitation", new Document("project_id", projectId).append("invitee_id", userId)
+                        .append("status", pending)),
+                QueryShape.of("findExpiredInvitations", new Document("expires_at", new Document("$lt", now))
+                        .append("status", pending)),
+                QueryShape.of("findExpiredInvitationsByProjectId", new Document("project_id", projectId)
+                        .append("expires_at", new Document("$lt", now)).append("status", pending)),
+                QueryShape.of("findRecentInvitations", new Document("sent_at", new Document("$gte", now))),
+                QueryShape.of("findRecentInvitationsByInviteeId", new Document("invitee_id", userId)
+                        .append("sent_at", new Document("$gte", now))),
+                QueryShape.of("findRecentInvitationsByProjectId", new Document("project_id", projectId)
+                        .append("sent_at", new Document("$gte", now))),
+                QueryShape.of("findUserInvitations", new Document("$or", List.of(
+                        new Document("invitee_id", userId),
+                        new Document("inviter_id", userId))))
+        );
+    }
 
     public Uni<List<ProjectInvitation>> findByProjectId(String projectId) {
         return find("projectId", projectId).list();
@@ -126,4 +176,17 @@ public class ProjectInvitationRepository implements ReactivePanacheMongoReposito
     public Uni<List<ProjectInvitation>> findSentInvitationsByUser(String userId) {
         return find("inviterId = ?1", userId).list();
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams every invitation in _id order, for the export
+     *
+     * @param after ID of the last exported invitation, null to start from the first one
+     */
+    public Multi<ProjectInvitation> streamAfter(ObjectId after, int fetchSize) {
+        FindOptions options = new FindOptions()
+                .filter(after != null ? new Document("_id", new Document("$gt", after)) : new Document())
+                .sort(new Document("_id", 1))
+                .batchSize(fetchSize);
+        return Multi.createFrom().deferred(() -> mongoCollection().find(options));
+    }
+}
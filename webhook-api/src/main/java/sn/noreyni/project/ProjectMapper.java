@@ -1,18 +1,29 @@
 package sn.noreyni.project;
 
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.Collections;
 
+import org.bson.types.ObjectId;
 import org.modelmapper.ModelMapper;
+import sn.noreyni.project.dto.ForwardDestinationDto;
 import sn.noreyni.project.dto.ProjectCreateDto;
 import sn.noreyni.project.dto.ProjectDetailsDto;
+import sn.noreyni.project.dto.ProjectLimitsDto;
 import sn.noreyni.project.dto.ProjectListDto;
 import sn.noreyni.project.dto.ProjectUpdateDto;
+import sn.noreyni.project.dto.WebhookSignatureDto;
+import sn.noreyni.user.UserBatchLoader;
 import sn.noreyni.user.UserMapper;
+import sn.noreyni.user.dto.UserListDto;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class ProjectMapper {
@@ -23,6 +34,9 @@ public class ProjectMapper {
     @Inject
     UserMapper userMapper;
 
+    @Inject
+    UserBatchLoader userBatchLoader;
+
     /**
      * Convert Project entity to ProjectListDto
      */
@@ -48,6 +62,47 @@ public class ProjectMapper {
         );
     }
 
+    /**
+     * Fills the owner names of list DTOs, all owners of the page are loaded with one query
+     */
+    public Uni<List<ProjectListDto>> withOwners(List<ProjectListDto> projects) {
+        if (projects.isEmpty()) {
+            return Uni.createFrom().item(projects);
+        }
+        Set<String> ownerIds = projects.stream()
+                .map(ProjectListDto::ownerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return userBatchLoader.load(ownerIds)
+                .map(owners -> projects.stream()
+                        .map(project -> withOwner(project, owners.get(project.ownerId())))
+                        .toList());
+    }
+
+    /**
+     * Copy of a list DTO with the names of its owner
+     */
+    public ProjectListDto withOwner(ProjectListDto project, UserListDto owner) {
+        if (owner == null) {
+            return project;
+        }
+        return new ProjectListDto(
+                project.id(),
+                project.name(),
+                project.description(),
+                project.status(),
+                project.visibility(),
+                project.type(),
+                project.avatarUrl(),
+                project.ownerId(),
+                owner.firstName(),
+                owner.lastName(),
+                project.memberCount(),
+                project.createdAt(),
+                project.updatedAt()
+        );
+    }
+
     /**
      * Convert list of Project entities to list of ProjectListDto
      */
@@ -76,6 +131,12 @@ public class ProjectMapper {
                 project.getVisibility(),
                 project.getType(),
                 project.getAvatarUrl(),
+                project.getStorageEngine(),
+                project.getRateLimit(),
+                project.getRateBurst(),
+                project.getDailyQuota(),
+                toDestinationDtos(project.getDestinations()),
+                toSignatureDto(project.getSignature()),
                 project.getOwnerId(),
                 project.getOwner() != null ? userMapper.toListDto(project.getOwner()) : null,
                 project.getMembers() != null ?
@@ -104,6 +165,13 @@ public class ProjectMapper {
         project.setVisibility(createDto.visibility());
         project.setStatus(createDto.status());
         project.setAvatarUrl(createDto.avatarUrl());
+        project.setStorageEngine(createDto.storageEngine());
+        if (createDto.destinations() != null) {
+            project.setDestinations(toDestinations(createDto.destinations()));
+        }
+        if (createDto.signature() != null) {
+            project.setSignature(toSignature(createDto.signature(), null));
+        }
 
         return project;
     }
@@ -134,7 +202,85 @@ public class ProjectMapper {
         if (updateDto.avatarUrl() != null) {
             project.setAvatarUrl(updateDto.avatarUrl());
         }
+        if (updateDto.storageEngine() != null) {
+            project.setStorageEngine(updateDto.storageEngine());
+        }
+        if (updateDto.destinations() != null) {
+            project.setDestinations(toDestinations(updateDto.destinations()));
+        }
+        if (updateDto.signature() != null) {
+            project.setSignature(toSignature(updateDto.signature(), project.getSignature()));
+        }
+    }
+
+    /**
+     * Replace the capture limit overrides of a Project entity, null values remove them
+     */
+    public void updateLimits(Project project, ProjectLimitsDto limitsDto) {
+        if (project == null || limitsDto == null) {
+            return;
+        }
+
+        project.setRateLimit(limitsDto.rateLimit());
+        project.setRateBurst(limitsDto.rateBurst());
+        project.setDailyQuota(limitsDto.dailyQuota());
     }
 
 
+
+    /**
+     * Convert forward destinations to DTOs
+     */
+    public List<ForwardDestinationDto> toDestinationDtos(List<ForwardDestination> destinations) {
+        if (destinations == null) {
+            return Collections.emptyList();
+        }
+        return destinations.stream()
+                .map(destination -> new ForwardDestinationDto(destination.getId(), destination.getUrl(), destination.isEnabled()))
+                .toList();
+    }
+
+    /**
+     * Convert destination DTOs to embedded destinations, generating the missing IDs
+     */
+    public List<ForwardDestination> toDestinations(List<ForwardDestinationDto> dtos) {
+        List<ForwardDestination> destinations = new ArrayList<>(dtos.size());
+        for (ForwardDestinationDto dto : dtos) {
+            ForwardDestination destination = new ForwardDestination();
+            destination.setId(dto.id() != null && !dto.id().isBlank() ? dto.id() : new ObjectId().toHexString());
+            destination.setUrl(dto.url());
+            destination.setEnabled(dto.enabled() == null || dto.enabled());
+            destinations.add(destination);
+        }
+        return destinations;
+    }
+
+    /**
+     * Convert the signature verification to a DTO, without its secret
+     */
+    public WebhookSignatureDto toSignatureDto(WebhookSignature signature) {
+        if (signature == null) {
+            return null;
+        }
+        return new WebhookSignatureDto(signature.isEnabled(), signature.getAlgorithm(), signature.getHeader(),
+                signature.getFormat(), signature.getPrefix(), null);
+    }
+
+    /**
+     * Convert a signature DTO to the embedded signature, keeping the current secret when none is given
+     */
+    public WebhookSignature toSignature(WebhookSignatureDto dto, WebhookSignature current) {
+        WebhookSignature signature = new WebhookSignature();
+        signature.setEnabled(dto.enabled() == null || dto.enabled());
+        if (dto.algorithm() != null) {
+            signature.setAlgorithm(dto.algorithm());
+        }
+        signature.setHeader(dto.header());
+        if (dto.format() != null) {
+            signature.setFormat(dto.format());
+        }
+        signature.setPrefix(dto.prefix());
+        signature.setSecret(dto.secret() != null ? dto.secret() : current != null ? current.getSecret() : null);
+        return signature;
+    }
 }
@@ -1,20 +1,109 @@
 package sn.noreyni.project;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.UpdateOneModel;
+import io.quarkus.mongodb.FindOptions;
 import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepository;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.BsonArray;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.types.ObjectId;
 import sn.noreyni.common.enums.ProjectStatus;
 import sn.noreyni.common.enums.ProjectType;
 import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.common.bulk.UnorderedInsert;
+import sn.noreyni.common.index.IndexedRepository;
+import sn.noreyni.common.index.QueryShape;
+import sn.noreyni.common.pagination.Cursor;
+import sn.noreyni.project.codec.ProjectListDtoCodec;
+import sn.noreyni.project.dto.ProjectListDto;
 import sn.noreyni.project.dto.ProjectStats;
+import sn.noreyni.project.search.ProjectNameSearch;
+import sn.noreyni.project.stats.ProjectOwnerStats;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
-public class ProjectRepository implements ReactivePanacheMongoRepository<Project> {
+public class ProjectRepository implements ReactivePanacheMongoRepository<Project>, IndexedRepository {
+
+    /**
+     * Sort keys by API name, the ones accepted in cursor mode
+     */
+    public static final Map<String, Cursor.Key<ProjectListDto>> SORT_KEYS = Map.of(
+            "name", new Cursor.Key<>("name", ProjectListDto::name),
+            "status", new Cursor.Key<>("status", ProjectListDto::status),
+            "type", new Cursor.Key<>("type", ProjectListDto::type),
+            "createdAt", new Cursor.Key<>("created_at", ProjectListDto::createdAt),
+            "updatedAt", new Cursor.Key<>("updated_at", ProjectListDto::updatedAt),
+            "id", new Cursor.Key<>(Cursor.ID_FIELD, ProjectListDto::id)
+    );
+
+    @Override
+    public List<IndexModel> indexes() {
+        return List.of(
+                // Name lookups and name sort, _id breaks ties for the cursor mode
+                new IndexModel(new Document("name", 1).append("_id", 1)),
+                // Name search: prefix ranges on the normalized name, substrings through its trigrams
+                new IndexModel(new Document(ProjectNameSearch.KEY_FIELD, 1).append("_id", 1)),
+                new IndexModel(new Document(ProjectNameSearch.GRAMS_FIELD, 1)),
+                // Owner listings and statistics
+                new IndexModel(new Document("owner_id", 1).append("status", 1)),
+                new IndexModel(new Document("owner_id", 1).append("created_at", -1)),
+                new IndexModel(new Document("member_ids", 1)),
+                new IndexModel(new Document("invited_user_ids", 1)),
+                new IndexModel(new Document("visibility", 1)),
+                // Sort keys of the listing
+                new IndexModel(new Document("status", 1).append("_id", 1)),
+                new IndexModel(new Document("type", 1).append("_id", 1)),
+                new IndexModel(new Document("created_at", 1).append("_id", 1)),
+                new IndexModel(new Document("updated_at", 1).append("_id", 1))
+        );
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        String ownerId = new ObjectId().toHexString();
+        return List.of(
+                QueryShape.of("findByName", new Document("name", "Projet")),
+                QueryShape.of("findExistingNames", new Document("name", new Document("$in", List.of("Projet")))),
+                QueryShape.of("existsByNameAndIdNot", new Document("name", "Projet").append("_id", new Document("$ne", new ObjectId()))),
+                QueryShape.of("findByOwnerId", new Document("owner_id", ownerId)),
+                QueryShape.of("findByStatus", new Document("status", ProjectStatus.ACTIVE.name())),
+                QueryShape.of("findByVisibility", new Document("visibility", Visibility.PUBLIC.name())),
+                QueryShape.of("findByType", new Document("type", ProjectType.SOFTWARE.name())),
+                QueryShape.of("findByMemberId", new Document("member_ids", ownerId)),
+                QueryShape.of("findByInvitedUserId", new Document("invited_user_ids", ownerId)),
+                QueryShape.of("findByOwnerIds", new Document("owner_id", new Document("$in", List.of(ownerId)))),
+                QueryShape.of("findAccessibleProjects", new Document("$or", List.of(
+                        new Document("owner_id", ownerId),
+                        new Document("member_ids", ownerId),
+                        new Document("visibility", Visibility.PUBLIC.name())))),
+                QueryShape.of("findRecentProjectsByOwner", new Document("owner_id", ownerId), new Document("created_at", -1)),
+                QueryShape.of("searchProjects", new Document(), Cursor.sort("name", 1)),
+                QueryShape.of("searchProjectsByCreation", new Document(), Cursor.sort("created_at", -1)),
+                QueryShape.of("searchProjectsByStatus", new Document("status", ProjectStatus.ACTIVE.name()), Cursor.sort("updated_at", -1)),
+                QueryShape.of("searchProjectsAfter", new Cursor("name", 1, "Projet", new ObjectId()).condition(), Cursor.sort("name", 1)),
+                QueryShape.of("searchProjectsByName", ProjectNameSearch.containsFilter("Projet"), Cursor.sort("name", 1)),
+                QueryShape.of("searchProjectsByShortName", ProjectNameSearch.containsFilter("pr"), Cursor.sort("name", 1)),
+                QueryShape.of("findByNamePrefix", ProjectNameSearch.prefixFilter("Pro"), Cursor.sort(ProjectNameSearch.KEY_FIELD, 1)),
+                QueryShape.of("findWithoutNameSearchFields", new Document(ProjectNameSearch.KEY_FIELD, null))
+        );
+    }
 
     /**
      * Check if a project with the given name exists
@@ -24,6 +113,27 @@ public class ProjectRepository implements ReactivePanacheMongoRepository<Project
                 .map(count -> count > 0);
     }
 
+    /**
+     * Names among the given ones that are already used, in one query answered from the name index
+     */
+    public Uni<Set<String>> findExistingNames(List<String> names) {
+        FindOptions options = new FindOptions()
+                .filter(new Document("name", new Document("$in", names)))
+                .projection(new Document("name", 1).append("_id", 0));
+        return Uni.createFrom().deferred(() -> mongoCollection().find(RawBsonDocument.class, options)
+                .map(document -> document.getString("name").getValue())
+                .collect().with(Collectors.toSet()));
+    }
+
+    /**
+     * Inserts projects with one unordered bulk write, their IDs must be assigned beforehand
+     *
+     * @return write errors by index in {@code projects}
+     */
+    public Uni<Map<Integer, BulkWriteError>> insertUnordered(List<Project> projects) {
+        return UnorderedInsert.insert(mongoCollection(), projects);
+    }
+
     /**
      * Find project by name
      */
@@ -103,9 +213,12 @@ public class ProjectRepository implements ReactivePanacheMongoRepository<Project
     }
 
     /**
-     * Search projects with pagination and multiple filters
+     * Search projects with pagination and multiple filters, page and total in one round trip
+     * A single aggregation matches and sorts once, then a {@code $facet} returns the requested slice and
+     * the number of matches. With {@code estimateTotal} and no filter, the total comes from the collection
+     * metadata instead of a count. Only the fields of the list are read, see {@link ProjectListDtoCodec}.
      *
-     * @param name Filter by project name (partial match, case-insensitive)
+     * @param name Filter by project name (partial match, ignoring case and accents)
      * @param status Filter by project status
      * @param visibility Filter by project visibility
      * @param type Filter by project type
@@ -114,9 +227,10 @@ public class ProjectRepository implements ReactivePanacheMongoRepository<Project
      * @param size Page size
      * @param sortBy Field to sort by (default: "name")
      * @param sortDirection Sort direction ("asc" or "desc", default: "asc")
-     * @return Paginated list of projects
+     * @param estimateTotal Use the estimated document count when no filter is set
+     * @return Projects of the page and total number of matches
      */
-    public Uni<List<Project>> searchProjects(
+    public Uni<SearchResult> searchProjects(
             String name,
             ProjectStatus status,
             Visibility visibility,
@@ -125,111 +239,211 @@ public class ProjectRepository implements ReactivePanacheMongoRepository<Project
             int page,
             int size,
             String sortBy,
-            String sortDirection) {
+            String sortDirection,
+            boolean estimateTotal) {
+
+        Document filter = searchFilter(name, status, visibility, type, ownerId);
+        Cursor.Key<ProjectListDto> key = SORT_KEYS.get(sortBy != null ? sortBy : "name");
+        Document sort = Cursor.sort(key != null ? key.field() : sortBy, "desc".equalsIgnoreCase(sortDirection) ? -1 : 1);
+
+        if (estimateTotal && filter.isEmpty()) {
+            return Uni.combine().all()
+                    .unis(
+                            findListDtos(filter, sort, page * size, size),
+                            mongoCollection().estimatedDocumentCount()
+                    )
+                    .asTuple()
+                    .map(tuple -> new SearchResult(tuple.getItem1(), tuple.getItem2(), true));
+        }
 
-        StringBuilder queryBuilder = new StringBuilder();
-        List<Object> parameters = new ArrayList<>();
-        int paramIndex = 1;
+        return mongoCollection().aggregate(searchPipeline(filter, sort, (long) page * size, size), RawBsonDocument.class)
+                .toUni()
+                .map(result -> {
+                    BsonArray items = result.getArray("items");
+                    List<ProjectListDto> projects = new ArrayList<>(items.size());
+                    for (BsonValue item : items) {
+                        projects.add(ProjectListDtoCodec.INSTANCE.decode(new BsonDocumentReader(item.asDocument()),
+                                DecoderContext.builder().build()));
+                    }
+                    BsonArray total = result.getArray("total");
+                    long count = total.isEmpty() ? 0 : total.getFirst().asDocument().getNumber("count").longValue();
+                    return new SearchResult(projects, count, false);
+                });
+    }
 
-        // Build dynamic query
-        if (name != null && !name.trim().isEmpty()) {
-            queryBuilder.append("name like ?").append(paramIndex++);
-            parameters.add(".*" + name.trim() + ".*");
-        }
+    /**
+     * Aggregation of a project search page: the list fields are projected right after the match, so the
+     * sort and the {@code $facet} never hold whole projects (members, invitations, destinations, signature)
+     *
+     * @param filter search filter
+     * @param sort sort specification, its fields are kept by the projection
+     * @param skip number of matches before the page
+     * @param limit page size
+     */
+    public static List<Document> searchPipeline(Document filter, Document sort, long skip, int limit) {
+        Document projection = new Document(ProjectListDtoCodec.PROJECTION);
+        sort.keySet().forEach(field -> projection.putIfAbsent(field, 1));
+
+        return List.of(
+                new Document("$match", filter),
+                new Document("$project", projection),
+                // Sorted before the facet so the sort can use an index
+                new Document("$sort", sort),
+                new Document("$facet", new Document("items", List.of(
+                        new Document("$skip", skip),
+                        new Document("$limit", limit)))
+                        .append("total", List.of(new Document("$count", "count"))))
+        );
+    }
 
-        if (status != null) {
-            if (!queryBuilder.isEmpty()) queryBuilder.append(" and ");
-            queryBuilder.append("status = ?").append(paramIndex++);
-            parameters.add(status);
-        }
+    /**
+     * Page of a project search
+     *
+     * @param estimated whether the total is the estimated collection size rather than a count
+     */
+    public record SearchResult(List<ProjectListDto> projects, long total, boolean estimated) {
+    }
 
-        if (visibility != null) {
-            if (!queryBuilder.isEmpty()) queryBuilder.append(" and ");
-            queryBuilder.append("visibility = ?").append(paramIndex++);
-            parameters.add(visibility);
-        }
+    /**
+     * Search projects with keyset pagination
+     * Reads the projects that follow the cursor in (sort key, _id) order, so deep pages cost the same
+     * index seek as the first one.
+     *
+     * @param key Sort key, one of {@link #SORT_KEYS}
+     * @param direction 1 ascending, -1 descending
+     * @param after Position of the last project of the previous page, null for the first page
+     * @param limit Maximum number of projects to read
+     * @return Projects after the cursor, in sort order
+     */
+    public Uni<List<ProjectListDto>> searchProjectsAfter(
+            String name,
+            ProjectStatus status,
+            Visibility visibility,
+            ProjectType type,
+            String ownerId,
+            Cursor.Key<ProjectListDto> key,
+            int direction,
+            Cursor after,
+            int limit) {
 
-        if (type != null) {
-            if (!queryBuilder.isEmpty()) queryBuilder.append(" and ");
-            queryBuilder.append("type = ?").append(paramIndex++);
-            parameters.add(type);
-        }
+        Document filter = searchFilter(name, status, visibility, type, ownerId);
+        return findListDtos(Cursor.seek(filter, after), Cursor.sort(key.field(), direction), 0, limit);
+    }
 
-        if (ownerId != null && !ownerId.trim().isEmpty()) {
-            if (queryBuilder.length() > 0) queryBuilder.append(" and ");
-            queryBuilder.append("ownerId = ?").append(paramIndex++);
-            parameters.add(ownerId.trim());
-        }
+    /**
+     * Find the projects of an owner, as list DTOs
+     */
+    public Uni<List<ProjectListDto>> findListByOwnerId(String ownerId) {
+        return findListDtos(new Document("owner_id", ownerId), null, 0, 0);
+    }
 
-        // Build sort
-        Sort sort = Sort.by(sortBy != null ? sortBy : "name");
-        if ("desc".equalsIgnoreCase(sortDirection)) {
-            sort = sort.descending();
-        }
+    /**
+     * Streams every project in _id order as list DTOs, for the export
+     * Demand is forwarded to the MongoDB cursor, which reads {@code fetchSize} documents per batch.
+     *
+     * @param after ID of the last exported project, null to start from the first one
+     */
+    public Multi<ProjectListDto> streamListDtos(ObjectId after, int fetchSize) {
+        FindOptions options = new FindOptions()
+                .filter(after != null ? new Document("_id", new Document("$gt", after)) : new Document())
+                .projection(ProjectListDtoCodec.PROJECTION)
+                .sort(new Document("_id", 1))
+                .batchSize(fetchSize);
+        return Multi.createFrom().deferred(() -> mongoCollection().find(RawBsonDocument.class, options)
+                .map(document -> document.decode(ProjectListDtoCodec.INSTANCE)));
+    }
 
-        // Execute query
-        String query = queryBuilder.length() > 0 ? queryBuilder.toString() : "";
-        Object[] params = parameters.toArray();
+    /**
+     * Streams the owner, members and invited users of every project, for the access index
+     */
+    public Multi<Project> streamMemberships() {
+        FindOptions options = new FindOptions()
+                .projection(new Document("owner_id", 1).append("member_ids", 1).append("invited_user_ids", 1));
+        return Multi.createFrom().deferred(() -> mongoCollection().find(options));
+    }
 
-        if (query.isEmpty()) {
-            return findAll(sort).page(Page.of(page, size)).list();
-        } else {
-            return find(query, sort, params).page(Page.of(page, size)).list();
+    /**
+     * Reads the list projection of the matching projects, decoded without an intermediate entity
+     *
+     * @param limit Maximum number of projects, 0 for no limit
+     */
+    private Uni<List<ProjectListDto>> findListDtos(Document filter, Document sort, int skip, int limit) {
+        FindOptions options = new FindOptions()
+                .filter(filter)
+                .projection(ProjectListDtoCodec.PROJECTION)
+                .skip(skip)
+                .limit(limit);
+        if (sort != null) {
+            options.sort(sort);
         }
+        return Uni.createFrom().deferred(() -> mongoCollection().find(RawBsonDocument.class, options)
+                .map(document -> document.decode(ProjectListDtoCodec.INSTANCE))
+                .collect().asList());
     }
 
     /**
-     * Count total results for search query (for pagination metadata)
+     * Native filter of the project search
      */
-    public Uni<Long> countSearchResults(
+    private static Document searchFilter(
             String name,
             ProjectStatus status,
             Visibility visibility,
             ProjectType type,
             String ownerId) {
 
-        StringBuilder queryBuilder = new StringBuilder();
-        List<Object> parameters = new ArrayList<>();
-        int paramIndex = 1;
-
-        // Build same query as search method
+        Document filter = new Document();
         if (name != null && !name.trim().isEmpty()) {
-            queryBuilder.append("name like ?").append(paramIndex++);
-            parameters.add(".*" + name.trim() + ".*");
+            filter.putAll(ProjectNameSearch.containsFilter(name));
         }
-
         if (status != null) {
-            if (queryBuilder.length() > 0) queryBuilder.append(" and ");
-            queryBuilder.append("status = ?").append(paramIndex++);
-            parameters.add(status);
+            filter.append("status", status.name());
         }
-
         if (visibility != null) {
-            if (queryBuilder.length() > 0) queryBuilder.append(" and ");
-            queryBuilder.append("visibility = ?").append(paramIndex++);
-            parameters.add(visibility);
+            filter.append("visibility", visibility.name());
         }
-
         if (type != null) {
-            if (queryBuilder.length() > 0) queryBuilder.append(" and ");
-            queryBuilder.append("type = ?").append(paramIndex++);
-            parameters.add(type);
+            filter.append("type", type.name());
         }
-
         if (ownerId != null && !ownerId.trim().isEmpty()) {
-            if (queryBuilder.length() > 0) queryBuilder.append(" and ");
-            queryBuilder.append("ownerId = ?").append(paramIndex++);
-            parameters.add(ownerId.trim());
+            filter.append("owner_id", ownerId.trim());
         }
+        return filter;
+    }
 
-        String query = queryBuilder.length() > 0 ? queryBuilder.toString() : "";
-        Object[] params = parameters.toArray();
+    /**
+     * Find projects whose name starts with a prefix, ignoring case and accents
+     * Reads an index range on the normalized name, in name order.
+     */
+    public Uni<List<Project>> findByNamePrefix(String prefix, int limit) {
+        return find(ProjectNameSearch.prefixFilter(prefix), Cursor.sort(ProjectNameSearch.KEY_FIELD, 1))
+                .page(Page.ofSize(limit))
+                .list();
+    }
 
-        if (query.isEmpty()) {
-            return count();
-        } else {
-            return find(query, params).count();
+    /**
+     * Find projects stored before the name search fields existed
+     */
+    public Uni<List<Project>> findWithoutNameSearchFields(int limit) {
+        return find(new Document(ProjectNameSearch.KEY_FIELD, null).append("name", new Document("$type", "string")))
+                .page(Page.ofSize(limit))
+                .list();
+    }
+
+    /**
+     * Writes the name search fields of projects, without touching their other fields
+     */
+    public Uni<Integer> updateNameSearchFields(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return Uni.createFrom().item(0);
         }
+        List<UpdateOneModel<Project>> updates = projects.stream()
+                .map(project -> new UpdateOneModel<Project>(
+                        new Document("_id", project.id).append("name", project.getName()),
+                        new Document("$set", new Document(ProjectNameSearch.KEY_FIELD, project.getNameKey())
+                                .append(ProjectNameSearch.GRAMS_FIELD, project.getNameGrams()))))
+                .toList();
+        return mongoCollection().bulkWrite(updates, new BulkWriteOptions().ordered(false))
+                .map(BulkWriteResult::getModifiedCount);
     }
 
     /**
@@ -258,23 +472,32 @@ public class ProjectRepository implements ReactivePanacheMongoRepository<Project
 
     /**
      * Get project statistics by owner
+     * Counted by MongoDB with a {@code $group} on the status, only the per-status counts are returned.
      */
     public Uni<ProjectStats> getProjectStatsByOwner(String ownerId) {
-        return find("ownerId", ownerId).list()
-                .map(projects -> {
-                    long totalProjects = projects.size();
-                    long activeProjects = projects.stream()
-                            .filter(p -> p.getStatus() == ProjectStatus.ACTIVE)
-                            .count();
-                    long draftProjects = projects.stream()
-                            .filter(p -> p.getStatus() == ProjectStatus.DRAFT)
-                            .count();
-                    long completedProjects = projects.stream()
-                            .filter(p -> p.getStatus() == ProjectStatus.COMPLETED)
-                            .count();
-
-                    return new ProjectStats(totalProjects, activeProjects, draftProjects, completedProjects);
-                });
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("owner_id", ownerId)),
+                new Document("$group", new Document("_id", new Document("$ifNull", List.of("$status", ProjectOwnerStats.NO_STATUS)))
+                        .append("count", new Document("$sum", 1L)))
+        );
+
+        return mongoCollection().aggregate(pipeline, Document.class)
+                .collect().asMap(group -> group.getString("_id"), group -> group.get("count", Number.class).longValue())
+                .map(ProjectStats::of);
+    }
+
+    /**
+     * Counts every project by owner and status, for the reconciliation of the owner counters
+     *
+     * @return One {@code {_id: {owner, status}, count}} document per owner and status
+     */
+    public Multi<Document> countByOwnerAndStatus() {
+        List<Document> pipeline = List.of(
+                new Document("$group", new Document("_id", new Document("owner", "$owner_id")
+                        .append("status", new Document("$ifNull", List.of("$status", ProjectOwnerStats.NO_STATUS))))
+                        .append("count", new Document("$sum", 1L)))
+        );
+        return mongoCollection().aggregate(pipeline, Document.class);
     }
 
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -20,6 +21,8 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import sn.noreyni.common.enums.ProjectStatus;
 import sn.noreyni.common.enums.ProjectType;
 import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.pagination.Cursor;
 import sn.noreyni.common.response.ApiResponse;
 import sn.noreyni.project.dto.*;
 
@@ -41,10 +44,13 @@ public class ProjectResource {
     @Inject
     ProjectService projectService;
 
+    @Inject
+    JsonWebToken jwt;
+
     /**
      * Retrieves a paginated list of projects with optional filters
      *
-     * @param name Filter by project name (partial match)
+     * @param name Filter by project name (partial match, ignoring case and accents)
      * @param status Filter by project status
      * @param visibility Filter by project visibility
      * @param type Filter by project type
@@ -53,6 +59,8 @@ public class ProjectResource {
      * @param size the number of items per page (default: 10, max: 100)
      * @param sortBy Field to sort by (default: "name")
      * @param sortDirection Sort direction ("asc" or "desc", default: "asc")
+     * @param estimateTotal Estimated total instead of an exact count, for unfiltered listings
+     * @param cursor Switches to cursor mode: empty for the first page, then the {@code nextCursor} of the previous one
      * @return ApiResponse containing paginated list of projects
      */
     @GET
@@ -87,7 +95,7 @@ public class ProjectResource {
             )
     })
     public Uni<ApiResponse<List<ProjectListDto>>> getAllProjects(
-            @Parameter(description = "Filter by project name (partial match)")
+            @Parameter(description = "Filter by project name (partial match, ignoring case and accents)")
             @QueryParam("name") String name,
 
             @Parameter(description = "Filter by project status")
@@ -118,7 +126,14 @@ public class ProjectResource {
             @QueryParam("sortBy") @DefaultValue("name") String sortBy,
 
             @Parameter(description = "Sort direction (asc or desc)")
-            @QueryParam("sortDirection") @DefaultValue("asc") String sortDirection) {
+            @QueryParam("sortDirection") @DefaultValue("asc") String sortDirection,
+
+            @Parameter(description = "Return the estimated number of projects instead of an exact count when no filter is set")
+            @QueryParam("estimateTotal") @DefaultValue("false") boolean estimateTotal,
+
+            @Parameter(description = "Cursor mode: empty for the first page, then the nextCursor of the previous page. " +
+                    "Sort keys: name, status, type, createdAt, updatedAt, id")
+            @QueryParam("cursor") String cursor) {
 
         Instant start = Instant.now();
         String requestId = generateRequestId();
@@ -136,21 +151,75 @@ public class ProjectResource {
             );
         }
 
+        if (cursor != null) {
+            return findAllAfter(requestId, start, name, status, visibility, type, ownerId, size, sortBy, sortDirection, cursor);
+        }
+
         // Convert 1-based page to 0-based for internal processing
         int zeroBasedPage = page - 1;
 
-        return Uni.combine().all()
-                .unis(
-                        projectService.findAll(name, status, visibility, type, ownerId, zeroBasedPage, size, sortBy, sortDirection),
-                        projectService.getPaginationMeta(name, status, visibility, type, ownerId, page, size)
-                )
-                .asTuple()
-                .map(tuple -> {
+        return projectService.findAll(name, status, visibility, type, ownerId, zeroBasedPage, size, sortBy, sortDirection, estimateTotal)
+                .map(result -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.info("project.resource.findAll.success - requestId={}, count={}, duration={}ms",
+                            requestId, result.items().size(), duration.toMillis());
+
+                    return ApiResponse.success(result.items(), result.pagination());
+                })
+                .onFailure().recoverWithItem(throwable -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.error("project.resource.findAll.error - requestId={}, duration={}ms, error={}",
+                            requestId, duration.toMillis(), throwable.getMessage(), throwable);
+
+                    return ApiResponse.error("Erreur lors de la récupération des projets");
+                });
+    }
+
+    /**
+     * Cursor mode of the project listing, no count and a constant cost per page
+     */
+    private Uni<ApiResponse<List<ProjectListDto>>> findAllAfter(
+            String requestId,
+            Instant start,
+            String name,
+            ProjectStatus status,
+            Visibility visibility,
+            ProjectType type,
+            String ownerId,
+            int size,
+            String sortBy,
+            String sortDirection,
+            String cursor) {
+
+        Cursor.Key<ProjectListDto> key = ProjectRepository.SORT_KEYS.get(sortBy);
+        if (key == null) {
+            log.warn("project.resource.findAll.invalidSort - requestId={}, sortBy={}", requestId, sortBy);
+            return Uni.createFrom().item(ApiResponse.error("Tri non supporté en mode curseur: " + sortBy));
+        }
+        int direction = "desc".equalsIgnoreCase(sortDirection) ? -1 : 1;
+
+        Cursor after = null;
+        if (!cursor.isBlank()) {
+            try {
+                after = Cursor.decode(cursor);
+            } catch (ApiException e) {
+                log.warn("project.resource.findAll.invalidCursor - requestId={}", requestId);
+                return Uni.createFrom().item(ApiResponse.error(e.getMessage()));
+            }
+            if (!after.matches(key.field(), direction)) {
+                log.warn("project.resource.findAll.cursorMismatch - requestId={}, sortBy={}, sortDirection={}",
+                        requestId, sortBy, sortDirection);
+                return Uni.createFrom().item(ApiResponse.error("Le curseur ne correspond pas au tri demandé"));
+            }
+        }
+
+        return projectService.findAfter(name, status, visibility, type, ownerId, key, direction, after, size)
+                .map(result -> {
                     Duration duration = Duration.between(start, Instant.now());
                     log.info("project.resource.findAll.success - requestId={}, count={}, duration={}ms",
-                            requestId, tuple.getItem1().size(), duration.toMillis());
+                            requestId, result.items().size(), duration.toMillis());
 
-                    return ApiResponse.success(tuple.getItem1(), tuple.getItem2());
+                    return ApiResponse.success(result.items(), result.pagination());
                 })
                 .onFailure().recoverWithItem(throwable -> {
                     Duration duration = Duration.between(start, Instant.now());
@@ -524,6 +593,96 @@ public class ProjectResource {
                 });
     }
 
+    /**
+     * Replaces the capture limit overrides of a project, administrators only
+     *
+     * @param id the project ID
+     * @param limitsDto the new overrides
+     * @return ApiResponse containing the updated project details
+     */
+    @PUT
+    @Path("/{id}/limits")
+    @Operation(
+            summary = "Change project limits",
+            description = "Replaces the rate limit, burst and daily quota overrides of a project (administrators only), "
+                    + "a missing value falls back to the project type tier"
+    )
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Project limits changed successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ProjectDetailsDto.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid project ID format or limits",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "403",
+                    description = "Caller is not an administrator"
+            ),
+            @APIResponse(
+                    responseCode = "404",
+                    description = "Project not found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public Uni<ApiResponse<ProjectDetailsDto>> changeProjectLimits(
+            @Parameter(
+                    description = "Project unique identifier",
+                    required = true,
+                    schema = @Schema(type = SchemaType.STRING, pattern = "^[0-9a-fA-F]{24}$")
+            )
+            @PathParam("id") @NotBlank(message = "L'ID du projet est requis") String id,
+
+            @Parameter(
+                    description = "Project limit overrides",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = ProjectLimitsDto.class))
+            )
+            @Valid ProjectLimitsDto limitsDto) {
+
+        Instant start = Instant.now();
+        String requestId = generateRequestId();
+
+        log.info("project.resource.changeLimits.start - requestId={}, projectId={}", requestId, id);
+
+        String currentUserId = getCurrentUserId();
+
+        return projectService.updateLimits(id, limitsDto, currentUserId)
+                .map(project -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.info("project.resource.changeLimits.success - requestId={}, projectId={}, duration={}ms",
+                            requestId, id, duration.toMillis());
+
+                    return ApiResponse.success("Limites du projet modifiées avec succès", project);
+                })
+                .onFailure().recoverWithItem(throwable -> {
+                    Duration duration = Duration.between(start, Instant.now());
+
+                    if (throwable instanceof sn.noreyni.common.exception.ApiException apiEx) {
+                        log.warn("project.resource.changeLimits.apiError - requestId={}, projectId={}, statusCode={}, duration={}ms, message={}",
+                                requestId, id, apiEx.getStatusCode(), duration.toMillis(), apiEx.getMessage());
+                        return ApiResponse.error(apiEx.getMessage());
+                    }
+
+                    log.error("project.resource.changeLimits.error - requestId={}, projectId={}, duration={}ms, error={}",
+                            requestId, id, duration.toMillis(), throwable.getMessage(), throwable);
+
+                    return ApiResponse.error("Erreur lors du changement des limites du projet");
+                });
+    }
+
     /**
      * Deletes a project by ID
      *
@@ -731,6 +890,71 @@ public class ProjectResource {
                 });
     }
 
+    /**
+     * Suggests projects whose name starts with a prefix
+     *
+     * @param prefix the beginning of the name, case and accents are ignored
+     * @param limit the maximum number of suggestions (default: 10, max: 50)
+     * @return ApiResponse containing the matching projects in name order
+     */
+    @GET
+    @Path("/autocomplete")
+    @Operation(
+            summary = "Autocomplete project names",
+            description = "Returns the projects whose name starts with the prefix, ignoring case and accents"
+    )
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Suggestions retrieved successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Invalid prefix or limit",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public Uni<ApiResponse<List<ProjectNameSuggestionDto>>> autocompleteProjectNames(
+            @Parameter(description = "Beginning of the project name", required = true)
+            @QueryParam("prefix") @NotBlank(message = "Le préfixe est requis") String prefix,
+
+            @Parameter(description = "Maximum number of suggestions (max 50)")
+            @QueryParam("limit") @DefaultValue("10") @Min(value = 1, message = "La limite doit être supérieure à 0") int limit) {
+
+        Instant start = Instant.now();
+        String requestId = generateRequestId();
+
+        log.info("project.resource.autocomplete.start - requestId={}, prefix={}, limit={}", requestId, prefix, limit);
+
+        if (limit > 50) {
+            log.warn("project.resource.autocomplete.invalidLimit - requestId={}, limit={}", requestId, limit);
+            return Uni.createFrom().item(ApiResponse.error("La limite ne peut pas dépasser 50 suggestions"));
+        }
+
+        return projectService.autocomplete(prefix, limit)
+                .map(suggestions -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.info("project.resource.autocomplete.success - requestId={}, count={}, duration={}ms",
+                            requestId, suggestions.size(), duration.toMillis());
+
+                    return ApiResponse.success(suggestions);
+                })
+                .onFailure().recoverWithItem(throwable -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.error("project.resource.autocomplete.error - requestId={}, duration={}ms, error={}",
+                            requestId, duration.toMillis(), throwable.getMessage(), throwable);
+
+                    return ApiResponse.error("Erreur lors de la recherche des projets");
+                });
+    }
+
     /**
      * Gets project statistics for an owner
      *
@@ -973,14 +1197,11 @@ public class ProjectResource {
     }
 
     /**
-     * Gets the current user ID from security context
-     * In production, this should extract from JWT token or security context
+     * Gets the current user ID from the access token
      *
-     * @return current user ID
+     * @return current user ID, the subject of the token
      */
     private String getCurrentUserId() {
-        // TODO: Implement proper security context extraction
-        // Example: return SecurityContext.getCurrentUser().getId();
-        return "system"; // Placeholder for development
+        return jwt.getSubject();
     }
 }
\ No newline at end of file
@@ -1,17 +1,29 @@
 package sn.noreyni.project;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.unchecked.Unchecked;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
+import sn.noreyni.capture.ProjectRoutingTable;
+import sn.noreyni.capture.limit.CaptureRateLimiter;
+import sn.noreyni.common.cache.EntityCache;
+import sn.noreyni.common.cache.EntityCacheConfig;
 import sn.noreyni.common.enums.ProjectStatus;
 import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
 import sn.noreyni.common.enums.Visibility;
 import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.pagination.Cursor;
+import sn.noreyni.common.pagination.PageResult;
 import sn.noreyni.common.response.PaginationMeta;
+import sn.noreyni.live.LiveFeedRegistry;
+import sn.noreyni.project.access.ProjectAccessIndex;
 import sn.noreyni.project.dto.*;
+import sn.noreyni.project.stats.ProjectStatsCounters;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -25,16 +37,53 @@ import java.util.List;
 @Slf4j
 public class ProjectService {
 
+    /**
+     * Rejection of a signature verification without secret, shared with the projects import
+     */
+    public static final String SIGNATURE_SECRET_REQUIRED = "Le secret de signature est requis";
+
     @Inject
     ProjectRepository projectRepository;
 
     @Inject
     ProjectMapper projectMapper;
 
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    CaptureRateLimiter captureRateLimiter;
+
+    @Inject
+    ProjectAccessIndex projectAccessIndex;
+
+    @Inject
+    LiveFeedRegistry liveFeedRegistry;
+
+    @Inject
+    ProjectStatsCounters projectStatsCounters;
+
+    @Inject
+    EntityCacheConfig entityCacheConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
     /**
-     * Retrieves a paginated list of projects with optional filters
+     * Project details by ID, invalidated by every write of a project
+     */
+    private EntityCache<ProjectDetailsDto> projectCache;
+
+    @PostConstruct
+    void init() {
+        this.projectCache = new EntityCache<>("projects", entityCacheConfig.projects(), meterRegistry);
+    }
+
+    /**
+     * Retrieves a paginated list of projects with optional filters and its pagination metadata
+     * Page and total come from a single aggregation.
      *
-     * @param name Filter by project name (partial match)
+     * @param name Filter by project name (partial match, ignoring case and accents)
      * @param status Filter by project status
      * @param visibility Filter by project visibility
      * @param type Filter by project type
@@ -43,9 +92,10 @@ public class ProjectService {
      * @param size the number of items per page
      * @param sortBy Field to sort by (default: "name")
      * @param sortDirection Sort direction ("asc" or "desc", default: "asc")
-     * @return Uni containing list of ProjectListDto
+     * @param estimateTotal Use the estimated collection size as total when no filter is set
+     * @return Uni containing the projects and the pagination metadata
      */
-    public Uni<List<ProjectListDto>> findAll(
+    public Uni<PageResult<ProjectListDto>> findAll(
             String name,
             ProjectStatus status,
             Visibility visibility,
@@ -54,24 +104,27 @@ public class ProjectService {
             int page,
             int size,
             String sortBy,
-            String sortDirection) {
+            String sortDirection,
+            boolean estimateTotal) {
 
         Instant start = Instant.now();
 
-        log.info("project.findAll.start - Fetching projects page={}, size={}, filters=[name={}, status={}, visibility={}, type={}, ownerId={}]",
-                page, size, name, status, visibility, type, ownerId);
+        log.info("project.findAll.start - Fetching projects page={}, size={}, estimateTotal={}, filters=[name={}, status={}, visibility={}, type={}, ownerId={}]",
+                page, size, estimateTotal, name, status, visibility, type, ownerId);
 
-        return projectRepository.searchProjects(name, status, visibility, type, ownerId, page, size, sortBy, sortDirection)
-                .map(projects -> {
-                    List<ProjectListDto> result = projects.stream()
-                            .map(projectMapper::toListDto)
-                            .toList();
+        return projectRepository.searchProjects(name, status, visibility, type, ownerId, page, size, sortBy, sortDirection, estimateTotal)
+                .chain(search -> projectMapper.withOwners(search.projects())
+                        .map(projects -> new ProjectRepository.SearchResult(projects, search.total(), search.estimated())))
+                .map(search -> {
+                    List<ProjectListDto> result = search.projects();
+                    // 1-based in the metadata, as for the user listing
+                    PaginationMeta meta = PaginationMeta.of(page + 1, size, search.total(), search.estimated());
 
                     Duration duration = Duration.between(start, Instant.now());
-                    log.info("project.findAll.success - Retrieved {} projects in {}ms, page={}, size={}",
-                            result.size(), duration.toMillis(), page, size);
+                    log.info("project.findAll.success - Retrieved {} projects in {}ms, page={}, size={}, totalElements={}, estimated={}",
+                            result.size(), duration.toMillis(), page, size, search.total(), search.estimated());
 
-                    return result;
+                    return new PageResult<>(result, meta);
                 })
                 .onFailure().invoke(throwable -> {
                     Duration duration = Duration.between(start, Instant.now());
@@ -81,44 +134,85 @@ public class ProjectService {
     }
 
     /**
-     * Retrieves pagination metadata for project listing
+     * Retrieves a page of projects in cursor mode
+     * Reads one project more than the page size to know whether a next page exists, without counting.
      *
-     * @param name Filter by project name
+     * @param name Filter by project name (partial match, ignoring case and accents)
      * @param status Filter by project status
      * @param visibility Filter by project visibility
      * @param type Filter by project type
      * @param ownerId Filter by owner ID
-     * @param page the page number
-     * @param size the page size
-     * @return Uni containing pagination metadata
+     * @param key Sort key, one of {@link ProjectRepository#SORT_KEYS}
+     * @param direction 1 ascending, -1 descending
+     * @param after Cursor of the previous page, null for the first page
+     * @param size the number of items per page
+     * @return Uni containing the projects and the cursor of the next page
      */
-    public Uni<PaginationMeta> getPaginationMeta(
+    public Uni<PageResult<ProjectListDto>> findAfter(
             String name,
             ProjectStatus status,
             Visibility visibility,
             ProjectType type,
             String ownerId,
-            int page,
+            Cursor.Key<ProjectListDto> key,
+            int direction,
+            Cursor after,
             int size) {
 
         Instant start = Instant.now();
 
-        log.debug("project.pagination.start - Computing pagination meta for page={}, size={}, with filters", page, size);
+        log.info("project.findAfter.start - Fetching projects size={}, sort={}, cursor={}, filters=[name={}, status={}, visibility={}, type={}, ownerId={}]",
+                size, key.field(), after != null, name, status, visibility, type, ownerId);
 
-        return projectRepository.countSearchResults(name, status, visibility, type, ownerId)
-                .map(totalElements -> {
-                    PaginationMeta meta = PaginationMeta.of(page, size, totalElements);
+        return projectRepository.searchProjectsAfter(name, status, visibility, type, ownerId, key, direction, after, size + 1)
+                .chain(projectMapper::withOwners)
+                .map(projects -> {
+                    boolean hasNext = projects.size() > size;
+                    List<ProjectListDto> result = hasNext ? projects.subList(0, size) : projects;
+                    String nextCursor = hasNext
+                            ? Cursor.after(key, direction, result.getLast(), new ObjectId(result.getLast().id())).encode()
+                            : null;
 
                     Duration duration = Duration.between(start, Instant.now());
-                    log.debug("project.pagination.success - Computed pagination meta in {}ms, totalElements={}, totalPages={}",
-                            duration.toMillis(), totalElements, meta.totalPages());
+                    log.info("project.findAfter.success - Retrieved {} projects in {}ms, size={}, hasNext={}",
+                            result.size(), duration.toMillis(), size, hasNext);
 
-                    return meta;
+                    return new PageResult<>(result, PaginationMeta.ofCursor(size, after != null, nextCursor));
                 })
                 .onFailure().invoke(throwable -> {
                     Duration duration = Duration.between(start, Instant.now());
-                    log.error("project.pagination.error - Failed to compute pagination meta after {}ms, error={}",
-                            duration.toMillis(), throwable.getMessage(), throwable);
+                    log.error("project.findAfter.error - Failed to fetch projects after {}ms, size={}, error={}",
+                            duration.toMillis(), size, throwable.getMessage(), throwable);
+                });
+    }
+
+    /**
+     * Suggests projects whose name starts with a prefix, ignoring case and accents
+     *
+     * @param prefix the beginning of the name
+     * @param limit the maximum number of suggestions
+     * @return Uni containing the matching projects in name order
+     */
+    public Uni<List<ProjectNameSuggestionDto>> autocomplete(String prefix, int limit) {
+        Instant start = Instant.now();
+
+        log.debug("project.autocomplete.start - prefix={}, limit={}", prefix, limit);
+
+        return projectRepository.findByNamePrefix(prefix, limit)
+                .map(projects -> {
+                    List<ProjectNameSuggestionDto> result = projects.stream()
+                            .map(project -> new ProjectNameSuggestionDto(project.getIdAsString(), project.getName()))
+                            .toList();
+
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.debug("project.autocomplete.success - Found {} projects in {}ms, prefix={}",
+                            result.size(), duration.toMillis(), prefix);
+                    return result;
+                })
+                .onFailure().invoke(throwable -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.error("project.autocomplete.error - Failed after {}ms, prefix={}, error={}",
+                            duration.toMillis(), prefix, throwable.getMessage(), throwable);
                 });
     }
 
@@ -135,15 +229,14 @@ public class ProjectService {
         log.info("project.findById.start - Searching project with id={}", id);
 
         return validateObjectId(id)
-                .chain(objectId -> projectRepository.findById(objectId))
+                .chain(objectId -> projectCache.get(objectId.toHexString(), key -> projectRepository.findById(objectId)
+                        .map(projectMapper::toDetailsDto)))
                 .onItem().ifNull().failWith(Unchecked.supplier(() -> {
                     Duration duration = Duration.between(start, Instant.now());
                     log.warn("project.findById.notFound - Project not found after {}ms, id={}", duration.toMillis(), id);
                     throw new ApiException("Projet non trouvé avec l'id: " + id, 404);
                 }))
-                .map(project -> {
-                    ProjectDetailsDto result = projectMapper.toDetailsDto(project);
-
+                .map(result -> {
                     Duration duration = Duration.between(start, Instant.now());
                     log.info("project.findById.success - Project found in {}ms, id={}, name={}",
                             duration.toMillis(), id, result.name());
@@ -183,6 +276,7 @@ public class ProjectService {
                     }
 
                     Project project = projectMapper.toEntity(createDto);
+                    requireSignatureSecret(project);
 
                     // Set owner and audit fields
                     project.setOwnerId(currentUserId);
@@ -195,12 +289,18 @@ public class ProjectService {
                     if (project.getVisibility() == null) {
                         project.setVisibility(Visibility.PRIVATE);
                     }
+                    if (project.getStorageEngine() == null) {
+                        project.setStorageEngine(StorageEngine.MONGO);
+                    }
 
                     log.debug("project.create.persisting - Persisting project entity, name={}", createDto.name());
 
                     return project.persist();
                 }))
+                .call(project -> projectStatsCounters.created(currentUserId, ((Project) project).getStatus()))
                 .map(project -> {
+                    projectRoutingTable.put((Project) project);
+                    projectAccessIndex.put((Project) project);
                     ProjectDetailsDto result = projectMapper.toDetailsDto((Project) project);
 
                     Duration duration = Duration.between(start, Instant.now());
@@ -234,6 +334,7 @@ public class ProjectService {
                 id, currentUserId, updateDto.name() != null);
 
         return validateObjectId(id)
+                .invoke(() -> requireOwner(id, currentUserId, start, "update", "Vous n'êtes pas autorisé à modifier ce projet"))
                 .chain(objectId -> projectRepository.findById(objectId))
                 .onItem().ifNull().failWith(Unchecked.supplier(() -> {
                     Duration duration = Duration.between(start, Instant.now());
@@ -241,7 +342,7 @@ public class ProjectService {
                     throw new ApiException("Projet non trouvé avec l'id: " + id, 404);
                 }))
                 .chain(projectEntity -> {
-                    // Check if user is owner or has permission to update
+                    // Projects not indexed yet are checked on their loaded owner
                     if (!projectEntity.getOwnerId().equals(currentUserId)) {
                         Duration duration = Duration.between(start, Instant.now());
                         log.warn("project.update.forbidden - User not authorized after {}ms, id={}, ownerId={}, currentUser={}",
@@ -285,14 +386,23 @@ public class ProjectService {
                                                  Instant start, String originalName) {
         log.debug("project.update.mapping - Applying updates to project entity, id={}", project.getIdAsString());
 
+        ProjectStatus originalStatus = project.getStatus();
+
         // Apply updates using mapper
         projectMapper.updateEntity(project, updateDto);
+        requireSignatureSecret(project);
 
         // Set audit fields
         project.preUpdate(currentUserId);
 
         return project.update()
+                .onTermination().invoke(() -> projectCache.invalidate(project.getIdAsString()))
+                .call(v -> projectStatsCounters.statusChanged(project.getOwnerId(), originalStatus, project.getStatus()))
                 .map(v -> {
+                    projectRoutingTable.put(project);
+                    projectAccessIndex.put(project);
+                    // A removed member or a project made private stops following it
+                    liveFeedRegistry.revalidate(project.getIdAsString());
                     ProjectDetailsDto result = projectMapper.toDetailsDto(project);
 
                     Duration duration = Duration.between(start, Instant.now());
@@ -319,6 +429,7 @@ public class ProjectService {
                 id, newStatus, currentUserId);
 
         return validateObjectId(id)
+                .invoke(() -> requireOwner(id, currentUserId, start, "changeStatus", "Vous n'êtes pas autorisé à modifier le statut de ce projet"))
                 .chain(objectId -> projectRepository.findById(objectId))
                 .onItem().ifNull().failWith(Unchecked.supplier(() -> {
                     Duration duration = Duration.between(start, Instant.now());
@@ -326,7 +437,7 @@ public class ProjectService {
                     throw new ApiException("Projet non trouvé avec l'id: " + id, 404);
                 }))
                 .chain(projectEntity -> {
-                    // Check if user is owner or has permission
+                    // Projects not indexed yet are checked on their loaded owner
                     if (!projectEntity.getOwnerId().equals(currentUserId)) {
                         Duration duration = Duration.between(start, Instant.now());
                         log.warn("project.changeStatus.forbidden - User not authorized after {}ms, id={}, ownerId={}, currentUser={}",
@@ -342,7 +453,10 @@ public class ProjectService {
                             id, oldStatus, newStatus);
 
                     return projectEntity.update()
+                            .onTermination().invoke(() -> projectCache.invalidate(projectEntity.getIdAsString()))
+                            .call(v -> projectStatsCounters.statusChanged(projectEntity.getOwnerId(), oldStatus, newStatus))
                             .map(v -> {
+                                projectRoutingTable.put(projectEntity);
                                 ProjectDetailsDto result = projectMapper.toDetailsDto(projectEntity);
 
                                 Duration duration = Duration.between(start, Instant.now());
@@ -361,6 +475,54 @@ public class ProjectService {
                 });
     }
 
+    /**
+     * Replaces the capture limit overrides of a project
+     * Restricted to administrators by the HTTP security policy: owners cannot lift the limits of their own project
+     *
+     * @param id the project ID
+     * @param limitsDto the new overrides, null values fall back to the project type tier
+     * @param currentUserId the ID of the administrator performing the change
+     * @return Uni containing the updated ProjectDetailsDto
+     * @throws ApiException with 404 if project not found
+     */
+    public Uni<ProjectDetailsDto> updateLimits(String id, ProjectLimitsDto limitsDto, String currentUserId) {
+        Instant start = Instant.now();
+
+        log.info("project.updateLimits.start - Updating project limits id={}, rateLimit={}, rateBurst={}, dailyQuota={}, updatedBy={}",
+                id, limitsDto.rateLimit(), limitsDto.rateBurst(), limitsDto.dailyQuota(), currentUserId);
+
+        return validateObjectId(id)
+                .chain(objectId -> projectRepository.findById(objectId))
+                .onItem().ifNull().failWith(Unchecked.supplier(() -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.warn("project.updateLimits.notFound - Project not found after {}ms, id={}", duration.toMillis(), id);
+                    throw new ApiException("Projet non trouvé avec l'id: " + id, 404);
+                }))
+                .chain(projectEntity -> {
+                    projectMapper.updateLimits(projectEntity, limitsDto);
+                    projectEntity.preUpdate(currentUserId);
+
+                    return projectEntity.update()
+                            .onTermination().invoke(() -> projectCache.invalidate(projectEntity.getIdAsString()))
+                            .map(v -> {
+                                projectRoutingTable.put(projectEntity);
+                                ProjectDetailsDto result = projectMapper.toDetailsDto(projectEntity);
+
+                                Duration duration = Duration.between(start, Instant.now());
+                                log.info("project.updateLimits.success - Limits updated in {}ms, id={}", duration.toMillis(), id);
+
+                                return result;
+                            });
+                })
+                .onFailure().invoke(throwable -> {
+                    if (!(throwable instanceof ApiException)) {
+                        Duration duration = Duration.between(start, Instant.now());
+                        log.error("project.updateLimits.error - Unexpected error after {}ms, id={}, error={}",
+                                duration.toMillis(), id, throwable.getMessage(), throwable);
+                    }
+                });
+    }
+
     /**
      * Deletes a project by ID
      *
@@ -375,6 +537,7 @@ public class ProjectService {
         log.info("project.delete.start - Deleting project id={}, deletedBy={}", id, currentUserId);
 
         return validateObjectId(id)
+                .invoke(() -> requireOwner(id, currentUserId, start, "delete", "Vous n'êtes pas autorisé à supprimer ce projet"))
                 .chain(objectId -> projectRepository.findById(objectId))
                 .onItem().ifNull().failWith(Unchecked.supplier(() -> {
                     Duration duration = Duration.between(start, Instant.now());
@@ -382,7 +545,7 @@ public class ProjectService {
                     throw new ApiException("Projet non trouvé avec l'id: " + id, 404);
                 }))
                 .chain(projectEntity -> {
-                    // Check if user is owner
+                    // Projects not indexed yet are checked on their loaded owner
                     if (!projectEntity.getOwnerId().equals(currentUserId)) {
                         Duration duration = Duration.between(start, Instant.now());
                         log.warn("project.delete.forbidden - User not authorized after {}ms, id={}, ownerId={}, currentUser={}",
@@ -395,7 +558,13 @@ public class ProjectService {
                     log.debug("project.delete.executing - Executing delete operation, id={}, name={}", id, projectName);
 
                     return projectEntity.delete()
+                            .onTermination().invoke(() -> projectCache.invalidate(projectEntity.getIdAsString()))
+                            .call(() -> projectStatsCounters.deleted(projectEntity.getOwnerId(), projectEntity.getStatus()))
                             .invoke(() -> {
+                                projectRoutingTable.remove(id);
+                                projectAccessIndex.remove(id);
+                                liveFeedRegistry.revalidate(id);
+                                captureRateLimiter.evict(id);
                                 Duration duration = Duration.between(start, Instant.now());
                                 log.info("project.delete.success - Project deleted in {}ms, id={}, name={}",
                                         duration.toMillis(), id, projectName);
@@ -422,12 +591,9 @@ public class ProjectService {
 
         log.info("project.findByOwnerId.start - Searching projects for owner={}", ownerId);
 
-        return projectRepository.findByOwnerId(ownerId)
-                .map(projects -> {
-                    List<ProjectListDto> result = projects.stream()
-                            .map(projectMapper::toListDto)
-                            .toList();
-
+        return projectRepository.findListByOwnerId(ownerId)
+                .chain(projectMapper::withOwners)
+                .map(result -> {
                     Duration duration = Duration.between(start, Instant.now());
                     log.info("project.findByOwnerId.success - Found {} projects in {}ms for owner={}",
                             result.size(), duration.toMillis(), ownerId);
@@ -443,21 +609,27 @@ public class ProjectService {
 
     /**
      * Gets project statistics for an owner
+     * Read from the owner counters when they are enabled and reconciled, aggregated from the projects otherwise.
      *
      * @param ownerId the owner ID
      * @return Uni containing project statistics
      */
     public Uni<ProjectStats> getProjectStats(String ownerId) {
         Instant start = Instant.now();
+        boolean fromCounters = projectStatsCounters.isServing();
+
+        log.info("project.getStats.start - Computing project statistics for owner={}, fromCounters={}", ownerId, fromCounters);
 
-        log.info("project.getStats.start - Computing project statistics for owner={}", ownerId);
+        Uni<ProjectStats> stats = fromCounters
+                ? projectStatsCounters.find(ownerId)
+                : projectRepository.getProjectStatsByOwner(ownerId);
 
-        return projectRepository.getProjectStatsByOwner(ownerId)
-                .invoke(stats -> {
+        return stats
+                .invoke(result -> {
                     Duration duration = Duration.between(start, Instant.now());
                     log.info("project.getStats.success - Statistics computed in {}ms for owner={}, total={}, active={}, draft={}, completed={}",
-                            duration.toMillis(), ownerId, stats.getTotalProjects(), stats.getActiveProjects(),
-                            stats.getDraftProjects(), stats.getCompletedProjects());
+                            duration.toMillis(), ownerId, result.getTotalProjects(), result.getActiveProjects(),
+                            result.getDraftProjects(), result.getCompletedProjects());
                 })
                 .onFailure().invoke(throwable -> {
                     Duration duration = Duration.between(start, Instant.now());
@@ -466,6 +638,32 @@ public class ProjectService {
                 });
     }
 
+    /**
+     * Rejects a write by a user who does not own the project, from the access index and before the project is read
+     *
+     * @throws ApiException with 403 status
+     */
+    private void requireOwner(String id, String currentUserId, Instant start, String operation, String message) {
+        if (projectAccessIndex.contains(id) && !projectAccessIndex.isOwner(currentUserId, id)) {
+            Duration duration = Duration.between(start, Instant.now());
+            log.warn("project.{}.forbidden - User not authorized after {}ms, id={}, role={}, currentUser={}",
+                    operation, duration.toMillis(), id, projectAccessIndex.role(currentUserId, id), currentUserId);
+            throw new ApiException(message, 403);
+        }
+    }
+
+    /**
+     * Rejects a signature verification without secret, it could never validate a webhook
+     *
+     * @throws ApiException with 400 status
+     */
+    private void requireSignatureSecret(Project project) {
+        WebhookSignature signature = project.getSignature();
+        if (signature != null && (signature.getSecret() == null || signature.getSecret().isBlank())) {
+            throw new ApiException(SIGNATURE_SECRET_REQUIRED, 400);
+        }
+    }
+
     /**
      * Validates and converts string ID to ObjectId
      *
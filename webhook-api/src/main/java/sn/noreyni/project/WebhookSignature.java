@@ -0,0 +1,31 @@
+package sn.noreyni.project;
+
+import lombok.Data;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import sn.noreyni.common.enums.SignatureAlgorithm;
+import sn.noreyni.common.enums.SignatureFormat;
+
+/**
+ * HMAC signature the webhooks of a project are checked against (embedded in the project document)
+ */
+@Data
+public class WebhookSignature {
+
+    @BsonProperty("enabled")
+    private boolean enabled = true;
+
+    @BsonProperty("algorithm")
+    private SignatureAlgorithm algorithm = SignatureAlgorithm.HMAC_SHA256;
+
+    @BsonProperty("header")
+    private String header;  // Header carrying the signature, e.g. X-Hub-Signature-256
+
+    @BsonProperty("format")
+    private SignatureFormat format = SignatureFormat.HEX;
+
+    @BsonProperty("prefix")
+    private String prefix;  // Text before the encoded signature, e.g. sha256=
+
+    @BsonProperty("secret")
+    private String secret;
+}
@@ -0,0 +1,227 @@
+package sn.noreyni.project.access;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.common.enums.ProjectRole;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.ProjectRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory index of the roles of each user on the projects (owner, member, invited)
+ * Built from {@code ownerId}, {@code memberIds} and {@code invitedUserIds} at startup and kept in sync by
+ * {@link sn.noreyni.project.ProjectService} on every project write, so authorization checks are two hash
+ * lookups without reading MongoDB. Each project gets a compact int index; a user holds a small table of
+ * project index to role. Reads are lock-free and do not allocate, writes are serialized.
+ */
+@ApplicationScoped
+@Slf4j
+public class ProjectAccessIndex {
+
+    private static final long RELOAD_DELAY_MS = 30_000;
+
+    @Inject
+    ProjectRepository projectRepository;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Membership of a project as last indexed, to find the users a change affects
+     */
+    private record Membership(int index, String ownerId, Set<String> memberIds, Set<String> invitedUserIds) {
+
+        ProjectRole role(String userId) {
+            if (userId.equals(ownerId)) {
+                return ProjectRole.OWNER;
+            }
+            if (memberIds.contains(userId)) {
+                return ProjectRole.MEMBER;
+            }
+            return invitedUserIds.contains(userId) ? ProjectRole.INVITED : null;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Membership> projects = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ProjectRoles> users = new ConcurrentHashMap<>();
+    // Projects deleted while the index is loading, a row read before the delete must not bring them back
+    private final Set<String> removedDuringLoad = new HashSet<>();
+    private int nextIndex;
+    private volatile boolean loaded;
+    private volatile boolean stopped;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("webhook.access.index.projects", projects, ConcurrentHashMap::size)
+                .description("Projects held by the authorization index")
+                .register(meterRegistry);
+        Gauge.builder("webhook.access.index.users", users, ConcurrentHashMap::size)
+                .description("Users with at least one project role in the authorization index")
+                .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        load();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+    }
+
+    /**
+     * Whether every project has been indexed, before that an absent project may just not be loaded yet
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Whether a project is indexed
+     */
+    public boolean contains(String projectId) {
+        return projects.containsKey(projectId);
+    }
+
+    /**
+     * Role of a user on a project, null when the user has none or the project is not indexed
+     */
+    public ProjectRole role(String userId, String projectId) {
+        if (userId == null) {
+            return null;
+        }
+        Membership membership = projects.get(projectId);
+        ProjectRoles roles = membership != null ? users.get(userId) : null;
+        return roles != null ? roles.role(membership.index()) : null;
+    }
+
+    public boolean isOwner(String userId, String projectId) {
+        return role(userId, projectId) == ProjectRole.OWNER;
+    }
+
+    /**
+     * Whether a user takes part in a project, as its owner or a member (pending invitations excluded)
+     */
+    public boolean isMember(String userId, String projectId) {
+        ProjectRole role = role(userId, projectId);
+        return role == ProjectRole.OWNER || role == ProjectRole.MEMBER;
+    }
+
+    /**
+     * Indexes a created project or the new owner, members and invited users of an updated one
+     */
+    public synchronized void put(Project project) {
+        String projectId = project.getIdAsString();
+        Membership previous = projects.get(projectId);
+        Membership current = new Membership(
+                previous != null ? previous.index() : nextIndex++,
+                project.getOwnerId(),
+                project.getMemberIds() != null ? Set.copyOf(project.getMemberIds()) : Set.of(),
+                project.getInvitedUserIds() != null ? Set.copyOf(project.getInvitedUserIds()) : Set.of());
+
+        if (previous != null) {
+            revoke(previous, current);
+        }
+        grant(current, current.ownerId());
+        current.memberIds().forEach(userId -> grant(current, userId));
+        current.invitedUserIds().forEach(userId -> grant(current, userId));
+        projects.put(projectId, current);
+    }
+
+    /**
+     * Removes a deleted project and the roles of its users on it
+     */
+    public synchronized void remove(String projectId) {
+        if (!loaded) {
+            removedDuringLoad.add(projectId);
+        }
+        Membership previous = projects.remove(projectId);
+        if (previous != null) {
+            revoke(previous, null);
+        }
+    }
+
+    public int size() {
+        return projects.size();
+    }
+
+    private void grant(Membership membership, String userId) {
+        if (userId == null) {
+            return;
+        }
+        ProjectRole role = membership.role(userId);
+        users.compute(userId, (id, roles) -> (roles != null ? roles : ProjectRoles.EMPTY).with(membership.index(), role));
+    }
+
+    /**
+     * Drops the roles of the users of {@code previous} that no longer take part in the project
+     */
+    private void revoke(Membership previous, Membership current) {
+        revoke(previous, current, previous.ownerId());
+        previous.memberIds().forEach(userId -> revoke(previous, current, userId));
+        previous.invitedUserIds().forEach(userId -> revoke(previous, current, userId));
+    }
+
+    private void revoke(Membership previous, Membership current, String userId) {
+        if (userId != null && (current == null || current.role(userId) == null)) {
+            users.computeIfPresent(userId, (id, roles) -> roles.without(previous.index()));
+        }
+    }
+
+    /**
+     * Loads the membership of every project, retrying later when MongoDB is not reachable
+     * Projects written meanwhile by the service are newer than the loaded ones and are kept, projects
+     * deleted meanwhile are not added back
+     */
+    void load() {
+        Instant start = Instant.now();
+        AtomicInteger count = new AtomicInteger();
+
+        projectRepository.streamMemberships()
+                .subscribe().with(
+                        project -> {
+                            putIfAbsent(project);
+                            count.incrementAndGet();
+                        },
+                        throwable -> {
+                            log.warn("project.access.load.error - Access index not loaded, retrying in {}ms, error={}",
+                                    RELOAD_DELAY_MS, throwable.getMessage());
+                            if (!stopped) {
+                                vertx.setTimer(RELOAD_DELAY_MS, id -> load());
+                            }
+                        },
+                        () -> {
+                            loadCompleted();
+                            log.info("project.access.load.success - Indexed {} projects in {}ms",
+                                    count.get(), Duration.between(start, Instant.now()).toMillis());
+                        });
+    }
+
+    private synchronized void putIfAbsent(Project project) {
+        String projectId = project.getIdAsString();
+        if (!projects.containsKey(projectId) && !removedDuringLoad.contains(projectId)) {
+            put(project);
+        }
+    }
+
+    private synchronized void loadCompleted() {
+        loaded = true;
+        removedDuringLoad.clear();
+    }
+}
@@ -0,0 +1,105 @@
+package sn.noreyni.project.access;
+
+import sn.noreyni.common.enums.ProjectRole;
+
+/**
+ * Roles of one user, keyed by the compact index of each project
+ * Immutable open-addressing table: a lookup is one or two probes and never allocates, a change copies the
+ * table, which only holds the few projects of one user.
+ */
+final class ProjectRoles {
+
+    static final ProjectRoles EMPTY = new ProjectRoles(new int[4], new byte[4], 0);
+
+    private static final ProjectRole[] ROLES = ProjectRole.values();
+
+    /**
+     * Project index + 1, 0 for a free slot
+     */
+    private final int[] keys;
+    private final byte[] roles;
+    private final int size;
+
+    private ProjectRoles(int[] keys, byte[] roles, int size) {
+        this.keys = keys;
+        this.roles = roles;
+        this.size = size;
+    }
+
+    /**
+     * Role on a project, null when the user has none
+     */
+    ProjectRole role(int project) {
+        int slot = find(keys, project);
+        return keys[slot] != 0 ? ROLES[roles[slot]] : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copy with the role of a project set, this table when it is unchanged
+     */
+    ProjectRoles with(int project, ProjectRole role) {
+        if (role(project) == role) {
+            return this;
+        }
+        ProjectRoles copy = resized(keys.length < 2 * (size + 1) ? keys.length * 2 : keys.length, -1);
+        int slot = find(copy.keys, project);
+        int size = copy.size;
+        if (copy.keys[slot] == 0) {
+            copy.keys[slot] = project + 1;
+            size++;
+        }
+        copy.roles[slot] = (byte) role.ordinal();
+        return new ProjectRoles(copy.keys, copy.roles, size);
+    }
+
+    /**
+     * Copy without a project, null once the user has no project left
+     */
+    ProjectRoles without(int project) {
+        if (role(project) == null) {
+            return this;
+        }
+        if (size == 1) {
+            return null;
+        }
+        int capacity = keys.length;
+        while (capacity > 4 && capacity / 2 >= 2 * (size - 1)) {
+            capacity /= 2;
+        }
+        return resized(capacity, project);
+    }
+
+    /**
+     * Rehashes the entries into a table of the given capacity, skipping one project (-1 for none)
+     */
+    private ProjectRoles resized(int capacity, int skipped) {
+        int[] newKeys = new int[capacity];
+        byte[] newRoles = new byte[capacity];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && keys[i] - 1 != skipped) {
+                int slot = find(newKeys, keys[i] - 1);
+                newKeys[slot] = keys[i];
+                newRoles[slot] = roles[i];
+                count++;
+            }
+        }
+        return new ProjectRoles(newKeys, newRoles, count);
+    }
+
+    /**
+     * Slot of a project, or the free slot where it would go
+     */
+    private static int find(int[] keys, int project) {
+        int mask = keys.length - 1;
+        int slot = (project * 0x9E3779B9) >>> 16 & mask;
+        while (keys[slot] != 0 && keys[slot] != project + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,108 @@
+package sn.noreyni.project.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.codec.BsonValues;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.project.dto.ProjectListDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Decodes the {@link #PROJECTION} of a project straight into a {@link ProjectListDto}
+ * The member IDs stay on the server, only their count ({@code $size}) is sent. Owner names are not part
+ * of the project document and are left null.
+ */
+public final class ProjectListDtoCodec implements Codec<ProjectListDto> {
+
+    public static final ProjectListDtoCodec INSTANCE = new ProjectListDtoCodec();
+
+    static final String MEMBER_COUNT = "member_count";
+
+    /**
+     * Fields of a project read by the list queries
+     */
+    public static final Document PROJECTION = new Document("name", 1)
+            .append("description", 1)
+            .append("status", 1)
+            .append("visibility", 1)
+            .append("type", 1)
+            .append("avatar_url", 1)
+            .append("owner_id", 1)
+            .append(MEMBER_COUNT, new Document("$size", new Document("$ifNull", List.of("$member_ids", List.of()))))
+            .append("created_at", 1)
+            .append("updated_at", 1);
+
+    private ProjectListDtoCodec() {
+    }
+
+    @Override
+    public ProjectListDto decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String name = null;
+        String description = null;
+        ProjectStatus status = null;
+        Visibility visibility = null;
+        ProjectType type = null;
+        String avatarUrl = null;
+        String ownerId = null;
+        int memberCount = 0;
+        LocalDateTime createdAt = null;
+        LocalDateTime updatedAt = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> id = BsonValues.readString(reader);
+                case "name" -> name = BsonValues.readString(reader);
+                case "description" -> description = BsonValues.readString(reader);
+                case "status" -> status = BsonValues.readEnum(reader, ProjectStatus.class);
+                case "visibility" -> visibility = BsonValues.readEnum(reader, Visibility.class);
+                case "type" -> type = BsonValues.readEnum(reader, ProjectType.class);
+                case "avatar_url" -> avatarUrl = BsonValues.readString(reader);
+                case "owner_id" -> ownerId = BsonValues.readString(reader);
+                case MEMBER_COUNT -> memberCount = BsonValues.readInt(reader);
+                case "created_at" -> createdAt = BsonValues.readDateTime(reader);
+                case "updated_at" -> updatedAt = BsonValues.readDateTime(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new ProjectListDto(id, name, description, status, visibility, type, avatarUrl, ownerId,
+                null, null, memberCount, createdAt, updatedAt);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, ProjectListDto value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (value.id() != null) {
+            writer.writeObjectId("_id", new ObjectId(value.id()));
+        }
+        BsonValues.writeString(writer, "name", value.name());
+        BsonValues.writeString(writer, "description", value.description());
+        BsonValues.writeEnum(writer, "status", value.status());
+        BsonValues.writeEnum(writer, "visibility", value.visibility());
+        BsonValues.writeEnum(writer, "type", value.type());
+        BsonValues.writeString(writer, "avatar_url", value.avatarUrl());
+        BsonValues.writeString(writer, "owner_id", value.ownerId());
+        writer.writeInt32(MEMBER_COUNT, value.memberCount());
+        BsonValues.writeDateTime(writer, "created_at", value.createdAt());
+        BsonValues.writeDateTime(writer, "updated_at", value.updatedAt());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<ProjectListDto> getEncoderClass() {
+        return ProjectListDto.class;
+    }
+}
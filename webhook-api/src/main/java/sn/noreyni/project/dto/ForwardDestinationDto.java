@@ -0,0 +1,14 @@
+package sn.noreyni.project.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+public record ForwardDestinationDto(
+        String id,
+
+        @NotBlank(message = "L'URL de destination est requise")
+        @Pattern(regexp = "^https?://[^\\s/?#]+[^\\s]*$", message = "L'URL de destination doit être une URL http ou https")
+        String url,
+
+        Boolean enabled
+) {}
@@ -1,12 +1,16 @@
 package sn.noreyni.project.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import sn.noreyni.common.enums.ProjectStatus;
 import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
 import sn.noreyni.common.enums.Visibility;
 
+import java.util.List;
+
 public record ProjectCreateDto(
         @NotBlank(message = "Le nom du projet est requis")
         @Size(min = 2, max = 100, message = "Le nom du projet doit contenir entre 2 et 100 caractères")
@@ -22,5 +26,13 @@ public record ProjectCreateDto(
 
         ProjectStatus status,
 
-        String avatarUrl
+        String avatarUrl,
+
+        StorageEngine storageEngine,
+
+        @Valid
+        List<ForwardDestinationDto> destinations,
+
+        @Valid
+        WebhookSignatureDto signature
 ) {}
\ No newline at end of file
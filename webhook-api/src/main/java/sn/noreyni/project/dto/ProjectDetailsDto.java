@@ -2,6 +2,7 @@ package sn.noreyni.project.dto;
 
 import sn.noreyni.common.enums.ProjectStatus;
 import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
 import sn.noreyni.common.enums.Visibility;
 import sn.noreyni.user.dto.UserListDto;
 
@@ -16,6 +17,12 @@ public record ProjectDetailsDto(
         Visibility visibility,
         ProjectType type,
         String avatarUrl,
+        StorageEngine storageEngine,
+        Integer rateLimit,
+        Integer rateBurst,
+        Long dailyQuota,
+        List<ForwardDestinationDto> destinations,
+        WebhookSignatureDto signature,
         String ownerId,
         UserListDto owner,
         List<UserListDto> members,
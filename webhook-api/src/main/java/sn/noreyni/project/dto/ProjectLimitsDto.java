@@ -0,0 +1,19 @@
+package sn.noreyni.project.dto;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Capture limit overrides of a project, set by an administrator
+ * A null value removes the override, the project type tier then applies
+ */
+public record ProjectLimitsDto(
+        @Min(value = 1, message = "La limite de débit doit être au moins 1")
+        Integer rateLimit,
+
+        @Min(value = 1, message = "La rafale doit être au moins 1")
+        Integer rateBurst,
+
+        @Min(value = 1, message = "Le quota journalier doit être au moins 1")
+        Long dailyQuota
+) {
+}
@@ -0,0 +1,6 @@
+package sn.noreyni.project.dto;
+
+public record ProjectNameSuggestionDto(
+        String id,
+        String name
+) {}
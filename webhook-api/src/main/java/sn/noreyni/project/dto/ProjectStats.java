@@ -2,6 +2,9 @@ package sn.noreyni.project.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import sn.noreyni.common.enums.ProjectStatus;
+
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
@@ -10,4 +13,17 @@ public class ProjectStats {
     private  long activeProjects;
     private  long draftProjects;
     private  long completedProjects;
+
+    /**
+     * Builds the statistics from project counts by status name
+     */
+    public static ProjectStats of(Map<String, Long> countsByStatus) {
+        long total = countsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        return new ProjectStats(
+                total,
+                countsByStatus.getOrDefault(ProjectStatus.ACTIVE.name(), 0L),
+                countsByStatus.getOrDefault(ProjectStatus.DRAFT.name(), 0L),
+                countsByStatus.getOrDefault(ProjectStatus.COMPLETED.name(), 0L)
+        );
+    }
 }
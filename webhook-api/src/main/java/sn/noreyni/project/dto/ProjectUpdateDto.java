@@ -1,10 +1,14 @@
 package sn.noreyni.project.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Size;
 import sn.noreyni.common.enums.ProjectStatus;
 import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
 import sn.noreyni.common.enums.Visibility;
 
+import java.util.List;
+
 public record ProjectUpdateDto(
         @Size(min = 2, max = 100, message = "Le nom du projet doit contenir entre 2 et 100 caractères")
         String name,
@@ -18,6 +22,14 @@ public record ProjectUpdateDto(
 
         ProjectStatus status,
 
-        String avatarUrl
+        String avatarUrl,
+
+        StorageEngine storageEngine,
+
+        @Valid
+        List<ForwardDestinationDto> destinations,
+
+        @Valid
+        WebhookSignatureDto signature
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package sn.noreyni.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import sn.noreyni.common.enums.SignatureAlgorithm;
+import sn.noreyni.common.enums.SignatureFormat;
+
+/**
+ * Signature verification of a project, the secret is never returned
+ *
+ * @param secret shared secret, kept unchanged on update when absent
+ */
+public record WebhookSignatureDto(
+        Boolean enabled,
+
+        SignatureAlgorithm algorithm,
+
+        @NotBlank(message = "L'en-tête de signature est requis")
+        @Size(max = 100, message = "L'en-tête de signature ne peut pas dépasser 100 caractères")
+        String header,
+
+        SignatureFormat format,
+
+        @Size(max = 50, message = "Le préfixe de signature ne peut pas dépasser 50 caractères")
+        String prefix,
+
+        @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+        @Size(min = 1, max = 512, message = "Le secret de signature doit contenir entre 1 et 512 caractères")
+        String secret
+) {}
@@ -0,0 +1,79 @@
+package sn.noreyni.project.search;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.ProjectRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Fills the name search fields of the projects stored before they existed
+ * Runs once at startup in batches, retried while MongoDB is unreachable. Projects written since then
+ * carry the fields already, see {@link Project#setName(String)}.
+ */
+@ApplicationScoped
+@Slf4j
+public class ProjectNameBackfillJob {
+
+    static final long RETRY_DELAY_MS = 30_000;
+    static final int BATCH_SIZE = 500;
+
+    @Inject
+    ProjectRepository projectRepository;
+
+    @Inject
+    Vertx vertx;
+
+    private volatile boolean stopped;
+
+    void onStart(@Observes StartupEvent event) {
+        run();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+    }
+
+    void run() {
+        Instant start = Instant.now();
+        backfill(0).subscribe().with(
+                count -> {
+                    if (count > 0) {
+                        log.info("project.nameBackfill.success - Indexed the names of {} projects in {}ms",
+                                count, Duration.between(start, Instant.now()).toMillis());
+                    }
+                },
+                throwable -> {
+                    log.warn("project.nameBackfill.error - Names not indexed, retrying in {}ms, error={}",
+                            RETRY_DELAY_MS, throwable.getMessage());
+                    if (!stopped) {
+                        vertx.setTimer(RETRY_DELAY_MS, id -> run());
+                    }
+                });
+    }
+
+    /**
+     * Indexes batches until none is left, completes with the number of updated projects
+     */
+    Uni<Integer> backfill(int done) {
+        if (stopped) {
+            return Uni.createFrom().item(done);
+        }
+        return Uni.createFrom().deferred(() -> projectRepository.findWithoutNameSearchFields(BATCH_SIZE))
+                .chain(projects -> {
+                    projects.forEach(project -> project.setName(project.getName()));
+                    return projectRepository.updateNameSearchFields(projects)
+                            .chain(updated -> projects.size() < BATCH_SIZE || updated == 0
+                                    ? Uni.createFrom().item(done + updated)
+                                    : backfill(done + updated));
+                });
+    }
+}
@@ -0,0 +1,114 @@
+package sn.noreyni.project.search;
+
+import org.bson.Document;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Index-friendly matching of project names
+ * Every project stores its normalized name ({@code name_key}: lower case, no accents, single spaces) and the
+ * trigrams of that key ({@code name_grams}). A prefix is an index range on {@code name_key}; a substring of
+ * {@link #GRAM_LENGTH} characters or more selects the candidates through the multikey index on
+ * {@code name_grams} and confirms them with an escaped regex, so neither reads the whole collection.
+ */
+public final class ProjectNameSearch {
+
+    public static final String KEY_FIELD = "name_key";
+    public static final String GRAMS_FIELD = "name_grams";
+    public static final int GRAM_LENGTH = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private ProjectNameSearch() {
+    }
+
+    /**
+     * Lower case name without accents and with single spaces, null for a null name
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        String stripped = MARKS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct trigrams of a normalized name, empty when it is shorter than {@link #GRAM_LENGTH}
+     */
+    public static List<String> grams(String key) {
+        if (key == null || key.length() < GRAM_LENGTH) {
+            return List.of();
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM_LENGTH));
+        }
+        return new ArrayList<>(grams);
+    }
+
+    /**
+     * Case and accent insensitive condition on names containing the query
+     * Queries shorter than a trigram fall back to a regex over the keys of the {@code name_key} index.
+     */
+    public static Document containsFilter(String query) {
+        String key = normalize(query);
+        Document filter = new Document();
+        List<String> grams = grams(key);
+        if (!grams.isEmpty()) {
+            filter.append(GRAMS_FIELD, new Document("$all", grams));
+        }
+        return filter.append(KEY_FIELD, new Document("$regex", escape(key)));
+    }
+
+    /**
+     * Case and accent insensitive condition on names starting with the prefix, an index range on {@code name_key}
+     */
+    public static Document prefixFilter(String prefix) {
+        String key = normalize(prefix);
+        Document range = new Document("$gte", key);
+        String upperBound = successor(key);
+        if (upperBound != null) {
+            range.append("$lt", upperBound);
+        }
+        return new Document(KEY_FIELD, range);
+    }
+
+    /**
+     * Regex matching the text literally
+     */
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (REGEX_METACHARACTERS.indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Smallest string greater than every string starting with the prefix, null when there is none
+     */
+    static String successor(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return null;
+        }
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+}
@@ -0,0 +1,44 @@
+package sn.noreyni.project.stats;
+
+import io.quarkus.mongodb.panache.common.MongoEntity;
+import lombok.Data;
+import org.bson.codecs.pojo.annotations.BsonId;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import sn.noreyni.common.enums.ProjectStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Project counters of one owner, keyed by the owner ID
+ * Updated with {@code $inc} on every project create, status change and delete, and rewritten by
+ * {@link ProjectStatsReconciliationJob} when they drift from a full recount.
+ */
+@Data
+@MongoEntity(collection = "project_owner_stats")
+public class ProjectOwnerStats {
+
+    /**
+     * Count key of projects without status
+     */
+    public static final String NO_STATUS = "NONE";
+
+    @BsonId
+    private String ownerId;
+
+    /**
+     * Projects by status name, the total is their sum
+     */
+    @BsonProperty("counts")
+    private Map<String, Long> counts = new HashMap<>();
+
+    /**
+     * Incremented on every update, lets the reconciliation skip counters changed while it recounted
+     */
+    @BsonProperty("version")
+    private long version;
+
+    public static String statusKey(ProjectStatus status) {
+        return status != null ? status.name() : NO_STATUS;
+    }
+}
@@ -0,0 +1,53 @@
+package sn.noreyni.project.stats;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOptions;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepositoryBase;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+
+@ApplicationScoped
+public class ProjectOwnerStatsRepository implements ReactivePanacheMongoRepositoryBase<ProjectOwnerStats, String> {
+
+    /**
+     * Applies counter deltas, creating the owner counters when missing
+     *
+     * @param deltas increments by field, e.g. {@code {"counts.DRAFT": 1}}
+     */
+    public Uni<Void> increment(String ownerId, Document deltas) {
+        Document update = new Document("$inc", new Document(deltas).append("version", 1L));
+        return mongoCollection().updateOne(Filters.eq("_id", ownerId), update, new UpdateOptions().upsert(true))
+                .replaceWithVoid();
+    }
+
+    /**
+     * Replaces the counters of an owner if they were not updated since they were read
+     *
+     * @param expectedVersion version read before the recount, -1 when the owner had no counters
+     * @return whether the counters were replaced
+     */
+    public Uni<Boolean> replaceIfUnchanged(ProjectOwnerStats stats, long expectedVersion) {
+        if (expectedVersion < 0) {
+            // Insert only: fails with a duplicate key if counters were created meanwhile
+            return persist(stats)
+                    .replaceWith(true)
+                    .onFailure().recoverWithItem(false);
+        }
+        stats.setVersion(expectedVersion + 1);
+        return mongoCollection()
+                .replaceOne(Filters.and(Filters.eq("_id", stats.getOwnerId()), Filters.eq("version", expectedVersion)),
+                        stats, new ReplaceOptions())
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    /**
+     * Deletes the counters of an owner if they were not updated since they were read
+     */
+    public Uni<Boolean> deleteIfUnchanged(String ownerId, long expectedVersion) {
+        return mongoCollection()
+                .deleteOne(Filters.and(Filters.eq("_id", ownerId), Filters.eq("version", expectedVersion)))
+                .map(result -> result.getDeletedCount() > 0);
+    }
+}
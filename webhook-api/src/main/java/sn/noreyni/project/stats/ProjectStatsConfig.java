@@ -0,0 +1,26 @@
+package sn.noreyni.project.stats;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "webhook.project-stats")
+public interface ProjectStatsConfig {
+
+    /**
+     * Maintain per-owner counters on project writes and serve the statistics from them
+     * When disabled the statistics are aggregated from the projects on every call
+     */
+    @WithName("counters")
+    @WithDefault("true")
+    boolean counters();
+
+    /**
+     * Interval between two reconciliations of the counters with a full recount
+     */
+    @WithName("reconcile-interval")
+    @WithDefault("1h")
+    Duration reconcileInterval();
+}
@@ -0,0 +1,94 @@
+package sn.noreyni.project.stats;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.project.dto.ProjectStats;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Incremental per-owner project counters
+ * Project writes apply their delta with one upsert, and reading the statistics of an owner is a single
+ * lookup by ID. The counters are not updated atomically with the projects: a failed or lost update is
+ * logged and corrected by the next {@link ProjectStatsReconciliationJob} run. They are only served once a
+ * first reconciliation has completed, the statistics are aggregated from the projects until then.
+ */
+@ApplicationScoped
+@Slf4j
+public class ProjectStatsCounters {
+
+    @Inject
+    ProjectOwnerStatsRepository projectOwnerStatsRepository;
+
+    @Inject
+    ProjectStatsConfig projectStatsConfig;
+
+    private volatile boolean reconciled;
+
+    /**
+     * Whether the statistics can be read from the counters
+     */
+    public boolean isServing() {
+        return projectStatsConfig.counters() && reconciled;
+    }
+
+    void markReconciled() {
+        reconciled = true;
+    }
+
+    public Uni<Void> created(String ownerId, ProjectStatus status) {
+        return increment(ownerId, new Document(countField(status), 1L));
+    }
+
+    /**
+     * Counts projects created together by one owner with a single upsert, e.g. by an import
+     */
+    public Uni<Void> created(String ownerId, Collection<ProjectStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        Document deltas = new Document();
+        statuses.forEach(status -> deltas.merge(countField(status), 1L, (count, one) -> (Long) count + 1L));
+        return increment(ownerId, deltas);
+    }
+
+    public Uni<Void> statusChanged(String ownerId, ProjectStatus oldStatus, ProjectStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return Uni.createFrom().voidItem();
+        }
+        return increment(ownerId, new Document(countField(oldStatus), -1L).append(countField(newStatus), 1L));
+    }
+
+    public Uni<Void> deleted(String ownerId, ProjectStatus status) {
+        return increment(ownerId, new Document(countField(status), -1L));
+    }
+
+    /**
+     * Statistics of an owner, all zero when the owner has no counters
+     */
+    public Uni<ProjectStats> find(String ownerId) {
+        return projectOwnerStatsRepository.findById(ownerId)
+                .map(stats -> ProjectStats.of(stats != null ? stats.getCounts() : Map.of()));
+    }
+
+    private Uni<Void> increment(String ownerId, Document deltas) {
+        if (!projectStatsConfig.counters() || ownerId == null) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().deferred(() -> projectOwnerStatsRepository.increment(ownerId, deltas))
+                .onFailure().recoverWithItem(throwable -> {
+                    log.warn("project.stats.counters.error - Counter update lost until the next reconciliation, ownerId={}, deltas={}, error={}",
+                            ownerId, deltas.toJson(), throwable.getMessage());
+                    return null;
+                });
+    }
+
+    private static String countField(ProjectStatus status) {
+        return "counts." + ProjectOwnerStats.statusKey(status);
+    }
+}
@@ -0,0 +1,163 @@
+package sn.noreyni.project.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import sn.noreyni.project.ProjectRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Periodic reconciliation of the owner counters with a full recount of the projects
+ * Counters are read first, then recounted with one {@code $group} aggregation; an owner whose counters
+ * differ is rewritten only if its counters did not change in between (version check), otherwise it is
+ * left to the next run. Runs once at startup, before the counters are served.
+ */
+@ApplicationScoped
+@Slf4j
+public class ProjectStatsReconciliationJob {
+
+    static final long RETRY_DELAY_MS = 30_000;
+    private static final int CONCURRENCY = 16;
+
+    @Inject
+    ProjectRepository projectRepository;
+
+    @Inject
+    ProjectOwnerStatsRepository projectOwnerStatsRepository;
+
+    @Inject
+    ProjectStatsCounters projectStatsCounters;
+
+    @Inject
+    ProjectStatsConfig projectStatsConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    Vertx vertx;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private Counter corrected;
+    private long timerId = -1;
+    private volatile boolean stopped;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!projectStatsConfig.counters()) {
+            return;
+        }
+        this.corrected = Counter.builder("webhook.project.stats.corrected")
+                .description("Owner counters rewritten because they differed from a full recount")
+                .register(meterRegistry);
+
+        long interval = Math.max(1000, projectStatsConfig.reconcileInterval().toMillis());
+        timerId = vertx.setPeriodic(interval, id -> run());
+        run();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    /**
+     * Reconciles every owner, completes with the number of corrected owners
+     */
+    public Uni<Integer> reconcile() {
+        return Uni.createFrom().deferred(() -> projectOwnerStatsRepository.listAll())
+                .chain(current -> projectRepository.countByOwnerAndStatus()
+                        .collect().in(HashMap<String, Map<String, Long>>::new, (recount, group) -> {
+                            Document id = group.get("_id", Document.class);
+                            recount.computeIfAbsent(id.getString("owner"), owner -> new HashMap<>())
+                                    .put(id.getString("status"), group.get("count", Number.class).longValue());
+                        })
+                        .chain(recount -> correct(current, recount)));
+    }
+
+    void run() {
+        if (stopped || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        Instant start = Instant.now();
+        reconcile().subscribe().with(
+                count -> {
+                    running.set(false);
+                    projectStatsCounters.markReconciled();
+                    corrected.increment(count);
+                    if (count > 0) {
+                        log.warn("project.stats.reconcile.corrected - Corrected the counters of {} owners in {}ms",
+                                count, Duration.between(start, Instant.now()).toMillis());
+                    } else {
+                        log.debug("project.stats.reconcile.success - Counters consistent, checked in {}ms",
+                                Duration.between(start, Instant.now()).toMillis());
+                    }
+                },
+                throwable -> {
+                    running.set(false);
+                    log.warn("project.stats.reconcile.error - Counters not reconciled, error={}", throwable.getMessage());
+                    if (!projectStatsCounters.isServing() && !stopped) {
+                        vertx.setTimer(RETRY_DELAY_MS, id -> run());
+                    }
+                });
+    }
+
+    private Uni<Integer> correct(List<ProjectOwnerStats> current, Map<String, Map<String, Long>> recount) {
+        List<Uni<Boolean>> fixes = new ArrayList<>();
+        Map<String, ProjectOwnerStats> byOwner = new HashMap<>();
+        for (ProjectOwnerStats stats : current) {
+            byOwner.put(stats.getOwnerId(), stats);
+            if (!recount.containsKey(stats.getOwnerId()) && !nonZero(stats.getCounts()).isEmpty()) {
+                fixes.add(projectOwnerStatsRepository.deleteIfUnchanged(stats.getOwnerId(), stats.getVersion()));
+            }
+        }
+        recount.forEach((ownerId, counts) -> {
+            ProjectOwnerStats stats = byOwner.get(ownerId);
+            if (stats != null && nonZero(stats.getCounts()).equals(counts)) {
+                return;
+            }
+            ProjectOwnerStats replacement = new ProjectOwnerStats();
+            replacement.setOwnerId(ownerId);
+            replacement.setCounts(counts);
+            fixes.add(projectOwnerStatsRepository.replaceIfUnchanged(replacement, stats != null ? stats.getVersion() : -1));
+        });
+
+        if (fixes.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        return Multi.createFrom().iterable(fixes)
+                .onItem().transformToUni(fix -> fix).merge(CONCURRENCY)
+                .collect().with(Collectors.summingInt(replaced -> replaced ? 1 : 0));
+    }
+
+    private static Map<String, Long> nonZero(Map<String, Long> counts) {
+        Map<String, Long> result = new HashMap<>();
+        if (counts != null) {
+            counts.forEach((status, count) -> {
+                if (count != null && count != 0) {
+                    result.put(status, count);
+                }
+            });
+        }
+        return result;
+    }
+}
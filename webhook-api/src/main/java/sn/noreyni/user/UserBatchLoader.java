@@ -0,0 +1,73 @@
+package sn.noreyni.user;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import sn.noreyni.user.dto.UserListDto;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the users referenced by a page (owners, inviters, invitees) for the current request
+ * All the IDs of a page are read with a single {@code $in} query instead of one query per element, and
+ * kept until the end of the request so a later page or mapper reuses them. Unknown IDs are remembered
+ * as missing and not queried again.
+ */
+@RequestScoped
+@Slf4j
+public class UserBatchLoader {
+
+    @Inject
+    UserRepository userRepository;
+
+    private final Map<String, UserListDto> loaded = new ConcurrentHashMap<>();
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Users with the given IDs, queried only for the IDs not seen yet in this request
+     *
+     * @return Users found, by ID; unknown and malformed IDs are absent
+     */
+    public Uni<Map<String, UserListDto>> load(Collection<String> ids) {
+        Set<String> pending = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id != null && !loaded.containsKey(id) && !missing.contains(id) && ObjectId.isValid(id)) {
+                pending.add(id);
+            }
+        }
+        if (pending.isEmpty()) {
+            return Uni.createFrom().item(() -> resolved(ids));
+        }
+
+        List<ObjectId> objectIds = pending.stream().map(ObjectId::new).toList();
+        return userRepository.findListByIds(objectIds)
+                .map(users -> {
+                    for (UserListDto user : users) {
+                        loaded.put(user.id(), user);
+                        pending.remove(user.id());
+                    }
+                    missing.addAll(pending);
+                    log.debug("user.batchLoad.success - Loaded {} users in one query, missing={}", users.size(), pending.size());
+                    return resolved(ids);
+                });
+    }
+
+    private Map<String, UserListDto> resolved(Collection<String> ids) {
+        Map<String, UserListDto> result = new HashMap<>();
+        for (String id : ids) {
+            UserListDto user = id != null ? loaded.get(id) : null;
+            if (user != null) {
+                result.put(id, user);
+            }
+        }
+        return result;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.bson.types.ObjectId;
 import org.modelmapper.ModelMapper;
+import sn.noreyni.common.enums.UserRole;
 import sn.noreyni.user.dto.UserCreateDto;
 import sn.noreyni.user.dto.UserDetailsDto;
 import sn.noreyni.user.dto.UserListDto;
@@ -95,6 +96,9 @@ public class UserMapper {
         user.setOwnedProjectIds(new HashSet<>());
         user.setMemberProjectIds(new HashSet<>());
         user.setInvitedProjectIds(new HashSet<>());
+        if (user.getRole() == null) {
+            user.setRole(UserRole.MEMBER);
+        }
 
         return user;
     }
@@ -1,11 +1,58 @@
 package sn.noreyni.user;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import io.quarkus.mongodb.FindOptions;
 import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepository;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.bulk.UnorderedInsert;
+import sn.noreyni.common.index.IndexedRepository;
+import sn.noreyni.common.index.QueryShape;
+import sn.noreyni.common.pagination.Cursor;
+import sn.noreyni.user.codec.UserListDtoCodec;
+import sn.noreyni.user.dto.UserListDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
-public class UserRepository implements ReactivePanacheMongoRepository<User> {
+public class UserRepository implements ReactivePanacheMongoRepository<User>, IndexedRepository {
+
+    /**
+     * Users are paged by ID in cursor mode
+     */
+    public static final Cursor.Key<UserListDto> CURSOR_KEY = new Cursor.Key<>(Cursor.ID_FIELD, UserListDto::id);
+
+    @Override
+    public List<IndexModel> indexes() {
+        return List.of(
+                new IndexModel(new Document("email", 1), new IndexOptions().unique(true)),
+                new IndexModel(new Document("active", 1))
+        );
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        return List.of(
+                QueryShape.of("findByEmail", new Document("email", "awa.diop@example.com")),
+                QueryShape.of("existsByEmailAndIdNot", new Document("email", "awa.diop@example.com")
+                        .append("_id", new Document("$ne", new ObjectId()))),
+                QueryShape.of("countActive", new Document("active", true)),
+                QueryShape.of("findExistingEmails", new Document("email", new Document("$in", List.of("awa.diop@example.com")))),
+                QueryShape.of("findListByIds", new Document("_id", new Document("$in", List.of(new ObjectId())))),
+                QueryShape.of("findAfter", new Cursor(Cursor.ID_FIELD, 1, null, new ObjectId()).condition(),
+                        Cursor.sort(CURSOR_KEY.field(), 1))
+        );
+    }
+
     public Uni<User> findByEmail(String email) {
         return find("email", email).firstResult();
     }
@@ -15,6 +62,27 @@ public class UserRepository implements ReactivePanacheMongoRepository<User> {
                 .map(count -> count > 0);
     }
 
+    /**
+     * Emails among the given ones that are already used, in one query answered from the email index
+     */
+    public Uni<Set<String>> findExistingEmails(List<String> emails) {
+        FindOptions options = new FindOptions()
+                .filter(new Document("email", new Document("$in", emails)))
+                .projection(new Document("email", 1).append("_id", 0));
+        return Uni.createFrom().deferred(() -> mongoCollection().find(RawBsonDocument.class, options)
+                .map(document -> document.getString("email").getValue())
+                .collect().with(Collectors.toSet()));
+    }
+
+    /**
+     * Inserts users with one unordered bulk write, their IDs must be assigned beforehand
+     *
+     * @return write errors by index in {@code users}, a taken email fails with {@link UnorderedInsert#DUPLICATE_KEY}
+     */
+    public Uni<Map<Integer, BulkWriteError>> insertUnordered(List<User> users) {
+        return UnorderedInsert.insert(mongoCollection(), users);
+    }
+
     public Uni<Long> countActive() {
         return find("active", true).count();
     }
@@ -23,4 +91,63 @@ public class UserRepository implements ReactivePanacheMongoRepository<User> {
         return find("email = ?1 and id != ?2", email, excludeId).count()
                 .map(count -> count > 0);
     }
+
+    /**
+     * Page of users in storage order, as list DTOs
+     *
+     * @param page Page number (0-based)
+     * @param size Page size
+     */
+    public Uni<List<UserListDto>> findListPage(int page, int size) {
+        return findListDtos(new Document(), null, page * size, size);
+    }
+
+    /**
+     * Users after a cursor in _id order, deep pages cost the same index seek as the first one
+     *
+     * @param after Position of the last user of the previous page, null for the first page
+     * @param limit Maximum number of users to read
+     */
+    public Uni<List<UserListDto>> findAfter(Cursor after, int limit) {
+        return findListDtos(Cursor.seek(new Document(), after), Cursor.sort(CURSOR_KEY.field(), 1), 0, limit);
+    }
+
+    /**
+     * Users with the given IDs, as list DTOs, in one query
+     */
+    public Uni<List<UserListDto>> findListByIds(List<ObjectId> ids) {
+        return findListDtos(new Document("_id", new Document("$in", ids)), null, 0, 0);
+    }
+
+    /**
+     * Streams every user in _id order as list DTOs, for the export
+     *
+     * @param after ID of the last exported user, null to start from the first one
+     */
+    public Multi<UserListDto> streamListDtos(ObjectId after, int fetchSize) {
+        FindOptions options = new FindOptions()
+                .filter(after != null ? new Document("_id", new Document("$gt", after)) : new Document())
+                .projection(UserListDtoCodec.PROJECTION)
+                .sort(new Document("_id", 1))
+                .batchSize(fetchSize);
+        return Multi.createFrom().deferred(() -> mongoCollection().find(RawBsonDocument.class, options)
+                .map(document -> document.decode(UserListDtoCodec.INSTANCE)));
+    }
+
+    /**
+     * Reads the list projection of the matching users, the password hash never leaves the server
+     */
+    private Uni<List<UserListDto>> findListDtos(Document filter, Document sort, int skip, int limit) {
+        FindOptions options = new FindOptions()
+                .filter(filter)
+                .projection(UserListDtoCodec.PROJECTION)
+                .skip(skip)
+                .limit(limit);
+        if (sort != null) {
+            options.sort(sort);
+        }
+        return Uni.createFrom().deferred(() -> mongoCollection().find(RawBsonDocument.class, options)
+                .map(document -> document.decode(UserListDtoCodec.INSTANCE))
+                .collect().asList());
+    }
 }
@@ -1,5 +1,6 @@
 package sn.noreyni.user;
 
+import io.quarkus.security.identity.SecurityIdentity;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -10,6 +11,7 @@ import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -18,6 +20,9 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.pagination.Cursor;
 import sn.noreyni.common.response.ApiResponse;
 import sn.noreyni.user.dto.*;
 
@@ -39,11 +44,18 @@ public class UserResource {
     @Inject
     UserService userService;
 
+    @Inject
+    JsonWebToken jwt;
+
+    @Inject
+    SecurityIdentity securityIdentity;
+
     /**
      * Retrieves a paginated list of users
      *
      * @param page the page number (0-based, default: 0)
      * @param size the number of items per page (default: 10, max: 100)
+     * @param cursor Switches to cursor mode: empty for the first page, then the {@code nextCursor} of the previous one
      * @return ApiResponse containing paginated list of users
      */
     @GET
@@ -88,7 +100,10 @@ public class UserResource {
                     description = "Number of items per page",
                     schema = @Schema(type = SchemaType.INTEGER, minimum = "1", maximum = "100", defaultValue = "10")
             )
-            @QueryParam("size") @DefaultValue("10") @Min(value = 1, message = "La taille de page doit être supérieure à 0") int size) {
+            @QueryParam("size") @DefaultValue("10") @Min(value = 1, message = "La taille de page doit être supérieure à 0") int size,
+
+            @Parameter(description = "Cursor mode (users ordered by ID): empty for the first page, then the nextCursor of the previous page")
+            @QueryParam("cursor") String cursor) {
 
         Instant start = Instant.now();
         String requestId = generateRequestId();
@@ -104,6 +119,10 @@ public class UserResource {
                     ApiResponse.error("La taille de page ne peut pas dépasser 100 éléments")
             );
         }
+        if (cursor != null) {
+            return findAllAfter(requestId, start, size, cursor);
+        }
+
         // Convert 1-based page to 0-based for internal processing
         int zeroBasedPage = page - 1;
 
@@ -129,6 +148,41 @@ public class UserResource {
                 });
     }
 
+    /**
+     * Cursor mode of the user listing, no count and a constant cost per page
+     */
+    private Uni<ApiResponse<List<UserListDto>>> findAllAfter(String requestId, Instant start, int size, String cursor) {
+        Cursor after = null;
+        if (!cursor.isBlank()) {
+            try {
+                after = Cursor.decode(cursor);
+            } catch (ApiException e) {
+                log.warn("user.resource.findAll.invalidCursor - requestId={}", requestId);
+                return Uni.createFrom().item(ApiResponse.error(e.getMessage()));
+            }
+            if (!after.matches(UserRepository.CURSOR_KEY.field(), 1)) {
+                log.warn("user.resource.findAll.cursorMismatch - requestId={}", requestId);
+                return Uni.createFrom().item(ApiResponse.error("Le curseur ne correspond pas au tri demandé"));
+            }
+        }
+
+        return userService.findAfter(after, size)
+                .map(result -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.info("user.resource.findAll.success - requestId={}, count={}, duration={}ms",
+                            requestId, result.items().size(), duration.toMillis());
+
+                    return ApiResponse.success(result.items(), result.pagination());
+                })
+                .onFailure().recoverWithItem(throwable -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.error("user.resource.findAll.error - requestId={}, duration={}ms, error={}",
+                            requestId, duration.toMillis(), throwable.getMessage(), throwable);
+
+                    return ApiResponse.error("Erreur lors de la récupération des utilisateurs");
+                });
+    }
+
     /**
      * Retrieves a user by their unique identifier
      *
@@ -206,6 +260,8 @@ public class UserResource {
 
     /**
      * Creates a new user in the system
+     * Open to self-registration: the role is only taken from the payload for an authenticated administrator,
+     * every other account is created as {@code MEMBER}
      *
      * @param createDto the user creation data
      * @return ApiResponse containing the created user details
@@ -252,11 +308,13 @@ public class UserResource {
         Instant start = Instant.now();
         String requestId = generateRequestId();
 
-        log.info("user.resource.create.start - requestId={}, email={}, role={}",
-                requestId, createDto.email(), createDto.role());
-
+        UserRole role = isAdmin() && createDto.role() != null ? createDto.role() : UserRole.MEMBER;
+        log.info("user.resource.create.start - requestId={}, email={}, role={}, requestedRole={}",
+                requestId, createDto.email(), role, createDto.role());
+        UserCreateDto payload = new UserCreateDto(createDto.firstName(), createDto.lastName(), createDto.email(),
+                createDto.password(), role);
 
-        return userService.create(createDto)
+        return userService.create(payload)
                 .map(user -> {
                     Duration duration = Duration.between(start, Instant.now());
                     log.info("user.resource.create.success - requestId={}, userId={}, email={}, duration={}ms",
@@ -272,8 +330,11 @@ public class UserResource {
                         log.warn("user.resource.create.apiError - requestId={}, email={}, statusCode={}, duration={}ms, message={}",
                                 requestId, createDto.email(), apiEx.getStatusCode(), duration.toMillis(), apiEx.getMessage());
 
-                        Response.Status status = apiEx.getStatusCode() == 409 ?
-                                Response.Status.CONFLICT : Response.Status.BAD_REQUEST;
+                        Response.Status status = switch (apiEx.getStatusCode()) {
+                            case 409 -> Response.Status.CONFLICT;
+                            case 429 -> Response.Status.TOO_MANY_REQUESTS;
+                            default -> Response.Status.BAD_REQUEST;
+                        };
 
                         return Response.status(status)
                                 .entity(ApiResponse.error(apiEx.getMessage()))
@@ -319,6 +380,14 @@ public class UserResource {
                             schema = @Schema(implementation = ApiResponse.class)
                     )
             ),
+            @APIResponse(
+                    responseCode = "403",
+                    description = "Not the user themselves nor an administrator, or role change by a non administrator",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
             @APIResponse(
                     responseCode = "404",
                     description = "User not found",
@@ -357,9 +426,15 @@ public class UserResource {
         log.info("user.resource.update.start - requestId={}, userId={}, hasEmailChange={}",
                 requestId, id, updateDto.email() != null);
 
-        // In production, get current user from security context
         String currentUserId = getCurrentUserId();
 
+        requireSelfOrAdmin(id, requestId, "update", "Vous n'êtes pas autorisé à modifier cet utilisateur");
+        if (updateDto.role() != null && !isAdmin()) {
+            log.warn("user.resource.update.forbidden - Role change by a non administrator, requestId={}, userId={}, currentUserId={}",
+                    requestId, id, currentUserId);
+            throw new ApiException("Seul un administrateur peut changer le rôle d'un utilisateur", 403);
+        }
+
         return userService.update(id, updateDto, currentUserId)
                 .map(user -> {
                     Duration duration = Duration.between(start, Instant.now());
@@ -413,6 +488,14 @@ public class UserResource {
                             schema = @Schema(implementation = ApiResponse.class)
                     )
             ),
+            @APIResponse(
+                    responseCode = "403",
+                    description = "Not the user themselves nor an administrator",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
             @APIResponse(
                     responseCode = "404",
                     description = "User not found",
@@ -435,6 +518,8 @@ public class UserResource {
 
         log.info("user.resource.delete.start - requestId={}, userId={}", requestId, id);
 
+        requireSelfOrAdmin(id, requestId, "delete", "Vous n'êtes pas autorisé à supprimer cet utilisateur");
+
         return userService.delete(id)
                 .map(v -> {
                     Duration duration = Duration.between(start, Instant.now());
@@ -589,14 +674,32 @@ public class UserResource {
     }
 
     /**
-     * Gets the current user ID from security context
-     * In production, this should extract from JWT token or security context
+     * Gets the current user ID from the access token
      *
-     * @return current user ID
+     * @return current user ID, the subject of the token
      */
     private String getCurrentUserId() {
-        // TODO: Implement proper security context extraction
-        // Example: return SecurityContext.getCurrentUser().getId();
-        return "system"; // Placeholder for development
+        return jwt.getSubject();
+    }
+
+    /**
+     * Rejects a change to another account unless the caller is an administrator
+     *
+     * @throws ApiException with 403 status
+     */
+    private void requireSelfOrAdmin(String id, String requestId, String operation, String message) {
+        String currentUserId = getCurrentUserId();
+        if (!id.equals(currentUserId) && !isAdmin()) {
+            log.warn("user.resource.{}.forbidden - Not the account owner nor an administrator, requestId={}, userId={}, currentUserId={}",
+                    operation, requestId, id, currentUserId);
+            throw new ApiException(message, 403);
+        }
+    }
+
+    /**
+     * Whether the caller is authenticated with the {@code ADMIN} role (groups claim of the access token)
+     */
+    private boolean isAdmin() {
+        return !securityIdentity.isAnonymous() && securityIdentity.hasRole(UserRole.ADMIN.name());
     }
 }
\ No newline at end of file
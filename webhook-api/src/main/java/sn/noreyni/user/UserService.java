@@ -1,13 +1,18 @@
 package sn.noreyni.user;
 
-import io.quarkus.panache.common.Page;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.unchecked.Unchecked;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
+import sn.noreyni.common.cache.EntityCache;
+import sn.noreyni.common.cache.EntityCacheConfig;
 import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.pagination.Cursor;
+import sn.noreyni.common.pagination.PageResult;
 import sn.noreyni.common.response.PaginationMeta;
 import sn.noreyni.common.utils.PasswordUtil;
 import sn.noreyni.user.dto.UserCreateDto;
@@ -37,6 +42,23 @@ public class UserService {
 
     @Inject
     PasswordUtil passwordUtil;
+
+    @Inject
+    EntityCacheConfig entityCacheConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * User details by ID, invalidated by every write of a user
+     */
+    private EntityCache<UserDetailsDto> userCache;
+
+    @PostConstruct
+    void init() {
+        this.userCache = new EntityCache<>("users", entityCacheConfig.users(), meterRegistry);
+    }
+
     /**
      * Retrieves a paginated list of users
      *
@@ -50,13 +72,8 @@ public class UserService {
 
         log.info("user.findAll.start - Fetching users page={}, size={}", page, size);
 
-        return userRepository.findAll()
-                .page(Page.of(page, size))
-                .list()
-                .map(users -> {
-                    List<UserListDto> result = users.stream()
-                            .map(userMapper::toListDto)
-                            .toList();
+        return userRepository.findListPage(page, size)
+                .map(result -> {
 
                     Duration duration = Duration.between(start, Instant.now());
                     log.info("user.findAll.success - Retrieved {} users in {}ms, page={}, size={}",
@@ -71,6 +88,40 @@ public class UserService {
                 });
     }
 
+    /**
+     * Retrieves a page of users in cursor mode, ordered by ID
+     * Reads one user more than the page size to know whether a next page exists, without counting.
+     *
+     * @param after Cursor of the previous page, null for the first page
+     * @param size the number of items per page
+     * @return Uni containing the users and the cursor of the next page
+     */
+    public Uni<PageResult<UserListDto>> findAfter(Cursor after, int size) {
+        Instant start = Instant.now();
+
+        log.info("user.findAfter.start - Fetching users size={}, cursor={}", size, after != null);
+
+        return userRepository.findAfter(after, size + 1)
+                .map(users -> {
+                    boolean hasNext = users.size() > size;
+                    List<UserListDto> result = hasNext ? users.subList(0, size) : users;
+                    String nextCursor = hasNext
+                            ? Cursor.after(UserRepository.CURSOR_KEY, 1, result.getLast(), new ObjectId(result.getLast().id())).encode()
+                            : null;
+
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.info("user.findAfter.success - Retrieved {} users in {}ms, size={}, hasNext={}",
+                            result.size(), duration.toMillis(), size, hasNext);
+
+                    return new PageResult<>(result, PaginationMeta.ofCursor(size, after != null, nextCursor));
+                })
+                .onFailure().invoke(throwable -> {
+                    Duration duration = Duration.between(start, Instant.now());
+                    log.error("user.findAfter.error - Failed to fetch users after {}ms, size={}, error={}",
+                            duration.toMillis(), size, throwable.getMessage(), throwable);
+                });
+    }
+
     /**
      * Retrieves pagination metadata for user listing
      *
@@ -113,15 +164,14 @@ public class UserService {
         log.info("user.findById.start - Searching user with id={}", id);
 
         return validateObjectId(id)
-                .chain(objectId -> userRepository.findById(objectId))
+                .chain(objectId -> userCache.get(objectId.toHexString(), key -> userRepository.findById(objectId)
+                        .map(userMapper::toDetailsDto)))
                 .onItem().ifNull().failWith(Unchecked.supplier(() -> {
                     Duration duration = Duration.between(start, Instant.now());
                     log.warn("user.findById.notFound - User not found after {}ms, id={}", duration.toMillis(), id);
                     throw new ApiException("Utilisateur non trouvé avec l'id: " + id, 404);
                 }))
-                .map(user -> {
-                    UserDetailsDto result = userMapper.toDetailsDto(user);
-
+                .map(result -> {
                     Duration duration = Duration.between(start, Instant.now());
                     log.info("user.findById.success - User found in {}ms, id={}, email={}",
                             duration.toMillis(), id, result.email());
@@ -159,17 +209,21 @@ public class UserService {
                         throw new ApiException("Un utilisateur existe déjà avec l'email: " + createDto.email(), 409);
                     }
 
+                    // Hashed on the hashing pool, BCrypt would hold the event loop for hundreds of milliseconds
+                    return passwordUtil.hashPasswordAsync(createDto.password());
+                }))
+                .chain(hashedPassword -> {
                     User user = userMapper.toEntity(createDto);
 
                     // Set audit fields using BaseEntity method
                     user.prePersist();
 
-                    user.setPassword(passwordUtil.hashPassword(createDto.password()));
+                    user.setPassword(hashedPassword);
 
                     log.debug("user.create.persisting - Persisting user entity, email={}", createDto.email());
 
                     return user.persist();
-                }))
+                })
                 .map(user -> {
                     UserDetailsDto result = userMapper.toDetailsDto((User) user);
 
@@ -262,6 +316,7 @@ public class UserService {
         user.preUpdate();
 
         return user.update()
+                .onTermination().invoke(() -> userCache.invalidate(user.getIdAsString()))
                 .map(v -> {
                     UserDetailsDto result = userMapper.toDetailsDto(user);
 
@@ -299,6 +354,7 @@ public class UserService {
                     log.debug("user.delete.executing - Executing delete operation, id={}, email={}", id, userEmail);
 
                     return (userEntity).delete()
+                            .onTermination().invoke(() -> userCache.invalidate(userEntity.getIdAsString()))
                             .invoke(() -> {
                                 Duration duration = Duration.between(start, Instant.now());
                                 log.info("user.delete.success - User deleted in {}ms, id={}, email={}",
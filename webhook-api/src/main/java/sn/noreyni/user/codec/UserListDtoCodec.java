@@ -0,0 +1,79 @@
+package sn.noreyni.user.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import sn.noreyni.common.codec.BsonValues;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.user.dto.UserListDto;
+
+/**
+ * Decodes the {@link #PROJECTION} of a user straight into a {@link UserListDto}
+ * The password hash and the project ID sets are never read by the list queries.
+ */
+public final class UserListDtoCodec implements Codec<UserListDto> {
+
+    public static final UserListDtoCodec INSTANCE = new UserListDtoCodec();
+
+    /**
+     * Fields of a user read by the list queries
+     */
+    public static final Document PROJECTION = new Document("first_name", 1)
+            .append("last_name", 1)
+            .append("email", 1)
+            .append("role", 1)
+            .append("active", 1);
+
+    private UserListDtoCodec() {
+    }
+
+    @Override
+    public UserListDto decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String firstName = null;
+        String lastName = null;
+        String email = null;
+        UserRole role = null;
+        boolean active = true;  // Entity default
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> id = BsonValues.readString(reader);
+                case "first_name" -> firstName = BsonValues.readString(reader);
+                case "last_name" -> lastName = BsonValues.readString(reader);
+                case "email" -> email = BsonValues.readString(reader);
+                case "role" -> role = BsonValues.readEnum(reader, UserRole.class);
+                case "active" -> active = BsonValues.readBoolean(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new UserListDto(id, firstName, lastName, email, role, active);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, UserListDto value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (value.id() != null) {
+            writer.writeObjectId("_id", new ObjectId(value.id()));
+        }
+        BsonValues.writeString(writer, "first_name", value.firstName());
+        BsonValues.writeString(writer, "last_name", value.lastName());
+        BsonValues.writeString(writer, "email", value.email());
+        BsonValues.writeEnum(writer, "role", value.role());
+        writer.writeBoolean("active", value.active());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<UserListDto> getEncoderClass() {
+        return UserListDto.class;
+    }
+}
@@ -2,7 +2,6 @@ package sn.noreyni.user.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import sn.noreyni.common.enums.UserRole;
 
@@ -23,6 +22,6 @@ public record UserCreateDto(
         @Size(min = 8, message = "Le mot de passe doit contenir au moins 8 caractères")
         String password,
 
-        @NotNull(message = "Le rôle est requis")
+        // Only applied when an administrator creates the account, MEMBER otherwise
         UserRole role
 ) {}
\ No newline at end of file
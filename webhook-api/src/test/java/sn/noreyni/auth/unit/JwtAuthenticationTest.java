@@ -0,0 +1,202 @@
+package sn.noreyni.auth.unit;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.jwt.build.Jwt;
+import jakarta.inject.Inject;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.auth.AuthConfig;
+import sn.noreyni.auth.JwtKeys;
+import sn.noreyni.auth.TokenIssuer;
+import sn.noreyni.capture.ProjectRoute;
+import sn.noreyni.capture.ProjectRoutingTable;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.access.ProjectAccessIndex;
+import sn.noreyni.user.User;
+
+import java.util.List;
+import java.util.Set;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test suite for the authentication of API calls
+ */
+@QuarkusTest
+@DisplayName("JWT Authentication Tests")
+class JwtAuthenticationTest {
+
+    @Inject
+    TokenIssuer tokenIssuer;
+
+    @Inject
+    AuthConfig authConfig;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    ProjectAccessIndex projectAccessIndex;
+
+    @Test
+    @DisplayName("Should reject API calls without a token with 401")
+    void shouldRejectMissingToken() {
+        given().when().get("/hello").then().statusCode(401);
+        given().when().get("/api/projects").then().statusCode(401);
+        given().when().get("/api/users").then().statusCode(401);
+        given().when().post("/api/import/users").then().statusCode(401);
+    }
+
+    @Test
+    @DisplayName("Should accept a token issued at login")
+    void shouldAcceptIssuedToken() {
+        // Given
+        User user = new User();
+        user.id = new ObjectId();
+        user.setEmail("admin@noreyni.sn");
+        user.setRole(UserRole.ADMIN);
+        String token = tokenIssuer.issue(user).accessToken();
+
+        // When / Then
+        given().auth().oauth2(token)
+                .when().get("/hello")
+                .then().statusCode(200).body(equalTo("Hello from Quarkus REST"));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key with 401")
+    void shouldRejectForeignToken() {
+        // Given
+        JwtKeys foreign = JwtKeys.generate();
+        String token = Jwt.issuer(authConfig.issuer())
+                .subject(new ObjectId().toHexString())
+                .jws()
+                .keyId(foreign.signingKid())
+                .sign(foreign.signingKey());
+
+        // When / Then
+        given().auth().oauth2(token).when().get("/hello").then().statusCode(401);
+    }
+
+    @Test
+    @DisplayName("Should leave the capture endpoint, the login and the sign-up public")
+    void shouldPermitPublicPaths() {
+        given().when().post("/hooks/not-an-id").then().statusCode(400);
+        given().contentType("application/json").body("{}")
+                .when().post("/api/auth/login")
+                .then().statusCode(400);
+        given().contentType("application/json").body("{}")
+                .when().post("/api/users")
+                .then().statusCode(400);
+        given().when().get("/api/users/check-email").then().statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should keep role changes and the user import to administrators")
+    void shouldRestrictRolesToAdmins() {
+        // Given
+        User member = new User();
+        member.id = new ObjectId();
+        member.setEmail("member@noreyni.sn");
+        member.setRole(UserRole.MEMBER);
+        String token = tokenIssuer.issue(member).accessToken();
+
+        // When / Then
+        given().auth().oauth2(token).body(new byte[0])
+                .when().post("/api/import/users")
+                .then().statusCode(403);
+        given().auth().oauth2(token).contentType("application/json").body("{\"role\":\"ADMIN\"}")
+                .when().put("/api/users/" + member.getIdAsString())
+                .then().statusCode(403).body("success", equalTo(false));
+    }
+
+    @Test
+    @DisplayName("Should keep the update and the deletion of an account to its user and administrators")
+    void shouldRestrictAccountChangesToOwnerAndAdmins() {
+        // Given
+        User member = new User();
+        member.id = new ObjectId();
+        member.setEmail("member@noreyni.sn");
+        member.setRole(UserRole.MEMBER);
+        String token = tokenIssuer.issue(member).accessToken();
+        String otherUserId = new ObjectId().toHexString();
+
+        // When / Then
+        given().auth().oauth2(token).contentType("application/json").body("{\"email\":\"taken@noreyni.sn\"}")
+                .when().put("/api/users/" + otherUserId)
+                .then().statusCode(403).body("success", equalTo(false));
+        given().auth().oauth2(token)
+                .when().delete("/api/users/" + otherUserId)
+                .then().statusCode(403).body("success", equalTo(false));
+    }
+
+    @Test
+    @DisplayName("Should keep the project limit overrides to administrators")
+    void shouldRestrictProjectLimitsToAdmins() {
+        // Given
+        User member = new User();
+        member.id = new ObjectId();
+        member.setEmail("owner@noreyni.sn");
+        member.setRole(UserRole.MEMBER);
+        String token = tokenIssuer.issue(member).accessToken();
+
+        // When / Then
+        given().auth().oauth2(token).contentType("application/json").body("{\"rateLimit\":0}")
+                .when().put("/api/projects/" + new ObjectId().toHexString() + "/limits")
+                .then().statusCode(403);
+    }
+
+    @Test
+    @DisplayName("Should refuse a project limit override below 1")
+    void shouldRejectDisabledLimitOverride() {
+        // Given
+        User admin = new User();
+        admin.id = new ObjectId();
+        admin.setEmail("admin@noreyni.sn");
+        admin.setRole(UserRole.ADMIN);
+        String token = tokenIssuer.issue(admin).accessToken();
+
+        // When / Then
+        given().auth().oauth2(token).contentType("application/json").body("{\"dailyQuota\":0}")
+                .when().put("/api/projects/" + new ObjectId().toHexString() + "/limits")
+                .then().statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should keep the captured requests of a private project to its owner and members")
+    void shouldRestrictCapturedRequestsToMembers() {
+        // Given: a private project owned and joined by other users
+        User outsider = new User();
+        outsider.id = new ObjectId();
+        outsider.setEmail("outsider@noreyni.sn");
+        outsider.setRole(UserRole.MEMBER);
+        String token = tokenIssuer.issue(outsider).accessToken();
+
+        Project project = new Project();
+        project.id = new ObjectId();
+        project.setOwnerId(new ObjectId().toHexString());
+        project.setMemberIds(Set.of(new ObjectId().toHexString()));
+        String projectId = project.getIdAsString();
+        projectRoutingTable.put(new ProjectRoute(projectId, ProjectStatus.ACTIVE, Visibility.PRIVATE, StorageEngine.MONGO,
+                ProjectType.SOFTWARE, null, null, null, List.of(), null));
+        projectAccessIndex.put(project);
+
+        // When / Then
+        given().auth().oauth2(token)
+                .when().get("/api/projects/" + projectId + "/requests")
+                .then().statusCode(403);
+        given().auth().oauth2(token)
+                .when().get("/api/projects/" + projectId + "/requests/" + new ObjectId().toHexString() + "/body")
+                .then().statusCode(403);
+
+        projectRoutingTable.remove(projectId);
+        projectAccessIndex.remove(projectId);
+    }
+}
@@ -0,0 +1,41 @@
+package sn.noreyni.auth.unit;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.throttle.RequestThrottle;
+import sn.noreyni.common.throttle.ThrottleConfig;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test suite for the throttling of the login attempts
+ */
+@QuarkusTest
+@DisplayName("Login Throttle Tests")
+class LoginThrottleTest {
+
+    @Inject
+    RequestThrottle requestThrottle;
+
+    @Inject
+    ThrottleConfig throttleConfig;
+
+    @Test
+    @DisplayName("Should reject the logins of an account over its limit with 429 before any lookup")
+    void shouldRejectAccountOverLimit() {
+        // Given: the attempts of the account used up, whatever the case of its email
+        for (int i = 0; i < throttleConfig.loginAccount().limit(); i++) {
+            requestThrottle.acquireLogin("Throttled@Noreyni.sn");
+        }
+
+        // When / Then: answered without reaching the database
+        given().contentType("application/json")
+                .body("{\"email\":\"throttled@noreyni.sn\",\"password\":\"wrong-password\"}")
+                .when().post("/api/auth/login")
+                .then().statusCode(429)
+                .body("success", equalTo(false));
+    }
+}
@@ -0,0 +1,160 @@
+package sn.noreyni.auth.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.security.AuthenticationFailedException;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.jwt.build.Jwt;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.auth.AuthConfig;
+import sn.noreyni.auth.JwtKeys;
+import sn.noreyni.auth.TokenVerifier;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bearer token verification and its cache
+ */
+@DisplayName("Token Verifier Tests")
+class TokenVerifierTest {
+
+    private static final String ISSUER = "https://webhook.test";
+    private static final String USER_ID = "65f000000000000000000001";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtKeys keys = JwtKeys.generate();
+    private final AtomicReference<JwtKeys> currentKeys = new AtomicReference<>(keys);
+
+    @Nested
+    @DisplayName("Verification Tests")
+    class VerificationTests {
+
+        @Test
+        @DisplayName("Should return the identity of a valid token")
+        void shouldVerifyValidToken() {
+            // Given
+            TokenVerifier verifier = verifier(true);
+
+            // When
+            SecurityIdentity identity = verifier.verify(sign(keys, ISSUER, Duration.ofHours(1)));
+
+            // Then
+            assertEquals(USER_ID, ((JsonWebToken) identity.getPrincipal()).getSubject());
+            assertTrue(identity.hasRole("ADMIN"));
+        }
+
+        @Test
+        @DisplayName("Should reject tokens signed with an unknown key, of another issuer or expired")
+        void shouldRejectInvalidTokens() {
+            // Given
+            TokenVerifier verifier = verifier(true);
+
+            // When / Then
+            assertThrows(AuthenticationFailedException.class,
+                    () -> verifier.verify(sign(JwtKeys.generate(), ISSUER, Duration.ofHours(1))));
+            assertThrows(AuthenticationFailedException.class,
+                    () -> verifier.verify(sign(keys, "https://other.test", Duration.ofHours(1))));
+            assertThrows(AuthenticationFailedException.class,
+                    () -> verifier.verify(sign(keys, ISSUER, Duration.ofMinutes(-5))));
+            assertThrows(AuthenticationFailedException.class, () -> verifier.verify("not.a.token"));
+            assertEquals(0.0, meterRegistry.get("webhook.cache.size").tag("cache", "tokens").gauge().value());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache Tests")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Should verify a token once and answer the next calls from the cache")
+        void shouldCacheVerifiedToken() {
+            // Given
+            TokenVerifier verifier = verifier(true);
+            String token = sign(keys, ISSUER, Duration.ofHours(1));
+
+            // When
+            SecurityIdentity first = verifier.verify(token);
+            SecurityIdentity second = verifier.verify(token);
+
+            // Then
+            assertSame(first, second);
+            assertEquals(1.0, meterRegistry.get("webhook.cache.hits").tag("cache", "tokens").functionCounter().count());
+            assertEquals(1.0, meterRegistry.get("webhook.cache.misses").tag("cache", "tokens").functionCounter().count());
+        }
+
+        @Test
+        @DisplayName("Should keep tokens of a still accepted key and reject those of a retired key after a rotation")
+        void shouldFollowKeyRotation() throws Exception {
+            // Given
+            TokenVerifier verifier = verifier(true);
+            String token = sign(keys, ISSUER, Duration.ofHours(1));
+            SecurityIdentity cached = verifier.verify(token);
+
+            // When: a new signing key, the previous one still accepted
+            JwtKeys rotated = JwtKeys.of(JwtKeys.generate().signingKey(), List.<PublicKey>copyOf(keys.verificationKeys().values()));
+            currentKeys.set(rotated);
+
+            // Then
+            assertSame(cached, verifier.verify(token));
+            assertNotNull(verifier.verify(sign(rotated, ISSUER, Duration.ofHours(1))));
+
+            // When: the previous key is no longer accepted
+            currentKeys.set(JwtKeys.of(rotated.signingKey(), List.of()));
+
+            // Then
+            assertThrows(AuthenticationFailedException.class, () -> verifier.verify(token));
+        }
+
+        @Test
+        @DisplayName("Should verify every call when disabled")
+        void shouldVerifyEveryCallWhenDisabled() {
+            // Given
+            TokenVerifier verifier = verifier(false);
+            String token = sign(keys, ISSUER, Duration.ofHours(1));
+
+            // When
+            SecurityIdentity first = verifier.verify(token);
+            SecurityIdentity second = verifier.verify(token);
+
+            // Then
+            assertNotSame(first, second);
+            assertNull(meterRegistry.find("webhook.cache.hits").functionCounter());
+        }
+    }
+
+    private TokenVerifier verifier(boolean cached) {
+        return new TokenVerifier(currentKeys::get, ISSUER, Duration.ZERO, config(cached), meterRegistry);
+    }
+
+    private static String sign(JwtKeys keys, String issuer, Duration lifetime) {
+        return Jwt.issuer(issuer)
+                .subject(USER_ID)
+                .upn("admin@noreyni.sn")
+                .groups("ADMIN")
+                .expiresIn(lifetime)
+                .jws()
+                .keyId(keys.signingKid())
+                .sign(keys.signingKey());
+    }
+
+    private static AuthConfig.TokenCache config(boolean enabled) {
+        return new AuthConfig.TokenCache() {
+            @Override
+            public boolean enabled() {
+                return enabled;
+            }
+
+            @Override
+            public long maximumSize() {
+                return 100;
+            }
+        };
+    }
+}
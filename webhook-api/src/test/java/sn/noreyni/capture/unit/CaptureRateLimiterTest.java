@@ -0,0 +1,140 @@
+package sn.noreyni.capture.unit;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.capture.ProjectRoute;
+import sn.noreyni.capture.limit.CaptureRateLimiter;
+import sn.noreyni.capture.limit.Rejection;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.enums.Visibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the per-project rate limits and daily quotas of the capture path
+ */
+@QuarkusTest
+@DisplayName("CaptureRateLimiter Tests")
+class CaptureRateLimiterTest {
+
+    @Inject
+    CaptureRateLimiter captureRateLimiter;
+
+    private static ProjectRoute route(Integer rate, Integer burst, Long dailyQuota) {
+        return new ProjectRoute(new ObjectId().toHexString(), ProjectStatus.ACTIVE, Visibility.PRIVATE,
+                StorageEngine.MONGO, ProjectType.OTHER, rate, burst, dailyQuota, List.of(), null);
+    }
+
+    @Nested
+    @DisplayName("Rate Limit Tests")
+    class RateLimitTests {
+
+        @Test
+        @DisplayName("Should accept a burst then reject with the time to the next token")
+        void shouldRejectAfterBurst() {
+            // Given
+            ProjectRoute route = route(1, 3, 0L);
+
+            // When
+            Rejection first = captureRateLimiter.tryAcquire(route);
+            Rejection second = captureRateLimiter.tryAcquire(route);
+            Rejection third = captureRateLimiter.tryAcquire(route);
+            Rejection fourth = captureRateLimiter.tryAcquire(route);
+
+            // Then
+            assertNull(first);
+            assertNull(second);
+            assertNull(third);
+            assertNotNull(fourth);
+            assertEquals(Rejection.Reason.RATE, fourth.reason());
+            assertEquals(3, fourth.limit());
+            assertEquals(1, fourth.resetSeconds());
+        }
+
+        @Test
+        @DisplayName("Should not limit a project with a zero rate")
+        void shouldNotLimitZeroRate() {
+            // Given
+            ProjectRoute route = route(0, 1, 0L);
+
+            // When / Then
+            for (int i = 0; i < 1000; i++) {
+                assertNull(captureRateLimiter.tryAcquire(route));
+            }
+        }
+
+        @Test
+        @DisplayName("Should resolve new limits when the project route changes")
+        void shouldResolveNewLimitsOnRouteChange() {
+            // Given
+            ProjectRoute route = route(1, 1, 0L);
+            captureRateLimiter.tryAcquire(route);
+            assertNotNull(captureRateLimiter.tryAcquire(route));
+
+            // When
+            ProjectRoute updated = new ProjectRoute(route.projectId(), route.status(), route.visibility(),
+                    route.storageEngine(), route.type(), 0, null, 0L, route.destinations(), route.signature());
+
+            // Then
+            assertNull(captureRateLimiter.tryAcquire(updated));
+        }
+    }
+
+    @Nested
+    @DisplayName("Daily Quota Tests")
+    class DailyQuotaTests {
+
+        @Test
+        @DisplayName("Should reject once the daily quota is reached")
+        void shouldRejectOverQuota() {
+            // Given
+            ProjectRoute route = route(0, null, 2L);
+
+            // When
+            Rejection first = captureRateLimiter.tryAcquire(route);
+            Rejection second = captureRateLimiter.tryAcquire(route);
+            Rejection third = captureRateLimiter.tryAcquire(route);
+
+            // Then
+            assertNull(first);
+            assertNull(second);
+            assertNotNull(third);
+            assertEquals(Rejection.Reason.QUOTA, third.reason());
+            assertEquals(2, third.limit());
+            assertTrue(third.resetSeconds() > 0 && third.resetSeconds() <= 86_400);
+        }
+
+        @Test
+        @DisplayName("Should keep the day count and the bucket when the project route changes")
+        void shouldKeepStateOnRouteChange() {
+            // Given
+            ProjectRoute route = route(1, 1, 2L);
+            assertNull(captureRateLimiter.tryAcquire(route));
+
+            // When: an edit that does not touch the limits builds a new route
+            ProjectRoute edited = new ProjectRoute(route.projectId(), route.status(), Visibility.PUBLIC,
+                    route.storageEngine(), route.type(), route.rateLimit(), route.rateBurst(), route.dailyQuota(),
+                    route.destinations(), route.signature());
+            Rejection rate = captureRateLimiter.tryAcquire(edited);
+            ProjectRoute unlimitedRate = new ProjectRoute(route.projectId(), route.status(), route.visibility(),
+                    route.storageEngine(), route.type(), 0, null, 2L, route.destinations(), route.signature());
+            Rejection second = captureRateLimiter.tryAcquire(unlimitedRate);
+            Rejection third = captureRateLimiter.tryAcquire(unlimitedRate);
+
+            // Then
+            assertNotNull(rate);
+            assertEquals(Rejection.Reason.RATE, rate.reason());
+            assertNull(second);
+            assertNotNull(third);
+            assertEquals(Rejection.Reason.QUOTA, third.reason());
+        }
+    }
+}
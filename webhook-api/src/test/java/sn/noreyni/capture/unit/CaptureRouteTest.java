@@ -0,0 +1,227 @@
+package sn.noreyni.capture.unit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.vertx.core.MultiMap;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.capture.CaptureRoute;
+import sn.noreyni.capture.ProjectRoute;
+import sn.noreyni.capture.ProjectRoutingTable;
+import sn.noreyni.capture.limit.CaptureRateLimiter;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.enums.Visibility;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test suite for the webhook capture route
+ */
+@QuarkusTest
+@DisplayName("CaptureRoute Tests")
+class CaptureRouteTest {
+
+    private static final String ACTIVE_PROJECT_ID = "65a1b2c3d4e5f6a7b8c9d0e1";
+    private static final String SUSPENDED_PROJECT_ID = "65a1b2c3d4e5f6a7b8c9d0e2";
+    private static final String LIMITED_PROJECT_ID = "65a1b2c3d4e5f6a7b8c9d0e3";
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    CaptureRateLimiter captureRateLimiter;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        projectRoutingTable.put(new ProjectRoute(ACTIVE_PROJECT_ID, ProjectStatus.ACTIVE, Visibility.PRIVATE, StorageEngine.MONGO,
+                ProjectType.SOFTWARE, null, null, null, List.of(), null));
+        projectRoutingTable.put(new ProjectRoute(SUSPENDED_PROJECT_ID, ProjectStatus.SUSPENDED, Visibility.PRIVATE, StorageEngine.MONGO,
+                ProjectType.SOFTWARE, null, null, null, List.of(), null));
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should reject an invalid project ID with 400")
+        void shouldRejectInvalidProjectId() {
+            given()
+                    .body("{\"event\":\"test\"}")
+                    .contentType("application/json")
+                    .when()
+                    .post("/hooks/not-an-object-id/events")
+                    .then()
+                    .statusCode(400)
+                    .body("success", equalTo(false));
+        }
+
+        @Test
+        @DisplayName("Should reject a suspended project with 403")
+        void shouldRejectSuspendedProject() {
+            given()
+                    .body("{\"event\":\"test\"}")
+                    .contentType("application/json")
+                    .when()
+                    .post("/hooks/" + SUSPENDED_PROJECT_ID + "/events")
+                    .then()
+                    .statusCode(403)
+                    .body("success", equalTo(false));
+        }
+
+        @Test
+        @DisplayName("Should close the connection when rejecting before the body is read")
+        void shouldCloseConnectionOnEarlyReject() {
+            given()
+                    .body(new byte[32 * 1024])
+                    .contentType("application/octet-stream")
+                    .when()
+                    .post("/hooks/" + SUSPENDED_PROJECT_ID + "/upload")
+                    .then()
+                    .statusCode(403)
+                    .header("Connection", "close");
+
+            // The next request gets a fresh connection
+            given()
+                    .body("{\"event\":\"test\"}")
+                    .contentType("application/json")
+                    .when()
+                    .post("/hooks/" + SUSPENDED_PROJECT_ID + "/events")
+                    .then()
+                    .statusCode(403);
+        }
+
+        @Test
+        @DisplayName("Should answer 429 with rate-limit headers once the bucket is empty")
+        void shouldRejectOverRateLimit() {
+            // Given
+            ProjectRoute route = new ProjectRoute(LIMITED_PROJECT_ID, ProjectStatus.ACTIVE, Visibility.PRIVATE,
+                    StorageEngine.MONGO, ProjectType.OTHER, 1, 1, null, List.of(), null);
+            projectRoutingTable.put(route);
+            captureRateLimiter.tryAcquire(route);
+
+            // When / Then
+            given()
+                    .body("{\"event\":\"test\"}")
+                    .contentType("application/json")
+                    .when()
+                    .post("/hooks/" + LIMITED_PROJECT_ID + "/events")
+                    .then()
+                    .statusCode(429)
+                    .header("RateLimit-Limit", "1")
+                    .header("RateLimit-Remaining", "0")
+                    .header("Retry-After", notNullValue())
+                    .body("success", equalTo(false));
+        }
+
+        @Test
+        @DisplayName("Should reject a body above the maximum size with 413")
+        void shouldRejectTooLargeBody() {
+            given()
+                    .body(new byte[128 * 1024])
+                    .contentType("application/octet-stream")
+                    .when()
+                    .post("/hooks/" + ACTIVE_PROJECT_ID + "/upload")
+                    .then()
+                    .statusCode(413)
+                    .body("success", equalTo(false));
+        }
+
+        @Test
+        @DisplayName("Should reject a body too large for a MongoDB document with 413")
+        void shouldRejectBodyOverMongoMaxSize() {
+            given()
+                    .body(new byte[48 * 1024])
+                    .contentType("application/octet-stream")
+                    .when()
+                    .post("/hooks/" + ACTIVE_PROJECT_ID + "/upload")
+                    .then()
+                    .statusCode(413)
+                    .body("success", equalTo(false));
+        }
+
+        @Test
+        @DisplayName("Should reject a chunked body growing above the maximum size with 413")
+        void shouldRejectTooLargeChunkedBody() {
+            given()
+                    .body(new ByteArrayInputStream(new byte[128 * 1024]))
+                    .contentType("application/octet-stream")
+                    .when()
+                    .post("/hooks/" + ACTIVE_PROJECT_ID + "/upload")
+                    .then()
+                    .statusCode(413)
+                    .body("success", equalTo(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Routing Table Tests")
+    class RoutingTableTests {
+
+        @Test
+        @DisplayName("Should count a miss on find only, not again on resolve")
+        void shouldCountMissOnce() {
+            // Given
+            String projectId = "not-an-object-id";
+            double before = meterRegistry.counter("webhook.routing.table.misses").count();
+
+            // When
+            projectRoutingTable.find(projectId);
+            projectRoutingTable.resolve(projectId).await().indefinitely();
+
+            // Then
+            assertEquals(before + 1, meterRegistry.counter("webhook.routing.table.misses").count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Request Mapping Tests")
+    class RequestMappingTests {
+
+        private static final String PROJECT_ID = "65a1b2c3d4e5f6a7b8c9d0e1";
+
+        @Test
+        @DisplayName("Should extract the sub-path after the project ID")
+        void shouldExtractSubPath() {
+            assertEquals("/payments/events", CaptureRoute.subPath("/hooks/" + PROJECT_ID + "/payments/events", PROJECT_ID));
+        }
+
+        @Test
+        @DisplayName("Should default to root when there is no sub-path")
+        void shouldDefaultToRootSubPath() {
+            assertEquals("/", CaptureRoute.subPath("/hooks/" + PROJECT_ID, PROJECT_ID));
+        }
+
+        @Test
+        @DisplayName("Should keep repeated headers")
+        void shouldKeepRepeatedHeaders() {
+            // Given
+            MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                    .add("X-Signature", "a")
+                    .add("X-Signature", "b")
+                    .add("Content-Type", "application/json");
+
+            // When
+            Map<String, List<String>> result = CaptureRoute.toHeaderMap(headers);
+
+            // Then
+            assertEquals(List.of("a", "b"), result.get("X-Signature"));
+            assertEquals(List.of("application/json"), result.get("Content-Type"));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package sn.noreyni.capture.unit;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.capture.CaptureStorage;
+import sn.noreyni.capture.CaptureWriter;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.capture.CapturedRequestStore;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.exception.ApiException;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the group-commit writer of captured requests
+ */
+@QuarkusTest
+@DisplayName("CaptureWriter Tests")
+class CaptureWriterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Inject
+    CaptureWriter captureWriter;
+
+    private volatile Function<List<CapturedRequest>, Uni<Void>> persist;
+    private final List<CapturedRequest> persisted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        persist = requests -> Uni.createFrom().voidItem();
+        CapturedRequestStore store = new FakeStore();
+        QuarkusMock.installMockForType(new CaptureStorage() {
+            @Override
+            public CapturedRequestStore store(StorageEngine engine) {
+                return store;
+            }
+        }, CaptureStorage.class);
+    }
+
+    @Nested
+    @DisplayName("Failure Tests")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should only fail the documents listed in the bulk write errors")
+        void shouldFailOnlyBadDocuments() throws Exception {
+            // Given: the store refuses the documents with a DELETE method
+            persist = requests -> {
+                List<BulkWriteError> errors = new ArrayList<>();
+                for (int i = 0; i < requests.size(); i++) {
+                    if ("DELETE".equals(requests.get(i).getMethod())) {
+                        errors.add(new BulkWriteError(11000, "duplicate key", new BsonDocument(), i));
+                    }
+                }
+                if (errors.isEmpty()) {
+                    return Uni.createFrom().voidItem();
+                }
+                return Uni.createFrom().failure(new MongoBulkWriteException(
+                        BulkWriteResult.acknowledged(requests.size() - errors.size(), 0, 0, 0, List.of(), List.of()),
+                        errors, null, new ServerAddress(), Set.of()));
+            };
+
+            // When
+            CompletableFuture<Void> first = submit("POST");
+            CompletableFuture<Void> bad = submit("DELETE");
+            CompletableFuture<Void> last = submit("PUT");
+
+            // Then
+            assertNull(first.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            assertNull(last.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> bad.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            assertInstanceOf(MongoBulkWriteException.class, failure.getCause());
+        }
+
+        @Test
+        @DisplayName("Should refuse alone a request too large for a MongoDB document")
+        void shouldRefuseOversizedDocumentAlone() throws Exception {
+            // When
+            CompletableFuture<Void> oversized = submit("POST", 1024 * 1024);
+            CompletableFuture<Void> other = submit("POST", 0);
+
+            // Then
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> oversized.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            ApiException apiException = assertInstanceOf(ApiException.class, failure.getCause());
+            assertEquals(413, apiException.getStatusCode());
+            assertNull(other.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        @DisplayName("Should keep writing after a failed batch")
+        void shouldKeepWritingAfterFailure() throws Exception {
+            // Given
+            persist = requests -> Uni.createFrom().failure(new IllegalStateException("MongoDB unreachable"));
+            CompletableFuture<Void> failed = submit("POST");
+            assertThrows(ExecutionException.class, () -> failed.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+            // When
+            persist = requests -> Uni.createFrom().voidItem();
+            CompletableFuture<Void> next = submit("POST");
+
+            // Then
+            assertNull(next.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        @DisplayName("Should keep writing after a store throwing instead of failing")
+        void shouldKeepWritingAfterThrow() throws Exception {
+            // Given
+            persist = requests -> {
+                throw new IllegalStateException("codec error");
+            };
+            CompletableFuture<Void> failed = submit("POST");
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> failed.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            assertEquals("codec error", failure.getCause().getMessage());
+
+            // When
+            persist = requests -> Uni.createFrom().voidItem();
+            CompletableFuture<Void> next = submit("POST");
+
+            // Then
+            assertNull(next.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure Tests")
+    class BackpressureTests {
+
+        @Test
+        @DisplayName("Should reject with 429 once the queue is full and drain it afterwards")
+        void shouldRejectWhenFull() throws Exception {
+            // Given: a write that does not complete holds the queue
+            CompletableFuture<Void> gate = new CompletableFuture<>();
+            persist = requests -> Uni.createFrom().completionStage(gate);
+
+            // When
+            List<CompletableFuture<Void>> accepted = new ArrayList<>();
+            CompletableFuture<Void> rejected = null;
+            for (int i = 0; i < 100_000 && rejected == null; i++) {
+                CompletableFuture<Void> result = submit("POST");
+                if (result.isCompletedExceptionally()) {
+                    rejected = result;
+                } else {
+                    accepted.add(result);
+                }
+            }
+
+            // Then
+            assertNotNull(rejected, "the queue should fill up");
+            ExecutionException failure = assertThrows(ExecutionException.class, rejected::get);
+            ApiException apiException = assertInstanceOf(ApiException.class, failure.getCause());
+            assertEquals(429, apiException.getStatusCode());
+
+            gate.complete(null);
+            CompletableFuture.allOf(accepted.toArray(CompletableFuture[]::new))
+                    .get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            assertEquals(0, captureWriter.queueDepth());
+            synchronized (persisted) {
+                assertTrue(persisted.size() >= accepted.size());
+            }
+        }
+    }
+
+    private CompletableFuture<Void> submit(String method) {
+        return submit(method, 0);
+    }
+
+    private CompletableFuture<Void> submit(String method, long bodySize) {
+        CapturedRequest request = new CapturedRequest();
+        request.id = new ObjectId();
+        request.setProjectId(new ObjectId().toHexString());
+        request.setMethod(method);
+        request.setBodySize(bodySize);
+        request.setStorageEngine(StorageEngine.MONGO);
+        return captureWriter.submit(request).subscribeAsCompletionStage();
+    }
+
+    private class FakeStore implements CapturedRequestStore {
+
+        @Override
+        public Uni<Void> persist(List<CapturedRequest> requests) {
+            return persist.apply(requests).invoke(() -> {
+                synchronized (persisted) {
+                    persisted.addAll(requests);
+                }
+            });
+        }
+
+        @Override
+        public Uni<List<CapturedRequest>> findRecentByProjectId(String projectId, int limit) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        @Override
+        public Uni<CapturedRequest> findById(String projectId, ObjectId id) {
+            return Uni.createFrom().nullItem();
+        }
+
+        @Override
+        public Uni<ByteBuffer> findBody(String projectId, ObjectId id) {
+            return Uni.createFrom().nullItem();
+        }
+
+        @Override
+        public Uni<Long> countByProjectId(String projectId) {
+            return Uni.createFrom().item(0L);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package sn.noreyni.capture.unit;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sn.noreyni.capture.CapturedBody;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.capture.log.CaptureRecordCodec;
+import sn.noreyni.capture.log.LogPosition;
+import sn.noreyni.capture.log.SegmentLog;
+import sn.noreyni.common.enums.SignatureStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the memory-mapped capture log: append/read, segment rolling, torn-tail recovery and retention
+ */
+@DisplayName("SegmentLog Tests")
+class SegmentLogTest {
+
+    private static final String PROJECT_ID = new ObjectId().toHexString();
+
+    @TempDir
+    Path directory;
+
+    private static CapturedRequest request(String body) {
+        CapturedRequest request = new CapturedRequest();
+        request.id = new ObjectId();
+        request.setProjectId(PROJECT_ID);
+        request.setMethod("POST");
+        request.setPath("/events");
+        request.setQuery("source=test");
+        request.setHeaders(Map.of("Content-Type", List.of("application/json")));
+        request.setContentType("application/json");
+        request.setReceivedAt(LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_789));
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        request.setBody(bytes);
+        request.setBodySize(bytes.length);
+        return request;
+    }
+
+    private static String text(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Append and read")
+    class AppendAndRead {
+
+        @Test
+        @DisplayName("Should read back an appended record with its body")
+        void shouldReadBackRecord() throws IOException {
+            // Given
+            SegmentLog log = SegmentLog.open(PROJECT_ID, directory, 4096);
+            CapturedRequest original = request("{\"event\":\"created\"}");
+
+            // When
+            LogPosition position = log.append(CaptureRecordCodec.prepare(original));
+            CapturedRequest read = CaptureRecordCodec.read(log.read(position.segment(), position.position()), PROJECT_ID, true);
+
+            // Then
+            assertEquals(original.id, read.id);
+            assertEquals("POST", read.getMethod());
+            assertEquals("/events", read.getPath());
+            assertEquals("source=test", read.getQuery());
+            assertEquals(List.of("application/json"), read.getHeaders().get("Content-Type"));
+            assertEquals(original.getReceivedAt(), read.getReceivedAt());
+            assertEquals("{\"event\":\"created\"}", new String(read.getBody(), StandardCharsets.UTF_8));
+            assertEquals("{\"event\":\"created\"}",
+                    text(log.slice(position.segment(), position.bodyOffset(), position.bodySize())));
+            log.close();
+        }
+
+        @Test
+        @DisplayName("Should keep the signature status and still read records written before it")
+        void shouldReadSignatureStatus() throws IOException {
+            // Given
+            CapturedRequest original = request("{}");
+            original.setSignatureStatus(SignatureStatus.INVALID);
+            CaptureRecordCodec.Prepared prepared = CaptureRecordCodec.prepare(original);
+            ByteBuffer record = ByteBuffer.allocate(prepared.size());
+            CaptureRecordCodec.write(prepared, record, 0);
+
+            // Version 1 layout: same record without the signature byte after the timestamp
+            int signatureOffset = 1 + 12 + Long.BYTES + Integer.BYTES;
+            ByteBuffer legacy = ByteBuffer.allocate(prepared.size() - 1)
+                    .put(record.slice(0, signatureOffset))
+                    .put(record.slice(signatureOffset + 1, prepared.size() - signatureOffset - 1))
+                    .put(0, (byte) 1)
+                    .flip();
+
+            // When
+            CapturedRequest read = CaptureRecordCodec.read(record, PROJECT_ID, true);
+            CapturedRequest legacyRead = CaptureRecordCodec.read(legacy, PROJECT_ID, true);
+
+            // Then
+            assertEquals(SignatureStatus.INVALID, read.getSignatureStatus());
+            assertNull(legacyRead.getSignatureStatus());
+            assertEquals(original.id, legacyRead.id);
+            assertEquals("{}", new String(legacyRead.getBody(), StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Should transfer a spilled body from its file into the segment")
+        void shouldTransferSpilledBody() throws IOException {
+            // Given
+            SegmentLog log = SegmentLog.open(PROJECT_ID, directory.resolve("log"), 4096);
+            Path spillFile = Files.writeString(directory.resolve("spill.body"), "x".repeat(1500));
+            CapturedRequest original = request("");
+            original.setBody(null);
+            original.setRawBody(CapturedBody.spilled(spillFile, 1500));
+
+            // When
+            LogPosition position = log.append(CaptureRecordCodec.prepare(original));
+
+            // Then
+            assertEquals(1500, position.bodySize());
+            assertEquals("x".repeat(1500), text(log.slice(position.segment(), position.bodyOffset(), position.bodySize())));
+            log.close();
+        }
+
+        @Test
+        @DisplayName("Should roll to a new segment when the active one is full")
+        void shouldRollSegment() throws IOException {
+            // Given
+            SegmentLog log = SegmentLog.open(PROJECT_ID, directory, 256);
+
+            // When
+            LogPosition first = log.append(CaptureRecordCodec.prepare(request("a".repeat(100))));
+            LogPosition second = log.append(CaptureRecordCodec.prepare(request("b".repeat(100))));
+
+            // Then
+            assertEquals(0, first.segment());
+            assertEquals(1, second.segment());
+            assertEquals(2, log.segmentCount());
+            assertEquals("a".repeat(100), text(log.slice(first.segment(), first.bodyOffset(), first.bodySize())));
+            assertEquals("b".repeat(100), text(log.slice(second.segment(), second.bodyOffset(), second.bodySize())));
+            log.close();
+        }
+
+        @Test
+        @DisplayName("Should keep records readable after reopening the log")
+        void shouldReopen() throws IOException {
+            // Given
+            SegmentLog log = SegmentLog.open(PROJECT_ID, directory, 256);
+            LogPosition first = log.append(CaptureRecordCodec.prepare(request("a".repeat(100))));
+            LogPosition second = log.append(CaptureRecordCodec.prepare(request("b".repeat(100))));
+            log.close();
+
+            // When
+            SegmentLog reopened = SegmentLog.open(PROJECT_ID, directory, 256);
+            LogPosition third = reopened.append(CaptureRecordCodec.prepare(request("c")));
+
+            // Then
+            assertEquals("a".repeat(100), text(reopened.slice(first.segment(), first.bodyOffset(), first.bodySize())));
+            assertEquals("b".repeat(100), text(reopened.slice(second.segment(), second.bodyOffset(), second.bodySize())));
+            assertTrue(third.segment() > second.segment() || third.position() > second.position());
+            assertEquals("c", text(reopened.slice(third.segment(), third.bodyOffset(), third.bodySize())));
+            reopened.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recovery and retention")
+    class RecoveryAndRetention {
+
+        @Test
+        @DisplayName("Should clear a torn record at the tail of the active segment")
+        void shouldRecoverTornTail() throws IOException {
+            // Given
+            SegmentLog log = SegmentLog.open(PROJECT_ID, directory, 4096);
+            LogPosition kept = log.append(CaptureRecordCodec.prepare(request("kept")));
+            LogPosition torn = log.append(CaptureRecordCodec.prepare(request("torn")));
+            log.close();
+
+            // Corrupt the payload of the last record, its checksum no longer matches
+            Path segmentFile;
+            try (Stream<Path> files = Files.list(directory)) {
+                segmentFile = files.findFirst().orElseThrow();
+            }
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), torn.bodyOffset());
+            }
+
+            // When
+            SegmentLog recovered = SegmentLog.open(PROJECT_ID, directory, 4096);
+            LogPosition next = recovered.append(CaptureRecordCodec.prepare(request("next")));
+
+            // Then
+            assertEquals("kept", text(recovered.slice(kept.segment(), kept.bodyOffset(), kept.bodySize())));
+            assertEquals(torn.position(), next.position());
+            assertEquals("next", text(recovered.slice(next.segment(), next.bodyOffset(), next.bodySize())));
+            recovered.close();
+        }
+
+        @Test
+        @DisplayName("Should expire old sealed segments and keep a recent active one")
+        void shouldDeleteSealedSegments() throws IOException {
+            // Given
+            SegmentLog log = SegmentLog.open(PROJECT_ID, directory, 256);
+            LogPosition old = log.append(CaptureRecordCodec.prepare(request("a".repeat(100))));
+            Instant cutoff = Instant.now().plusSeconds(60);
+            log.append(CaptureRecordCodec.prepare(request("b".repeat(100))));
+
+            // When
+            List<Long> expired = log.expiredSegments(Instant.now().minusSeconds(60));
+            List<Long> expiredLater = log.expiredSegments(cutoff);
+            log.delete(expiredLater);
+
+            // Then: the reads of a deleted segment find nothing instead of failing
+            assertEquals(List.of(), expired);
+            assertTrue(expiredLater.contains(old.segment()));
+            assertNull(log.read(old.segment(), old.position()));
+            assertNull(log.slice(old.segment(), old.bodyOffset(), old.bodySize()));
+            log.close();
+        }
+
+        @Test
+        @DisplayName("Should seal an active segment older than the retention")
+        void shouldSealOldActiveSegment() throws IOException {
+            // Given: a single record that never fills its segment
+            SegmentLog log = SegmentLog.open(PROJECT_ID, directory, 4096);
+            LogPosition position = log.append(CaptureRecordCodec.prepare(request("quiet")));
+
+            // When
+            List<Long> expired = log.expiredSegments(Instant.now().plusSeconds(60));
+            log.delete(expired);
+            LogPosition next = log.append(CaptureRecordCodec.prepare(request("next")));
+
+            // Then
+            assertEquals(List.of(position.segment()), expired);
+            assertEquals(1, log.segmentCount());
+            assertNotEquals(position.segment(), next.segment());
+            assertEquals("next", text(log.slice(next.segment(), next.bodyOffset(), next.bodySize())));
+            log.close();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package sn.noreyni.capture.unit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.MultiMap;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.capture.ProjectRoute;
+import sn.noreyni.capture.signature.SignatureCheck;
+import sn.noreyni.capture.signature.SignatureVerifier;
+import sn.noreyni.common.enums.SignatureAlgorithm;
+import sn.noreyni.common.enums.SignatureFormat;
+import sn.noreyni.common.enums.SignatureStatus;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.WebhookSignature;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming HMAC verification of captured requests
+ */
+@DisplayName("SignatureVerifier Tests")
+class SignatureVerifierTest {
+
+    private static final String SECRET = "whsec_test";
+    private static final String BODY = "{\"action\":\"opened\",\"number\":42}";
+
+    private static WebhookSignature signature(SignatureAlgorithm algorithm, String header, SignatureFormat format, String prefix) {
+        WebhookSignature signature = new WebhookSignature();
+        signature.setAlgorithm(algorithm);
+        signature.setHeader(header);
+        signature.setFormat(format);
+        signature.setPrefix(prefix);
+        signature.setSecret(SECRET);
+        return signature;
+    }
+
+    private static byte[] hmac(SignatureAlgorithm algorithm, String payload) throws Exception {
+        Mac mac = Mac.getInstance(algorithm.getJcaName());
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), algorithm.getJcaName()));
+        return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SignatureStatus verify(SignatureVerifier verifier, MultiMap headers, ByteBuf... chunks) {
+        SignatureCheck check = verifier.start(headers);
+        for (ByteBuf chunk : chunks) {
+            check.update(chunk);
+        }
+        return check.finish();
+    }
+
+    private static ByteBuf utf8(String text) {
+        return Unpooled.wrappedBuffer(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("Formats")
+    class Formats {
+
+        @Test
+        @DisplayName("Should accept a prefixed hex signature (GitHub)")
+        void shouldAcceptPrefixedHex() throws Exception {
+            // Given
+            SignatureVerifier verifier = SignatureVerifier.of(
+                    signature(SignatureAlgorithm.HMAC_SHA256, "X-Hub-Signature-256", SignatureFormat.HEX, "sha256="));
+            MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                    .add("x-hub-signature-256", "sha256=" + HexFormat.of().formatHex(hmac(SignatureAlgorithm.HMAC_SHA256, BODY)));
+
+            // When
+            SignatureStatus status = verify(verifier, headers, utf8(BODY));
+
+            // Then
+            assertEquals(SignatureStatus.VALID, status);
+        }
+
+        @Test
+        @DisplayName("Should accept a base64 signature (Shopify)")
+        void shouldAcceptBase64() throws Exception {
+            // Given
+            SignatureVerifier verifier = SignatureVerifier.of(
+                    signature(SignatureAlgorithm.HMAC_SHA512, "X-Shopify-Hmac-Sha256", SignatureFormat.BASE64, null));
+            MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                    .add("X-Shopify-Hmac-Sha256", Base64.getEncoder().encodeToString(hmac(SignatureAlgorithm.HMAC_SHA512, BODY)));
+
+            // When
+            SignatureStatus status = verify(verifier, headers, utf8(BODY));
+
+            // Then
+            assertEquals(SignatureStatus.VALID, status);
+        }
+
+        @Test
+        @DisplayName("Should accept any v1 signature of a recent Stripe header and reject an expired one")
+        void shouldCheckStripeHeader() throws Exception {
+            // Given
+            SignatureVerifier verifier = SignatureVerifier.of(
+                    signature(SignatureAlgorithm.HMAC_SHA256, "Stripe-Signature", SignatureFormat.STRIPE, null));
+            long now = System.currentTimeMillis() / 1000;
+            String valid = HexFormat.of().formatHex(hmac(SignatureAlgorithm.HMAC_SHA256, now + "." + BODY));
+            String expired = HexFormat.of().formatHex(hmac(SignatureAlgorithm.HMAC_SHA256, (now - 600) + "." + BODY));
+
+            // When
+            SignatureStatus rolled = verify(verifier, MultiMap.caseInsensitiveMultiMap()
+                    .add("Stripe-Signature", "t=" + now + ",v1=" + "0".repeat(64) + ",v1=" + valid), utf8(BODY));
+            SignatureStatus old = verify(verifier, MultiMap.caseInsensitiveMultiMap()
+                    .add("Stripe-Signature", "t=" + (now - 600) + ",v1=" + expired), utf8(BODY));
+
+            // Then
+            assertEquals(SignatureStatus.VALID, rolled);
+            assertEquals(SignatureStatus.INVALID, old);
+        }
+    }
+
+    @Nested
+    @DisplayName("Verification")
+    class Verification {
+
+        private final SignatureVerifier verifier = SignatureVerifier.of(
+                signature(SignatureAlgorithm.HMAC_SHA256, "X-Signature", SignatureFormat.HEX, null));
+
+        @Test
+        @DisplayName("Should hash a body received in chunks, heap or direct, like the whole body")
+        void shouldHashChunks() throws Exception {
+            // Given
+            MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                    .add("X-Signature", HexFormat.of().formatHex(hmac(SignatureAlgorithm.HMAC_SHA256, BODY)));
+            byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+            ByteBuf direct = Unpooled.directBuffer().writeBytes(bytes, 10, 10);
+            CompositeByteBuf composite = Unpooled.compositeBuffer()
+                    .addComponent(true, Unpooled.wrappedBuffer(bytes, 20, 5))
+                    .addComponent(true, Unpooled.directBuffer().writeBytes(bytes, 25, bytes.length - 25));
+
+            // When
+            SignatureStatus status = verify(verifier, headers, Unpooled.wrappedBuffer(bytes, 0, 10), direct, composite);
+
+            // Then
+            assertEquals(SignatureStatus.VALID, status);
+            direct.release();
+            composite.release();
+        }
+
+        @Test
+        @DisplayName("Should reject a tampered body and report a missing header")
+        void shouldRejectTamperedBody() throws Exception {
+            // Given
+            MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                    .add("X-Signature", HexFormat.of().formatHex(hmac(SignatureAlgorithm.HMAC_SHA256, BODY)));
+
+            // When
+            SignatureStatus tampered = verify(verifier, headers, utf8(BODY.replace("42", "43")));
+            SignatureStatus missing = verify(verifier, MultiMap.caseInsensitiveMultiMap(), utf8(BODY));
+            SignatureStatus malformed = verify(verifier, MultiMap.caseInsensitiveMultiMap().add("X-Signature", "zz"), utf8(BODY));
+
+            // Then
+            assertEquals(SignatureStatus.INVALID, tampered);
+            assertEquals(SignatureStatus.MISSING, missing);
+            assertEquals(SignatureStatus.INVALID, malformed);
+        }
+
+        @Test
+        @DisplayName("Should reuse a released Mac for the next request")
+        void shouldReuseMacAfterAbort() throws Exception {
+            // Given: an aborted request leaves no state behind
+            MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                    .add("X-Signature", HexFormat.of().formatHex(hmac(SignatureAlgorithm.HMAC_SHA256, BODY)));
+            SignatureCheck aborted = verifier.start(headers);
+            aborted.update(utf8("partial"));
+            aborted.abort();
+
+            // When
+            SignatureStatus status = verify(verifier, headers, utf8(BODY));
+
+            // Then
+            assertEquals(SignatureStatus.VALID, status);
+        }
+
+        @Test
+        @DisplayName("Should keep the verifier of an updated route while its configuration is unchanged")
+        void shouldKeepVerifierAcrossUpdates() {
+            // Given
+            Project project = new Project();
+            project.id = new ObjectId();
+            project.setSignature(signature(SignatureAlgorithm.HMAC_SHA256, "X-Signature", SignatureFormat.HEX, null));
+            ProjectRoute route = ProjectRoute.of(project);
+
+            // When
+            project.setRateLimit(10);
+            ProjectRoute updated = ProjectRoute.of(project, route);
+            project.getSignature().setSecret("whsec_rotated");
+            ProjectRoute rotated = ProjectRoute.of(project, updated);
+
+            // Then
+            assertSame(route.signature(), updated.signature());
+            assertNotSame(updated.signature(), rotated.signature());
+            assertFalse(rotated.signature().matches(signature(SignatureAlgorithm.HMAC_SHA256, "X-Signature", SignatureFormat.HEX, null)));
+        }
+
+        @Test
+        @DisplayName("Should not verify without a secret or once disabled")
+        void shouldSkipWithoutSecret() {
+            // Given
+            WebhookSignature withoutSecret = signature(SignatureAlgorithm.HMAC_SHA256, "X-Signature", SignatureFormat.HEX, null);
+            withoutSecret.setSecret(null);
+            WebhookSignature disabled = signature(SignatureAlgorithm.HMAC_SHA256, "X-Signature", SignatureFormat.HEX, null);
+            disabled.setEnabled(false);
+
+            // Then
+            assertNull(SignatureVerifier.of(null));
+            assertNull(SignatureVerifier.of(withoutSecret));
+            assertNull(SignatureVerifier.of(disabled));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package sn.noreyni.common.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.utils.BoundedExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded executor of the password hashing
+ */
+@DisplayName("Bounded Executor Tests")
+class BoundedExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BoundedExecutor executor = new BoundedExecutor("password", 1, 1, "File saturée", meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run a task off the calling thread")
+    void shouldRunOnPool() {
+        // When
+        String thread = executor.submit(() -> Thread.currentThread().getName())
+                .await().atMost(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals("password-1", thread);
+    }
+
+    @Test
+    @DisplayName("Should reject at once with 429 when the queue is full")
+    void shouldRejectWhenFull() throws InterruptedException {
+        // Given: one task running, one waiting
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            running.countDown();
+            awaitQuietly(release);
+            return 1;
+        }).subscribe().with(ignored -> {
+        });
+        running.await();
+        Uni<Integer> queued = executor.submit(() -> 2).memoize().indefinitely();
+        queued.subscribe().with(ignored -> {
+        });
+
+        // When
+        ApiException rejection = assertThrows(ApiException.class,
+                () -> executor.submit(() -> 3).await().atMost(Duration.ofSeconds(1)));
+
+        // Then
+        assertEquals(429, rejection.getStatusCode());
+        assertEquals(1.0, meterRegistry.get("webhook.password.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("webhook.password.queue.depth").gauge().value());
+
+        release.countDown();
+        assertEquals(2, queued.await().atMost(Duration.ofSeconds(5)));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package sn.noreyni.common.unit;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.exception.ApiException;
+import sn.noreyni.common.pagination.Cursor;
+import sn.noreyni.common.response.PaginationMeta;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the keyset pagination cursor
+ */
+@DisplayName("Cursor Tests")
+class CursorTest {
+
+    private static final ObjectId ID = new ObjectId("65f000000000000000000001");
+
+    @Nested
+    @DisplayName("Token Tests")
+    class TokenTests {
+
+        @Test
+        @DisplayName("Should decode what it encodes")
+        void shouldRoundTrip() {
+            // Given
+            Cursor cursor = new Cursor("name", -1, "Projet 42", ID);
+
+            // When
+            String token = cursor.encode();
+
+            // Then
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), "token should be URL-safe");
+            assertEquals(cursor, Cursor.decode(token));
+        }
+
+        @Test
+        @DisplayName("Should keep dates and null keys")
+        void shouldKeepTypes() {
+            // Given
+            LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 30);
+
+            // When
+            Cursor dated = Cursor.decode(new Cursor("created_at", 1, createdAt, ID).encode());
+            Cursor empty = Cursor.decode(new Cursor("created_at", 1, null, ID).encode());
+
+            // Then
+            assertEquals(Date.from(createdAt.toInstant(ZoneOffset.UTC)), dated.value());
+            assertNull(empty.value());
+            assertEquals(ID, empty.id());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed tokens with 400")
+        void shouldRejectMalformedTokens() {
+            for (String token : List.of("not a cursor", "AAAA", "", new Document("f", "name").toJson())) {
+                ApiException exception = assertThrows(ApiException.class, () -> Cursor.decode(token));
+                assertEquals(400, exception.getStatusCode());
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject a token with an invalid direction")
+        void shouldRejectInvalidDirection() {
+            // Given
+            String token = new Cursor("name", 3, "a", ID).encode();
+
+            // When / Then
+            assertThrows(ApiException.class, () -> Cursor.decode(token));
+        }
+
+        @Test
+        @DisplayName("Should only match the sort it was issued for")
+        void shouldMatchSort() {
+            Cursor cursor = new Cursor("name", 1, "a", ID);
+
+            assertTrue(cursor.matches("name", 1));
+            assertFalse(cursor.matches("name", -1));
+            assertFalse(cursor.matches("created_at", 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Condition Tests")
+    class ConditionTests {
+
+        @Test
+        @DisplayName("Should seek after (key, id) in ascending order")
+        void shouldSeekAscending() {
+            // When
+            Document condition = new Cursor("name", 1, "b", ID).condition();
+
+            // Then
+            assertEquals(new Document("$or", List.of(
+                    new Document("name", new Document("$gt", "b")),
+                    new Document("name", "b").append("_id", new Document("$gt", ID))
+            )), condition);
+        }
+
+        @Test
+        @DisplayName("Should include null keys after the values in descending order")
+        void shouldSeekDescending() {
+            // When
+            Document condition = new Cursor("name", -1, "b", ID).condition();
+
+            // Then
+            assertEquals(new Document("$or", List.of(
+                    new Document("name", new Document("$lt", "b")),
+                    new Document("name", "b").append("_id", new Document("$lt", ID)),
+                    new Document("name", null)
+            )), condition);
+        }
+
+        @Test
+        @DisplayName("Should seek from a null key")
+        void shouldSeekFromNullKey() {
+            // When
+            Document ascending = new Cursor("name", 1, null, ID).condition();
+            Document descending = new Cursor("name", -1, null, ID).condition();
+
+            // Then
+            assertEquals(new Document("$or", List.of(
+                    new Document("name", null).append("_id", new Document("$gt", ID)),
+                    new Document("name", new Document("$ne", null))
+            )), ascending);
+            assertEquals(new Document("name", null).append("_id", new Document("$lt", ID)), descending);
+        }
+
+        @Test
+        @DisplayName("Should seek on the id alone when sorting by id")
+        void shouldSeekOnId() {
+            // When
+            Document condition = new Cursor(Cursor.ID_FIELD, 1, null, ID).condition();
+
+            // Then
+            assertEquals(new Document("_id", new Document("$gt", ID)), condition);
+            assertEquals(new Document("_id", 1), Cursor.sort(Cursor.ID_FIELD, 1));
+            assertEquals(new Document("name", -1).append("_id", -1), Cursor.sort("name", -1));
+        }
+
+        @Test
+        @DisplayName("Should combine the condition with the filter")
+        void shouldCombineWithFilter() {
+            // Given
+            Document filter = new Document("status", "ACTIVE");
+            Cursor cursor = new Cursor(Cursor.ID_FIELD, 1, null, ID);
+
+            // When / Then
+            assertSame(filter, Cursor.seek(filter, null));
+            assertEquals(cursor.condition(), Cursor.seek(new Document(), cursor));
+            assertEquals(new Document("$and", List.of(filter, cursor.condition())), Cursor.seek(filter, cursor));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pagination Meta Tests")
+    class PaginationMetaTests {
+
+        @Test
+        @DisplayName("Should expose the next cursor without totals")
+        void shouldBuildCursorMeta() {
+            // When
+            PaginationMeta next = PaginationMeta.ofCursor(20, false, "abc");
+            PaginationMeta last = PaginationMeta.ofCursor(20, true, null);
+
+            // Then
+            assertTrue(next.hasNext());
+            assertEquals("abc", next.nextCursor());
+            assertNull(next.totalElements());
+            assertFalse(last.hasNext());
+            assertTrue(last.hasPrevious());
+        }
+    }
+}
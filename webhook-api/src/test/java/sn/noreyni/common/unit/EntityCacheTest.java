@@ -0,0 +1,122 @@
+package sn.noreyni.common.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.cache.EntityCache;
+import sn.noreyni.common.cache.EntityCacheConfig;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the read-through entity cache
+ */
+@DisplayName("Entity Cache Tests")
+class EntityCacheTest {
+
+    private static final String ID = "65f000000000000000000001";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should load a value once and answer the next reads from the cache")
+    void shouldReadThrough() {
+        // Given
+        EntityCache<String> cache = new EntityCache<>("projects", config(true), meterRegistry);
+
+        // When
+        String first = cache.get(ID, this::load).await().indefinitely();
+        String second = cache.get(ID, this::load).await().indefinitely();
+
+        // Then
+        assertEquals("v1", first);
+        assertEquals("v1", second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("webhook.cache.hits").tag("cache", "projects").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("webhook.cache.misses").tag("cache", "projects").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should reload after an invalidation and not cache absent entities")
+    void shouldReloadAfterInvalidation() {
+        // Given
+        EntityCache<String> cache = new EntityCache<>("users", config(true), meterRegistry);
+        cache.get(ID, this::load).await().indefinitely();
+
+        // When
+        cache.invalidate(ID);
+        String reloaded = cache.get(ID, this::load).await().indefinitely();
+        cache.get("absent", id -> Uni.createFrom().nullItem()).await().indefinitely();
+        String absent = cache.get("absent", this::load).await().indefinitely();
+
+        // Then
+        assertEquals("v2", reloaded);
+        assertEquals("v3", absent);
+    }
+
+    @Test
+    @DisplayName("Should not keep a load that was in flight during an invalidation")
+    void shouldDropInFlightLoad() {
+        // Given
+        EntityCache<String> cache = new EntityCache<>("projects", config(true), meterRegistry);
+        AtomicReference<UniEmitter<? super String>> pending = new AtomicReference<>();
+        AtomicReference<String> stale = new AtomicReference<>();
+        cache.get(ID, id -> Uni.createFrom().<String>emitter(pending::set)).subscribe().with(stale::set);
+
+        // When
+        cache.invalidate(ID);
+        pending.get().complete("before update");
+        String read = cache.get(ID, this::load).await().indefinitely();
+
+        // Then
+        assertEquals("before update", stale.get());
+        assertEquals("v1", read);
+    }
+
+    @Test
+    @DisplayName("Should delegate every read when disabled")
+    void shouldDelegateWhenDisabled() {
+        // Given
+        EntityCache<String> cache = new EntityCache<>("users", config(false), meterRegistry);
+
+        // When
+        cache.get(ID, this::load).await().indefinitely();
+        cache.get(ID, this::load).await().indefinitely();
+        cache.invalidate(ID);
+
+        // Then
+        assertFalse(cache.isEnabled());
+        assertEquals(2, loads.get());
+        assertNull(meterRegistry.find("webhook.cache.hits").functionCounter());
+    }
+
+    private Uni<String> load(String id) {
+        return Uni.createFrom().item(() -> "v" + loads.incrementAndGet());
+    }
+
+    private static EntityCacheConfig.Entity config(boolean enabled) {
+        return new EntityCacheConfig.Entity() {
+            @Override
+            public boolean enabled() {
+                return enabled;
+            }
+
+            @Override
+            public long maximumSize() {
+                return 100;
+            }
+
+            @Override
+            public Duration expireAfterWrite() {
+                return Duration.ofMinutes(5);
+            }
+        };
+    }
+}
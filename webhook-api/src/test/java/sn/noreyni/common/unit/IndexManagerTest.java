@@ -0,0 +1,74 @@
+package sn.noreyni.common.unit;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.index.IndexManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the collection scan detection of the index verification
+ */
+@DisplayName("Index Manager Tests")
+class IndexManagerTest {
+
+    @Test
+    @DisplayName("Should accept an index scan under a fetch")
+    void shouldAcceptIndexScan() {
+        // Given
+        Document explain = explain(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "name_1__id_1")));
+
+        // When / Then
+        assertFalse(IndexManager.usesCollectionScan(explain));
+    }
+
+    @Test
+    @DisplayName("Should detect a collection scan nested in the winning plan")
+    void shouldDetectNestedCollectionScan() {
+        // Given
+        Document explain = explain(new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN").append("direction", "forward")));
+
+        // When / Then
+        assertTrue(IndexManager.usesCollectionScan(explain));
+    }
+
+    @Test
+    @DisplayName("Should read the plans of the slot based engine and of sharded clusters")
+    void shouldReadOtherPlanLayouts() {
+        // Given
+        Document slotBased = explain(new Document("queryPlan", new Document("stage", "COLLSCAN"))
+                .append("slotBasedPlan", new Document("stages", "...")));
+        Document sharded = explain(new Document("stage", "SHARD_MERGE").append("shards", List.of(
+                new Document("shardName", "rs0").append("winningPlan", new Document("stage", "IXSCAN")),
+                new Document("shardName", "rs1").append("winningPlan", new Document("stage", "COLLSCAN")))));
+
+        // When / Then
+        assertTrue(IndexManager.usesCollectionScan(slotBased));
+        assertTrue(IndexManager.usesCollectionScan(sharded));
+    }
+
+    @Test
+    @DisplayName("Should ignore rejected plans")
+    void shouldIgnoreRejectedPlans() {
+        // Given
+        Document explain = explain(new Document("stage", "IXSCAN"));
+        explain.get("queryPlanner", Document.class)
+                .append("rejectedPlans", List.of(new Document("stage", "COLLSCAN")));
+
+        // When / Then
+        assertFalse(IndexManager.usesCollectionScan(explain));
+        assertFalse(IndexManager.usesCollectionScan(new Document("ok", 1.0)));
+    }
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("namespace", "webhook.projects")
+                .append("winningPlan", winningPlan))
+                .append("ok", 1.0);
+    }
+}
@@ -0,0 +1,153 @@
+package sn.noreyni.common.unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.throttle.SlidingWindowLimiter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the striped sliding-window attempt counters
+ */
+@DisplayName("SlidingWindowLimiter Tests")
+class SlidingWindowLimiterTest {
+
+    private static final long WINDOW = 60_000;
+    private static final long START = 1_000 * WINDOW;
+
+    @Nested
+    @DisplayName("Sliding window")
+    class SlidingWindow {
+
+        @Test
+        @DisplayName("Should accept attempts up to the limit then give the wait before the next one")
+        void shouldRejectOverLimit() {
+            // Given
+            SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, WINDOW, 4, 100);
+
+            // When
+            long first = limiter.tryAcquire("a@noreyni.sn", START);
+            long second = limiter.tryAcquire("a@noreyni.sn", START + 1);
+            long third = limiter.tryAcquire("a@noreyni.sn", START + 2);
+            long rejected = limiter.tryAcquire("a@noreyni.sn", START + 3);
+
+            // Then
+            assertEquals(0, first + second + third);
+            assertTrue(rejected > 0);
+            assertTrue(rejected <= 2 * WINDOW, "retry after " + rejected);
+            assertTrue(limiter.tryAcquire("a@noreyni.sn", START + 3 + rejected) == 0, "accepted once the wait is over");
+        }
+
+        @Test
+        @DisplayName("Should weigh the previous window less as time slides")
+        void shouldSlideWindow() {
+            // Given: the limit reached at the end of a window
+            SlidingWindowLimiter limiter = new SlidingWindowLimiter(4, WINDOW, 4, 100);
+            long end = START + WINDOW - 1;
+            for (int i = 0; i < 4; i++) {
+                assertEquals(0, limiter.tryAcquire("key", end));
+            }
+
+            // When
+            long justAfter = limiter.tryAcquire("key", START + WINDOW);
+            long halfWay = limiter.tryAcquire("key", START + WINDOW + WINDOW / 2 + 1);
+
+            // Then: a fixed window would have accepted right away
+            assertTrue(justAfter > 0);
+            assertEquals(0, halfWay);
+        }
+
+        @Test
+        @DisplayName("Should count keys apart and forget a reset key")
+        void shouldIsolateKeys() {
+            // Given
+            SlidingWindowLimiter limiter = new SlidingWindowLimiter(1, WINDOW, 4, 100);
+            limiter.tryAcquire("a", START);
+            limiter.tryAcquire("b", START);
+
+            // When
+            limiter.reset("a");
+
+            // Then
+            assertEquals(0, limiter.tryAcquire("a", START + 1));
+            assertTrue(limiter.tryAcquire("b", START + 1) > 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Memory bound")
+    class MemoryBound {
+
+        @Test
+        @DisplayName("Should evict the keys idle for two windows")
+        void shouldEvictIdleKeys() {
+            // Given
+            SlidingWindowLimiter limiter = new SlidingWindowLimiter(5, WINDOW, 4, 100);
+            limiter.tryAcquire("old", START);
+            limiter.tryAcquire("recent", START + WINDOW);
+
+            // When
+            int kept = limiter.evictIdle(START + WINDOW + 1);
+            int evicted = limiter.evictIdle(START + 2 * WINDOW);
+
+            // Then
+            assertEquals(0, kept);
+            assertEquals(1, evicted);
+            assertEquals(1, limiter.size());
+        }
+
+        @Test
+        @DisplayName("Should not track more keys than its bound and throttle the others by overflow counter")
+        void shouldBoundKeys() {
+            // Given
+            SlidingWindowLimiter limiter = new SlidingWindowLimiter(100, WINDOW, 1, 10);
+
+            // When
+            long rejected = 0;
+            for (int i = 0; i < 1_000; i++) {
+                if (limiter.tryAcquire("10.0.0." + i, START) > 0) {
+                    rejected++;
+                }
+            }
+
+            // Then: 10 tracked keys, the 990 others spread over the overflow counters of the stripe
+            assertEquals(10, limiter.size());
+            assertEquals(0, rejected);
+        }
+
+        @Test
+        @DisplayName("Should not let a flooding key of a full stripe throttle the other new keys")
+        void shouldIsolateFloodingKey() {
+            // Given: a full stripe and a new key over the limit
+            SlidingWindowLimiter limiter = new SlidingWindowLimiter(5, WINDOW, 1, 10);
+            for (int i = 0; i < 10; i++) {
+                limiter.tryAcquire("10.0.0." + i, START);
+            }
+            for (int i = 0; i < 10; i++) {
+                limiter.tryAcquire("attacker", START);
+            }
+            assertTrue(limiter.tryAcquire("attacker", START) > 0);
+
+            // When
+            long accepted = 0;
+            for (int i = 0; i < 100; i++) {
+                if (limiter.tryAcquire("10.0.1." + i, START) == 0) {
+                    accepted++;
+                }
+            }
+
+            // Then: only the few keys sharing its counter are throttled
+            assertEquals(10, limiter.size());
+            assertTrue(accepted >= 90, "accepted=" + accepted);
+        }
+
+        @Test
+        @DisplayName("Should reject a stripe count that is not a power of two")
+        void shouldRejectInvalidStripes() {
+            assertThrows(IllegalArgumentException.class, () -> new SlidingWindowLimiter(5, WINDOW, 3, 100));
+            assertThrows(IllegalArgumentException.class, () -> new SlidingWindowLimiter(5, 500, 4, 100));
+            assertThrows(IllegalArgumentException.class, () -> new SlidingWindowLimiter(0, WINDOW, 4, 100));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package sn.noreyni.export.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.export.NdjsonEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the NDJSON chunk encoding of the export
+ */
+@DisplayName("NdjsonEncoder Tests")
+class NdjsonEncoderTest {
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writer();
+
+    record Item(int id, String name) {
+    }
+
+    @Test
+    @DisplayName("Should write one document per line, grouped in chunks")
+    void shouldWriteLinesInChunks() {
+        // Given
+        Multi<Item> items = Multi.createFrom().range(0, 5).map(i -> new Item(i, "item-" + i));
+
+        // When
+        List<Buffer> chunks = collect(NdjsonEncoder.encode(items, WRITER, 2, false));
+
+        // Then
+        assertEquals(3, chunks.size());
+        assertEquals("{\"id\":0,\"name\":\"item-0\"}\n{\"id\":1,\"name\":\"item-1\"}\n", chunks.getFirst().toString());
+        assertEquals(expected(5), join(chunks));
+    }
+
+    @Test
+    @DisplayName("Should produce a valid gzip stream across chunks")
+    void shouldCompressOnTheFly() throws IOException {
+        // Given
+        Multi<Item> items = Multi.createFrom().range(0, 1000).map(i -> new Item(i, "item-" + i));
+
+        // When
+        List<Buffer> chunks = collect(NdjsonEncoder.encode(items, WRITER, 100, true));
+
+        // Then
+        assertEquals(11, chunks.size(), "ten chunks and the gzip trailer");
+        byte[] compressed = joinBuffers(chunks).getBytes();
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(expected(1000), new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should only pull the documents of the requested chunks")
+    void shouldRespectDemand() {
+        // Given
+        AtomicLong produced = new AtomicLong();
+        Multi<Item> items = Multi.createFrom().range(0, 1_000_000)
+                .onItem().invoke(produced::incrementAndGet)
+                .map(i -> new Item(i, "item-" + i));
+
+        // When
+        Buffer first = NdjsonEncoder.encode(items, WRITER, 10, false)
+                .toUni().await().atMost(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(10, first.toString().lines().count());
+        assertTrue(produced.get() <= 20, "produced " + produced.get() + " documents for one chunk");
+    }
+
+    @Test
+    @DisplayName("Should write an empty body for an empty export")
+    void shouldHandleEmptyExport() throws IOException {
+        // When
+        List<Buffer> plain = collect(NdjsonEncoder.encode(Multi.createFrom().empty(), WRITER, 10, false));
+        List<Buffer> compressed = collect(NdjsonEncoder.encode(Multi.createFrom().empty(), WRITER, 10, true));
+
+        // Then
+        assertTrue(plain.isEmpty());
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(joinBuffers(compressed).getBytes()))) {
+            assertEquals(0, input.readAllBytes().length);
+        }
+    }
+
+    private static List<Buffer> collect(Multi<Buffer> chunks) {
+        return chunks.collect().asList().await().atMost(Duration.ofSeconds(5));
+    }
+
+    private static Buffer joinBuffers(List<Buffer> chunks) {
+        Buffer joined = Buffer.buffer();
+        chunks.forEach(joined::appendBuffer);
+        return joined;
+    }
+
+    private static String join(List<Buffer> chunks) {
+        return joinBuffers(chunks).toString();
+    }
+
+    private static String expected(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"item-" + i + "\"}\n")
+                .collect(Collectors.joining());
+    }
+}
@@ -0,0 +1,215 @@
+package sn.noreyni.forward.unit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpVersion;
+import jakarta.inject.Inject;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.capture.CapturedBody;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.forward.DeliveryResult;
+import sn.noreyni.forward.ForwardTarget;
+import sn.noreyni.forward.ForwardingEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the forwarding engine, against a local Vert.x HTTP server
+ */
+@QuarkusTest
+@DisplayName("ForwardingEngine Tests")
+class ForwardingEngineTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Inject
+    ForwardingEngine forwardingEngine;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private HttpServer server;
+    private final AtomicInteger received = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Received> requests = new ConcurrentLinkedQueue<>();
+
+    private record Received(String method, String uri, MultiMap headers, String body, HttpVersion version) {
+    }
+
+    @BeforeEach
+    void startServer() {
+        server = vertx.createHttpServer()
+                .requestHandler(request -> request.body().onSuccess(body -> {
+                    if (request.method() == HttpMethod.OPTIONS) {
+                        // h2c upgrade preflight
+                        request.response().end();
+                        return;
+                    }
+                    received.incrementAndGet();
+                    requests.add(new Received(request.method().name(), request.uri(), request.headers(),
+                            body.toString(StandardCharsets.UTF_8), request.version()));
+                    request.response().setStatusCode(204).end();
+                }))
+                .listen(0)
+                .toCompletionStage().toCompletableFuture().join();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    private ForwardTarget target() {
+        return new ForwardTarget(new ObjectId().toHexString(), "http://localhost:" + server.actualPort() + "/receiver");
+    }
+
+    private static CapturedRequest captured(String body) {
+        CapturedRequest request = new CapturedRequest();
+        request.id = new ObjectId();
+        request.setProjectId(new ObjectId().toHexString());
+        request.setMethod("POST");
+        request.setPath("/events");
+        request.setQuery("source=test");
+        request.setHeaders(Map.of(
+                "Content-Type", List.of("application/json"),
+                "X-Event", List.of("push"),
+                "Connection", List.of("keep-alive")));
+        request.setRemoteAddress("10.0.0.1");
+        request.setBody(body.getBytes(StandardCharsets.UTF_8));
+        request.setBodySize(body.length());
+        return request;
+    }
+
+    @Nested
+    @DisplayName("Delivery Tests")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("Should forward method, sub-path, query and end-to-end headers")
+        void shouldForwardRequest() {
+            // Given
+            CapturedRequest request = captured("{\"event\":\"push\"}");
+
+            // When
+            DeliveryResult result = forwardingEngine.deliver(request, target()).await().atMost(TIMEOUT);
+
+            // Then
+            assertTrue(result.isSuccess());
+            assertEquals(204, result.statusCode());
+            Received forwarded = requests.poll();
+            assertNotNull(forwarded);
+            assertEquals("POST", forwarded.method());
+            assertEquals("/receiver/events?source=test", forwarded.uri());
+            assertEquals("{\"event\":\"push\"}", forwarded.body());
+            assertEquals("push", forwarded.headers().get("X-Event"));
+            assertEquals("10.0.0.1", forwarded.headers().get("X-Forwarded-For"));
+            assertEquals(request.getIdAsString(), forwarded.headers().get("X-Webhook-Forge-Request-Id"));
+            assertNotEquals("keep-alive", forwarded.headers().get("Connection"));
+        }
+
+        @Test
+        @DisplayName("Should remove the meters of a client closed after a URL change")
+        void shouldRemoveMetersOfClosedClient() {
+            // Given
+            ForwardTarget target = target();
+            forwardingEngine.deliver(captured("{}"), target).await().atMost(TIMEOUT);
+            assertEquals(1, latency(target).count());
+
+            // When
+            ForwardTarget moved = new ForwardTarget(target.id(), target.url() + "/moved");
+            forwardingEngine.deliver(captured("{}"), moved).await().atMost(TIMEOUT);
+
+            // Then: the new client starts from fresh meters
+            assertEquals(1, latency(target).count());
+        }
+
+        private Timer latency(ForwardTarget target) {
+            return meterRegistry.get("webhook.forward.latency").tag("destination", target.id()).timer();
+        }
+
+        @Test
+        @DisplayName("Should stream a spilled body from its file")
+        void shouldStreamSpilledBody() throws Exception {
+            // Given
+            String content = "x".repeat(200_000);
+            Path file = Files.writeString(Files.createTempFile("forward-", ".body"), content);
+            CapturedRequest request = captured("");
+            request.setBody(null);
+            request.setRawBody(CapturedBody.spilled(file, content.length()));
+
+            // When
+            DeliveryResult result = forwardingEngine.deliver(request, target()).await().atMost(TIMEOUT);
+
+            // Then
+            assertTrue(result.isSuccess());
+            assertEquals(content, requests.poll().body());
+            // Still held by the capture path, the file is only deleted by the last release
+            assertTrue(Files.exists(file));
+            Files.delete(file);
+        }
+
+        @Test
+        @DisplayName("Should report an unreachable destination as a failed delivery")
+        void shouldReportUnreachableDestination() {
+            // Given
+            ForwardTarget unreachable = new ForwardTarget(new ObjectId().toHexString(), "http://127.0.0.1:1/receiver");
+
+            // When
+            DeliveryResult result = forwardingEngine.deliver(captured("{}"), unreachable).await().atMost(TIMEOUT);
+
+            // Then
+            assertFalse(result.isSuccess());
+            assertNotNull(result.failure());
+            assertEquals(0, result.statusCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Should sustain thousands of concurrent deliveries to one destination")
+        void shouldSustainConcurrentDeliveries() {
+            // Given
+            int deliveries = 2000;
+            ForwardTarget target = target();
+            List<Uni<DeliveryResult>> results = new ArrayList<>(deliveries);
+
+            // When
+            for (int i = 0; i < deliveries; i++) {
+                results.add(forwardingEngine.deliver(captured("{\"n\":" + i + "}"), target));
+            }
+            List<DeliveryResult> completed = Uni.join().all(results).andFailFast().await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(deliveries, completed.size());
+            assertTrue(completed.stream().allMatch(DeliveryResult::isSuccess));
+            assertEquals(deliveries, received.get());
+            assertEquals(0, forwardingEngine.load(target.id()));
+        }
+    }
+}
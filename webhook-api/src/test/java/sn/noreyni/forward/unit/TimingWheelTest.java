@@ -0,0 +1,146 @@
+package sn.noreyni.forward.unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.forward.retry.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the hierarchical timing wheel of the retry scheduler
+ */
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final long START = 1_000_000;
+    private static final long DAY_MILLIS = 86_400_000;
+
+    private static List<String> advance(TimingWheel<String> wheel, long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        wheel.advance(nowMillis, timeout -> expired.add(timeout.payload()));
+        return expired;
+    }
+
+    @Nested
+    @DisplayName("Schedule Tests")
+    class ScheduleTests {
+
+        @Test
+        @DisplayName("Should expire a timeout on its tick, not before")
+        void shouldExpireOnDeadline() {
+            // Given
+            TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+            wheel.schedule(START + 1_000, "a");
+
+            // When / Then
+            assertTrue(advance(wheel, START + 900).isEmpty());
+            assertEquals(List.of("a"), advance(wheel, START + 1_000));
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Should expire a past deadline on the next tick")
+        void shouldExpirePastDeadline() {
+            // Given
+            TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+            advance(wheel, START + 10_000);
+
+            // When
+            wheel.schedule(START, "late");
+
+            // Then
+            assertEquals(List.of("late"), advance(wheel, START + 10_100));
+        }
+
+        @Test
+        @DisplayName("Should cascade long delays down the levels and expire them in order")
+        void shouldCascadeAcrossLevels() {
+            // Given: delays spanning the four levels (256, 65536 and 16777216 ticks)
+            TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+            long[] delays = {5_000, 30_000, 7_000_000, 2_000_000_000L};
+            for (long delay : delays) {
+                wheel.schedule(START + delay, String.valueOf(delay));
+            }
+
+            // When / Then
+            for (long delay : delays) {
+                assertTrue(advance(wheel, START + delay - TICK).isEmpty(), "early expiry of " + delay);
+                assertEquals(List.of(String.valueOf(delay)), advance(wheel, START + delay));
+            }
+        }
+
+        @Test
+        @DisplayName("Should expire every timeout exactly once on its tick")
+        void shouldExpireRandomTimeouts() {
+            // Given
+            TimingWheel<Long> wheel = new TimingWheel<>(TICK, START);
+            Random random = new Random(42);
+            int count = 100_000;
+            for (int i = 0; i < count; i++) {
+                long deadline = START + TICK + random.nextLong(DAY_MILLIS);
+                wheel.schedule(deadline, deadline);
+            }
+
+            // When
+            int[] expired = {0};
+            long now = START;
+            while (wheel.size() > 0) {
+                now += 60_000;
+                long current = now;
+                wheel.advance(now, timeout -> {
+                    expired[0]++;
+                    assertTrue(timeout.payload() <= current);
+                    assertTrue(timeout.payload() > current - 60_000 - TICK);
+                });
+            }
+
+            // Then
+            assertEquals(count, expired[0]);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancel Tests")
+    class CancelTests {
+
+        @Test
+        @DisplayName("Should not expire a cancelled timeout")
+        void shouldNotExpireCancelled() {
+            // Given
+            TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+            TimingWheel.Timeout<String> cancelled = wheel.schedule(START + 500, "cancelled");
+            wheel.schedule(START + 500, "kept");
+
+            // When
+            boolean first = wheel.cancel(cancelled);
+            boolean second = wheel.cancel(cancelled);
+
+            // Then
+            assertTrue(first);
+            assertFalse(second);
+            assertFalse(cancelled.isPending());
+            assertEquals(List.of("kept"), advance(wheel, START + 500));
+        }
+
+        @Test
+        @DisplayName("Should cancel a timeout waiting in an upper level")
+        void shouldCancelUpperLevel() {
+            // Given
+            TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+            TimingWheel.Timeout<String> timeout = wheel.schedule(START + 3_600_000, "hour");
+
+            // When
+            wheel.cancel(timeout);
+
+            // Then
+            assertEquals(0, wheel.size());
+            assertTrue(advance(wheel, START + 3_700_000).isEmpty());
+        }
+    }
+}
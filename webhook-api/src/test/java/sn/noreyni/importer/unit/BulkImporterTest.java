@@ -0,0 +1,228 @@
+package sn.noreyni.importer.unit;
+
+import com.mongodb.bulk.BulkWriteError;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import jakarta.inject.Inject;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.bulk.UnorderedInsert;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.importer.BulkImporter;
+import sn.noreyni.importer.ImportTarget;
+import sn.noreyni.importer.ProjectImportTarget;
+import sn.noreyni.importer.NdjsonLineSplitter;
+import sn.noreyni.importer.dto.ImportReport;
+import sn.noreyni.importer.dto.ImportRowResult;
+import sn.noreyni.project.ProjectService;
+import sn.noreyni.user.User;
+import sn.noreyni.user.dto.UserCreateDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the NDJSON bulk import
+ */
+@QuarkusTest
+@DisplayName("BulkImporter Tests")
+class BulkImporterTest {
+
+    @Inject
+    BulkImporter bulkImporter;
+
+    @Inject
+    ProjectImportTarget projectImportTarget;
+
+    @Nested
+    @DisplayName("Line splitting")
+    class LineSplitting {
+
+        @Test
+        @DisplayName("Should join lines spanning chunks and number them as in the file")
+        void shouldSplitAcrossChunks() {
+            // Given
+            NdjsonLineSplitter splitter = new NdjsonLineSplitter(100);
+
+            // When
+            List<NdjsonLineSplitter.Line> lines = new ArrayList<>();
+            lines.addAll(splitter.feed(Buffer.buffer("{\"a\":1}\r\n{\"b\"")));
+            lines.addAll(splitter.feed(Buffer.buffer(":2}\n\n  \n{\"é\":3}")));
+            lines.addAll(splitter.finish());
+
+            // Then
+            assertEquals(List.of(
+                    new NdjsonLineSplitter.Line(1, "{\"a\":1}"),
+                    new NdjsonLineSplitter.Line(2, "{\"b\":2}"),
+                    new NdjsonLineSplitter.Line(5, "{\"é\":3}")), lines);
+        }
+
+        @Test
+        @DisplayName("Should report a line over the limit without stopping at it")
+        void shouldReportLongLine() {
+            // Given
+            NdjsonLineSplitter splitter = new NdjsonLineSplitter(8);
+
+            // When
+            List<NdjsonLineSplitter.Line> lines = new ArrayList<>();
+            lines.addAll(splitter.feed(Buffer.buffer("{\"name\":")));
+            lines.addAll(splitter.feed(Buffer.buffer("\"long\"}\n{}\n")));
+            lines.addAll(splitter.finish());
+
+            // Then
+            assertEquals(List.of(
+                    new NdjsonLineSplitter.Line(1, null),
+                    new NdjsonLineSplitter.Line(2, "{}")), lines);
+        }
+    }
+
+    @Nested
+    @DisplayName("Import")
+    class Import {
+
+        @Test
+        @DisplayName("Should report every line with its outcome")
+        void shouldReportEveryLine() {
+            // Given
+            FakeUserTarget target = new FakeUserTarget(Set.of("taken@example.com"), Set.of("race@example.com"));
+            Multi<Buffer> body = Multi.createFrom().items(
+                    Buffer.buffer(user("awa@example.com") + "\n" + user("taken@example.com") + "\nnot json\n"),
+                    Buffer.buffer(user("awa@example.com") + "\n{\"email\":\"x\"}\n"),
+                    Buffer.buffer(user("race@example.com") + "\n" + user("modou@example.com")));
+
+            // When
+            ImportReport report = bulkImporter.run(body, target, "system").await().atMost(Duration.ofSeconds(10));
+
+            // Then
+            assertEquals(7, report.total());
+            assertEquals(2, report.created());
+            assertEquals(3, report.duplicates());
+            assertEquals(2, report.invalid());
+            assertEquals(0, report.failed());
+            assertEquals(List.of(
+                            ImportRowResult.Status.CREATED, ImportRowResult.Status.DUPLICATE, ImportRowResult.Status.INVALID,
+                            ImportRowResult.Status.DUPLICATE, ImportRowResult.Status.INVALID, ImportRowResult.Status.DUPLICATE,
+                            ImportRowResult.Status.CREATED),
+                    report.rows().stream().map(ImportRowResult::status).toList());
+            assertNotNull(report.rows().get(0).id());
+            assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), report.rows().stream().map(ImportRowResult::row).toList());
+            assertEquals(List.of("awa@example.com", "modou@example.com"),
+                    target.inserted.stream().map(User::getEmail).toList());
+        }
+
+        @Test
+        @DisplayName("Should fail only the rows of a batch that could not be written")
+        void shouldFailBatchRows() {
+            // Given
+            FakeUserTarget target = new FakeUserTarget(Set.of(), Set.of()) {
+                @Override
+                public Uni<Set<String>> findExisting(List<String> keys) {
+                    return Uni.createFrom().failure(new IllegalStateException("MongoDB unreachable"));
+                }
+            };
+            Multi<Buffer> body = Multi.createFrom().item(Buffer.buffer(user("awa@example.com") + "\n[]\n"));
+
+            // When
+            ImportReport report = bulkImporter.run(body, target, "system").await().atMost(Duration.ofSeconds(10));
+
+            // Then
+            assertEquals(1, report.failed());
+            assertEquals(1, report.invalid());
+            assertEquals(ImportRowResult.Status.FAILED, report.rows().get(0).status());
+            assertTrue(target.inserted.isEmpty());
+        }
+        @Test
+        @DisplayName("Should report a project signed without a secret as invalid")
+        void shouldRejectSignatureWithoutSecret() {
+            // Given
+            Multi<Buffer> body = Multi.createFrom().item(Buffer.buffer("{\"name\":\"Paiements\",\"type\":\"SOFTWARE\","
+                    + "\"signature\":{\"enabled\":true,\"header\":\"X-Signature\",\"secret\":\" \"}}\n"));
+
+            // When
+            ImportReport report = bulkImporter.run(body, projectImportTarget, "system").await().atMost(Duration.ofSeconds(10));
+
+            // Then
+            assertEquals(1, report.invalid());
+            assertEquals(ProjectService.SIGNATURE_SECRET_REQUIRED, report.rows().get(0).message());
+        }
+    }
+
+    private static String user(String email) {
+        return "{\"firstName\":\"Awa\",\"lastName\":\"Diop\",\"email\":\"" + email
+                + "\",\"password\":\"motdepasse\",\"role\":\"" + UserRole.MEMBER + "\"}";
+    }
+
+    /**
+     * Users kept in memory, {@code racing} emails fail the insert with a duplicate key
+     */
+    private static class FakeUserTarget implements ImportTarget<UserCreateDto, User> {
+
+        private final Set<String> existing;
+        private final Set<String> racing;
+        final List<User> inserted = new ArrayList<>();
+
+        FakeUserTarget(Set<String> existing, Set<String> racing) {
+            this.existing = existing;
+            this.racing = racing;
+        }
+
+        @Override
+        public String type() {
+            return "users";
+        }
+
+        @Override
+        public Class<UserCreateDto> payloadType() {
+            return UserCreateDto.class;
+        }
+
+        @Override
+        public String key(UserCreateDto payload) {
+            return payload.email();
+        }
+
+        @Override
+        public String duplicateMessage(String key) {
+            return "Un utilisateur existe déjà avec l'email: " + key;
+        }
+
+        @Override
+        public Uni<Set<String>> findExisting(List<String> keys) {
+            return Uni.createFrom().item(Set.copyOf(keys.stream().filter(existing::contains).toList()));
+        }
+
+        @Override
+        public Uni<User> toEntity(UserCreateDto payload, String currentUserId) {
+            User user = new User();
+            user.setEmail(payload.email());
+            return Uni.createFrom().item(user);
+        }
+
+        @Override
+        public Uni<Map<Integer, BulkWriteError>> insert(List<User> entities) {
+            Map<Integer, BulkWriteError> errors = new HashMap<>();
+            for (int i = 0; i < entities.size(); i++) {
+                if (racing.contains(entities.get(i).getEmail())) {
+                    errors.put(i, new BulkWriteError(UnorderedInsert.DUPLICATE_KEY, "E11000 duplicate key", new BsonDocument(), i));
+                }
+            }
+            return Uni.createFrom().item(errors);
+        }
+
+        @Override
+        public Uni<Void> inserted(List<User> entities, String currentUserId) {
+            inserted.addAll(entities);
+            return Uni.createFrom().voidItem();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package sn.noreyni.live.unit;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.websocket.ClientEndpoint;
+import jakarta.websocket.ClientEndpointConfig;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.OnMessage;
+import jakarta.websocket.Session;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.auth.TokenIssuer;
+import sn.noreyni.capture.CapturedRequest;
+import sn.noreyni.capture.ProjectRoute;
+import sn.noreyni.capture.ProjectRoutingTable;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.StorageEngine;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.live.LiveFeedRegistry;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.access.ProjectAccessIndex;
+import sn.noreyni.user.User;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the live feed WebSocket endpoint
+ */
+@QuarkusTest
+@DisplayName("LiveFeedEndpoint Tests")
+class LiveFeedEndpointTest {
+
+    private static final String PROJECT_ID = "64f1a2b3c4d5e6f7a8b9d1e1";
+    private static final String OTHER_PROJECT_ID = "64f1a2b3c4d5e6f7a8b9d1e2";
+
+    @TestHTTPResource("/ws/live")
+    URI uri;
+
+    @Inject
+    ProjectRoutingTable projectRoutingTable;
+
+    @Inject
+    LiveFeedRegistry liveFeedRegistry;
+
+    @Inject
+    ProjectAccessIndex projectAccessIndex;
+
+    @Inject
+    TokenIssuer tokenIssuer;
+
+    /**
+     * Sends the access token of the test user on the WebSocket handshake
+     */
+    public static class BearerToken extends ClientEndpointConfig.Configurator {
+
+        static volatile String token;
+
+        @Override
+        public void beforeRequest(Map<String, List<String>> headers) {
+            headers.put("Authorization", List.of("Bearer " + token));
+        }
+    }
+
+    @ClientEndpoint(configurator = BearerToken.class)
+    public static class Client {
+
+        final LinkedBlockingDeque<String> messages = new LinkedBlockingDeque<>();
+
+        @OnMessage
+        public void onMessage(String message) {
+            messages.add(message);
+        }
+
+        String next() throws InterruptedException {
+            String message = messages.poll(10, TimeUnit.SECONDS);
+            assertNotNull(message, "no message received");
+            return message;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.id = new ObjectId();
+        user.setEmail("member@noreyni.sn");
+        user.setRole(UserRole.MEMBER);
+        BearerToken.token = tokenIssuer.issue(user).accessToken();
+
+        projectRoutingTable.put(new ProjectRoute(PROJECT_ID, ProjectStatus.ACTIVE, Visibility.PRIVATE, StorageEngine.MONGO,
+                ProjectType.SOFTWARE, null, null, null, List.of(), null));
+        projectAccessIndex.put(project(PROJECT_ID, new ObjectId().toHexString(), user.getIdAsString()));
+
+        // A private project the user is only invited to
+        projectRoutingTable.put(new ProjectRoute(OTHER_PROJECT_ID, ProjectStatus.ACTIVE, Visibility.PRIVATE, StorageEngine.MONGO,
+                ProjectType.SOFTWARE, null, null, null, List.of(), null));
+        Project other = project(OTHER_PROJECT_ID, new ObjectId().toHexString(), null);
+        other.setInvitedUserIds(Set.of(user.getIdAsString()));
+        projectAccessIndex.put(other);
+    }
+
+    private static Project project(String id, String ownerId, String memberId) {
+        Project project = new Project();
+        project.id = new ObjectId(id);
+        project.setOwnerId(ownerId);
+        project.setMemberIds(memberId != null ? Set.of(memberId) : Set.of());
+        return project;
+    }
+
+    private Session connect(Client client, String query) throws Exception {
+        URI target = URI.create(uri.toString().replaceFirst("^http", "ws") + query);
+        return ContainerProvider.getWebSocketContainer().connectToServer(client, target);
+    }
+
+    private static CapturedRequest captured() {
+        CapturedRequest request = new CapturedRequest();
+        request.id = new ObjectId();
+        request.setProjectId(PROJECT_ID);
+        request.setMethod("POST");
+        request.setPath("/events");
+        request.setBodySize(12);
+        request.setReceivedAt(LocalDateTime.now());
+        return request;
+    }
+
+    @Nested
+    @DisplayName("Subscription Tests")
+    class SubscriptionTests {
+
+        @Test
+        @DisplayName("Should stream captured requests of the projects given on connect")
+        void shouldStreamSubscribedProject() throws Exception {
+            // Given
+            Client client = new Client();
+            try (Session session = connect(client, "?projects=" + PROJECT_ID)) {
+                assertTrue(client.next().contains("\"type\":\"subscribed\""));
+
+                // When
+                CapturedRequest request = captured();
+                liveFeedRegistry.publish(request);
+
+                // Then
+                String message = client.next();
+                assertTrue(message.contains("\"type\":\"request\""));
+                assertTrue(message.contains(request.getIdAsString()));
+            }
+        }
+
+        @Test
+        @DisplayName("Should subscribe and unsubscribe with messages")
+        void shouldHandleCommands() throws Exception {
+            // Given
+            Client client = new Client();
+            try (Session session = connect(client, "")) {
+
+                // When
+                session.getBasicRemote().sendText("{\"action\":\"subscribe\",\"projects\":[\"" + PROJECT_ID + "\"]}");
+                assertTrue(client.next().contains("\"type\":\"subscribed\""));
+                session.getBasicRemote().sendText("{\"action\":\"unsubscribe\",\"projects\":[\"" + PROJECT_ID + "\"]}");
+                assertTrue(client.next().contains("\"type\":\"unsubscribed\""));
+                liveFeedRegistry.publish(captured());
+
+                // Then
+                assertNull(client.messages.poll(200, TimeUnit.MILLISECONDS));
+            }
+        }
+
+        @Test
+        @DisplayName("Should refuse a private project the user is only invited to")
+        void shouldRejectProjectWithoutMembership() throws Exception {
+            // Given
+            Client client = new Client();
+            try (Session session = connect(client, "?projects=" + OTHER_PROJECT_ID)) {
+
+                // When
+                String message = client.next();
+
+                // Then
+                assertTrue(message.contains("\"type\":\"error\""));
+                assertEquals(0, liveFeedRegistry.subscriberCount(OTHER_PROJECT_ID));
+            }
+        }
+
+        @Test
+        @DisplayName("Should drop the subscription of a member removed from a private project")
+        void shouldRevokeRemovedMember() throws Exception {
+            // Given
+            Client client = new Client();
+            try (Session session = connect(client, "?projects=" + PROJECT_ID)) {
+                assertTrue(client.next().contains("\"type\":\"subscribed\""));
+
+                // When
+                projectAccessIndex.put(project(PROJECT_ID, new ObjectId().toHexString(), null));
+                liveFeedRegistry.revalidate(PROJECT_ID);
+                liveFeedRegistry.publish(captured());
+
+                // Then
+                assertTrue(client.next().contains("\"type\":\"unsubscribed\""));
+                assertEquals(0, liveFeedRegistry.subscriberCount(PROJECT_ID));
+                assertNull(client.messages.poll(200, TimeUnit.MILLISECONDS));
+            }
+        }
+
+        @Test
+        @DisplayName("Should reply with an error for an unknown project")
+        void shouldRejectUnknownProject() throws Exception {
+            // Given
+            Client client = new Client();
+            try (Session session = connect(client, "?projects=" + new ObjectId().toHexString())) {
+
+                // When
+                String message = client.next();
+
+                // Then
+                assertTrue(message.contains("\"type\":\"error\""));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Fan-out Tests")
+    class FanOutTests {
+
+        @Test
+        @DisplayName("Should deliver every captured request to every subscribed session")
+        void shouldFanOutToAllSessions() throws Exception {
+            // Given
+            int sessions = 100;
+            int requests = 20;
+            List<Client> clients = new ArrayList<>(sessions);
+            List<Session> opened = new ArrayList<>(sessions);
+            try {
+                for (int i = 0; i < sessions; i++) {
+                    Client client = new Client();
+                    opened.add(connect(client, "?projects=" + PROJECT_ID));
+                    client.next();
+                    clients.add(client);
+                }
+
+                // When
+                for (int i = 0; i < requests; i++) {
+                    liveFeedRegistry.publish(captured());
+                }
+
+                // Then
+                for (Client client : clients) {
+                    for (int i = 0; i < requests; i++) {
+                        assertTrue(client.next().contains("\"type\":\"request\""));
+                    }
+                }
+                assertTrue(liveFeedRegistry.subscriberCount(PROJECT_ID) >= sessions);
+            } finally {
+                for (Session session : opened) {
+                    session.close();
+                }
+            }
+        }
+    }
+}
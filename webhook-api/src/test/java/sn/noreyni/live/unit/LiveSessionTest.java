@@ -0,0 +1,124 @@
+package sn.noreyni.live.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.live.LiveSession;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded, coalescing outbound queue of a live feed session
+ */
+@DisplayName("LiveSession Tests")
+class LiveSessionTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private final ArrayDeque<Consumer<Throwable>> pendingCompletions = new ArrayDeque<>();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final AtomicInteger delivered = new AtomicInteger();
+    private final List<Throwable> failures = new ArrayList<>();
+
+    private LiveSession session;
+
+    /**
+     * Transport of a slow client: a send only completes when the test says so
+     */
+    @BeforeEach
+    void setUp() {
+        session = new LiveSession("s1", "u1",
+                (text, completion) -> {
+                    sent.add(text);
+                    pendingCompletions.add(completion);
+                },
+                3,
+                count -> "overflow:" + count,
+                new LiveSession.Listener() {
+                    @Override
+                    public void sent(LiveSession.Outbound outbound) {
+                        delivered.incrementAndGet();
+                    }
+
+                    @Override
+                    public void dropped() {
+                        dropped.incrementAndGet();
+                    }
+
+                    @Override
+                    public void failed(LiveSession failed, Throwable failure) {
+                        failures.add(failure);
+                    }
+                });
+    }
+
+    private void completeAll() {
+        Consumer<Throwable> completion;
+        while ((completion = pendingCompletions.poll()) != null) {
+            completion.accept(null);
+        }
+    }
+
+    private static LiveSession.Outbound message(int index) {
+        return new LiveSession.Outbound("m" + index, System.nanoTime());
+    }
+
+    @Nested
+    @DisplayName("Queue Tests")
+    class QueueTests {
+
+        @Test
+        @DisplayName("Should send messages one at a time, in order")
+        void shouldSendInOrder() {
+            // Given
+            session.enqueue(message(1));
+            session.enqueue(message(2));
+
+            // When / Then
+            assertEquals(List.of("m1"), sent);
+            completeAll();
+            assertEquals(List.of("m1", "m2"), sent);
+            assertEquals(2, delivered.get());
+        }
+
+        @Test
+        @DisplayName("Should drop the oldest messages of a slow client and send one overflow notice")
+        void shouldCoalesceDroppedMessages() {
+            // Given: m1 in flight, capacity 3
+            for (int i = 1; i <= 8; i++) {
+                session.enqueue(message(i));
+            }
+
+            // When
+            completeAll();
+
+            // Then
+            assertEquals(List.of("m1", "overflow:4", "m6", "m7", "m8"), sent);
+            assertEquals(4, dropped.get());
+            assertEquals(0, session.queued());
+        }
+
+        @Test
+        @DisplayName("Should stop sending and report a failed send")
+        void shouldStopOnFailure() {
+            // Given
+            session.enqueue(message(1));
+            session.enqueue(message(2));
+
+            // When
+            pendingCompletions.poll().accept(new IllegalStateException("closed"));
+            session.enqueue(message(3));
+
+            // Then
+            assertEquals(List.of("m1"), sent);
+            assertEquals(1, failures.size());
+            assertEquals(0, session.queued());
+        }
+    }
+}
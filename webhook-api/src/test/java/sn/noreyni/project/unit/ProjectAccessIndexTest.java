@@ -0,0 +1,127 @@
+package sn.noreyni.project.unit;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.enums.ProjectRole;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.access.ProjectAccessIndex;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory index of the project roles
+ */
+@DisplayName("ProjectAccessIndex Tests")
+class ProjectAccessIndexTest {
+
+    private static final String OWNER = new ObjectId().toHexString();
+    private static final String MEMBER = new ObjectId().toHexString();
+    private static final String INVITED = new ObjectId().toHexString();
+
+    private final ProjectAccessIndex index = new ProjectAccessIndex();
+
+    private static Project project(String ownerId, Set<String> memberIds, Set<String> invitedUserIds) {
+        Project project = new Project();
+        project.id = new ObjectId();
+        project.setOwnerId(ownerId);
+        project.setMemberIds(memberIds);
+        project.setInvitedUserIds(invitedUserIds);
+        return project;
+    }
+
+    @Nested
+    @DisplayName("Roles")
+    class Roles {
+
+        @Test
+        @DisplayName("Should resolve the owner, member and invited roles of a project")
+        void shouldResolveRoles() {
+            // Given
+            Project project = project(OWNER, Set.of(OWNER, MEMBER), Set.of(INVITED));
+
+            // When
+            index.put(project);
+
+            // Then
+            String id = project.getIdAsString();
+            assertEquals(ProjectRole.OWNER, index.role(OWNER, id));
+            assertEquals(ProjectRole.MEMBER, index.role(MEMBER, id));
+            assertEquals(ProjectRole.INVITED, index.role(INVITED, id));
+            assertNull(index.role(new ObjectId().toHexString(), id));
+            assertNull(index.role(OWNER, new ObjectId().toHexString()));
+            assertTrue(index.isMember(MEMBER, id));
+            assertFalse(index.isMember(INVITED, id));
+        }
+
+        @Test
+        @DisplayName("Should keep the roles of a user on many projects apart")
+        void shouldIndexManyProjects() {
+            // Given: enough projects to grow the table of the member
+            Project[] projects = new Project[100];
+            for (int i = 0; i < projects.length; i++) {
+                projects[i] = project(OWNER, i % 2 == 0 ? Set.of(MEMBER) : Set.of(), i % 2 == 0 ? Set.of() : Set.of(MEMBER));
+                index.put(projects[i]);
+            }
+
+            // When
+            for (int i = 0; i < projects.length; i += 3) {
+                index.remove(projects[i].getIdAsString());
+            }
+
+            // Then
+            for (int i = 0; i < projects.length; i++) {
+                ProjectRole expected = i % 3 == 0 ? null : i % 2 == 0 ? ProjectRole.MEMBER : ProjectRole.INVITED;
+                assertEquals(expected, index.role(MEMBER, projects[i].getIdAsString()), "project " + i);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Membership changes")
+    class MembershipChanges {
+
+        @Test
+        @DisplayName("Should apply an accepted invitation and a removed member")
+        void shouldFollowMembershipChanges() {
+            // Given
+            Project project = project(OWNER, Set.of(MEMBER), Set.of(INVITED));
+            index.put(project);
+
+            // When
+            project.setMemberIds(Set.of(INVITED));
+            project.setInvitedUserIds(Set.of());
+            index.put(project);
+
+            // Then
+            String id = project.getIdAsString();
+            assertEquals(ProjectRole.MEMBER, index.role(INVITED, id));
+            assertNull(index.role(MEMBER, id));
+            assertEquals(ProjectRole.OWNER, index.role(OWNER, id));
+        }
+
+        @Test
+        @DisplayName("Should transfer the ownership and forget a deleted project")
+        void shouldTransferAndRemove() {
+            // Given
+            Project project = project(OWNER, Set.of(), Set.of());
+            index.put(project);
+            String id = project.getIdAsString();
+
+            // When
+            project.setOwnerId(MEMBER);
+            index.put(project);
+            boolean transferred = index.isOwner(MEMBER, id) && !index.isOwner(OWNER, id);
+            index.remove(id);
+
+            // Then
+            assertTrue(transferred);
+            assertFalse(index.contains(id));
+            assertNull(index.role(MEMBER, id));
+            assertEquals(0, index.size());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package sn.noreyni.project.unit;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.common.pagination.Cursor;
+import sn.noreyni.project.ProjectRepository;
+import sn.noreyni.project.codec.ProjectListDtoCodec;
+import sn.noreyni.project.dto.ProjectListDto;
+import sn.noreyni.user.codec.UserListDtoCodec;
+import sn.noreyni.user.dto.UserListDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the codecs decoding list projections into DTOs
+ */
+@DisplayName("List DTO Codec Tests")
+class ProjectListDtoCodecTest {
+
+    private static final ObjectId ID = new ObjectId("65f000000000000000000001");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 12, 30);
+
+    @Test
+    @DisplayName("Should decode a projected project")
+    void shouldDecodeProject() {
+        // Given
+        Document projected = new Document("_id", ID)
+                .append("name", "Passerelle")
+                .append("status", ProjectStatus.ACTIVE.name())
+                .append("visibility", Visibility.PUBLIC.name())
+                .append("type", ProjectType.SOFTWARE.name())
+                .append("owner_id", "owner-1")
+                .append("member_count", 3)
+                .append("created_at", Date.from(CREATED_AT.toInstant(ZoneOffset.UTC)))
+                .append("updated_at", null)
+                .append("unexpected", new Document("nested", List.of(1, 2)));
+
+        // When
+        ProjectListDto dto = new RawBsonDocument(projected, new DocumentCodec())
+                .decode(ProjectListDtoCodec.INSTANCE);
+
+        // Then
+        assertEquals(new ProjectListDto(ID.toHexString(), "Passerelle", null, ProjectStatus.ACTIVE,
+                Visibility.PUBLIC, ProjectType.SOFTWARE, null, "owner-1", null, null, 3, CREATED_AT, null), dto);
+    }
+
+    @Test
+    @DisplayName("Should decode what it encodes")
+    void shouldRoundTripProject() {
+        // Given
+        ProjectListDto dto = new ProjectListDto(ID.toHexString(), "Passerelle", "Description", ProjectStatus.DRAFT,
+                Visibility.PRIVATE, null, "https://example.com/a.png", "owner-1", null, null, 0, CREATED_AT, CREATED_AT);
+
+        // When / Then
+        assertEquals(dto, new RawBsonDocument(dto, ProjectListDtoCodec.INSTANCE).decode(ProjectListDtoCodec.INSTANCE));
+    }
+
+    @Test
+    @DisplayName("Should only project the list fields and count the members on the server")
+    void shouldProjectListFields() {
+        assertFalse(ProjectListDtoCodec.PROJECTION.containsKey("member_ids"));
+        assertEquals(new Document("$size", new Document("$ifNull", List.of("$member_ids", List.of()))),
+                ProjectListDtoCodec.PROJECTION.get("member_count"));
+        assertFalse(UserListDtoCodec.PROJECTION.containsKey("password"));
+    }
+
+    @Test
+    @DisplayName("Should project the search matches before they are sorted and faceted")
+    void shouldProjectBeforeFacet() {
+        // Given
+        Document sort = Cursor.sort("webhook_count", -1);
+
+        // When
+        List<Document> pipeline = ProjectRepository.searchPipeline(new Document("status", "ACTIVE"), sort, 40, 20);
+
+        // Then
+        assertEquals(List.of("$match", "$project", "$sort", "$facet"),
+                pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList());
+        Document projection = pipeline.get(1).get("$project", Document.class);
+        assertTrue(projection.keySet().containsAll(ProjectListDtoCodec.PROJECTION.keySet()));
+        assertEquals(1, projection.get("webhook_count"), "the sort field is kept");
+        assertFalse(projection.containsKey("member_ids"));
+        Document facet = pipeline.get(3).get("$facet", Document.class);
+        assertEquals(List.of(new Document("$skip", 40L), new Document("$limit", 20)), facet.get("items"));
+    }
+
+    @Test
+    @DisplayName("Should decode a projected user")
+    void shouldDecodeUser() {
+        // Given
+        UserListDto dto = new UserListDto(ID.toHexString(), "Awa", "Diop", "awa.diop@example.com", UserRole.MEMBER, false);
+
+        // When / Then
+        assertEquals(dto, new RawBsonDocument(dto, UserListDtoCodec.INSTANCE).decode(UserListDtoCodec.INSTANCE));
+    }
+}
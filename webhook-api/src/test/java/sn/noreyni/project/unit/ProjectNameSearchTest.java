@@ -0,0 +1,90 @@
+package sn.noreyni.project.unit;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.project.Project;
+import sn.noreyni.project.search.ProjectNameSearch;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the index-friendly project name matching
+ */
+@DisplayName("Project Name Search Tests")
+class ProjectNameSearchTest {
+
+    @Nested
+    @DisplayName("Normalization Tests")
+    class NormalizationTests {
+
+        @Test
+        @DisplayName("Should ignore case, accents and repeated spaces")
+        void shouldNormalize() {
+            assertEquals("projet ete 2025", ProjectNameSearch.normalize("  Projet  ÉTÉ\t2025 "));
+            assertNull(ProjectNameSearch.normalize(null));
+        }
+
+        @Test
+        @DisplayName("Should list the distinct trigrams of a key")
+        void shouldBuildTrigrams() {
+            assertEquals(List.of("aaa"), ProjectNameSearch.grams("aaaa"));
+            assertEquals(List.of("api", "pi ", "i g", " gw"), ProjectNameSearch.grams("api gw"));
+            assertEquals(List.of(), ProjectNameSearch.grams("ab"));
+        }
+
+        @Test
+        @DisplayName("Should derive the search fields from the project name")
+        void shouldDeriveFieldsFromName() {
+            // Given
+            Project project = new Project();
+
+            // When
+            project.setName("Épi");
+
+            // Then
+            assertEquals("epi", project.getNameKey());
+            assertEquals(List.of("epi"), project.getNameGrams());
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should select substring candidates by trigrams and escape the regex")
+        void shouldBuildContainsFilter() {
+            // When
+            Document filter = ProjectNameSearch.containsFilter("C++ API");
+
+            // Then
+            assertEquals(List.of("c++", "++ ", "+ a", " ap", "api"),
+                    filter.get(ProjectNameSearch.GRAMS_FIELD, Document.class).get("$all"));
+            String regex = filter.get(ProjectNameSearch.KEY_FIELD, Document.class).getString("$regex");
+            assertEquals("c\\+\\+ api", regex);
+            assertTrue(Pattern.compile(regex).matcher("mon c++ api").find());
+            assertFalse(Pattern.compile(regex).matcher("mon cc api").find());
+        }
+
+        @Test
+        @DisplayName("Should match short substrings on the key only")
+        void shouldBuildShortContainsFilter() {
+            assertEquals(new Document(ProjectNameSearch.KEY_FIELD, new Document("$regex", "a\\.")),
+                    ProjectNameSearch.containsFilter("A."));
+        }
+
+        @Test
+        @DisplayName("Should turn a prefix into a key range")
+        void shouldBuildPrefixFilter() {
+            assertEquals(new Document(ProjectNameSearch.KEY_FIELD, new Document("$gte", "pro").append("$lt", "prp")),
+                    ProjectNameSearch.prefixFilter("Pro"));
+            assertEquals(new Document(ProjectNameSearch.KEY_FIELD, new Document("$gte", "a.*").append("$lt", "a.+")),
+                    ProjectNameSearch.prefixFilter("a.*"));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package sn.noreyni.project.unit;
+
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.project.ProjectRepository;
+import sn.noreyni.project.stats.ProjectOwnerStats;
+import sn.noreyni.project.stats.ProjectOwnerStatsRepository;
+import sn.noreyni.project.stats.ProjectStatsCounters;
+import sn.noreyni.project.stats.ProjectStatsReconciliationJob;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the per-owner project counters and their reconciliation
+ */
+@QuarkusTest
+@DisplayName("Project Stats Tests")
+class ProjectStatsTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Inject
+    ProjectStatsCounters projectStatsCounters;
+
+    @Inject
+    ProjectStatsReconciliationJob projectStatsReconciliationJob;
+
+    private final List<String> increments = new ArrayList<>();
+    private final List<String> replaced = new ArrayList<>();
+    private final List<String> deleted = new ArrayList<>();
+    private final List<ProjectOwnerStats> stored = new ArrayList<>();
+    private final List<Document> recount = new ArrayList<>();
+    private boolean failIncrements;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusMock.installMockForType(new ProjectOwnerStatsRepository() {
+            @Override
+            public Uni<Void> increment(String ownerId, Document deltas) {
+                if (failIncrements) {
+                    return Uni.createFrom().failure(new IllegalStateException("MongoDB unreachable"));
+                }
+                increments.add(ownerId + " " + deltas.toJson());
+                return Uni.createFrom().voidItem();
+            }
+
+            @Override
+            public Uni<List<ProjectOwnerStats>> listAll() {
+                return Uni.createFrom().item(stored);
+            }
+
+            @Override
+            public Uni<Boolean> replaceIfUnchanged(ProjectOwnerStats stats, long expectedVersion) {
+                replaced.add(stats.getOwnerId() + " " + new Document(new HashMap<>(stats.getCounts())).toJson()
+                        + " v" + expectedVersion);
+                return Uni.createFrom().item(true);
+            }
+
+            @Override
+            public Uni<Boolean> deleteIfUnchanged(String ownerId, long expectedVersion) {
+                deleted.add(ownerId + " v" + expectedVersion);
+                return Uni.createFrom().item(true);
+            }
+        }, ProjectOwnerStatsRepository.class);
+
+        QuarkusMock.installMockForType(new ProjectRepository() {
+            @Override
+            public Multi<Document> countByOwnerAndStatus() {
+                return Multi.createFrom().iterable(recount);
+            }
+        }, ProjectRepository.class);
+    }
+
+    @Nested
+    @DisplayName("Counter Tests")
+    class CounterTests {
+
+        @Test
+        @DisplayName("Should count the projects of an import with a single increment")
+        void shouldMergeCreatedStatuses() {
+            // When
+            projectStatsCounters.created("owner-1", List.of(ProjectStatus.ACTIVE, ProjectStatus.DRAFT, ProjectStatus.ACTIVE))
+                    .await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(List.of("owner-1 {\"counts.ACTIVE\": 2, \"counts.DRAFT\": 1}"), increments);
+        }
+
+        @Test
+        @DisplayName("Should move a project between statuses and ignore an unchanged status")
+        void shouldMoveStatus() {
+            // When
+            projectStatsCounters.statusChanged("owner-1", ProjectStatus.DRAFT, ProjectStatus.DRAFT).await().atMost(TIMEOUT);
+            projectStatsCounters.statusChanged("owner-1", ProjectStatus.DRAFT, ProjectStatus.ACTIVE).await().atMost(TIMEOUT);
+            projectStatsCounters.deleted("owner-1", null).await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(List.of(
+                    "owner-1 {\"counts.DRAFT\": -1, \"counts.ACTIVE\": 1}",
+                    "owner-1 {\"counts.NONE\": -1}"), increments);
+        }
+
+        @Test
+        @DisplayName("Should not fail the project write when the counter update fails")
+        void shouldSwallowCounterFailure() {
+            // Given
+            failIncrements = true;
+
+            // When / Then
+            assertDoesNotThrow(() -> projectStatsCounters.created("owner-1", ProjectStatus.ACTIVE).await().atMost(TIMEOUT));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconciliation Tests")
+    class ReconciliationTests {
+
+        @Test
+        @DisplayName("Should rewrite drifted counters, create missing ones and delete stale ones")
+        void shouldCorrectDriftedOwners() {
+            // Given
+            stored.add(stats("drifted", Map.of("ACTIVE", 2L), 3));
+            stored.add(stats("stale", Map.of("DRAFT", 1L), 5));
+            stored.add(stats("consistent", Map.of("ACTIVE", 1L, "DRAFT", 0L), 7));
+            recount.add(group("drifted", "ACTIVE", 3));
+            recount.add(group("missing", "DRAFT", 1));
+            recount.add(group("consistent", "ACTIVE", 1));
+
+            // When
+            int corrected = projectStatsReconciliationJob.reconcile().await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(3, corrected);
+            assertEquals(2, replaced.size());
+            assertTrue(replaced.contains("drifted {\"ACTIVE\": 3} v3"));
+            assertTrue(replaced.contains("missing {\"DRAFT\": 1} v-1"));
+            assertEquals(List.of("stale v5"), deleted);
+        }
+
+        @Test
+        @DisplayName("Should leave consistent counters untouched")
+        void shouldKeepConsistentOwners() {
+            // Given
+            stored.add(stats("owner-1", Map.of("ACTIVE", 2L), 1));
+            stored.add(stats("empty", Map.of("ACTIVE", 0L), 4));
+            recount.add(group("owner-1", "ACTIVE", 2));
+
+            // When
+            int corrected = projectStatsReconciliationJob.reconcile().await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(0, corrected);
+            assertTrue(replaced.isEmpty());
+            assertTrue(deleted.isEmpty());
+        }
+    }
+
+    private static ProjectOwnerStats stats(String ownerId, Map<String, Long> counts, long version) {
+        ProjectOwnerStats stats = new ProjectOwnerStats();
+        stats.setOwnerId(ownerId);
+        stats.setCounts(new HashMap<>(counts));
+        stats.setVersion(version);
+        return stats;
+    }
+
+    private static Document group(String ownerId, String status, long count) {
+        return new Document("_id", new Document("owner", ownerId).append("status", status)).append("count", count);
+    }
+}
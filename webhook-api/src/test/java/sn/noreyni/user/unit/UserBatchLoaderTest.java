@@ -0,0 +1,118 @@
+package sn.noreyni.user.unit;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.user.UserBatchLoader;
+import sn.noreyni.user.UserRepository;
+import sn.noreyni.user.dto.UserListDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the request-scoped user batch loader
+ */
+@QuarkusTest
+@DisplayName("UserBatchLoader Tests")
+class UserBatchLoaderTest {
+
+    private static final String AWA = "65f000000000000000000001";
+    private static final String MODOU = "65f000000000000000000002";
+    private static final String FATOU = "65f000000000000000000003";
+    private static final String UNKNOWN = "65f0000000000000000000ff";
+
+    @Inject
+    UserBatchLoader userBatchLoader;
+
+    private final List<List<ObjectId>> queries = new ArrayList<>();
+    private ManagedContext requestContext;
+
+    @BeforeEach
+    void setUp() {
+        Set<String> stored = Set.of(AWA, MODOU, FATOU);
+        QuarkusMock.installMockForType(new UserRepository() {
+            @Override
+            public Uni<List<UserListDto>> findListByIds(List<ObjectId> ids) {
+                queries.add(ids);
+                return Uni.createFrom().item(ids.stream()
+                        .map(ObjectId::toHexString)
+                        .filter(stored::contains)
+                        .map(id -> new UserListDto(id, "Prénom " + id, "Nom", id + "@example.com", UserRole.MEMBER, true))
+                        .toList());
+            }
+        }, UserRepository.class);
+
+        requestContext = Arc.container().requestContext();
+        requestContext.activate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestContext.terminate();
+    }
+
+    @Test
+    @DisplayName("Should resolve all the IDs of a page with one query")
+    void shouldLoadInOneQuery() {
+        // When
+        Map<String, UserListDto> users = load(List.of(AWA, MODOU, AWA, UNKNOWN));
+
+        // Then
+        assertEquals(1, queries.size());
+        assertEquals(3, queries.getFirst().size(), "duplicates should be queried once");
+        assertEquals(Set.of(AWA, MODOU), users.keySet());
+        assertEquals("Prénom " + AWA, users.get(AWA).firstName());
+    }
+
+    @Test
+    @DisplayName("Should only query the IDs not seen yet in the request")
+    void shouldCacheForTheRequest() {
+        // Given
+        load(List.of(AWA, UNKNOWN));
+
+        // When
+        Map<String, UserListDto> again = load(List.of(AWA, UNKNOWN));
+        Map<String, UserListDto> more = load(List.of(AWA, FATOU));
+
+        // Then
+        assertEquals(2, queries.size());
+        assertEquals(List.of(new ObjectId(FATOU)), queries.getLast());
+        assertEquals(Set.of(AWA), again.keySet());
+        assertEquals(Set.of(AWA, FATOU), more.keySet());
+    }
+
+    @Test
+    @DisplayName("Should not query for malformed or null IDs")
+    void shouldSkipInvalidIds() {
+        // Given
+        List<String> ids = new ArrayList<>();
+        ids.add("not-an-id");
+        ids.add(null);
+
+        // When
+        Map<String, UserListDto> users = load(ids);
+
+        // Then
+        assertTrue(users.isEmpty());
+        assertTrue(queries.isEmpty());
+    }
+
+    private Map<String, UserListDto> load(List<String> ids) {
+        return userBatchLoader.load(ids).await().atMost(Duration.ofSeconds(5));
+    }
+}
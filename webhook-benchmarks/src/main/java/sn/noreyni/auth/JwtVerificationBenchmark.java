@@ -0,0 +1,79 @@
+package sn.noreyni.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.jwt.build.Jwt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication cost of one API call, in microseconds per bearer token
+ * {@code users} distinct tokens are presented in turn, as by as many logged-in users; with {@code cached=false}
+ * every call verifies the RS256 signature, with {@code cached=true} only the first call of each token does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String ISSUER = "https://localhost:8080";
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    @Param({"1000"})
+    public int users;
+
+    private TokenVerifier tokenVerifier;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setup() {
+        JwtKeys keys = JwtKeys.generate();
+        tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = Jwt.issuer(ISSUER)
+                    .subject(String.format("%024x", i))
+                    .upn("user" + i + "@noreyni.sn")
+                    .groups("MEMBER")
+                    .expiresIn(Duration.ofHours(24))
+                    .jws()
+                    .keyId(keys.signingKid())
+                    .sign(keys.signingKey());
+        }
+        tokenVerifier = new TokenVerifier(() -> keys, ISSUER, Duration.ofSeconds(30), new AuthConfig.TokenCache() {
+            @Override
+            public boolean enabled() {
+                return cached;
+            }
+
+            @Override
+            public long maximumSize() {
+                return 10_000;
+            }
+        }, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public SecurityIdentity verify() {
+        String token = tokens[next];
+        next = next + 1 == tokens.length ? 0 : next + 1;
+        return tokenVerifier.verify(token);
+    }
+}
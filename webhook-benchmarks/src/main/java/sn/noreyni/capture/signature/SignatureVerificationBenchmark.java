@@ -0,0 +1,106 @@
+package sn.noreyni.capture.signature;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.MultiMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sn.noreyni.common.enums.SignatureAlgorithm;
+import sn.noreyni.common.enums.SignatureFormat;
+import sn.noreyni.common.enums.SignatureStatus;
+import sn.noreyni.project.WebhookSignature;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signature verification of one captured request, body received in 8 KiB chunks
+ * {@code streaming} is {@link SignatureVerifier}: pooled Mac fed chunk by chunk, signature decoded in place.
+ * {@code copy} is the usual implementation: a Mac initialized per request, the aggregated body copied to an
+ * array, the digest hex encoded and compared with {@link MessageDigest#isEqual}. Run with {@code -prof gc}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SignatureVerificationBenchmark {
+
+    private static final String SECRET = "whsec_benchmark";
+    private static final String HEADER = "X-Hub-Signature-256";
+    private static final String PREFIX = "sha256=";
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"streaming", "copy"})
+    public String verification;
+
+    @Param({"1024", "65536"})
+    public int bodySize;
+
+    private SignatureVerifier verifier;
+    private MultiMap headers;
+    private ByteBuf[] chunks;
+    private ByteBuf body;
+
+    @Setup
+    public void setup() throws Exception {
+        WebhookSignature signature = new WebhookSignature();
+        signature.setAlgorithm(SignatureAlgorithm.HMAC_SHA256);
+        signature.setHeader(HEADER);
+        signature.setFormat(SignatureFormat.HEX);
+        signature.setPrefix(PREFIX);
+        signature.setSecret(SECRET);
+        verifier = SignatureVerifier.of(signature);
+
+        byte[] bytes = new byte[bodySize];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ('a' + i % 26);
+        }
+        chunks = new ByteBuf[(bodySize + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            int offset = i * CHUNK_SIZE;
+            chunks[i] = Unpooled.wrappedBuffer(bytes, offset, Math.min(CHUNK_SIZE, bodySize - offset));
+        }
+        body = Unpooled.wrappedBuffer(chunks);
+
+        headers = MultiMap.caseInsensitiveMultiMap().add(HEADER, PREFIX + HexFormat.of().formatHex(newMac().doFinal(bytes)));
+    }
+
+    @Benchmark
+    public SignatureStatus verify() throws Exception {
+        if ("streaming".equals(verification)) {
+            SignatureCheck check = verifier.start(headers);
+            for (ByteBuf chunk : chunks) {
+                check.update(chunk);
+            }
+            return check.finish();
+        }
+
+        Mac mac = newMac();
+        byte[] bytes = new byte[body.readableBytes()];
+        body.getBytes(body.readerIndex(), bytes);
+        String expected = PREFIX + HexFormat.of().formatHex(mac.doFinal(bytes));
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                headers.get(HEADER).getBytes(StandardCharsets.US_ASCII)) ? SignatureStatus.VALID : SignatureStatus.INVALID;
+    }
+
+    private static Mac newMac() throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac;
+    }
+}
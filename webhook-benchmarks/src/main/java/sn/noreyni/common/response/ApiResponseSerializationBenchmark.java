@@ -0,0 +1,94 @@
+package sn.noreyni.common.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.config.MapperConfig;
+import sn.noreyni.project.dto.ProjectListDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a {@code GET /api/projects} page with the application ObjectMapper settings
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    /**
+     * Projects in the page
+     */
+    @Param({"20", "100"})
+    int size;
+
+    private ObjectWriter writer;
+    private ObjectWriter compactWriter;
+    private ApiResponse<List<ProjectListDto>> response;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        new MapperConfig.CustomObjectMapperConfig().customize(objectMapper);
+
+        // Resolved once, as the REST layer does for the declared return type
+        writer = objectMapper.writerFor(new TypeReference<ApiResponse<List<ProjectListDto>>>() {});
+        compactWriter = writer.without(SerializationFeature.INDENT_OUTPUT);
+
+        List<ProjectListDto> projects = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            projects.add(new ProjectListDto(
+                    new ObjectId().toHexString(),
+                    "Projet " + i,
+                    "Réception des webhooks du service de paiement " + i,
+                    ProjectStatus.ACTIVE,
+                    Visibility.TEAM,
+                    ProjectType.SOFTWARE,
+                    i % 2 == 0 ? "https://cdn.example.com/avatars/" + i + ".png" : null,
+                    new ObjectId().toHexString(),
+                    "Awa",
+                    "Diop",
+                    5,
+                    LocalDateTime.of(2025, 1, 1, 10, 0),
+                    LocalDateTime.of(2025, 6, 1, 10, 0)
+            ));
+        }
+        response = ApiResponse.success(projects, PaginationMeta.of(0, size, 1_000));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    /**
+     * Same page without {@code INDENT_OUTPUT}, to measure what the indentation costs
+     */
+    @Benchmark
+    public byte[] serializeCompact() throws JsonProcessingException {
+        return compactWriter.writeValueAsBytes(response);
+    }
+}
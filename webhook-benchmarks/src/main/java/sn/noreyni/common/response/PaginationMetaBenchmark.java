@@ -0,0 +1,35 @@
+package sn.noreyni.common.response;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaginationMeta#of}, built for every paginated response
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationMetaBenchmark {
+
+    // Non final fields so the JIT cannot fold the computation
+    int page = 3;
+    int size = 20;
+    long totalElements = 12_345;
+
+    @Benchmark
+    public PaginationMeta of() {
+        return PaginationMeta.of(page, size, totalElements);
+    }
+}
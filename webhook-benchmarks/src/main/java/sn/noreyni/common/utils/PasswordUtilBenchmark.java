@@ -0,0 +1,45 @@
+package sn.noreyni.common.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost of user creation and login, in milliseconds per call
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PasswordUtilBenchmark {
+
+    private PasswordUtil passwordUtil;
+    private String hashed;
+
+    @Setup
+    public void setup() {
+        passwordUtil = new PasswordUtil();
+        hashed = passwordUtil.hashPassword("motdepasse123");
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return passwordUtil.hashPassword("motdepasse123");
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return passwordUtil.verifyPassword("motdepasse123", hashed);
+    }
+}
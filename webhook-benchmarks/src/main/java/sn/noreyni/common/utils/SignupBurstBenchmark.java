@@ -0,0 +1,138 @@
+package sn.noreyni.common.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of light API requests sharing an event loop with a burst of user sign-ups
+ * A single thread stands for the event loop. {@code signupsPerSecond} sign-ups are dispatched to it while requests
+ * arrive every {@code REQUEST_INTERVAL_US}: with {@code hashing=inline} the loop runs BCrypt itself (the former
+ * {@code UserService.create}), with {@code hashing=pool} it hands the hash to the bounded hashing pool.
+ * Requests are issued at their scheduled time whatever the loop is doing and timed from that time, so requests
+ * stuck behind a hash are all counted. The latency percentiles of the iteration are the {@code p50Micros} and
+ * {@code p99Micros} secondary results; the primary score is only the duration of a window of requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SignupBurstBenchmark {
+
+    private static final String PASSWORD = "motdepasse123";
+    private static final int REQUESTS_PER_WINDOW = 200;
+    private static final long REQUEST_INTERVAL_US = 500;
+
+    @Param({"inline", "pool"})
+    public String hashing;
+
+    @Param({"2"})
+    public int signupsPerSecond;
+
+    private ExecutorService eventLoop;
+    private ScheduledExecutorService signups;
+    private BoundedExecutor hashingPool;
+    private PasswordUtil passwordUtil;
+
+    /**
+     * Latencies of the requests of one iteration, in microseconds
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Latency {
+
+        public double p50Micros;
+        public double p99Micros;
+
+        private long[] samples = new long[1 << 16];
+        private int count;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            count = 0;
+            p50Micros = 0;
+            p99Micros = 0;
+        }
+
+        void record(long micros) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = micros;
+        }
+
+        void summarize() {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            p50Micros = sorted[(int) (count * 0.50)];
+            p99Micros = sorted[(int) (count * 0.99)];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        eventLoop = Executors.newSingleThreadExecutor();
+        hashingPool = new BoundedExecutor("password", Runtime.getRuntime().availableProcessors(), 256,
+                "File de hachage des mots de passe saturée", new SimpleMeterRegistry());
+        passwordUtil = new PasswordUtil(hashingPool);
+
+        signups = Executors.newSingleThreadScheduledExecutor();
+        signups.scheduleAtFixedRate(() -> eventLoop.execute(this::signUp),
+                0, TimeUnit.SECONDS.toMicros(1) / signupsPerSecond, TimeUnit.MICROSECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        signups.shutdownNow();
+        eventLoop.shutdownNow();
+        hashingPool.shutdown();
+    }
+
+    @Benchmark
+    public void requestWindow(Latency latency) throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(REQUESTS_PER_WINDOW);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS_PER_WINDOW; i++) {
+            long scheduled = start + TimeUnit.MICROSECONDS.toNanos(i * REQUEST_INTERVAL_US);
+            LockSupport.parkNanos(scheduled - System.nanoTime());
+            eventLoop.execute(() -> {
+                latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+                answered.countDown();
+            });
+        }
+        answered.await();
+        latency.summarize();
+    }
+
+    private void signUp() {
+        if ("inline".equals(hashing)) {
+            passwordUtil.hashPassword(PASSWORD);
+        } else {
+            passwordUtil.hashPasswordAsync(PASSWORD).subscribe().with(hash -> {
+            }, failure -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package sn.noreyni.project;
+
+import org.bson.types.ObjectId;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sn.noreyni.common.enums.ProjectStatus;
+import sn.noreyni.common.enums.ProjectType;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.common.enums.Visibility;
+import sn.noreyni.config.MapperConfig;
+import sn.noreyni.project.dto.ProjectDetailsDto;
+import sn.noreyni.project.dto.ProjectListDto;
+import sn.noreyni.user.User;
+import sn.noreyni.user.UserMapperBenchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion of projects, as done for every listed or fetched project
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectMapperBenchmark {
+
+    /**
+     * Projects per page for the list conversion, members per project for the details one
+     */
+    @Param({"20", "100"})
+    int size;
+
+    private ProjectMapper projectMapper;
+    private Project project;
+    private Project detailedProject;
+    private List<Project> page;
+
+    @Setup
+    public void setup() {
+        ModelMapper modelMapper = new MapperConfig().modelMapper();
+        projectMapper = new ProjectMapper();
+        projectMapper.modelMapper = modelMapper;
+        projectMapper.userMapper = UserMapperBenchmark.userMapper(modelMapper);
+
+        project = project(0, 0);
+        detailedProject = project(0, size);
+        page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(project(i, 5));
+        }
+    }
+
+    @Benchmark
+    public ProjectListDto toListDto() {
+        return projectMapper.toListDto(project);
+    }
+
+    @Benchmark
+    public List<ProjectListDto> toListDtoPage() {
+        return projectMapper.toListDto(page);
+    }
+
+    @Benchmark
+    public ProjectDetailsDto toDetailsDto() {
+        return projectMapper.toDetailsDto(detailedProject);
+    }
+
+    static Project project(int index, int members) {
+        Project project = new Project();
+        project.id = new ObjectId();
+        project.setName("Projet " + index);
+        project.setDescription("Réception des webhooks du service de paiement " + index);
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setVisibility(Visibility.TEAM);
+        project.setType(ProjectType.SOFTWARE);
+        project.setAvatarUrl("https://cdn.example.com/avatars/" + index + ".png");
+        project.setDestinations(List.of(destination("https://hooks.example.com/payments")));
+        project.createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        project.updatedAt = LocalDateTime.of(2025, 6, 1, 10, 0);
+        project.createdBy = "system";
+        project.updatedBy = "system";
+
+        User owner = user(index, UserRole.ADMIN);
+        project.setOwnerId(owner.getIdAsString());
+        project.setOwner(owner);
+
+        List<User> memberList = new ArrayList<>(members);
+        project.setMemberIds(new HashSet<>());
+        for (int i = 0; i < members; i++) {
+            User member = user(i, UserRole.MEMBER);
+            memberList.add(member);
+            project.getMemberIds().add(member.getIdAsString());
+        }
+        project.setMembers(memberList);
+        project.setInvitedUsers(List.of());
+        return project;
+    }
+
+    static User user(int index, UserRole role) {
+        User user = new User();
+        user.id = new ObjectId();
+        user.setFirstName("Awa" + index);
+        user.setLastName("Diop");
+        user.setEmail("awa.diop" + index + "@example.com");
+        user.setRole(role);
+        user.createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        user.updatedAt = LocalDateTime.of(2025, 6, 1, 10, 0);
+        return user;
+    }
+
+    private static ForwardDestination destination(String url) {
+        ForwardDestination destination = new ForwardDestination();
+        destination.setId(new ObjectId().toHexString());
+        destination.setUrl(url);
+        return destination;
+    }
+}
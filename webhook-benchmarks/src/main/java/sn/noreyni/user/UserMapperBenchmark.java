@@ -0,0 +1,72 @@
+package sn.noreyni.user;
+
+import org.bson.types.ObjectId;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sn.noreyni.common.enums.UserRole;
+import sn.noreyni.config.MapperConfig;
+import sn.noreyni.user.dto.UserCreateDto;
+import sn.noreyni.user.dto.UserListDto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ModelMapper based {@link UserMapper#toEntity} against the hand written {@link UserMapper#toListDto}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+    private UserCreateDto createDto;
+    private User user;
+
+    @Setup
+    public void setup() {
+        userMapper = userMapper(new MapperConfig().modelMapper());
+
+        createDto = new UserCreateDto("Awa", "Diop", "awa.diop@example.com", "motdepasse123", UserRole.MEMBER);
+
+        user = new User();
+        user.id = new ObjectId();
+        user.setFirstName("Awa");
+        user.setLastName("Diop");
+        user.setEmail("awa.diop@example.com");
+        user.setRole(UserRole.MEMBER);
+        user.createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        user.updatedAt = LocalDateTime.of(2025, 6, 1, 10, 0);
+    }
+
+    /**
+     * Mapper wired as CDI would, for the benchmarks of other packages
+     */
+    public static UserMapper userMapper(ModelMapper modelMapper) {
+        UserMapper userMapper = new UserMapper();
+        userMapper.modelMapper = modelMapper;
+        return userMapper;
+    }
+
+    @Benchmark
+    public User toEntity() {
+        return userMapper.toEntity(createDto);
+    }
+
+    @Benchmark
+    public UserListDto toListDto() {
+        return userMapper.toListDto(user);
+    }
+}